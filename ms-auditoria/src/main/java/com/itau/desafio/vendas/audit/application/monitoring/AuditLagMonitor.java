@@ -0,0 +1,118 @@
+package com.itau.desafio.vendas.audit.application.monitoring;
+
+import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mede o atraso entre o commit de uma alteração no MongoDB (o
+ * {@code eventTimestamp} do evento) e o relógio local em cada etapa do
+ * pipeline: recebimento do Change Stream, retirada da fila da raia e
+ * conclusão da exportação.
+ * <p>
+ * Além dos timers por etapa, mantém o atraso corrente de ponta a ponta: o
+ * tempo desde o commit do evento pendente mais antigo. Como as raias andam de
+ * forma independente, uma raia travada segura o atraso mesmo que as demais
+ * continuem concluindo eventos mais novos. Com o pipeline em dia o atraso é
+ * zero, de modo que um período sem escritas não é confundido com atraso. O valor depende do sincronismo entre o relógio do mongod e o da
+ * instância.
+ */
+public class AuditLagMonitor {
+
+    public enum Stage {
+        RECEIVE, DEQUEUE, EXPORT
+    }
+
+    private final Clock clock;
+    private final Timer receiveTimer;
+    private final Timer dequeueTimer;
+    private final Timer exportTimer;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final ConcurrentSkipListMap<Long, Integer> pendingByCommitMillis = new ConcurrentSkipListMap<>();
+
+    public AuditLagMonitor(MeterRegistry meterRegistry) {
+        this(meterRegistry, Clock.systemUTC());
+    }
+
+    AuditLagMonitor(MeterRegistry meterRegistry, Clock clock) {
+        this.clock = clock;
+        this.receiveTimer = lagTimer(meterRegistry, Stage.RECEIVE);
+        this.dequeueTimer = lagTimer(meterRegistry, Stage.DEQUEUE);
+        this.exportTimer = lagTimer(meterRegistry, Stage.EXPORT);
+        Gauge.builder("audit.lag.current", this, monitor -> monitor.currentLag().toMillis() / 1000.0)
+                .description("Atraso corrente de ponta a ponta entre o commit no MongoDB e a exportação")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("audit.lag.pending", this, AuditLagMonitor::pendingEvents)
+                .description("Eventos recebidos do Change Stream e ainda não concluídos pelo exportador")
+                .register(meterRegistry);
+    }
+
+    private static Timer lagTimer(MeterRegistry meterRegistry, Stage stage) {
+        return Timer.builder("audit.lag")
+                .description("Atraso entre o commit no MongoDB e cada etapa do pipeline de auditoria")
+                .tag("stage", stage.name().toLowerCase())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public void received(AuditEvent auditEvent) {
+        long commitMillis = commitMillis(auditEvent);
+        pendingByCommitMillis.merge(commitMillis, 1, Integer::sum);
+        pending.incrementAndGet();
+        record(receiveTimer, commitMillis);
+    }
+
+    public void dequeued(AuditEvent auditEvent) {
+        record(dequeueTimer, commitMillis(auditEvent));
+    }
+
+    public void exported(AuditEvent auditEvent) {
+        long commitMillis = commitMillis(auditEvent);
+        record(exportTimer, commitMillis);
+        complete(commitMillis);
+    }
+
+    /**
+     * Evento que saiu do pipeline sem ser exportado (rejeitado na fila ou com
+     * falha na exportação).
+     */
+    public void abandoned(AuditEvent auditEvent) {
+        complete(commitMillis(auditEvent));
+    }
+
+    public Duration currentLag() {
+        Map.Entry<Long, Integer> oldest = pendingByCommitMillis.firstEntry();
+        if (oldest == null) {
+            return Duration.ZERO;
+        }
+        return Duration.ofMillis(Math.max(0, clock.millis() - oldest.getKey()));
+    }
+
+    public long pendingEvents() {
+        return pending.get();
+    }
+
+    private void complete(long commitMillis) {
+        pendingByCommitMillis.computeIfPresent(commitMillis, (key, count) -> count > 1 ? count - 1 : null);
+        pending.decrementAndGet();
+    }
+
+    private void record(Timer timer, long commitMillis) {
+        timer.record(Math.max(0, clock.millis() - commitMillis), TimeUnit.MILLISECONDS);
+    }
+
+    private static long commitMillis(AuditEvent auditEvent) {
+        return auditEvent.eventTimestamp().toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -14,5 +14,45 @@ public interface ProcessAuditEventUseCase {
      * @param auditEvent O objeto contendo as informações da mudança a ser
      *                   processada.
      */
-    void process(AuditEvent auditEvent);
-}
\ No newline at end of file
+    default void process(AuditEvent auditEvent) {
+        process(auditEvent, Completion.NONE);
+    }
+
+    /**
+     * Executa o processamento de um evento de auditoria, notificando
+     * {@code completion} quando o evento deixar o pipeline.
+     *
+     * @param auditEvent O objeto contendo as informações da mudança a ser
+     *                   processada.
+     * @param completion Notificado uma única vez: exportado (ou desviado ao
+     *                   spill) ou perdido.
+     */
+    void process(AuditEvent auditEvent, Completion completion);
+
+    /**
+     * Retorno assíncrono do processamento de um evento. Chamado pela thread
+     * que exportou o evento, ou pela chamadora quando ele é rejeitado.
+     */
+    interface Completion {
+
+        Completion NONE = new Completion() {
+            @Override
+            public void exported() {
+            }
+
+            @Override
+            public void failed(Exception cause) {
+            }
+        };
+
+        /**
+         * O exportador aceitou o evento.
+         */
+        void exported();
+
+        /**
+         * O evento foi rejeitado pela fila ou o exportador falhou.
+         */
+        void failed(Exception cause);
+    }
+}
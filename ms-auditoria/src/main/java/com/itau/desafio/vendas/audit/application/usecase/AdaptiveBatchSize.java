@@ -0,0 +1,47 @@
+package com.itau.desafio.vendas.audit.application.usecase;
+
+/**
+ * Limite de lote de uma raia, ajustado após cada exportação pela
+ * {@link AuditBatchPolicy}. Não é thread-safe: cada raia tem o seu, usado
+ * apenas pelo worker da raia.
+ */
+class AdaptiveBatchSize {
+
+    private final AuditBatchPolicy policy;
+    private final long targetLatencyNanos;
+
+    private int limit;
+
+    AdaptiveBatchSize(AuditBatchPolicy policy) {
+        this.policy = policy;
+        this.targetLatencyNanos = policy.targetLatency().toNanos();
+        this.limit = policy.minSize();
+    }
+
+    int limit() {
+        return limit;
+    }
+
+    /**
+     * Indica se vale aguardar mais eventos para completar o lote: só quando a
+     * raia está sob carga (limite acima do mínimo).
+     */
+    boolean shouldWait() {
+        return limit > policy.minSize() && !policy.maxWait().isZero() && !policy.maxWait().isNegative();
+    }
+
+    /**
+     * Ajusta o limite a partir do lote exportado: reduz à metade se a
+     * latência passou do alvo, dobra se ainda restam eventos na raia
+     * (backlog) e, com a raia vazia, reduz à metade em direção ao mínimo.
+     */
+    void onExported(long latencyNanos, boolean backlog) {
+        if (targetLatencyNanos > 0 && latencyNanos > targetLatencyNanos) {
+            limit = Math.max(policy.minSize(), limit / 2);
+        } else if (backlog) {
+            limit = (int) Math.min(policy.maxSize(), (long) limit * 2);
+        } else {
+            limit = Math.max(policy.minSize(), limit / 2);
+        }
+    }
+}
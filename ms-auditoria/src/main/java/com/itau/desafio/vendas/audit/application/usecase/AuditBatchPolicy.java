@@ -0,0 +1,31 @@
+package com.itau.desafio.vendas.audit.application.usecase;
+
+import java.time.Duration;
+
+/**
+ * Política de micro-batching das raias do pipeline de auditoria.
+ * <p>
+ * O tamanho do lote de cada raia varia entre {@code minSize} e
+ * {@code maxSize} conforme a carga e a latência observada na exportação:
+ * dobra enquanto sobram eventos na raia após montar o lote e a exportação
+ * fica abaixo de {@code targetLatency}, e cai à metade quando a latência
+ * passa do alvo ou a raia esvazia. Com o limite acima de {@code minSize} (raia sob carga), o
+ * worker aguarda até {@code maxWait} para completar o lote; no mínimo, exporta
+ * imediatamente o que houver na fila.
+ */
+public record AuditBatchPolicy(boolean enabled, int minSize, int maxSize, Duration maxWait, Duration targetLatency) {
+
+    public AuditBatchPolicy {
+        if (minSize < 1 || maxSize < minSize) {
+            throw new IllegalArgumentException(
+                    "Limites de lote inválidos: min-size=" + minSize + ", max-size=" + maxSize);
+        }
+    }
+
+    /**
+     * Exportação evento a evento, como antes do micro-batching.
+     */
+    public static AuditBatchPolicy disabled() {
+        return new AuditBatchPolicy(false, 1, 1, Duration.ZERO, Duration.ZERO);
+    }
+}
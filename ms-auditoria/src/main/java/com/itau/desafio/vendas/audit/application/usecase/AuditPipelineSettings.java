@@ -0,0 +1,37 @@
+package com.itau.desafio.vendas.audit.application.usecase;
+
+import java.time.Duration;
+
+/**
+ * Parâmetros do pipeline de auditoria.
+ *
+ * @param capacity              Eventos aceitos nas filas, divididos igualmente
+ *                              entre as raias.
+ * @param parallelism           Quantidade de raias (e de workers).
+ * @param offerTimeout          Espera máxima por espaço na fila; zero ou
+ *                              negativo bloqueia o chamador até haver espaço.
+ * @param materializeDeltaAfter Reconstrói {@code documentAfter} a partir do
+ *                              delta antes de exportar.
+ * @param batchPolicy           Política de micro-batching das raias.
+ */
+public record AuditPipelineSettings(
+        int capacity,
+        int parallelism,
+        Duration offerTimeout,
+        boolean materializeDeltaAfter,
+        AuditBatchPolicy batchPolicy) {
+
+    public AuditPipelineSettings {
+        if (capacity < 1 || parallelism < 1) {
+            throw new IllegalArgumentException(
+                    "Parâmetros do pipeline inválidos: capacity=" + capacity + ", parallelism=" + parallelism);
+        }
+    }
+
+    /**
+     * Pipeline evento a evento, sem materialização do delta.
+     */
+    public static AuditPipelineSettings of(int capacity, int parallelism, Duration offerTimeout) {
+        return new AuditPipelineSettings(capacity, parallelism, offerTimeout, false, AuditBatchPolicy.disabled());
+    }
+}
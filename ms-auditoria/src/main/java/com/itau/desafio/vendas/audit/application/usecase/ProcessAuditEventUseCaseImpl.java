@@ -1,29 +1,318 @@
 package com.itau.desafio.vendas.audit.application.usecase;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import com.itau.desafio.vendas.audit.application.monitoring.AuditLagMonitor;
 import com.itau.desafio.vendas.audit.application.port.in.ProcessAuditEventUseCase;
+import com.itau.desafio.vendas.audit.domain.exceptions.AuditExportException;
 import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
 import com.itau.desafio.vendas.audit.domain.port.out.AuditEventExporterPort;
 
-public class ProcessAuditEventUseCaseImpl implements ProcessAuditEventUseCase {
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Processa eventos de auditoria através de N raias seriais, cada uma com uma
+ * fila de capacidade fixa e um único worker.
+ * <p>
+ * O evento é direcionado à raia pelo hash de {@code collectionName} +
+ * {@code documentKey}: eventos do mesmo documento são exportados na ordem em
+ * que chegaram do Change Stream (ordem de cluster time), enquanto documentos
+ * diferentes seguem em paralelo nas demais raias.
+ * <p>
+ * Quando a fila da raia está cheia, {@link #process(AuditEvent)} bloqueia a
+ * thread chamadora (o loop do cursor do Change Stream), propagando
+ * backpressure até o MongoDB. Se um {@code offerTimeout} positivo for
+ * configurado, o evento é rejeitado após esse tempo de espera.
+ * <p>
+ * Com {@code materializeDeltaAfter} habilitado, eventos capturados no modo
+ * delta têm o {@code documentAfter} reconstruído pelo worker da raia,
+ * imediatamente antes da exportação, sem custo para o loop do cursor.
+ * <p>
+ * O atraso em relação ao commit no MongoDB é registrado no
+ * {@link AuditLagMonitor} ao receber, ao retirar da fila e ao concluir a
+ * exportação de cada evento.
+ * <p>
+ * Com a {@link AuditBatchPolicy} habilitada, o worker retira da raia um lote
+ * de até o limite corrente e o agrupa por coleção e dia do evento (o prefixo
+ * das chaves no destino) antes de chamar
+ * {@link AuditEventExporterPort#exportBatch(List)}. A ordem por documento se
+ * mantém: todos os eventos de um documento caem na mesma raia e no mesmo
+ * grupo, na ordem de chegada.
+ * <p>
+ * Cada evento viaja com o seu {@link Completion}, notificado quando o
+ * exportador confirma que o evento está durável
+ * ({@link AuditEventExporterPort#exportDurably(List)}) ou que foi perdido, e
+ * pela thread chamadora quando o evento é rejeitado, para que o consumidor do
+ * Change Stream só avance o checkpoint sobre eventos que não se perdem mais
+ * com uma queda da instância.
+ */
+@Slf4j
+public class ProcessAuditEventUseCaseImpl implements ProcessAuditEventUseCase, AutoCloseable {
+
+    private static final long POLL_INTERVAL_MS = 200;
 
     private final AuditEventExporterPort auditEventExporter;
     private final MeterRegistry meterRegistry;
+    private final List<BlockingQueue<QueuedEvent>> lanes;
+    private final Duration offerTimeout;
+    private final boolean materializeDeltaAfter;
+    private final CountDownLatch workersFinished;
+    private final AuditLagMonitor lagMonitor;
+    private final AuditBatchPolicy batchPolicy;
+
+    private final Timer queueWaitTimer;
+    private final Counter rejectedCounter;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer batchExportTimer;
 
-    public ProcessAuditEventUseCaseImpl(AuditEventExporterPort auditEventExporter, MeterRegistry meterRegistry) {
+    private volatile boolean running = true;
+
+    public ProcessAuditEventUseCaseImpl(AuditEventExporterPort auditEventExporter, MeterRegistry meterRegistry,
+            AuditLagMonitor lagMonitor, Executor workerExecutor, AuditPipelineSettings settings) {
         this.auditEventExporter = auditEventExporter;
         this.meterRegistry = meterRegistry;
+        this.offerTimeout = settings.offerTimeout();
+        this.materializeDeltaAfter = settings.materializeDeltaAfter();
+        this.lagMonitor = lagMonitor;
+        this.batchPolicy = settings.batchPolicy();
+
+        int parallelism = settings.parallelism();
+        this.workersFinished = new CountDownLatch(parallelism);
+        int laneCapacity = Math.max(1, settings.capacity() / parallelism);
+        this.lanes = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            lanes.add(new ArrayBlockingQueue<>(laneCapacity));
+        }
+
+        Gauge.builder("audit.pipeline.queue.depth", this, ProcessAuditEventUseCaseImpl::queuedEvents)
+                .description("Eventos aguardando exportação na fila do pipeline de auditoria")
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("audit.pipeline.queue.wait")
+                .description("Tempo que o loop do cursor aguardou por espaço na fila")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("audit.pipeline.rejected")
+                .description("Eventos descartados por timeout ao aguardar espaço na fila")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("audit.pipeline.batch.size")
+                .description("Quantidade de eventos por lote retirado de uma raia")
+                .register(meterRegistry);
+        this.batchExportTimer = Timer.builder("audit.pipeline.batch.export")
+                .description("Duração da exportação de um lote retirado de uma raia")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        for (BlockingQueue<QueuedEvent> lane : lanes) {
+            workerExecutor.execute(() -> runWorker(lane));
+        }
     }
 
     @Override
-    public void process(AuditEvent auditEvent) {
-        Thread.startVirtualThread(() -> {
-            meterRegistry.counter(
-                    "audit.events.processed",
-                    "processor", "changestream",
-                    "operation", auditEvent.operationType().name()).increment();
-
-            auditEventExporter.export(auditEvent);
+    public void process(AuditEvent auditEvent, Completion completion) {
+        lagMonitor.received(auditEvent);
+        BlockingQueue<QueuedEvent> lane = laneFor(auditEvent);
+        QueuedEvent queued = new QueuedEvent(auditEvent, completion);
+        long start = System.nanoTime();
+        boolean accepted;
+        try {
+            if (offerTimeout.isZero() || offerTimeout.isNegative()) {
+                lane.put(queued);
+                accepted = true;
+            } else {
+                accepted = lane.offer(queued, offerTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        queueWaitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (!accepted) {
+            rejectedCounter.increment();
+            lagMonitor.abandoned(auditEvent);
+            log.warn("Evento de auditoria descartado: fila do pipeline cheia. Evento: {}", auditEvent);
+            completion.failed(new IllegalStateException("Fila do pipeline de auditoria cheia"));
+        }
+    }
+
+    private BlockingQueue<QueuedEvent> laneFor(AuditEvent auditEvent) {
+        int hash = Objects.hash(auditEvent.collectionName(), auditEvent.documentKey());
+        return lanes.get(Math.floorMod(hash, lanes.size()));
+    }
+
+    private void runWorker(BlockingQueue<QueuedEvent> lane) {
+        AdaptiveBatchSize batchSize = batchPolicy.enabled() ? new AdaptiveBatchSize(batchPolicy) : null;
+        try {
+            while (running || !lane.isEmpty()) {
+                QueuedEvent queued = lane.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (queued == null) {
+                    continue;
+                }
+                if (batchSize == null) {
+                    lagMonitor.dequeued(queued.auditEvent());
+                    export(queued);
+                } else {
+                    List<QueuedEvent> batch = collectBatch(lane, queued, batchSize);
+                    exportBatch(batch, batchSize, !lane.isEmpty());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            workersFinished.countDown();
+        }
+    }
+
+    private void export(QueuedEvent queued) {
+        AuditEvent auditEvent = queued.auditEvent();
+        countProcessed(auditEvent);
+        AuditEvent exported = materializeDeltaAfter ? auditEvent.withMaterializedDocumentAfter() : auditEvent;
+        exportDurably(List.of(queued), List.of(exported));
+    }
+
+    /**
+     * Completa o lote com o que já está na raia e, se a raia estiver sob
+     * carga, aguarda até {@code maxWait} por mais eventos.
+     */
+    private List<QueuedEvent> collectBatch(BlockingQueue<QueuedEvent> lane, QueuedEvent first,
+            AdaptiveBatchSize batchSize) throws InterruptedException {
+        int limit = batchSize.limit();
+        List<QueuedEvent> batch = new ArrayList<>(limit);
+        batch.add(first);
+        lane.drainTo(batch, limit - batch.size());
+        if (batch.size() < limit && batchSize.shouldWait()) {
+            long deadline = System.nanoTime() + batchPolicy.maxWait().toNanos();
+            while (batch.size() < limit) {
+                long remaining = deadline - System.nanoTime();
+                QueuedEvent next = remaining > 0 ? lane.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                if (next == null) {
+                    break;
+                }
+                batch.add(next);
+                lane.drainTo(batch, limit - batch.size());
+            }
+        }
+        return batch;
+    }
+
+    private void exportBatch(List<QueuedEvent> batch, AdaptiveBatchSize batchSize, boolean backlog) {
+        Map<BatchKey, List<QueuedEvent>> groups = new LinkedHashMap<>();
+        for (QueuedEvent queued : batch) {
+            lagMonitor.dequeued(queued.auditEvent());
+            countProcessed(queued.auditEvent());
+            groups.computeIfAbsent(BatchKey.of(queued.auditEvent()), key -> new ArrayList<>()).add(queued);
+        }
+
+        long start = System.nanoTime();
+        for (List<QueuedEvent> group : groups.values()) {
+            List<AuditEvent> auditEvents = new ArrayList<>(group.size());
+            for (QueuedEvent queued : group) {
+                AuditEvent auditEvent = queued.auditEvent();
+                auditEvents.add(materializeDeltaAfter ? auditEvent.withMaterializedDocumentAfter() : auditEvent);
+            }
+            exportDurably(group, auditEvents);
+        }
+        long elapsed = System.nanoTime() - start;
+        batchExportTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        batchSizeSummary.record(batch.size());
+        batchSize.onExported(elapsed, backlog);
+    }
+
+    /**
+     * Exporta os eventos e notifica os {@link Completion} somente quando o
+     * exportador confirmar que estão duráveis; a confirmação pode chegar de
+     * outra thread (a do upload), depois de o worker seguir para o próximo
+     * lote.
+     */
+    private void exportDurably(List<QueuedEvent> queuedEvents, List<AuditEvent> auditEvents) {
+        CompletableFuture<Void> durable;
+        try {
+            durable = auditEventExporter.exportDurably(auditEvents);
+        } catch (Exception e) {
+            failed(queuedEvents, auditEvents, e);
+            return;
+        }
+        durable.whenComplete((ignored, error) -> {
+            if (error == null) {
+                for (QueuedEvent queued : queuedEvents) {
+                    lagMonitor.exported(queued.auditEvent());
+                    queued.completion().exported();
+                }
+            } else {
+                failed(queuedEvents, auditEvents, unwrap(error));
+            }
         });
     }
-}
\ No newline at end of file
+
+    private void failed(List<QueuedEvent> queuedEvents, List<AuditEvent> auditEvents, Exception cause) {
+        for (QueuedEvent queued : queuedEvents) {
+            lagMonitor.abandoned(queued.auditEvent());
+            queued.completion().failed(cause);
+        }
+        if (auditEvents.size() == 1) {
+            log.error("Falha ao exportar evento de auditoria. Evento: {}", auditEvents.get(0), cause);
+        } else {
+            log.error("Falha ao exportar lote de {} eventos de auditoria. Primeiro evento: {}",
+                    auditEvents.size(), auditEvents.get(0), cause);
+        }
+    }
+
+    private static Exception unwrap(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof Exception exception
+                ? exception
+                : new AuditExportException("Falha ao exportar evento de auditoria", cause);
+    }
+
+    private void countProcessed(AuditEvent auditEvent) {
+        meterRegistry.counter(
+                "audit.events.processed",
+                "processor", "changestream",
+                "operation", auditEvent.operationType().name()).increment();
+    }
+
+    private int queuedEvents() {
+        int total = 0;
+        for (BlockingQueue<QueuedEvent> lane : lanes) {
+            total += lane.size();
+        }
+        return total;
+    }
+
+    private record QueuedEvent(AuditEvent auditEvent, Completion completion) {
+    }
+
+    private record BatchKey(String collectionName, LocalDate day) {
+        static BatchKey of(AuditEvent auditEvent) {
+            return new BatchKey(auditEvent.collectionName(), auditEvent.eventTimestamp().toLocalDate());
+        }
+    }
+
+    /**
+     * Interrompe a aceitação de novos eventos e aguarda os workers esvaziarem a
+     * fila antes de retornar.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        if (!workersFinished.await(30, TimeUnit.SECONDS)) {
+            log.warn("Pipeline de auditoria encerrado com {} eventos ainda na fila.", queuedEvents());
+        }
+    }
+}
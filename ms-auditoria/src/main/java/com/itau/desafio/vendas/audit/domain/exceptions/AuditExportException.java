@@ -0,0 +1,7 @@
+package com.itau.desafio.vendas.audit.domain.exceptions;
+
+public class AuditExportException extends RuntimeException {
+    public AuditExportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,5 +1,6 @@
 package com.itau.desafio.vendas.audit.domain.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import org.bson.Document;
 import java.time.LocalDateTime;
 
@@ -9,7 +10,8 @@ import java.time.LocalDateTime;
  * relevantes de uma mudança de dados, independentemente da coleção.
  *
  * @param operationType  O tipo de operação (CREATED, UPDATED, DELETED, etc.).
- * @param eventTimestamp O momento exato em que a mudança ocorreu (ClusterTime).
+ * @param eventTimestamp O momento exato em que a mudança ocorreu (wallTime do
+ *                       evento, ou ClusterTime quando ausente).
  * @param databaseName   O nome do banco de dados onde a mudança ocorreu.
  * @param collectionName O nome da coleção afetada.
  * @param changedBy      O identificador do usuário ou sistema que realizou a
@@ -20,7 +22,10 @@ import java.time.LocalDateTime;
  * @param documentBefore O estado completo do documento ANTES da alteração.
  *                       Nulo para operações de inserção (INSERT).
  * @param documentAfter  O estado completo do documento DEPOIS da alteração.
- *                       Nulo para operações de exclusão (DELETE).
+ *                       Nulo para operações de exclusão (DELETE) e para
+ *                       atualizações capturadas no modo delta.
+ * @param documentDelta  Os campos alterados e removidos por uma atualização.
+ *                       Preenchido apenas no modo delta.
  */
 public record AuditEvent(
         ChangeType operationType,
@@ -30,5 +35,27 @@ public record AuditEvent(
         String changedBy,
         Document documentKey,
         Document documentBefore,
-        Document documentAfter) {
-}
\ No newline at end of file
+        Document documentAfter,
+        @JsonInclude(JsonInclude.Include.NON_NULL) DocumentDelta documentDelta) {
+
+    public AuditEvent(ChangeType operationType, LocalDateTime eventTimestamp, String databaseName,
+            String collectionName, String changedBy, Document documentKey, Document documentBefore,
+            Document documentAfter) {
+        this(operationType, eventTimestamp, databaseName, collectionName, changedBy, documentKey, documentBefore,
+                documentAfter, null);
+    }
+
+    /**
+     * Retorna uma cópia do evento com o {@code documentAfter} reconstruído a
+     * partir do {@code documentBefore} e do delta. Eventos que já possuem o
+     * estado posterior, ou que não têm pré-imagem, são retornados sem
+     * alteração.
+     */
+    public AuditEvent withMaterializedDocumentAfter() {
+        if (documentDelta == null || documentAfter != null || documentBefore == null) {
+            return this;
+        }
+        return new AuditEvent(operationType, eventTimestamp, databaseName, collectionName, changedBy, documentKey,
+                documentBefore, documentDelta.applyTo(documentBefore), documentDelta);
+    }
+}
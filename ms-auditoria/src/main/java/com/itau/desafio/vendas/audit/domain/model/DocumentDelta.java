@@ -0,0 +1,147 @@
+package com.itau.desafio.vendas.audit.domain.model;
+
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Representa apenas as alterações de uma operação de atualização, no formato
+ * do {@code updateDescription} do Change Stream.
+ *
+ * @param updatedFields Campos alterados, com caminhos em notação de ponto
+ *                      (ex: {@code address.city}, {@code items.2.qty}).
+ * @param removedFields   Caminhos dos campos removidos.
+ * @param truncatedArrays Arrays encurtados pela atualização (ex: {@code $pop},
+ *                        {@code $pull}); os elementos restantes alterados
+ *                        vêm em {@code updatedFields}.
+ */
+public record DocumentDelta(
+        Document updatedFields,
+        List<String> removedFields,
+        List<TruncatedArray> truncatedArrays) {
+
+    public DocumentDelta(Document updatedFields, List<String> removedFields) {
+        this(updatedFields, removedFields, List.of());
+    }
+
+    /**
+     * Array cujo tamanho foi reduzido para {@code newSize} pela atualização.
+     *
+     * @param field   Caminho do array em notação de ponto.
+     * @param newSize Tamanho do array após o truncamento.
+     */
+    public record TruncatedArray(String field, int newSize) {
+    }
+
+    /**
+     * Reconstrói o estado do documento após a alteração aplicando este delta a
+     * uma cópia do estado anterior. O documento recebido não é modificado.
+     * <p>
+     * Como no {@code updateDescription} do MongoDB, os arrays são truncados
+     * antes de aplicar {@code updatedFields}, cujos índices se referem ao
+     * array já encurtado.
+     */
+    public Document applyTo(Document documentBefore) {
+        Document result = deepCopy(documentBefore);
+        if (truncatedArrays != null) {
+            truncatedArrays.forEach(truncated -> truncatePath(result, truncated.field().split("\\."),
+                    truncated.newSize()));
+        }
+        if (updatedFields != null) {
+            updatedFields.forEach((path, value) -> setPath(result, path.split("\\."), deepCopyValue(value)));
+        }
+        if (removedFields != null) {
+            removedFields.forEach(path -> removePath(result, path.split("\\.")));
+        }
+        return result;
+    }
+
+    private static void setPath(Document root, String[] path, Object value) {
+        Object container = root;
+        for (int i = 0; i < path.length - 1; i++) {
+            Object child = getChild(container, path[i]);
+            if (child == null) {
+                child = new Document();
+                putChild(container, path[i], child);
+            }
+            container = child;
+        }
+        putChild(container, path[path.length - 1], value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void removePath(Document root, String[] path) {
+        Object container = root;
+        for (int i = 0; i < path.length - 1 && container != null; i++) {
+            container = getChild(container, path[i]);
+        }
+        if (container instanceof Document document) {
+            document.remove(path[path.length - 1]);
+        } else if (container instanceof List<?> list && isIndex(path[path.length - 1], list)) {
+            ((List<Object>) list).set(Integer.parseInt(path[path.length - 1]), null);
+        }
+    }
+
+    private static void truncatePath(Document root, String[] path, int newSize) {
+        Object container = root;
+        for (int i = 0; i < path.length && container != null; i++) {
+            container = getChild(container, path[i]);
+        }
+        if (container instanceof List<?> list && newSize < list.size()) {
+            list.subList(Math.max(0, newSize), list.size()).clear();
+        }
+    }
+
+    private static Object getChild(Object container, String key) {
+        if (container instanceof Document document) {
+            return document.get(key);
+        }
+        if (container instanceof List<?> list && isIndex(key, list)) {
+            return list.get(Integer.parseInt(key));
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void putChild(Object container, String key, Object value) {
+        if (container instanceof Document document) {
+            document.put(key, value);
+        } else if (container instanceof List<?> list) {
+            List<Object> values = (List<Object>) list;
+            int index = Integer.parseInt(key);
+            while (values.size() <= index) {
+                values.add(null);
+            }
+            values.set(index, value);
+        }
+    }
+
+    private static boolean isIndex(String key, List<?> list) {
+        return key.chars().allMatch(Character::isDigit) && Integer.parseInt(key) < list.size();
+    }
+
+    private static Document deepCopy(Document document) {
+        Document copy = new Document();
+        document.forEach((key, value) -> copy.put(key, deepCopyValue(value)));
+        return copy;
+    }
+
+    private static Object deepCopyValue(Object value) {
+        if (value instanceof Document document) {
+            return deepCopy(document);
+        }
+        if (value instanceof Map<?, ?> map) {
+            Document copy = new Document();
+            map.forEach((key, nested) -> copy.put(String.valueOf(key), deepCopyValue(nested)));
+            return copy;
+        }
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            list.forEach(item -> copy.add(deepCopyValue(item)));
+            return copy;
+        }
+        return value;
+    }
+}
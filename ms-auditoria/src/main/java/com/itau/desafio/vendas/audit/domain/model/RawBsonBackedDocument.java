@@ -0,0 +1,203 @@
+package com.itau.desafio.vendas.audit.domain.model;
+
+import com.mongodb.MongoClientSettings;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonTypeClassMap;
+import org.bson.codecs.BsonTypeCodecMap;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.configuration.CodecRegistry;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link Document} apoiado nos bytes BSON recebidos do Change Stream.
+ * <p>
+ * Enquanto não é modificado, o documento mantém apenas o
+ * {@link RawBsonDocument}: {@link #get(Object)} e {@link #containsKey(Object)}
+ * percorrem os bytes sem montar o mapa, e os exportadores podem serializar
+ * {@link #raw()} diretamente. Qualquer outro acesso decodifica o documento uma
+ * única vez; modificações descartam os bytes originais.
+ */
+public class RawBsonBackedDocument extends Document {
+
+    private static final CodecRegistry CODEC_REGISTRY = MongoClientSettings.getDefaultCodecRegistry();
+    private static final DocumentCodec DOCUMENT_CODEC = new DocumentCodec(CODEC_REGISTRY);
+    private static final BsonTypeCodecMap VALUE_CODECS = new BsonTypeCodecMap(new BsonTypeClassMap(),
+            CODEC_REGISTRY);
+    private static final DecoderContext DECODER_CONTEXT = DecoderContext.builder().build();
+
+    private volatile RawBsonDocument raw;
+    private volatile boolean decoded;
+
+    public RawBsonBackedDocument(RawBsonDocument raw) {
+        this.raw = raw;
+    }
+
+    /**
+     * Bytes BSON originais, ou {@code null} se o documento foi modificado.
+     */
+    public RawBsonDocument raw() {
+        return raw;
+    }
+
+    /**
+     * Lê o valor BSON corrente do {@code reader} como o {@link DocumentCodec}
+     * o decodificaria.
+     */
+    public static Object readValue(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.NULL) {
+            reader.readNull();
+            return null;
+        }
+        return VALUE_CODECS.get(reader.getCurrentBsonType()).decode(reader, DECODER_CONTEXT);
+    }
+
+    @Override
+    public Object get(Object key) {
+        RawBsonDocument bytes = raw;
+        if (decoded || bytes == null) {
+            return super.get(key);
+        }
+        try (BsonBinaryReader reader = new BsonBinaryReader(bytes.getByteBuffer().asNIO())) {
+            reader.readStartDocument();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                if (reader.readName().equals(key)) {
+                    return readValue(reader);
+                }
+                reader.skipValue();
+            }
+            return null;
+        }
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        RawBsonDocument bytes = raw;
+        if (decoded || bytes == null) {
+            return super.containsKey(key);
+        }
+        return bytes.containsKey(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> clazz) {
+        return clazz.cast(get(key));
+    }
+
+    @Override
+    public <T> T get(Object key, T defaultValue) {
+        decode();
+        return super.get(key, defaultValue);
+    }
+
+    @Override
+    public int size() {
+        decode();
+        return super.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        decode();
+        return super.isEmpty();
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        decode();
+        return super.containsValue(value);
+    }
+
+    @Override
+    public Set<String> keySet() {
+        decode();
+        return super.keySet();
+    }
+
+    @Override
+    public Collection<Object> values() {
+        decode();
+        return super.values();
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        decode();
+        return super.entrySet();
+    }
+
+    @Override
+    public Document append(String key, Object value) {
+        modify();
+        return super.append(key, value);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        modify();
+        return super.put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        modify();
+        return super.remove(key);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> map) {
+        modify();
+        super.putAll(map);
+    }
+
+    @Override
+    public void clear() {
+        modify();
+        super.clear();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        decode();
+        return super.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        decode();
+        return super.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        decode();
+        return super.toString();
+    }
+
+    private void decode() {
+        if (decoded) {
+            return;
+        }
+        synchronized (this) {
+            if (!decoded) {
+                RawBsonDocument bytes = raw;
+                if (bytes != null) {
+                    super.putAll(bytes.decode(DOCUMENT_CODEC));
+                }
+                decoded = true;
+            }
+        }
+    }
+
+    private void modify() {
+        decode();
+        raw = null;
+    }
+}
@@ -2,6 +2,37 @@ package com.itau.desafio.vendas.audit.domain.port.out;
 
 import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 public interface AuditEventExporterPort {
     void export(AuditEvent auditEvent);
-}
\ No newline at end of file
+
+    /**
+     * Exporta um lote de eventos, na ordem recebida. A implementação padrão
+     * exporta evento a evento; adaptadores que conseguem amortizar o custo
+     * por chamada (uma escrita, um fsync, um lock) devem sobrescrevê-la.
+     * Em caso de falha, parte do lote pode já ter sido exportada.
+     */
+    default void exportBatch(List<AuditEvent> auditEvents) {
+        for (AuditEvent auditEvent : auditEvents) {
+            export(auditEvent);
+        }
+    }
+
+    /**
+     * Exporta o lote e retorna um future concluído quando todos os eventos
+     * estiverem duráveis: gravados no destino ou no journal de spill. O
+     * future é concluído com erro se algum evento do lote for perdido.
+     * <p>
+     * A implementação padrão considera o lote durável quando
+     * {@link #exportBatch(List)} retorna. Adaptadores que ainda mantêm os
+     * eventos em memória depois de retornar (segmentos, uploads assíncronos,
+     * filas) devem sobrescrevê-la, já que é este future que libera o
+     * checkpoint do consumidor.
+     */
+    default CompletableFuture<Void> exportDurably(List<AuditEvent> auditEvents) {
+        exportBatch(auditEvents);
+        return CompletableFuture.completedFuture(null);
+    }
+}
@@ -0,0 +1,58 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.in.changestream;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Optional;
+
+/**
+ * Persiste o resume token do Change Stream em uma coleção de checkpoints,
+ * permitindo que o listener retome do ponto em que parou após reinícios,
+ * deploys ou falhas do cursor.
+ */
+@Component
+@Slf4j
+public class ChangeStreamCheckpointStore {
+
+    private final MongoTemplate mongoTemplate;
+    private final String collectionName;
+
+    public ChangeStreamCheckpointStore(MongoTemplate mongoTemplate,
+            @Value("${audit.changestream.checkpoint.collection:audit_checkpoints}") String collectionName) {
+        this.mongoTemplate = mongoTemplate;
+        this.collectionName = collectionName;
+    }
+
+    public Optional<BsonDocument> load(String listenerId) {
+        Document checkpoint = collection().find(Filters.eq("_id", listenerId)).first();
+        if (checkpoint == null || checkpoint.get("resumeToken") == null) {
+            return Optional.empty();
+        }
+        Document token = checkpoint.get("resumeToken", Document.class);
+        return Optional.of(token.toBsonDocument());
+    }
+
+    public void save(String listenerId, BsonDocument resumeToken) {
+        Document checkpoint = new Document("_id", listenerId)
+                .append("resumeToken", resumeToken)
+                .append("updatedAt", new Date());
+        collection().replaceOne(Filters.eq("_id", listenerId), checkpoint, new ReplaceOptions().upsert(true));
+        log.trace("Checkpoint do Change Stream salvo para o listener '{}'.", listenerId);
+    }
+
+    public String getCollectionName() {
+        return collectionName;
+    }
+
+    private MongoCollection<Document> collection() {
+        return mongoTemplate.getDb().getCollection(collectionName);
+    }
+}
@@ -0,0 +1,106 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.in.changestream;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoWriteException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Coordena a posse das partições do Change Stream entre instâncias através de
+ * leases em uma coleção do MongoDB.
+ * <p>
+ * Cada lease expira após {@code leaseTtl} se não for renovada, permitindo que
+ * outra instância assuma a partição quando o dono falha. Os tempos são
+ * calculados com {@code $$NOW} do servidor, evitando dependência do relógio
+ * das instâncias. A mesma coleção guarda o heartbeat de cada instância, usado
+ * para calcular a quantidade justa de partições por membro.
+ */
+@Component
+@Slf4j
+public class ChangeStreamLeaseManager {
+
+    private static final String TYPE_PARTITION = "partition";
+    private static final String TYPE_MEMBER = "member";
+
+    private final MongoTemplate mongoTemplate;
+    private final String collectionName;
+    private final Duration leaseTtl;
+
+    public ChangeStreamLeaseManager(MongoTemplate mongoTemplate,
+            @Value("${audit.changestream.partitioning.lease-collection:audit_leases}") String collectionName,
+            @Value("${audit.changestream.partitioning.lease-ttl:15s}") Duration leaseTtl) {
+        this.mongoTemplate = mongoTemplate;
+        this.collectionName = collectionName;
+        this.leaseTtl = leaseTtl;
+    }
+
+    /**
+     * Adquire ou renova a lease da partição. Retorna {@code false} se outra
+     * instância detém uma lease ainda válida.
+     */
+    public boolean tryAcquire(int partition, String owner) {
+        return upsertLease("partition-" + partition, TYPE_PARTITION, owner,
+                Filters.or(Filters.eq("owner", owner), expired()));
+    }
+
+    public void release(int partition, String owner) {
+        collection().deleteOne(Filters.and(Filters.eq("_id", "partition-" + partition), Filters.eq("owner", owner)));
+        log.info("Lease da partição {} liberada pela instância '{}'.", partition, owner);
+    }
+
+    public void heartbeat(String owner) {
+        upsertLease("member-" + owner, TYPE_MEMBER, owner, Filters.eq("owner", owner));
+    }
+
+    public void leave(String owner) {
+        collection().deleteOne(Filters.eq("_id", "member-" + owner));
+    }
+
+    public long countLiveMembers() {
+        return collection().countDocuments(Filters.and(Filters.eq("type", TYPE_MEMBER), live()));
+    }
+
+    public String getCollectionName() {
+        return collectionName;
+    }
+
+    private boolean upsertLease(String id, String type, String owner, Bson ownershipFilter) {
+        List<Bson> update = List.of(
+                Updates.set("type", type),
+                Updates.set("owner", owner),
+                Updates.set("expiresAt", new Document("$add", List.of("$$NOW", leaseTtl.toMillis()))));
+        try {
+            collection().updateOne(Filters.and(Filters.eq("_id", id), ownershipFilter), update,
+                    new UpdateOptions().upsert(true));
+            return true;
+        } catch (MongoWriteException e) {
+            if (ErrorCategory.fromErrorCode(e.getCode()) == ErrorCategory.DUPLICATE_KEY) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    private Bson expired() {
+        return Filters.expr(new Document("$lt", List.of("$expiresAt", "$$NOW")));
+    }
+
+    private Bson live() {
+        return Filters.expr(new Document("$gte", List.of("$expiresAt", "$$NOW")));
+    }
+
+    private MongoCollection<Document> collection() {
+        return mongoTemplate.getDb().getCollection(collectionName);
+    }
+}
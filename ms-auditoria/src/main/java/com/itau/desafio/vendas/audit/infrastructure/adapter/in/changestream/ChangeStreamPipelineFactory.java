@@ -0,0 +1,76 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.in.changestream;
+
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Monta os estágios de agregação enviados ao {@code watch(pipeline)}, para que
+ * a filtragem por coleção e tipo de operação e a remoção de campos grandes
+ * aconteçam no mongod, antes do envio pela rede.
+ */
+@Component
+@Slf4j
+public class ChangeStreamPipelineFactory {
+
+    private final List<String> includeCollections;
+    private final List<String> excludeCollections;
+    private final List<String> operationTypes;
+    private final List<String> excludeFields;
+
+    public ChangeStreamPipelineFactory(
+            @Value("${audit.changestream.filter.include-collections:}") List<String> includeCollections,
+            @Value("${audit.changestream.filter.exclude-collections:}") List<String> excludeCollections,
+            @Value("${audit.changestream.filter.operation-types:insert,update,replace,delete}") List<String> operationTypes,
+            @Value("${audit.changestream.filter.exclude-fields:}") List<String> excludeFields) {
+        this.includeCollections = nonBlank(includeCollections);
+        this.excludeCollections = nonBlank(excludeCollections);
+        this.operationTypes = nonBlank(operationTypes);
+        this.excludeFields = nonBlank(excludeFields);
+    }
+
+    /**
+     * @param internalCollections Coleções do próprio serviço (checkpoints,
+     *                            leases), sempre excluídas.
+     */
+    public List<Bson> build(Collection<String> internalCollections) {
+        List<Bson> filters = new ArrayList<>();
+        if (!operationTypes.isEmpty()) {
+            filters.add(Filters.in("operationType", operationTypes));
+        }
+        if (!includeCollections.isEmpty()) {
+            filters.add(Filters.in("ns.coll", includeCollections));
+        }
+        Set<String> excluded = new LinkedHashSet<>(internalCollections);
+        excluded.addAll(excludeCollections);
+        filters.add(Filters.nin("ns.coll", excluded));
+
+        List<Bson> pipeline = new ArrayList<>();
+        pipeline.add(Aggregates.match(Filters.and(filters)));
+        if (!excludeFields.isEmpty()) {
+            List<String> projected = new ArrayList<>();
+            for (String field : excludeFields) {
+                projected.add("fullDocument." + field);
+                projected.add("fullDocumentBeforeChange." + field);
+            }
+            pipeline.add(Aggregates.project(Projections.exclude(projected)));
+        }
+        log.info("Pipeline do Change Stream: operações={}, coleções incluídas={}, excluídas={}, campos removidos={}",
+                operationTypes, includeCollections.isEmpty() ? "todas" : includeCollections, excluded, excludeFields);
+        return pipeline;
+    }
+
+    private static List<String> nonBlank(List<String> values) {
+        return values.stream().map(String::trim).filter(value -> !value.isEmpty()).toList();
+    }
+}
@@ -0,0 +1,28 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.in.changestream;
+
+import com.mongodb.client.model.changestream.FullDocument;
+
+import java.time.Duration;
+
+/**
+ * Parâmetros de checkpoint, reconexão e captura compartilhados pelos workers
+ * do Change Stream.
+ *
+ * @param checkpointEveryEvents Quantidade de eventos que dispara um checkpoint.
+ * @param checkpointInterval    Intervalo máximo entre checkpoints; também é o
+ *                              tempo máximo de espera do cursor por eventos.
+ * @param initialBackoff        Espera antes da primeira tentativa de
+ *                              reconexão.
+ * @param maxBackoff            Teto da espera entre tentativas de reconexão.
+ * @param fullDocument          {@code UPDATE_LOOKUP} no modo completo;
+ *                              {@code DEFAULT} no modo delta, em que as
+ *                              atualizações trazem apenas o
+ *                              {@code updateDescription}.
+ */
+record ChangeStreamSettings(
+        int checkpointEveryEvents,
+        Duration checkpointInterval,
+        Duration initialBackoff,
+        Duration maxBackoff,
+        FullDocument fullDocument) {
+}
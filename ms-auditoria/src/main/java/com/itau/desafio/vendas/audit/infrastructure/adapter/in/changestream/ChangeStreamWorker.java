@@ -0,0 +1,268 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.in.changestream;
+
+import com.itau.desafio.vendas.audit.application.port.in.ProcessAuditEventUseCase.Completion;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocumentBeforeChange;
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+/**
+ * Consome um único Change Stream (o banco inteiro ou uma partição dele),
+ * persistindo o resume token em lotes e reconectando com backoff exponencial
+ * em caso de falha do cursor.
+ * <p>
+ * As imagens do documento são entregues como {@link RawBsonDocument}; a
+ * decodificação fica a cargo de quem trata o evento.
+ * <p>
+ * Cada evento é entregue com um {@link Completion}, e o checkpoint persiste
+ * apenas a {@link ResumeTokenWatermark marca d'água} dos eventos já
+ * exportados: eventos ainda nas filas do pipeline são reentregues após uma
+ * queda. Se o pipeline reportar a perda de um evento, o cursor é reaberto a
+ * partir do último checkpoint, que não passa desse evento.
+ */
+@Slf4j
+class ChangeStreamWorker implements Runnable {
+
+    private final String streamId;
+    private final List<Bson> pipeline;
+    private final MongoTemplate mongoTemplate;
+    private final ChangeStreamCheckpointStore checkpointStore;
+    private final Set<String> internalCollections;
+    private final BiConsumer<ChangeStreamDocument<RawBsonDocument>, Completion> eventHandler;
+    private final ChangeStreamSettings settings;
+    private final Counter reconnectCounter;
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<RawBsonDocument>> cursor;
+    private volatile boolean stopped = false;
+    private volatile boolean isRunning = false;
+    private final AtomicReference<Exception> lastException = new AtomicReference<>(null);
+
+    private int consecutiveFailures = 0;
+    private volatile ResumeTokenWatermark watermark = new ResumeTokenWatermark();
+    private BsonDocument pendingResumeToken;
+    private volatile long eventsSinceCheckpoint = 0;
+    private volatile long lastCheckpointAt = System.currentTimeMillis();
+
+    ChangeStreamWorker(String streamId, List<Bson> pipeline, MongoTemplate mongoTemplate,
+            ChangeStreamCheckpointStore checkpointStore, Set<String> internalCollections,
+            BiConsumer<ChangeStreamDocument<RawBsonDocument>, Completion> eventHandler, ChangeStreamSettings settings,
+            Counter reconnectCounter) {
+        this.streamId = streamId;
+        this.pipeline = pipeline;
+        this.mongoTemplate = mongoTemplate;
+        this.checkpointStore = checkpointStore;
+        this.internalCollections = internalCollections;
+        this.eventHandler = eventHandler;
+        this.settings = settings;
+        this.reconnectCounter = reconnectCounter;
+    }
+
+    @Override
+    public void run() {
+        while (!stopped && !Thread.currentThread().isInterrupted()) {
+            try {
+                consumeChangeStream();
+            } catch (Exception e) {
+                this.lastException.set(e);
+                if (stopped) {
+                    break;
+                }
+                consecutiveFailures++;
+                Duration backoff = computeBackoff(consecutiveFailures);
+                log.error("Erro ao processar o Change Stream '{}'. Reconectando em {} ms (tentativa {}).",
+                        streamId, backoff.toMillis(), consecutiveFailures, e);
+                if (!sleep(backoff)) {
+                    break;
+                }
+                reconnectCounter.increment();
+            } finally {
+                this.isRunning = false;
+                closeCursor();
+            }
+        }
+    }
+
+    private void consumeChangeStream() {
+        Optional<BsonDocument> resumeToken = checkpointStore.load(streamId);
+        watermark = new ResumeTokenWatermark();
+        pendingResumeToken = null;
+        eventsSinceCheckpoint = 0;
+
+        ChangeStreamIterable<RawBsonDocument> changeStream = mongoTemplate.getDb().watch(pipeline, RawBsonDocument.class)
+                .fullDocument(settings.fullDocument())
+                .fullDocumentBeforeChange(FullDocumentBeforeChange.WHEN_AVAILABLE)
+                .maxAwaitTime(settings.checkpointInterval().toMillis(), TimeUnit.MILLISECONDS);
+        resumeToken.ifPresent(changeStream::startAfter);
+        cursor = changeStream.cursor();
+
+        log.info("Change Stream '{}' conectado ao banco '{}' ({}). Aguardando por alterações.", streamId,
+                mongoTemplate.getDb().getName(),
+                resumeToken.isPresent() ? "retomando do último checkpoint" : "sem checkpoint anterior");
+        try {
+            this.isRunning = true;
+            this.lastException.set(null);
+            long connectedAt = System.nanoTime();
+            while (!stopped && !Thread.currentThread().isInterrupted()) {
+                ChangeStreamDocument<RawBsonDocument> event = cursor.tryNext();
+                if (event != null) {
+                    log.trace("Evento do Change Stream '{}' recebido: {}", streamId, event);
+                    handleEvent(event);
+                }
+                resetBackoffIfHealthy(event != null, connectedAt);
+                checkpointIfDue();
+                failOnLostEvent();
+            }
+        } finally {
+            if (stopped) {
+                awaitPendingEvents(settings.checkpointInterval());
+            }
+            advanceWatermark();
+            checkpoint();
+        }
+    }
+
+    private void resetBackoffIfHealthy(boolean delivered, long connectedAt) {
+        if (consecutiveFailures > 0
+                && (delivered || System.nanoTime() - connectedAt >= settings.maxBackoff().toNanos())) {
+            consecutiveFailures = 0;
+        }
+    }
+
+    private void handleEvent(ChangeStreamDocument<RawBsonDocument> event) {
+        if (event.getNamespace() != null
+                && internalCollections.contains(event.getNamespace().getCollectionName())) {
+            return;
+        }
+        Completion completion = watermark.track(event.getResumeToken());
+        eventHandler.accept(event, completion);
+    }
+
+    private void advanceWatermark() {
+        ResumeTokenWatermark.Advance advance = watermark.advance();
+        if (advance.resumeToken() != null) {
+            pendingResumeToken = advance.resumeToken();
+            eventsSinceCheckpoint += advance.completedEvents();
+        }
+    }
+
+    /**
+     * Um evento rejeitado ou não exportado segura a marca d'água; reabrir o
+     * cursor a partir do checkpoint o reentrega, em vez de acumular eventos
+     * atrás dele.
+     */
+    private void failOnLostEvent() {
+        Exception failure = watermark.failure();
+        if (failure != null) {
+            throw new IllegalStateException("Evento do Change Stream '" + streamId
+                    + "' não foi exportado; retomando do último checkpoint.", failure);
+        }
+    }
+
+    /**
+     * No encerramento, aguarda o pipeline concluir os eventos já entregues
+     * para que o checkpoint final os cubra.
+     */
+    private void awaitPendingEvents(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (watermark.pendingEvents() > 0 && watermark.failure() == null && System.nanoTime() < deadline) {
+            advanceWatermark();
+            if (!sleep(Duration.ofMillis(10))) {
+                return;
+            }
+        }
+    }
+
+    private void checkpointIfDue() {
+        advanceWatermark();
+        boolean countReached = eventsSinceCheckpoint >= settings.checkpointEveryEvents();
+        boolean intervalElapsed = System.currentTimeMillis() - lastCheckpointAt >= settings.checkpointInterval()
+                .toMillis();
+        if (eventsSinceCheckpoint > 0 && (countReached || intervalElapsed)) {
+            checkpoint();
+        }
+    }
+
+    private void checkpoint() {
+        if (pendingResumeToken == null || eventsSinceCheckpoint == 0) {
+            return;
+        }
+        try {
+            checkpointStore.save(streamId, pendingResumeToken);
+            eventsSinceCheckpoint = 0;
+            lastCheckpointAt = System.currentTimeMillis();
+        } catch (Exception e) {
+            log.warn("Falha ao salvar checkpoint do Change Stream '{}'. Nova tentativa no próximo ciclo.", streamId,
+                    e);
+        }
+    }
+
+    private Duration computeBackoff(int attempt) {
+        long exponential = settings.initialBackoff().toMillis() << Math.min(attempt - 1, 16);
+        long capped = Math.min(exponential, settings.maxBackoff().toMillis());
+        long jitter = ThreadLocalRandom.current().nextLong(capped / 2 + 1);
+        return Duration.ofMillis(capped / 2 + jitter);
+    }
+
+    private boolean sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void closeCursor() {
+        if (cursor != null) {
+            try {
+                cursor.close();
+            } catch (Exception e) {
+                log.warn("Erro ao fechar o cursor do Change Stream '{}'.", streamId, e);
+            }
+        }
+    }
+
+    /**
+     * Sinaliza o encerramento. O loop termina no próximo retorno de
+     * {@code tryNext}, salvando o checkpoint pendente antes de fechar o cursor.
+     */
+    void stop() {
+        this.stopped = true;
+    }
+
+    String getStreamId() {
+        return streamId;
+    }
+
+    boolean isRunning() {
+        return isRunning;
+    }
+
+    Exception getLastException() {
+        return lastException.get();
+    }
+
+    long getUncheckpointedEvents() {
+        return eventsSinceCheckpoint + watermark.pendingEvents();
+    }
+
+    double getSecondsSinceCheckpoint() {
+        return (System.currentTimeMillis() - lastCheckpointAt) / 1000.0;
+    }
+}
@@ -1,82 +1,287 @@
 package com.itau.desafio.vendas.audit.infrastructure.adapter.in.changestream;
 
 import com.itau.desafio.vendas.audit.application.port.in.ProcessAuditEventUseCase;
+import com.itau.desafio.vendas.audit.application.port.in.ProcessAuditEventUseCase.Completion;
 import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
 import com.itau.desafio.vendas.audit.domain.model.ChangeType;
-import com.mongodb.client.MongoChangeStreamCursor;
+import com.itau.desafio.vendas.audit.domain.model.DocumentDelta;
+import com.itau.desafio.vendas.audit.domain.model.RawBsonBackedDocument;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.changestream.ChangeStreamDocument;
 import com.mongodb.client.model.changestream.FullDocument;
-import com.mongodb.client.model.changestream.FullDocumentBeforeChange;
+import com.mongodb.client.model.changestream.UpdateDescription;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Escuta o Change Stream do banco e converte cada mudança em um
+ * {@link AuditEvent}.
+ * <p>
+ * Os filtros de coleção e tipo de operação configurados em
+ * {@link ChangeStreamPipelineFactory} são aplicados no mongod.
+ * <p>
+ * No modo padrão, uma única instância consome o banco inteiro. Com
+ * {@code audit.changestream.partitioning.enabled=true}, os eventos são
+ * divididos em {@code partitions} partições por hash de
+ * {@code documentKey._id} (filtro aplicado no próprio mongod) e cada instância
+ * consome apenas as partições cujas leases detém, assumindo as partições de
+ * instâncias que pararam de renovar suas leases.
+ * <p>
+ * Com {@code audit.changestream.mode=delta}, as atualizações são capturadas
+ * sem {@code UPDATE_LOOKUP}: o evento traz a pré-imagem e apenas os campos
+ * alterados ({@link DocumentDelta}), evitando a consulta extra no mongod e o
+ * envio do documento completo.
+ * <p>
+ * Com {@code audit.changestream.raw-documents=true} (padrão), as pré e
+ * pós-imagens não são decodificadas: o evento carrega os bytes BSON em um
+ * {@link RawBsonBackedDocument}, serializado diretamente pelos exportadores.
+ */
 @Component
 @Slf4j
 public class MongoChangeStreamListenerAdapter {
 
+    private static final DocumentCodec DOCUMENT_CODEC = new DocumentCodec();
+
     private final MongoTemplate mongoTemplate;
     private final ProcessAuditEventUseCase processAuditEventUseCase;
+    private final ChangeStreamCheckpointStore checkpointStore;
+    private final ChangeStreamLeaseManager leaseManager;
     private final ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor();
-    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
 
-    private volatile boolean isRunning = false;
-    private final AtomicReference<Exception> lastException = new AtomicReference<>(null);
+    private final String listenerId;
+    private final String instanceId;
+    private final ChangeStreamSettings settings;
+    private final boolean partitioningEnabled;
+    private final int partitions;
+    private final Duration heartbeatInterval;
+    private final boolean deltaMode;
+    private final boolean rawDocuments;
+    private final Set<String> internalCollections;
+    private final List<Bson> basePipeline;
+
+    private final Map<Integer, ChangeStreamWorker> ownedPartitions = new ConcurrentHashMap<>();
+    private final Map<Integer, Future<?>> partitionTasks = new ConcurrentHashMap<>();
+    private volatile ChangeStreamWorker singleWorker;
+    private volatile boolean coordinatorRunning = false;
+    private final AtomicReference<Exception> coordinatorException = new AtomicReference<>(null);
+    private final Counter reconnectCounter;
+    private final Counter receivedCounter;
+    private final Counter discardedCounter;
 
     public MongoChangeStreamListenerAdapter(MongoTemplate mongoTemplate,
-            ProcessAuditEventUseCase processAuditEventUseCase) {
+            ProcessAuditEventUseCase processAuditEventUseCase,
+            ChangeStreamCheckpointStore checkpointStore,
+            ChangeStreamLeaseManager leaseManager,
+            ChangeStreamPipelineFactory pipelineFactory,
+            MeterRegistry meterRegistry,
+            @Value("${audit.changestream.listener-id:ms-audit}") String listenerId,
+            @Value("${audit.changestream.instance-id:}") String instanceId,
+            @Value("${audit.changestream.checkpoint.every-events:100}") int checkpointEveryEvents,
+            @Value("${audit.changestream.checkpoint.interval:5s}") Duration checkpointInterval,
+            @Value("${audit.changestream.reconnect.initial-backoff:500ms}") Duration initialBackoff,
+            @Value("${audit.changestream.reconnect.max-backoff:30s}") Duration maxBackoff,
+            @Value("${audit.changestream.mode:full}") String mode,
+            @Value("${audit.changestream.raw-documents:true}") boolean rawDocuments,
+            @Value("${audit.changestream.partitioning.enabled:false}") boolean partitioningEnabled,
+            @Value("${audit.changestream.partitioning.partitions:8}") int partitions,
+            @Value("${audit.changestream.partitioning.heartbeat-interval:5s}") Duration heartbeatInterval) {
         this.mongoTemplate = mongoTemplate;
         this.processAuditEventUseCase = processAuditEventUseCase;
+        this.checkpointStore = checkpointStore;
+        this.leaseManager = leaseManager;
+        this.listenerId = listenerId;
+        this.instanceId = instanceId == null || instanceId.isBlank() ? UUID.randomUUID().toString() : instanceId;
+        this.deltaMode = "delta".equalsIgnoreCase(mode);
+        this.rawDocuments = rawDocuments;
+        this.settings = new ChangeStreamSettings(checkpointEveryEvents, checkpointInterval, initialBackoff,
+                maxBackoff, deltaMode ? FullDocument.DEFAULT : FullDocument.UPDATE_LOOKUP);
+        this.partitioningEnabled = partitioningEnabled;
+        this.partitions = partitions;
+        this.heartbeatInterval = heartbeatInterval;
+        this.internalCollections = Set.of(checkpointStore.getCollectionName(), leaseManager.getCollectionName());
+        this.basePipeline = pipelineFactory.build(internalCollections);
+
+        this.reconnectCounter = Counter.builder("audit.changestream.reconnects")
+                .description("Número de reconexões do Change Stream após falha do cursor")
+                .register(meterRegistry);
+        this.receivedCounter = Counter.builder("audit.changestream.events.received")
+                .description("Eventos entregues pelo Change Stream após a filtragem no servidor")
+                .register(meterRegistry);
+        this.discardedCounter = Counter.builder("audit.changestream.events.discarded")
+                .description("Eventos recebidos e descartados no cliente por não serem auditáveis")
+                .register(meterRegistry);
+        Gauge.builder("audit.changestream.checkpoint.lag.events", this,
+                listener -> listener.activeWorkers().stream()
+                        .mapToLong(ChangeStreamWorker::getUncheckpointedEvents).sum())
+                .description("Eventos processados ainda não cobertos pelo último checkpoint")
+                .register(meterRegistry);
+        Gauge.builder("audit.changestream.checkpoint.lag.seconds", this,
+                listener -> listener.activeWorkers().stream()
+                        .mapToDouble(ChangeStreamWorker::getSecondsSinceCheckpoint).max().orElse(0))
+                .description("Tempo desde o último checkpoint do resume token")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("audit.changestream.partitions.owned", ownedPartitions, Map::size)
+                .description("Partições do Change Stream consumidas por esta instância")
+                .register(meterRegistry);
     }
 
     @PostConstruct
-    private void startListening() {
-        log.info("Iniciando o listener do MongoDB Change Stream para todo o banco de dados.");
-        executorService.submit(this::listenToChanges);
+    void startListening() {
+        if (partitioningEnabled) {
+            log.info("Iniciando o listener do MongoDB Change Stream em modo particionado ({} partições, instância '{}').",
+                    partitions, instanceId);
+            executorService.submit(this::coordinatePartitions);
+        } else {
+            log.info("Iniciando o listener do MongoDB Change Stream para todo o banco de dados.");
+            singleWorker = newWorker(listenerId, List.of());
+            executorService.submit(singleWorker);
+        }
     }
 
-    // TODO: usar eventos? Reactive Streams?
-    private void listenToChanges() {
-        cursor = mongoTemplate.getDb().watch()
-                .fullDocument(FullDocument.UPDATE_LOOKUP)
-                .fullDocumentBeforeChange(FullDocumentBeforeChange.WHEN_AVAILABLE)
-                .cursor();
-
-        log.info("Conectado ao Change Stream do banco '{}'. Aguardando por alterações.",
-                mongoTemplate.getDb().getName());
+    /**
+     * Loop de coordenação do modo particionado: publica o heartbeat da
+     * instância, renova as leases detidas, libera o excedente acima da cota
+     * justa e tenta adquirir partições livres ou expiradas.
+     */
+    private void coordinatePartitions() {
+        coordinatorRunning = true;
         try {
-            this.isRunning = true;
-            this.lastException.set(null);
-            while (cursor.hasNext() && !Thread.currentThread().isInterrupted()) {
-                ChangeStreamDocument<Document> event = cursor.next();
-                log.trace("Evento do Change Stream recebido: {}", event);
+            while (!executorService.isShutdown() && !Thread.currentThread().isInterrupted()) {
+                try {
+                    rebalancePartitions();
+                    coordinatorException.set(null);
+                } catch (Exception e) {
+                    coordinatorException.set(e);
+                    log.error("Falha ao coordenar as leases das partições do Change Stream.", e);
+                }
+                Thread.sleep(heartbeatInterval);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            coordinatorRunning = false;
+        }
+    }
+
+    void rebalancePartitions() {
+        leaseManager.heartbeat(instanceId);
+        long liveMembers = Math.max(1, leaseManager.countLiveMembers());
+        int fairShare = (int) Math.ceil((double) partitions / liveMembers);
 
-                convertToAuditEvent(event).ifPresent(processAuditEventUseCase::process);
+        for (Integer partition : List.copyOf(ownedPartitions.keySet())) {
+            if (!leaseManager.tryAcquire(partition, instanceId)) {
+                log.warn("Lease da partição {} perdida pela instância '{}'.", partition, instanceId);
+                stopPartition(partition);
             }
-        } catch (Exception e) {
-            this.lastException.set(e);
-            if (!executorService.isShutdown()) {
-                log.error("Erro fatal ao processar o Change Stream do MongoDB. O listener será encerrado.", e);
+        }
+
+        for (Integer partition : List.copyOf(ownedPartitions.keySet())) {
+            if (ownedPartitions.size() <= fairShare) {
+                break;
             }
-        } finally {
-            this.isRunning = false;
-            closeCursor();
+            stopPartition(partition);
+            leaseManager.release(partition, instanceId);
+        }
+
+        for (int partition = 0; partition < partitions && ownedPartitions.size() < fairShare; partition++) {
+            if (!ownedPartitions.containsKey(partition) && leaseManager.tryAcquire(partition, instanceId)) {
+                startPartition(partition);
+            }
+        }
+    }
+
+    private void startPartition(int partition) {
+        log.info("Instância '{}' assumiu a partição {} do Change Stream.", instanceId, partition);
+        ChangeStreamWorker worker = newWorker(listenerId + "-p" + partition, List.of(partitionFilter(partition)));
+        ownedPartitions.put(partition, worker);
+        partitionTasks.put(partition, executorService.submit(worker));
+    }
+
+    private void stopPartition(int partition) {
+        ChangeStreamWorker worker = ownedPartitions.remove(partition);
+        Future<?> task = partitionTasks.remove(partition);
+        if (worker == null) {
+            return;
+        }
+        worker.stop();
+        try {
+            task.get(settings.checkpointInterval().toMillis() * 2, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Worker da partição {} não encerrou a tempo.", partition, e);
+        }
+    }
+
+    /**
+     * Filtro aplicado no mongod: mantém apenas os eventos cujo hash de
+     * {@code documentKey._id} pertence à partição.
+     */
+    private Bson partitionFilter(int partition) {
+        Document hashedKey = new Document("$toHashedIndexKey", "$documentKey._id");
+        Document bucket = new Document("$abs", new Document("$mod", List.of(hashedKey, (long) partitions)));
+        return Aggregates.match(Filters.expr(new Document("$eq", List.of(bucket, (long) partition))));
+    }
+
+    private ChangeStreamWorker newWorker(String streamId, List<Bson> extraStages) {
+        List<Bson> pipeline = new ArrayList<>(basePipeline);
+        pipeline.addAll(extraStages);
+        return new ChangeStreamWorker(streamId, pipeline, mongoTemplate, checkpointStore, internalCollections,
+                this::handleEvent, settings, reconnectCounter);
+    }
+
+    private void handleEvent(ChangeStreamDocument<RawBsonDocument> event, Completion completion) {
+        receivedCounter.increment();
+        Optional<AuditEvent> auditEvent = convertToAuditEvent(event);
+        if (auditEvent.isPresent()) {
+            processAuditEventUseCase.process(auditEvent.get(), completion);
+        } else {
+            discardedCounter.increment();
+            completion.exported();
+        }
+    }
+
+    private List<ChangeStreamWorker> activeWorkers() {
+        if (!partitioningEnabled) {
+            return singleWorker == null ? List.of() : List.of(singleWorker);
         }
+        return List.copyOf(ownedPartitions.values());
     }
 
-    private Optional<AuditEvent> convertToAuditEvent(ChangeStreamDocument<Document> event) {
+    private Optional<AuditEvent> convertToAuditEvent(ChangeStreamDocument<RawBsonDocument> event) {
         log.trace("Convertendo Change Stream Document para AuditEvent: {}", event);
         ChangeType changeType;
         switch (event.getOperationType()) {
@@ -95,29 +300,76 @@ public class MongoChangeStreamListenerAdapter {
                 return Optional.empty();
         }
 
-        Document documentBefore = event.getFullDocumentBeforeChange();
-        Document documentAfter = event.getFullDocument();
+        Document documentBefore = toImage(event.getFullDocumentBeforeChange());
+        Document documentAfter = toImage(event.getFullDocument());
 
         String dbName = event.getNamespace().getDatabaseName();
         String collectionName = event.getNamespace().getCollectionName();
 
-        Document documentKey = Document.parse(event.getDocumentKey().toJson());
+        Document documentKey = toDocument(event.getDocumentKey());
 
         String changedBy = extractChangedBy(documentAfter, documentBefore);
 
+        DocumentDelta documentDelta = deltaMode ? toDocumentDelta(event.getUpdateDescription()) : null;
+        if (documentDelta != null) {
+            changedBy = extractChangedBy(documentDelta.updatedFields(), documentBefore);
+        }
+
         AuditEvent auditEvent = new AuditEvent(
                 changeType,
-                LocalDateTime.ofInstant(Instant.ofEpochSecond(event.getClusterTime().getTime()), ZoneOffset.UTC),
+                commitTimestamp(event),
                 dbName,
                 collectionName,
                 changedBy,
                 documentKey,
                 documentBefore,
-                documentAfter);
+                documentAfter,
+                documentDelta);
 
         return Optional.of(auditEvent);
     }
 
+    /**
+     * Instante do commit: o {@code wallTime} do evento (precisão de
+     * milissegundos) ou, na ausência dele, o cluster time (precisão de
+     * segundos).
+     */
+    private static LocalDateTime commitTimestamp(ChangeStreamDocument<RawBsonDocument> event) {
+        Instant instant = event.getWallTime() != null
+                ? Instant.ofEpochMilli(event.getWallTime().getValue())
+                : Instant.ofEpochSecond(event.getClusterTime().getTime());
+        return LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private DocumentDelta toDocumentDelta(UpdateDescription updateDescription) {
+        if (updateDescription == null) {
+            return null;
+        }
+        Document updatedFields = updateDescription.getUpdatedFields() == null
+                ? new Document()
+                : toDocument(updateDescription.getUpdatedFields());
+        List<String> removedFields = updateDescription.getRemovedFields() == null
+                ? List.of()
+                : updateDescription.getRemovedFields();
+        List<DocumentDelta.TruncatedArray> truncatedArrays = updateDescription.getTruncatedArrays() == null
+                ? List.of()
+                : updateDescription.getTruncatedArrays().stream()
+                        .map(truncated -> new DocumentDelta.TruncatedArray(truncated.getField(), truncated.getNewSize()))
+                        .toList();
+        return new DocumentDelta(updatedFields, removedFields, truncatedArrays);
+    }
+
+    private Document toImage(RawBsonDocument image) {
+        if (image == null) {
+            return null;
+        }
+        return rawDocuments ? new RawBsonBackedDocument(image) : image.decode(DOCUMENT_CODEC);
+    }
+
+    private static Document toDocument(BsonDocument bsonDocument) {
+        return DOCUMENT_CODEC.decode(new BsonDocumentReader(bsonDocument), DecoderContext.builder().build());
+    }
+
     /**
      * Helper para extrair o campo 'lastModifiedBy' do documento.
      * Tenta primeiro no documento 'after', depois no 'before'.
@@ -133,36 +385,72 @@ public class MongoChangeStreamListenerAdapter {
     }
 
     @PreDestroy
-    private void stopListening() {
+    void stopListening() {
         log.info("Encerrando o listener do MongoDB Change Stream.");
-        executorService.shutdownNow();
-        closeCursor();
+        activeWorkers().forEach(ChangeStreamWorker::stop);
+        executorService.shutdown();
         try {
-            if (!executorService.awaitTermination(5, TimeUnit.SECONDS)) {
-                log.warn("Executor service não encerrou graciosamente.");
+            long gracePeriodMs = settings.checkpointInterval().toMillis() + 1000;
+            if (!executorService.awaitTermination(gracePeriodMs, TimeUnit.MILLISECONDS)) {
+                executorService.shutdownNow();
+                if (!executorService.awaitTermination(5, TimeUnit.SECONDS)) {
+                    log.warn("Executor service não encerrou graciosamente.");
+                }
             }
         } catch (InterruptedException e) {
             log.warn("Thread interrompida durante o encerramento do executor service.");
             Thread.currentThread().interrupt();
         }
+        if (partitioningEnabled) {
+            releaseAllPartitions();
+        }
         log.info("Listener do Change Stream encerrado.");
     }
 
-    private void closeCursor() {
-        if (cursor != null) {
+    private void releaseAllPartitions() {
+        for (Integer partition : List.copyOf(ownedPartitions.keySet())) {
+            ownedPartitions.remove(partition);
             try {
-                cursor.close();
+                leaseManager.release(partition, instanceId);
             } catch (Exception e) {
-                log.warn("Erro ao fechar o cursor do Change Stream.", e);
+                log.warn("Falha ao liberar a lease da partição {}. Ela expirará naturalmente.", partition, e);
             }
         }
+        try {
+            leaseManager.leave(instanceId);
+        } catch (Exception e) {
+            log.warn("Falha ao remover o heartbeat da instância '{}'.", instanceId, e);
+        }
     }
 
+    /**
+     * No modo padrão, indica se o cursor do banco está aberto. No modo
+     * particionado, indica se o loop de coordenação está ativo e se todas as
+     * partições detidas estão com o cursor aberto.
+     */
     public boolean isRunning() {
-        return isRunning;
+        if (!partitioningEnabled) {
+            return singleWorker != null && singleWorker.isRunning();
+        }
+        return coordinatorRunning && ownedPartitions.values().stream().allMatch(ChangeStreamWorker::isRunning);
     }
 
     public Exception getLastException() {
-        return lastException.get();
+        if (coordinatorException.get() != null) {
+            return coordinatorException.get();
+        }
+        return activeWorkers().stream()
+                .map(ChangeStreamWorker::getLastException)
+                .filter(e -> e != null)
+                .findFirst()
+                .orElse(null);
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public Set<Integer> getOwnedPartitions() {
+        return Set.copyOf(ownedPartitions.keySet());
     }
-}
\ No newline at end of file
+}
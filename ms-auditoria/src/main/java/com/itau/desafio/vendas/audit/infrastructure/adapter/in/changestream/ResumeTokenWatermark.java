@@ -0,0 +1,81 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.in.changestream;
+
+import com.itau.desafio.vendas.audit.application.port.in.ProcessAuditEventUseCase.Completion;
+import org.bson.BsonDocument;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Marca d'água baixa dos resume tokens entregues ao pipeline: o token mais
+ * recente cujo evento e todos os anteriores já foram exportados.
+ * <p>
+ * As raias concluem os eventos fora de ordem; o checkpoint só pode avançar até
+ * o primeiro evento ainda pendente. {@link #track(BsonDocument)} e
+ * {@link #advance()} são chamados apenas pela thread do cursor; os
+ * {@link Completion} retornados podem ser notificados de qualquer thread.
+ */
+final class ResumeTokenWatermark {
+
+    private final Deque<Entry> pending = new ArrayDeque<>();
+    private final AtomicReference<Exception> failure = new AtomicReference<>();
+    private volatile int pendingEvents = 0;
+
+    Completion track(BsonDocument resumeToken) {
+        Entry entry = new Entry(resumeToken);
+        pending.addLast(entry);
+        pendingEvents = pending.size();
+        return entry;
+    }
+
+    /**
+     * Descarta os eventos concluídos no início da fila e retorna o token do
+     * último deles, ou {@code null} se o primeiro evento ainda está pendente.
+     */
+    Advance advance() {
+        BsonDocument watermark = null;
+        int completed = 0;
+        while (!pending.isEmpty() && pending.peekFirst().exported) {
+            watermark = pending.pollFirst().resumeToken;
+            completed++;
+        }
+        pendingEvents = pending.size();
+        return new Advance(watermark, completed);
+    }
+
+    /**
+     * Primeira falha reportada pelo pipeline; o checkpoint não passa do
+     * evento que falhou.
+     */
+    Exception failure() {
+        return failure.get();
+    }
+
+    int pendingEvents() {
+        return pendingEvents;
+    }
+
+    record Advance(BsonDocument resumeToken, int completedEvents) {
+    }
+
+    private final class Entry implements Completion {
+
+        private final BsonDocument resumeToken;
+        private volatile boolean exported = false;
+
+        Entry(BsonDocument resumeToken) {
+            this.resumeToken = resumeToken;
+        }
+
+        @Override
+        public void exported() {
+            exported = true;
+        }
+
+        @Override
+        public void failed(Exception cause) {
+            failure.compareAndSet(null, cause);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.in.web;
+
+import com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter.AuditSegmentQueryService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Consulta os eventos gravados pelo exportador de arquivos. As respostas são
+ * NDJSON (um evento por linha), escritas diretamente a partir dos segmentos
+ * mapeados em memória.
+ */
+@RestController
+@RequestMapping("/events")
+@Profile({ "file", "fanout" })
+public class AuditEventQueryController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int MAX_LIMIT = 10_000;
+
+    private final AuditSegmentQueryService queryService;
+
+    public AuditEventQueryController(AuditSegmentQueryService queryService) {
+        this.queryService = queryService;
+    }
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> findByTimeRange(
+            @RequestParam Instant from,
+            @RequestParam Instant to,
+            @RequestParam(defaultValue = "1000") int limit) {
+        List<ByteBuffer> payloads = queryService.findByTimeRange(from.toEpochMilli(), to.toEpochMilli(),
+                clamp(limit));
+        return ndjson(payloads);
+    }
+
+    @GetMapping("/{collection}/{documentId}")
+    public ResponseEntity<StreamingResponseBody> findByDocument(
+            @PathVariable String collection,
+            @PathVariable String documentId,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(defaultValue = "1000") int limit) {
+        List<ByteBuffer> payloads = queryService.findByDocument(collection, documentId,
+                from != null ? from.toEpochMilli() : Long.MIN_VALUE,
+                to != null ? to.toEpochMilli() : Long.MAX_VALUE,
+                clamp(limit));
+        return ndjson(payloads);
+    }
+
+    private static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> ndjson(List<ByteBuffer> payloads) {
+        StreamingResponseBody body = outputStream -> {
+            WritableByteChannel channel = Channels.newChannel(outputStream);
+            ByteBuffer newline = ByteBuffer.wrap(new byte[] { '\n' });
+            for (ByteBuffer payload : payloads) {
+                while (payload.hasRemaining()) {
+                    channel.write(payload);
+                }
+                newline.rewind();
+                channel.write(newline);
+            }
+        };
+        return ResponseEntity.ok()
+                .header("X-Audit-Result-Count", String.valueOf(payloads.size()))
+                .contentType(NDJSON)
+                .body(body);
+    }
+}
@@ -0,0 +1,298 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Envia objetos ao S3 pelo {@link S3AsyncClient}, limitando a quantidade de
+ * uploads em andamento a uma janela configurável.
+ * <p>
+ * O controle de fluxo é guiado pela conclusão dos uploads: cada envio ocupa
+ * uma vaga da janela até concluir (incluindo as novas tentativas), e
+ * {@link #upload} só bloqueia o chamador quando a janela está cheia.
+ * Falhas transitórias são repetidas com backoff exponencial e jitter; uploads
+ * que esgotam as tentativas vão para a fila de reenvio, drenada por
+ * {@link #drainRetryQueue()}. Com a fila de reenvio cheia, o evento do upload
+ * é gravado no {@link SpillJournal}, quando configurado; sem journal,
+ * {@link #upload} passa a falhar até a fila ter espaço.
+ * <p>
+ * {@link #close()} aguarda os uploads em andamento, faz uma última drenagem da
+ * fila de reenvio e grava no journal os uploads que ainda restarem.
+ * <p>
+ * {@link #upload} devolve um futuro concluído quando o objeto é gravado no S3
+ * ou o evento vai para o journal de spill. Enquanto o upload espera na fila
+ * de reenvio, que fica só em memória, o futuro continua pendente; ele é
+ * concluído com erro quando o evento se perde.
+ */
+@Slf4j
+public class AsyncS3Uploader implements AutoCloseable {
+
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * Upload pendente de reenvio.
+     *
+     * @param delivered Concluído quando o upload é gravado no S3 ou no spill.
+     */
+    public record PendingUpload(String key, byte[] body, String contentType, AuditEvent auditEvent,
+            CompletableFuture<Void> delivered) {
+    }
+
+    private final S3AsyncClient s3AsyncClient;
+    private final String bucketName;
+    private final int maxInFlight;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final SpillJournal spillJournal;
+
+    private final Semaphore window;
+    private final BlockingQueue<PendingUpload> retryQueue;
+    private final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("s3-async-retry").daemon().factory());
+    private volatile boolean closed = false;
+
+    private final Timer uploadLatency;
+    private final Counter retryCounter;
+    private final Counter queuedCounter;
+    private final Counter droppedCounter;
+
+    public AsyncS3Uploader(S3AsyncClient s3AsyncClient, String bucketName, int maxInFlight, int maxAttempts,
+            Duration initialBackoff, Duration maxBackoff, int retryQueueCapacity, SpillJournal spillJournal,
+            MeterRegistry meterRegistry) {
+        this.s3AsyncClient = s3AsyncClient;
+        this.bucketName = bucketName;
+        this.maxInFlight = maxInFlight;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.spillJournal = spillJournal;
+        this.window = new Semaphore(maxInFlight);
+        this.retryQueue = new LinkedBlockingQueue<>(retryQueueCapacity);
+
+        Gauge.builder("audit.export.s3.async.inflight", this, AsyncS3Uploader::inFlight)
+                .description("Uploads assíncronos ao S3 em andamento")
+                .register(meterRegistry);
+        Gauge.builder("audit.export.s3.async.retry.queue", retryQueue, BlockingQueue::size)
+                .description("Uploads aguardando reenvio ao S3")
+                .register(meterRegistry);
+        this.uploadLatency = Timer.builder("audit.export.s3.async.upload")
+                .description("Latência dos uploads assíncronos ao S3, incluindo novas tentativas")
+                .register(meterRegistry);
+        this.retryCounter = Counter.builder("audit.export.s3.async.retries")
+                .description("Novas tentativas de upload ao S3 após falha transitória")
+                .register(meterRegistry);
+        this.queuedCounter = Counter.builder("audit.export.s3.async.retry.queued")
+                .description("Uploads que esgotaram as tentativas e foram para a fila de reenvio")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("audit.export.s3.async.dropped")
+                .description("Uploads descartados com a fila de reenvio cheia e sem journal de spill")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Inicia o upload, bloqueando apenas enquanto a janela de uploads em
+     * andamento estiver cheia.
+     *
+     * @return Futuro concluído quando o objeto é gravado no S3 ou o evento vai
+     *         para o journal de spill.
+     * @throws IllegalStateException se o uploader foi encerrado, ou se a fila
+     *                               de reenvio está cheia e não há journal de
+     *                               spill para receber novas falhas.
+     */
+    public CompletableFuture<Void> upload(String key, byte[] body, String contentType, AuditEvent auditEvent)
+            throws InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("Uploader S3 assíncrono encerrado");
+        }
+        if (spillJournal == null && retryQueue.remainingCapacity() == 0) {
+            throw new IllegalStateException("Fila de reenvio ao S3 cheia (" + retryQueue.size() + " uploads)");
+        }
+        window.acquire();
+        PendingUpload upload = new PendingUpload(key, body, contentType, auditEvent, new CompletableFuture<>());
+        send(upload, 1, System.nanoTime());
+        return upload.delivered();
+    }
+
+    private void send(PendingUpload upload, int attempt, long startNanos) {
+        PutObjectRequest request = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(upload.key())
+                .contentType(upload.contentType())
+                .build();
+        try {
+            s3AsyncClient.putObject(request, AsyncRequestBody.fromBytes(upload.body()))
+                    .whenComplete((response, error) -> onComplete(upload, attempt, startNanos, error));
+        } catch (Exception e) {
+            onComplete(upload, attempt, startNanos, e);
+        }
+    }
+
+    private void onComplete(PendingUpload upload, int attempt, long startNanos, Throwable error) {
+        if (error == null) {
+            uploadLatency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            window.release();
+            upload.delivered().complete(null);
+            return;
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (attempt < maxAttempts && isRetryable(cause) && !retryScheduler.isShutdown()) {
+            retryCounter.increment();
+            long delayMs = backoffMillis(attempt);
+            log.debug("Falha transitória no upload de {} (tentativa {}). Nova tentativa em {} ms.",
+                    upload.key(), attempt, delayMs);
+            retryScheduler.schedule(() -> send(upload, attempt + 1, startNanos), delayMs, TimeUnit.MILLISECONDS);
+            return;
+        }
+        if (!closed && retryQueue.offer(upload)) {
+            queuedCounter.increment();
+            log.warn("Upload de {} falhou após {} tentativas. Enviado à fila de reenvio.", upload.key(), attempt,
+                    cause);
+        } else if (spillJournal != null) {
+            boolean spilled = spillJournal.appendUndelivered("upload " + upload.key()
+                    + (closed ? " (uploader encerrado)" : " (fila de reenvio cheia)"),
+                    List.of(upload.auditEvent()), cause);
+            complete(upload, spilled, cause);
+        } else {
+            droppedCounter.increment();
+            log.error("Falha ao exportar evento de auditoria para o S3 e fila de reenvio cheia. Arquivo: {}",
+                    upload.key(), cause);
+            upload.delivered().completeExceptionally(cause);
+        }
+        // Libera a vaga só depois de enfileirar, para que awaitInFlight já enxergue o reenvio.
+        window.release();
+    }
+
+    private static void complete(PendingUpload upload, boolean spilled, Throwable cause) {
+        if (spilled) {
+            upload.delivered().complete(null);
+        } else {
+            upload.delivered().completeExceptionally(cause);
+        }
+    }
+
+    private static boolean isRetryable(Throwable cause) {
+        if (cause instanceof SdkServiceException serviceException) {
+            return serviceException.isThrottlingException() || serviceException.statusCode() >= 500;
+        }
+        return cause instanceof SdkClientException || cause instanceof IOException;
+    }
+
+    private long backoffMillis(int attempt) {
+        long exponential = initialBackoff.toMillis() << Math.min(attempt - 1, 16);
+        long capped = Math.min(exponential, maxBackoff.toMillis());
+        return capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1);
+    }
+
+    /**
+     * Reenvia os uploads da fila de reenvio enquanto houver vagas livres na
+     * janela, sem bloquear.
+     *
+     * @return Quantidade de uploads reenviados.
+     */
+    public int drainRetryQueue() {
+        return drainRetryQueue(Integer.MAX_VALUE);
+    }
+
+    private int drainRetryQueue(int maxUploads) {
+        int resubmitted = 0;
+        while (resubmitted < maxUploads && !retryQueue.isEmpty() && window.tryAcquire()) {
+            PendingUpload upload = retryQueue.poll();
+            if (upload == null) {
+                window.release();
+                break;
+            }
+            send(upload, 1, System.nanoTime());
+            resubmitted++;
+        }
+        return resubmitted;
+    }
+
+    public int inFlight() {
+        return maxInFlight - window.availablePermits();
+    }
+
+    public int retryQueueSize() {
+        return retryQueue.size();
+    }
+
+    /**
+     * Aguarda a conclusão dos uploads em andamento, até o tempo informado.
+     *
+     * @return {@code true} se todos os uploads concluíram.
+     */
+    public boolean awaitInFlight(Duration timeout) throws InterruptedException {
+        if (window.tryAcquire(maxInFlight, timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            window.release(maxInFlight);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Aguarda os uploads em andamento e reenvia uma última vez os uploads da
+     * fila de reenvio, por até 30 segundos no total. O que
+     * restar na fila é gravado no journal de spill; sem journal, é registrado
+     * como perdido.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        long deadline = System.nanoTime() + CLOSE_TIMEOUT.toNanos();
+        int pendingRetries = retryQueue.size();
+        while (awaitInFlight(remaining(deadline)) && pendingRetries > 0) {
+            int resubmitted = drainRetryQueue(pendingRetries);
+            if (resubmitted == 0) {
+                break;
+            }
+            pendingRetries -= resubmitted;
+        }
+        closed = true;
+        retryScheduler.shutdown();
+
+        if (inFlight() > 0) {
+            log.warn("Uploader S3 assíncrono encerrado com {} uploads em andamento.", inFlight());
+        }
+        List<PendingUpload> leftovers = new ArrayList<>();
+        retryQueue.drainTo(leftovers);
+        if (leftovers.isEmpty()) {
+            return;
+        }
+        List<AuditEvent> auditEvents = leftovers.stream().map(PendingUpload::auditEvent).toList();
+        IllegalStateException cause = new IllegalStateException("Uploader S3 assíncrono encerrado");
+        boolean spilled = spillJournal != null
+                && spillJournal.appendUndelivered(leftovers.size() + " uploads da fila de reenvio", auditEvents, cause);
+        if (spillJournal == null) {
+            droppedCounter.increment(leftovers.size());
+            log.error("Uploader S3 assíncrono encerrado com {} uploads na fila de reenvio. Eventos perdidos: {}",
+                    leftovers.size(), leftovers.stream().map(PendingUpload::key).toList());
+        }
+        leftovers.forEach(upload -> complete(upload, spilled, cause));
+    }
+
+    private static Duration remaining(long deadline) {
+        return Duration.ofNanos(Math.max(0, deadline - System.nanoTime()));
+    }
+}
@@ -0,0 +1,52 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Formato de serialização de um {@link AuditEvent} exportado como objeto
+ * individual. A codificação escreve direto no {@link OutputStream} recebido,
+ * sem montar uma String intermediária.
+ */
+public interface AuditEventCodec {
+
+    /**
+     * Nome usado na configuração ({@code json}, {@code smile}, {@code cbor},
+     * {@code bson}).
+     */
+    String name();
+
+    String contentType();
+
+    /**
+     * Extensão dos arquivos gerados, sem o ponto.
+     */
+    String fileExtension();
+
+    /**
+     * Escreve o evento no {@code out}, sem fechá-lo.
+     */
+    void encode(AuditEvent auditEvent, OutputStream out) throws IOException;
+
+    /**
+     * Codec correspondente ao nome configurado.
+     *
+     * @throws IllegalArgumentException para nomes desconhecidos.
+     */
+    static AuditEventCodec forName(String name) {
+        return switch (name.toLowerCase()) {
+            case "json" -> new JacksonAuditEventCodec("json", "application/json", "json",
+                    JacksonAuditEventCodec.newObjectMapper());
+            case "smile" -> new JacksonAuditEventCodec("smile", "application/x-jackson-smile", "sml",
+                    JacksonAuditEventCodec.newObjectMapper(new SmileFactory()));
+            case "cbor" -> new JacksonAuditEventCodec("cbor", "application/cbor", "cbor",
+                    JacksonAuditEventCodec.newObjectMapper(new CBORFactory()));
+            case "bson" -> new BsonAuditEventCodec();
+            default -> throw new IllegalArgumentException("Codec de auditoria desconhecido: " + name);
+        };
+    }
+}
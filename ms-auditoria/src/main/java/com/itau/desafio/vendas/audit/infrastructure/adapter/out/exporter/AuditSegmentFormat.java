@@ -0,0 +1,64 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.zip.CRC32C;
+
+/**
+ * Layout dos segmentos do log de auditoria em disco.
+ * <p>
+ * Cada segmento ({@code audit-<sequência>.seg}) é uma sequência de registros
+ * com cabeçalho fixo de {@value #HEADER_BYTES} bytes seguido do evento em JSON
+ * compacto (UTF-8):
+ * <pre>
+ * int  tamanho do payload
+ * int  CRC32C do payload
+ * long eventTimestamp em epoch millis (UTC)
+ * byte[] payload
+ * </pre>
+ * O arquivo {@value #INDEX_FILE_NAME} recebe uma linha
+ * {@code <segmento>\t<eventTimestamp do primeiro registro>} por segmento
+ * criado.
+ */
+public final class AuditSegmentFormat {
+
+    public static final int HEADER_BYTES = Integer.BYTES + Integer.BYTES + Long.BYTES;
+    public static final String SEGMENT_PREFIX = "audit-";
+    public static final String SEGMENT_SUFFIX = ".seg";
+    public static final String INDEX_FILE_NAME = "segments.idx";
+
+    private AuditSegmentFormat() {
+    }
+
+    public static String segmentFileName(long sequence) {
+        return String.format("%s%020d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX);
+    }
+
+    public static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    public static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    static void writeHeader(ByteBuffer buffer, byte[] payload, long eventTimestampMillis) {
+        buffer.putInt(payload.length);
+        buffer.putInt(checksum(payload, 0, payload.length));
+        buffer.putLong(eventTimestampMillis);
+    }
+
+    public static int checksum(byte[] payload, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload, offset, length);
+        return (int) crc.getValue();
+    }
+
+    public static int checksum(ByteBuffer payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
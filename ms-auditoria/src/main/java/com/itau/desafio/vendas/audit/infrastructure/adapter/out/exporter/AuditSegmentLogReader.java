@@ -0,0 +1,169 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Lê sequencialmente os segmentos gravados pelo {@link AuditSegmentLogWriter}.
+ * <p>
+ * A leitura de um segmento termina no primeiro registro incompleto ou com CRC
+ * inválido, o que cobre a cauda de um segmento interrompido por queda do
+ * processo antes do fsync.
+ * <p>
+ * Também pode ser usado pela linha de comando para exportar o log como NDJSON:
+ * <pre>
+ * java -cp ms-auditoria.jar ...AuditSegmentLogReader ./audit-logs [de ISO-8601] [até ISO-8601]
+ * </pre>
+ */
+@Slf4j
+public class AuditSegmentLogReader {
+
+    /**
+     * @param segment              Segmento de origem.
+     * @param offset               Posição do cabeçalho do registro no segmento.
+     * @param eventTimestampMillis {@code eventTimestamp} do evento, em epoch
+     *                             millis (UTC).
+     * @param payload              Evento serializado em JSON (UTF-8).
+     */
+    public record SegmentRecord(Path segment, long offset, long eventTimestampMillis, byte[] payload) {
+    }
+
+    private static final int READ_BUFFER_BYTES = 1 << 20;
+
+    private final Path directory;
+
+    public AuditSegmentLogReader(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Segmentos existentes no diretório, em ordem de criação.
+     */
+    public List<Path> segments() throws IOException {
+        if (Files.notExists(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(AuditSegmentFormat::isSegment)
+                    .sorted(Comparator.comparingLong(AuditSegmentFormat::sequenceOf))
+                    .toList();
+        }
+    }
+
+    /**
+     * Percorre todos os registros válidos de todos os segmentos, em ordem de
+     * escrita.
+     */
+    public void forEach(Consumer<SegmentRecord> consumer) throws IOException {
+        for (Path segment : segments()) {
+            readSegment(segment, consumer);
+        }
+    }
+
+    /**
+     * Percorre os registros válidos de um segmento.
+     *
+     * @return Quantidade de bytes válidos lidos.
+     */
+    public long readSegment(Path segment, Consumer<SegmentRecord> consumer) throws IOException {
+        return readSegment(segment, 0, Integer.MAX_VALUE, consumer);
+    }
+
+    /**
+     * Percorre até {@code maxRecords} registros válidos de um segmento, a
+     * partir do registro que começa em {@code fromOffset}.
+     *
+     * @return Posição seguinte ao último registro lido.
+     */
+    public long readSegment(Path segment, long fromOffset, int maxRecords, Consumer<SegmentRecord> consumer)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+            long position = fromOffset;
+            long size = channel.size();
+            int records = 0;
+            while (records < maxRecords && position + AuditSegmentFormat.HEADER_BYTES <= size) {
+                buffer.clear().limit(AuditSegmentFormat.HEADER_BYTES);
+                readFully(channel, buffer, position);
+                buffer.flip();
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                long eventTimestampMillis = buffer.getLong();
+                if (length <= 0 || position + AuditSegmentFormat.HEADER_BYTES + length > size) {
+                    break;
+                }
+
+                if (length > buffer.capacity()) {
+                    buffer = ByteBuffer.allocate(length);
+                }
+                buffer.clear().limit(length);
+                readFully(channel, buffer, position + AuditSegmentFormat.HEADER_BYTES);
+                byte[] payload = new byte[length];
+                buffer.flip().get(payload);
+                if (AuditSegmentFormat.checksum(payload, 0, length) != checksum) {
+                    log.warn("Registro com CRC inválido no segmento {} (offset {}). Leitura do segmento encerrada.",
+                            segment, position);
+                    break;
+                }
+
+                consumer.accept(new SegmentRecord(segment, position, eventTimestampMillis, payload));
+                position += AuditSegmentFormat.HEADER_BYTES + length;
+                records++;
+            }
+            return position;
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, offset);
+            if (read < 0) {
+                throw new IOException("Fim inesperado do segmento na posição " + offset);
+            }
+            offset += read;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Uso: AuditSegmentLogReader <diretório> [de ISO-8601] [até ISO-8601]");
+            System.exit(1);
+        }
+        long from = args.length > 1 ? Instant.parse(args[1]).toEpochMilli() : Long.MIN_VALUE;
+        long to = args.length > 2 ? Instant.parse(args[2]).toEpochMilli() : Long.MAX_VALUE;
+
+        List<IOException> failures = new ArrayList<>();
+        try (OutputStream out = new BufferedOutputStream(System.out, READ_BUFFER_BYTES)) {
+            new AuditSegmentLogReader(Paths.get(args[0])).forEach(record -> {
+                if (record.eventTimestampMillis() < from || record.eventTimestampMillis() > to) {
+                    return;
+                }
+                try {
+                    out.write(record.payload());
+                    out.write('\n');
+                } catch (IOException e) {
+                    failures.add(e);
+                }
+            });
+        }
+        if (!failures.isEmpty()) {
+            throw failures.get(0);
+        }
+    }
+}
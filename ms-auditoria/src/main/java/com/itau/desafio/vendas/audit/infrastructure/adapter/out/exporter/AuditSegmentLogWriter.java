@@ -0,0 +1,276 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Grava eventos de auditoria em um log append-only dividido em segmentos
+ * (formato descrito em {@link AuditSegmentFormat}).
+ * <p>
+ * O segmento ativo é rotacionado ao atingir {@code maxBytes} ou ao ficar
+ * aberto por mais de {@code maxAge}. Após um restart, a escrita continua em um
+ * novo segmento; segmentos anteriores nunca são reabertos para escrita.
+ * <p>
+ * Os payloads são JSON, salvo quando outro {@link AuditEventCodec} é
+ * informado (o {@link SpillJournal} grava em BSON para não perder os tipos
+ * do {@code _id}).
+ */
+@Slf4j
+public class AuditSegmentLogWriter implements AutoCloseable {
+
+    private final Path directory;
+    private final AuditEventCodec codec;
+    private final long maxBytes;
+    private final Duration maxAge;
+    private final FsyncPolicy fsyncPolicy;
+    private final Clock clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ByteBuffer header = ByteBuffer.allocate(AuditSegmentFormat.HEADER_BYTES);
+    private final FileChannel indexChannel;
+
+    private final Counter rollCounter;
+    private final Timer fsyncLatency;
+
+    private long nextSequence;
+    private FileChannel activeChannel;
+    private Path activeSegment;
+    private Instant activeOpenedAt;
+    private long activeBytes;
+    private boolean dirty;
+
+    public AuditSegmentLogWriter(Path directory, ObjectMapper objectMapper, long maxBytes, Duration maxAge,
+            FsyncPolicy fsyncPolicy, MeterRegistry meterRegistry) throws IOException {
+        this(directory, objectMapper, maxBytes, maxAge, fsyncPolicy, meterRegistry, Clock.systemUTC());
+    }
+
+    AuditSegmentLogWriter(Path directory, ObjectMapper objectMapper, long maxBytes, Duration maxAge,
+            FsyncPolicy fsyncPolicy, MeterRegistry meterRegistry, Clock clock) throws IOException {
+        this(directory, new JacksonAuditEventCodec("json", "application/json", "json", objectMapper), maxBytes,
+                maxAge, fsyncPolicy, meterRegistry, clock);
+    }
+
+    AuditSegmentLogWriter(Path directory, AuditEventCodec codec, long maxBytes, Duration maxAge,
+            FsyncPolicy fsyncPolicy, MeterRegistry meterRegistry, Clock clock) throws IOException {
+        this.directory = directory;
+        this.codec = codec;
+        this.maxBytes = maxBytes;
+        this.maxAge = maxAge;
+        this.fsyncPolicy = fsyncPolicy;
+        this.clock = clock;
+
+        Files.createDirectories(directory);
+        this.nextSequence = lastSequence(directory) + 1;
+        this.indexChannel = FileChannel.open(directory.resolve(AuditSegmentFormat.INDEX_FILE_NAME),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+
+        this.rollCounter = Counter.builder("audit.export.file.segment.rolls")
+                .description("Segmentos do log de auditoria rotacionados")
+                .register(meterRegistry);
+        this.fsyncLatency = Timer.builder("audit.export.file.fsync")
+                .description("Latência do fsync do segmento ativo do log de auditoria")
+                .register(meterRegistry);
+    }
+
+    public long append(AuditEvent auditEvent) throws IOException {
+        return append(List.of(auditEvent));
+    }
+
+    /**
+     * Acrescenta os eventos ao segmento ativo, na ordem recebida. Com
+     * {@link FsyncPolicy#BATCH}, o fsync acontece uma vez ao final do lote.
+     *
+     * @return Quantidade de bytes gravados, incluindo os cabeçalhos.
+     */
+    public long append(List<AuditEvent> auditEvents) throws IOException {
+        if (auditEvents.isEmpty()) {
+            return 0;
+        }
+        byte[][] payloads = new byte[auditEvents.size()][];
+        for (int i = 0; i < payloads.length; i++) {
+            payloads[i] = encode(auditEvents.get(i));
+        }
+
+        long written = 0;
+        lock.lock();
+        try {
+            for (int i = 0; i < payloads.length; i++) {
+                long eventTimestampMillis = timestampMillis(auditEvents.get(i));
+                if (activeChannel == null) {
+                    openSegment(eventTimestampMillis);
+                }
+                writeRecord(payloads[i], eventTimestampMillis);
+                written += AuditSegmentFormat.HEADER_BYTES + payloads[i].length;
+                if (activeBytes >= maxBytes) {
+                    closeActiveSegment();
+                }
+            }
+            if (fsyncPolicy == FsyncPolicy.BATCH) {
+                force();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return written;
+    }
+
+    /**
+     * Força em disco o que foi escrito desde o último fsync. Usado pela
+     * política {@link FsyncPolicy#INTERVAL}.
+     */
+    public void sync() throws IOException {
+        lock.lock();
+        try {
+            force();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Fecha o segmento ativo se ele estiver aberto há mais de {@code maxAge}.
+     */
+    public void rollIfExpired() throws IOException {
+        lock.lock();
+        try {
+            if (activeChannel != null && !activeOpenedAt.plus(maxAge).isAfter(clock.instant())) {
+                closeActiveSegment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Fecha o segmento ativo independente de tamanho ou idade, tornando-o
+     * seguro para leitura completa.
+     *
+     * @return Segmento fechado, ou {@code null} se não havia segmento ativo.
+     */
+    public Path roll() throws IOException {
+        lock.lock();
+        try {
+            Path closed = activeSegment;
+            closeActiveSegment();
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Segmento aberto para escrita no momento, ou {@code null}.
+     */
+    public Path activeSegment() {
+        lock.lock();
+        try {
+            return activeSegment;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closeActiveSegment();
+            indexChannel.force(true);
+            indexChannel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void openSegment(long firstEventTimestampMillis) throws IOException {
+        activeSegment = directory.resolve(AuditSegmentFormat.segmentFileName(nextSequence++));
+        activeChannel = FileChannel.open(activeSegment,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        activeOpenedAt = clock.instant();
+        activeBytes = 0;
+
+        String indexLine = activeSegment.getFileName() + "\t" + firstEventTimestampMillis + "\n";
+        ByteBuffer line = ByteBuffer.wrap(indexLine.getBytes(StandardCharsets.UTF_8));
+        while (line.hasRemaining()) {
+            indexChannel.write(line);
+        }
+        log.debug("Novo segmento do log de auditoria aberto: {}", activeSegment);
+    }
+
+    private byte[] encode(AuditEvent auditEvent) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+        codec.encode(auditEvent, out);
+        return out.toByteArray();
+    }
+
+    private void writeRecord(byte[] payload, long eventTimestampMillis) throws IOException {
+        header.clear();
+        AuditSegmentFormat.writeHeader(header, payload, eventTimestampMillis);
+        header.flip();
+        ByteBuffer[] record = { header, ByteBuffer.wrap(payload) };
+        long remaining = header.remaining() + (long) payload.length;
+        while (remaining > 0) {
+            remaining -= activeChannel.write(record);
+        }
+        activeBytes += AuditSegmentFormat.HEADER_BYTES + payload.length;
+        dirty = true;
+    }
+
+    private void force() throws IOException {
+        if (activeChannel == null || !dirty) {
+            return;
+        }
+        long start = System.nanoTime();
+        activeChannel.force(false);
+        indexChannel.force(false);
+        fsyncLatency.record(Duration.ofNanos(System.nanoTime() - start));
+        dirty = false;
+    }
+
+    private void closeActiveSegment() throws IOException {
+        if (activeChannel == null) {
+            return;
+        }
+        activeChannel.force(false);
+        indexChannel.force(false);
+        dirty = false;
+        activeChannel.close();
+        log.debug("Segmento do log de auditoria fechado: {} ({} bytes)", activeSegment, activeBytes);
+        activeChannel = null;
+        activeSegment = null;
+        rollCounter.increment();
+    }
+
+    private static long timestampMillis(AuditEvent auditEvent) {
+        return auditEvent.eventTimestamp().toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static long lastSequence(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(AuditSegmentFormat::isSegment)
+                    .mapToLong(AuditSegmentFormat::sequenceOf)
+                    .max()
+                    .orElse(0);
+        }
+    }
+}
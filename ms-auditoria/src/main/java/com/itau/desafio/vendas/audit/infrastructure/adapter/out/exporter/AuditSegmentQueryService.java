@@ -0,0 +1,114 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Consultas sobre o log segmentado gravado pelo exportador de arquivos, sem
+ * dependência de MongoDB ou S3.
+ * <p>
+ * Cada segmento é mapeado em memória uma única vez
+ * ({@link MappedAuditSegment}); o segmento ativo é reindexado
+ * incrementalmente a cada atualização, que acontece periodicamente e antes de
+ * cada consulta.
+ */
+@Component
+@Slf4j
+@Profile({ "file", "fanout" })
+public class AuditSegmentQueryService {
+
+    private final AuditSegmentLogReader reader;
+    private final Map<Path, MappedAuditSegment> segments = new LinkedHashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public AuditSegmentQueryService(@Value("${audit.export.directory:./audit-logs}") String exportDirectoryPath) {
+        this(Paths.get(exportDirectoryPath));
+    }
+
+    AuditSegmentQueryService(Path directory) {
+        this.reader = new AuditSegmentLogReader(directory);
+    }
+
+    /**
+     * Payloads JSON dos eventos com {@code eventTimestamp} em
+     * {@code [from, to]} (epoch millis, UTC), na ordem de gravação.
+     */
+    public List<ByteBuffer> findByTimeRange(long from, long to, int limit) {
+        refresh();
+        List<ByteBuffer> results = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (MappedAuditSegment segment : segments.values()) {
+                if (results.size() >= limit) {
+                    break;
+                }
+                segment.findByTimeRange(from, to, limit, results);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return results;
+    }
+
+    /**
+     * Histórico de um documento ({@code documentKey._id}) dentro de
+     * {@code [from, to]}, na ordem de gravação.
+     */
+    public List<ByteBuffer> findByDocument(String collection, String documentId, long from, long to, int limit) {
+        refresh();
+        String documentKey = MappedAuditSegment.documentKey(collection, documentId);
+        List<ByteBuffer> results = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (MappedAuditSegment segment : segments.values()) {
+                if (results.size() >= limit) {
+                    break;
+                }
+                segment.findByDocument(documentKey, from, to, limit, results);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return results;
+    }
+
+    /**
+     * Mapeia segmentos novos e estende o índice do último segmento conhecido,
+     * o único que pode ter recebido escritas desde a atualização anterior.
+     */
+    @Scheduled(fixedDelayString = "${audit.query.refresh-interval:5s}")
+    public void refresh() {
+        lock.writeLock().lock();
+        try {
+            List<Path> paths = reader.segments();
+            int lastKnown = segments.size() - 1;
+            for (int i = 0; i < paths.size(); i++) {
+                Path path = paths.get(i);
+                MappedAuditSegment segment = segments.get(path);
+                if (segment == null) {
+                    segments.put(path, new MappedAuditSegment(path));
+                } else if (i >= lastKnown) {
+                    segment.refresh();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao mapear os segmentos do log de auditoria.", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
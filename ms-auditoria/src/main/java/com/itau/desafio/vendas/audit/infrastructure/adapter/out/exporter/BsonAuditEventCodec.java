@@ -0,0 +1,196 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
+import com.itau.desafio.vendas.audit.domain.model.ChangeType;
+import com.itau.desafio.vendas.audit.domain.model.DocumentDelta;
+import com.itau.desafio.vendas.audit.domain.model.RawBsonBackedDocument;
+import com.mongodb.MongoClientSettings;
+import org.bson.BsonArray;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonValue;
+import org.bson.BsonWriter;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.RawBsonDocumentCodec;
+import org.bson.io.BasicOutputBuffer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link AuditEventCodec} em BSON, com os mesmos campos do JSON. O
+ * {@code eventTimestamp} é gravado como data BSON (UTC) e as imagens ainda
+ * apoiadas nos bytes do Change Stream ({@link RawBsonBackedDocument}) são
+ * copiadas sem decodificação. O documento é montado num buffer reaproveitado
+ * por thread, pois o BSON grava o tamanho antes do conteúdo.
+ * <p>
+ * {@link #decode(byte[])} faz o caminho inverso sem perda de tipos: as
+ * imagens voltam como {@link RawBsonBackedDocument}, com {@code ObjectId},
+ * binários e decimais intactos.
+ */
+public class BsonAuditEventCodec implements AuditEventCodec {
+
+    private static final DocumentCodec DOCUMENT_CODEC = new DocumentCodec(
+            MongoClientSettings.getDefaultCodecRegistry());
+    private static final RawBsonDocumentCodec RAW_CODEC = new RawBsonDocumentCodec();
+    private static final EncoderContext ENCODER_CONTEXT = EncoderContext.builder().build();
+    private static final DecoderContext DECODER_CONTEXT = DecoderContext.builder().build();
+    private static final ThreadLocal<BasicOutputBuffer> BUFFERS = ThreadLocal.withInitial(BasicOutputBuffer::new);
+
+    @Override
+    public String name() {
+        return "bson";
+    }
+
+    @Override
+    public String contentType() {
+        return "application/bson";
+    }
+
+    @Override
+    public String fileExtension() {
+        return "bson";
+    }
+
+    @Override
+    public void encode(AuditEvent auditEvent, OutputStream out) throws IOException {
+        BasicOutputBuffer buffer = BUFFERS.get();
+        buffer.truncateToPosition(0);
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+            writer.writeStartDocument();
+            writer.writeString("operationType", auditEvent.operationType().name());
+            writer.writeDateTime("eventTimestamp",
+                    auditEvent.eventTimestamp().toInstant(ZoneOffset.UTC).toEpochMilli());
+            writeString(writer, "databaseName", auditEvent.databaseName());
+            writeString(writer, "collectionName", auditEvent.collectionName());
+            writeString(writer, "changedBy", auditEvent.changedBy());
+            writeDocument(writer, "documentKey", auditEvent.documentKey());
+            writeDocument(writer, "documentBefore", auditEvent.documentBefore());
+            writeDocument(writer, "documentAfter", auditEvent.documentAfter());
+            DocumentDelta delta = auditEvent.documentDelta();
+            if (delta != null) {
+                writer.writeStartDocument("documentDelta");
+                writeDocument(writer, "updatedFields", delta.updatedFields());
+                writer.writeStartArray("removedFields");
+                if (delta.removedFields() != null) {
+                    delta.removedFields().forEach(writer::writeString);
+                }
+                writer.writeEndArray();
+                writer.writeStartArray("truncatedArrays");
+                if (delta.truncatedArrays() != null) {
+                    for (DocumentDelta.TruncatedArray truncated : delta.truncatedArrays()) {
+                        writer.writeStartDocument();
+                        writer.writeString("field", truncated.field());
+                        writer.writeInt32("newSize", truncated.newSize());
+                        writer.writeEndDocument();
+                    }
+                }
+                writer.writeEndArray();
+                writer.writeEndDocument();
+            }
+            writer.writeEndDocument();
+        }
+        buffer.pipe(out);
+    }
+
+    /**
+     * Reconstrói o evento gravado por {@link #encode}.
+     *
+     * @throws org.bson.BsonInvalidOperationException se os bytes não forem um
+     *                                               evento BSON válido.
+     */
+    public static AuditEvent decode(byte[] bytes) {
+        RawBsonDocument raw = new RawBsonDocument(bytes);
+        return new AuditEvent(
+                ChangeType.valueOf(raw.getString("operationType").getValue()),
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(raw.getDateTime("eventTimestamp").getValue()),
+                        ZoneOffset.UTC),
+                readString(raw, "databaseName"),
+                readString(raw, "collectionName"),
+                readString(raw, "changedBy"),
+                readImage(raw, "documentKey"),
+                readImage(raw, "documentBefore"),
+                readImage(raw, "documentAfter"),
+                readDelta(raw.get("documentDelta")));
+    }
+
+    /**
+     * Indica se os bytes têm a moldura de um documento BSON: o tamanho
+     * declarado nos 4 primeiros bytes igual ao do payload e o terminador nulo.
+     */
+    public static boolean isBson(byte[] bytes) {
+        return bytes.length >= 5
+                && ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).getInt() == bytes.length
+                && bytes[bytes.length - 1] == 0;
+    }
+
+    private static String readString(BsonDocument document, String name) {
+        BsonValue value = document.get(name);
+        return value != null && value.isString() ? value.asString().getValue() : null;
+    }
+
+    private static Document readImage(RawBsonDocument raw, String name) {
+        BsonValue value = raw.get(name);
+        if (value == null || !value.isDocument()) {
+            return null;
+        }
+        return new RawBsonBackedDocument(value instanceof RawBsonDocument nested ? nested
+                : new RawBsonDocument(value.asDocument(), new BsonDocumentCodec()));
+    }
+
+    private static DocumentDelta readDelta(BsonValue value) {
+        if (value == null || !value.isDocument()) {
+            return null;
+        }
+        BsonDocument delta = value.asDocument();
+        BsonValue updatedFields = delta.get("updatedFields");
+        List<String> removedFields = new ArrayList<>();
+        delta.getArray("removedFields", new BsonArray()).forEach(field -> removedFields.add(field.asString()
+                .getValue()));
+        List<DocumentDelta.TruncatedArray> truncatedArrays = new ArrayList<>();
+        delta.getArray("truncatedArrays", new BsonArray()).forEach(truncated -> truncatedArrays.add(
+                new DocumentDelta.TruncatedArray(truncated.asDocument().getString("field").getValue(),
+                        truncated.asDocument().getInt32("newSize").getValue())));
+        return new DocumentDelta(
+                updatedFields != null && updatedFields.isDocument()
+                        ? DOCUMENT_CODEC.decode(new BsonDocumentReader(updatedFields.asDocument()), DECODER_CONTEXT)
+                        : null,
+                removedFields,
+                truncatedArrays);
+    }
+
+    private static void writeString(BsonWriter writer, String name, String value) {
+        if (value == null) {
+            writer.writeNull(name);
+        } else {
+            writer.writeString(name, value);
+        }
+    }
+
+    private static void writeDocument(BsonWriter writer, String name, Document document) {
+        writer.writeName(name);
+        if (document == null) {
+            writer.writeNull();
+            return;
+        }
+        RawBsonDocument raw = document instanceof RawBsonBackedDocument rawBacked ? rawBacked.raw() : null;
+        if (raw != null) {
+            RAW_CODEC.encode(writer, raw, ENCODER_CONTEXT);
+        } else {
+            DOCUMENT_CODEC.encode(writer, document, ENCODER_CONTEXT);
+        }
+    }
+}
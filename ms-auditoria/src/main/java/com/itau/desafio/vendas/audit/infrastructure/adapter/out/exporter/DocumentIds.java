@@ -0,0 +1,62 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+import org.bson.BsonBinarySubType;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Forma textual canônica do {@code documentKey._id}, usada nas chaves do S3,
+ * na coluna {@code document_id} do Parquet e no índice por documento dos
+ * segmentos: {@link ObjectId} em hexadecimal, UUID (binário subtipo 4 ou
+ * {@link UUID}) no formato padrão e demais binários em Base64.
+ * <p>
+ * Identificadores recebidos como texto (ex: na consulta por documento) são
+ * normalizados para a mesma forma, em minúsculas quando são um ObjectId ou
+ * um UUID.
+ */
+final class DocumentIds {
+
+    private static final Pattern OBJECT_ID = Pattern.compile("[0-9a-fA-F]{24}");
+    private static final Pattern UUID_TEXT = Pattern.compile(
+            "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
+    private DocumentIds() {
+    }
+
+    static String canonical(Object id) {
+        if (id == null) {
+            return null;
+        }
+        if (id instanceof ObjectId objectId) {
+            return objectId.toHexString();
+        }
+        if (id instanceof Binary binary) {
+            return canonical(binary.getType(), binary.getData());
+        }
+        if (id instanceof String text) {
+            return canonical(text);
+        }
+        return id.toString();
+    }
+
+    static String canonical(String id) {
+        if (id != null && (OBJECT_ID.matcher(id).matches() || UUID_TEXT.matcher(id).matches())) {
+            return id.toLowerCase(Locale.ROOT);
+        }
+        return id;
+    }
+
+    static String canonical(int subType, byte[] data) {
+        if (subType == BsonBinarySubType.UUID_STANDARD.getValue() && data.length == 16) {
+            ByteBuffer bytes = ByteBuffer.wrap(data);
+            return new UUID(bytes.getLong(), bytes.getLong()).toString();
+        }
+        return Base64.getEncoder().encodeToString(data);
+    }
+}
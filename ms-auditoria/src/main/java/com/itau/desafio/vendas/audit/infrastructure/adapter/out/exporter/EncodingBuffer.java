@@ -0,0 +1,42 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+
+/**
+ * Buffer de codificação reaproveitado por thread: as raias do pipeline são
+ * threads de longa duração, então cada uma mantém o seu array entre eventos.
+ * Arrays que cresceram além de {@value #MAX_RETAINED_BYTES} bytes são
+ * descartados em {@link #release()}.
+ */
+final class EncodingBuffer extends ByteArrayOutputStream {
+
+    private static final int INITIAL_BYTES = 8 * 1024;
+    private static final int MAX_RETAINED_BYTES = 1 << 20;
+    private static final ThreadLocal<EncodingBuffer> BUFFERS = ThreadLocal
+            .withInitial(() -> new EncodingBuffer(INITIAL_BYTES));
+
+    private EncodingBuffer(int size) {
+        super(size);
+    }
+
+    static EncodingBuffer acquire() {
+        EncodingBuffer buffer = BUFFERS.get();
+        buffer.reset();
+        return buffer;
+    }
+
+    void release() {
+        if (buf.length > MAX_RETAINED_BYTES) {
+            BUFFERS.remove();
+        }
+    }
+
+    /**
+     * Leitura do conteúdo atual sem cópia.
+     */
+    InputStream newInputStream() {
+        return new ByteArrayInputStream(buf, 0, count);
+    }
+}
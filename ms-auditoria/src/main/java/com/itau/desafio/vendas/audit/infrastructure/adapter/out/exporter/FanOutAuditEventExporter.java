@@ -0,0 +1,293 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
+import com.itau.desafio.vendas.audit.domain.port.out.AuditEventExporterPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exportador composto que entrega cada evento a vários destinos.
+ * <p>
+ * Cada destino tem as próprias raias (fila limitada + worker), escolhidas
+ * pelo hash de {@code collectionName} + {@code documentKey} para manter a
+ * ordem por documento, como no pipeline principal. {@link #export(AuditEvent)}
+ * apenas enfileira: um destino lento ou indisponível não atrasa os demais.
+ * {@link #exportDurably(List)} também enfileira, mas devolve um future que só
+ * é concluído quando todos os destinos tiverem entregado cada evento (pelo
+ * {@code exportDurably} do próprio destino) ou gravado no journal de spill;
+ * é ele que libera o checkpoint do consumidor.
+ * Com {@code offerTimeout} zero, o chamador bloqueia até haver espaço na raia,
+ * como no pipeline principal; com um valor positivo, se a raia continuar cheia
+ * após o timeout, o evento é recusado somente para esse destino e
+ * contabilizado em {@code audit.fanout.dropped}.
+ * <p>
+ * Falhas de exportação ficam isoladas no destino que as produziu e não são
+ * propagadas ao chamador. Eventos recusados ou cuja exportação falhou são
+ * gravados no {@link SpillJournal} do destino, quando configurado, e
+ * reenviados a ele por {@link #replayPending()}.
+ */
+@Slf4j
+public class FanOutAuditEventExporter implements AuditEventExporterPort, AutoCloseable {
+
+    private static final long POLL_INTERVAL_MS = 200;
+
+    private final List<Sink> sinks;
+    private final Duration offerTimeout;
+    private final int replayBatchSize;
+    private final Clock clock;
+
+    private volatile boolean running = true;
+
+    /**
+     * @param spillJournals Journal de spill de cada destino, pelo nome do
+     *                      destino; destinos sem journal registram os
+     *                      eventos recusados ou com falha como perdidos.
+     */
+    public FanOutAuditEventExporter(Map<String, AuditEventExporterPort> sinks, int capacity, int workers,
+            Duration offerTimeout, Map<String, SpillJournal> spillJournals, int replayBatchSize,
+            MeterRegistry meterRegistry) {
+        this(sinks, capacity, workers, offerTimeout, spillJournals, replayBatchSize, meterRegistry,
+                Clock.systemUTC());
+    }
+
+    FanOutAuditEventExporter(Map<String, AuditEventExporterPort> sinks, int capacity, int workers,
+            Duration offerTimeout, Map<String, SpillJournal> spillJournals, int replayBatchSize,
+            MeterRegistry meterRegistry, Clock clock) {
+        this.offerTimeout = offerTimeout;
+        this.replayBatchSize = replayBatchSize;
+        this.clock = clock;
+        this.sinks = new ArrayList<>(sinks.size());
+        sinks.forEach((name, exporter) -> this.sinks.add(
+                new Sink(name, exporter, spillJournals.get(name), capacity, workers, meterRegistry)));
+        log.info("Exportador de auditoria em fan-out para os destinos {} ({} raias por destino).",
+                sinks.keySet(), workers);
+    }
+
+    @Override
+    public void export(AuditEvent auditEvent) {
+        for (Sink sink : sinks) {
+            sink.offer(auditEvent);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> exportDurably(List<AuditEvent> auditEvents) {
+        List<CompletableFuture<Void>> delivered = new ArrayList<>(auditEvents.size() * sinks.size());
+        for (AuditEvent auditEvent : auditEvents) {
+            for (Sink sink : sinks) {
+                delivered.add(sink.offer(auditEvent));
+            }
+        }
+        return CompletableFuture.allOf(delivered.toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Reenvia a cada destino um lote do seu journal de spill. Uma falha
+     * interrompe o reenvio daquele destino até a próxima execução; o evento
+     * que falhou permanece no journal.
+     */
+    @Scheduled(fixedDelayString = "${audit.spill.replay-interval:1s}")
+    public void replayPending() {
+        for (Sink sink : sinks) {
+            sink.replayPending();
+        }
+    }
+
+    /**
+     * Interrompe os workers após esvaziarem as filas de todos os destinos.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        for (Sink sink : sinks) {
+            if (!sink.workersFinished.await(30, TimeUnit.SECONDS)) {
+                log.warn("Destino '{}' encerrado com {} eventos ainda na fila.", sink.name, sink.queuedEvents());
+            }
+        }
+    }
+
+    private final class Sink {
+
+        private final String name;
+        private final AuditEventExporterPort exporter;
+        private final SpillJournal spillJournal;
+        private final List<BlockingQueue<PendingEvent>> lanes;
+        private final CountDownLatch workersFinished;
+
+        private final Counter exportedCounter;
+        private final Counter failedCounter;
+        private final Counter droppedCounter;
+        private final Timer lagTimer;
+        private final Timer exportTimer;
+
+        Sink(String name, AuditEventExporterPort exporter, SpillJournal spillJournal, int capacity, int workers,
+                MeterRegistry meterRegistry) {
+            this.name = name;
+            this.exporter = exporter;
+            this.spillJournal = spillJournal;
+            this.workersFinished = new CountDownLatch(workers);
+            int laneCapacity = Math.max(1, capacity / workers);
+            this.lanes = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                lanes.add(new ArrayBlockingQueue<>(laneCapacity));
+            }
+
+            Gauge.builder("audit.fanout.queue.depth", this, Sink::queuedEvents)
+                    .description("Eventos aguardando exportação no destino")
+                    .tag("sink", name)
+                    .register(meterRegistry);
+            this.exportedCounter = Counter.builder("audit.fanout.exported")
+                    .description("Eventos exportados com sucesso pelo destino")
+                    .tag("sink", name)
+                    .register(meterRegistry);
+            this.failedCounter = Counter.builder("audit.fanout.failed")
+                    .description("Eventos cuja exportação falhou no destino")
+                    .tag("sink", name)
+                    .register(meterRegistry);
+            this.droppedCounter = Counter.builder("audit.fanout.dropped")
+                    .description("Eventos descartados por fila cheia no destino")
+                    .tag("sink", name)
+                    .register(meterRegistry);
+            this.lagTimer = Timer.builder("audit.fanout.lag")
+                    .description("Atraso entre o commit no MongoDB e a exportação pelo destino")
+                    .tag("sink", name)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            this.exportTimer = Timer.builder("audit.fanout.export")
+                    .description("Duração da exportação de um evento pelo destino")
+                    .tag("sink", name)
+                    .register(meterRegistry);
+
+            for (int i = 0; i < workers; i++) {
+                BlockingQueue<PendingEvent> lane = lanes.get(i);
+                Thread.ofVirtual().name("audit-fanout-" + name + "-" + i).start(() -> runWorker(lane));
+            }
+        }
+
+        /**
+         * Enfileira o evento na raia do documento.
+         *
+         * @return Future concluído quando o evento for entregue ao destino ou
+         *         gravado no journal de spill; concluído com erro se for perdido.
+         */
+        CompletableFuture<Void> offer(AuditEvent auditEvent) {
+            int hash = Objects.hash(auditEvent.collectionName(), auditEvent.documentKey());
+            BlockingQueue<PendingEvent> lane = lanes.get(Math.floorMod(hash, lanes.size()));
+            PendingEvent pending = new PendingEvent(auditEvent, new CompletableFuture<>());
+            try {
+                if (offerTimeout.isZero() || offerTimeout.isNegative()) {
+                    lane.put(pending);
+                } else if (!lane.offer(pending, offerTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                    droppedCounter.increment();
+                    spill(pending, new IllegalStateException("Fila do destino '" + name + "' cheia"));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                droppedCounter.increment();
+                spill(pending, e);
+            }
+            return pending.delivered();
+        }
+
+        private void runWorker(BlockingQueue<PendingEvent> lane) {
+            try {
+                while (running || !lane.isEmpty()) {
+                    PendingEvent pending = lane.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                    if (pending != null) {
+                        export(pending);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                workersFinished.countDown();
+            }
+        }
+
+        private void export(PendingEvent pending) {
+            long start = System.nanoTime();
+            CompletableFuture<Void> durable;
+            try {
+                durable = exporter.exportDurably(List.of(pending.auditEvent()));
+            } catch (Exception e) {
+                durable = CompletableFuture.failedFuture(e);
+            } finally {
+                exportTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            durable.whenComplete((ignored, failure) -> {
+                if (failure == null) {
+                    exportedCounter.increment();
+                    long commitMillis = pending.auditEvent().eventTimestamp().toInstant(ZoneOffset.UTC)
+                            .toEpochMilli();
+                    lagTimer.record(Math.max(0, clock.millis() - commitMillis), TimeUnit.MILLISECONDS);
+                    pending.delivered().complete(null);
+                } else {
+                    failedCounter.increment();
+                    spill(pending, failure instanceof CompletionException && failure.getCause() != null
+                            ? failure.getCause() : failure);
+                }
+            });
+        }
+
+        private void spill(PendingEvent pending, Throwable cause) {
+            if (spillJournal != null && spillJournal.appendUndelivered("evento no destino '" + name + "'",
+                    List.of(pending.auditEvent()), cause)) {
+                pending.delivered().complete(null);
+                return;
+            }
+            if (spillJournal == null) {
+                log.error("Falha ao exportar evento de auditoria no destino '{}'. Evento perdido: {}", name,
+                        pending.auditEvent(), cause);
+            }
+            pending.delivered().completeExceptionally(cause);
+        }
+
+        private void replayPending() {
+            if (spillJournal == null || spillJournal.pendingEvents() == 0) {
+                return;
+            }
+            try {
+                int replayed = spillJournal.replay(replayBatchSize, exporter::export);
+                if (replayed > 0) {
+                    log.info("{} eventos reenviados do journal de spill ao destino '{}' ({} pendentes).", replayed,
+                            name, spillJournal.pendingEvents());
+                }
+            } catch (RuntimeException e) {
+                log.warn("Reenvio do journal de spill ao destino '{}' interrompido: destino ainda indisponível"
+                        + " ({} pendentes).", name, spillJournal.pendingEvents(), e);
+            } catch (IOException e) {
+                log.error("Falha ao ler o journal de spill do destino '{}'.", name, e);
+            }
+        }
+
+        private int queuedEvents() {
+            int total = 0;
+            for (BlockingQueue<PendingEvent> lane : lanes) {
+                total += lane.size();
+            }
+            return total;
+        }
+    }
+
+    private record PendingEvent(AuditEvent auditEvent, CompletableFuture<Void> delivered) {
+    }
+}
@@ -1,33 +1,70 @@
 package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.itau.desafio.vendas.audit.domain.exceptions.AuditExportException;
 import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
 import com.itau.desafio.vendas.audit.domain.port.out.AuditEventExporterPort;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
+/**
+ * Exporta eventos de auditoria para o sistema de arquivos local.
+ * <p>
+ * No formato {@code segmented} (padrão), os eventos são acrescentados a um log
+ * append-only em segmentos ({@link AuditSegmentLogWriter}). O formato
+ * {@code per-event} mantém o comportamento anterior de um arquivo JSON por
+ * evento.
+ */
 @Component
 @Slf4j
-@Profile("file")
+@Profile({ "file", "fanout" })
 public class FileSystemAuditEventExporterAdapter implements AuditEventExporterPort {
 
     @Value("${audit.export.directory:./audit-logs}")
     private String exportDirectoryPath;
 
+    @Value("${audit.export.format:segmented}")
+    private String format;
+
+    @Value("${audit.export.codec:json}")
+    private String codecName;
+
+    @Value("${audit.export.segment.max-bytes:134217728}")
+    private long segmentMaxBytes;
+
+    @Value("${audit.export.segment.max-age:1h}")
+    private Duration segmentMaxAge;
+
+    @Value("${audit.export.segment.fsync:interval}")
+    private FsyncPolicy fsyncPolicy;
+
+    private final MeterRegistry meterRegistry;
+
     private Path exportDirectory;
     private ObjectMapper objectMapper;
+    private AuditEventCodec codec;
+    private AuditSegmentLogWriter segmentWriter;
+
+    public FileSystemAuditEventExporterAdapter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
 
     @PostConstruct
     public void init() throws IOException {
@@ -37,27 +74,90 @@ public class FileSystemAuditEventExporterAdapter implements AuditEventExporterPo
             log.info("Diretório de auditoria criado em: {}", exportDirectory.toAbsolutePath());
         }
 
-        this.objectMapper = new ObjectMapper()
-                .registerModule(new JavaTimeModule())
-                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this.objectMapper = JacksonAuditEventCodec.newObjectMapper();
+        this.codec = AuditEventCodec.forName(codecName);
+
+        if ("segmented".equalsIgnoreCase(format)) {
+            this.segmentWriter = new AuditSegmentLogWriter(exportDirectory, objectMapper, segmentMaxBytes,
+                    segmentMaxAge, fsyncPolicy, meterRegistry);
+            log.info("Log segmentado de auditoria em {} (segmentos de até {} bytes / {}, fsync {})",
+                    exportDirectory.toAbsolutePath(), segmentMaxBytes, segmentMaxAge, fsyncPolicy);
+        }
     }
 
     @Override
     public void export(AuditEvent auditEvent) {
         log.trace("Exportando evento de auditoria: {}", auditEvent);
-        try {
-            String fileName = generateFileName(auditEvent);
-            Path filePath = this.exportDirectory.resolve(fileName);
+        if (segmentWriter != null) {
+            appendToSegment(auditEvent);
+            return;
+        }
+        String fileName = generateFileName(auditEvent);
+        Path filePath = this.exportDirectory.resolve(fileName);
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(filePath,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))) {
+            codec.encode(auditEvent, out);
 
-            String jsonContent = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(auditEvent);
+            log.info("Evento de auditoria exportado com sucesso para o arquivo: {}", filePath.toAbsolutePath());
 
-            Files.writeString(filePath, jsonContent, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new AuditExportException("Falha ao exportar evento de auditoria para o sistema de arquivos", e);
+        }
+    }
 
-            log.info("Evento de auditoria exportado com sucesso para o arquivo: {}", filePath.toAbsolutePath());
+    /**
+     * No formato {@code segmented}, grava o lote com uma única escrita no
+     * segmento ativo (e um único fsync com a política {@code batch}).
+     */
+    @Override
+    public void exportBatch(List<AuditEvent> auditEvents) {
+        if (segmentWriter == null) {
+            AuditEventExporterPort.super.exportBatch(auditEvents);
+            return;
+        }
+        try {
+            segmentWriter.append(auditEvents);
+        } catch (IOException e) {
+            throw new AuditExportException("Falha ao gravar lote de eventos de auditoria no log segmentado", e);
+        }
+    }
+
+    private void appendToSegment(AuditEvent auditEvent) {
+        try {
+            segmentWriter.append(auditEvent);
+        } catch (IOException e) {
+            throw new AuditExportException("Falha ao gravar evento de auditoria no log segmentado", e);
+        }
+    }
 
+    /**
+     * Executa o fsync periódico (política {@code interval}) e rotaciona o
+     * segmento ativo quando ele excede a idade máxima.
+     */
+    @Scheduled(fixedDelayString = "${audit.export.segment.fsync-interval:1s}")
+    public void syncSegments() {
+        if (segmentWriter == null) {
+            return;
+        }
+        try {
+            segmentWriter.rollIfExpired();
+            if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+                segmentWriter.sync();
+            }
+        } catch (IOException e) {
+            log.error("Falha ao sincronizar o log segmentado de auditoria.", e);
+        }
+    }
+
+    @PreDestroy
+    public void closeSegments() {
+        if (segmentWriter == null) {
+            return;
+        }
+        try {
+            segmentWriter.close();
         } catch (IOException e) {
-            log.error("Falha ao exportar evento de auditoria para o sistema de arquivos. Evento: {}", auditEvent, e);
-            // -> Aqui certamente precisa de tratamento para além deste ms.
+            log.error("Falha ao fechar o log segmentado de auditoria.", e);
         }
     }
 
@@ -67,6 +167,6 @@ public class FileSystemAuditEventExporterAdapter implements AuditEventExporterPo
         String operation = auditEvent.operationType().name();
         String docId = auditEvent.documentKey().get("_id").toString().replaceAll("[^a-zA-Z0-9\\-]", "");
 
-        return String.format("%s-%s-%s-%s.json", timestamp, collection, operation, docId);
+        return String.format("%s-%s-%s-%s.%s", timestamp, collection, operation, docId, codec.fileExtension());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,17 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+/**
+ * Quando o log segmentado força a gravação dos dados em disco
+ * ({@code FileChannel.force}).
+ */
+public enum FsyncPolicy {
+
+    /** Ao final de cada chamada de escrita (um evento ou um lote). */
+    BATCH,
+
+    /** Periodicamente, pelo agendamento do exportador. */
+    INTERVAL,
+
+    /** Apenas ao rotacionar ou fechar o segmento; o restante fica a cargo do SO. */
+    NONE
+}
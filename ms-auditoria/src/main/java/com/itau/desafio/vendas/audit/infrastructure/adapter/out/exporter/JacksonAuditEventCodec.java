@@ -0,0 +1,68 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * {@link AuditEventCodec} sobre o Jackson: JSON compacto ou os formatos
+ * binários Smile e CBOR, conforme o {@link JsonFactory} do
+ * {@link ObjectMapper}.
+ */
+public class JacksonAuditEventCodec implements AuditEventCodec {
+
+    private final String name;
+    private final String contentType;
+    private final String fileExtension;
+    private final ObjectWriter writer;
+
+    public JacksonAuditEventCodec(String name, String contentType, String fileExtension, ObjectMapper objectMapper) {
+        this.name = name;
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+        this.writer = objectMapper.writerFor(AuditEvent.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * {@link ObjectMapper} JSON com a configuração usada pelos exportadores de
+     * auditoria.
+     */
+    public static ObjectMapper newObjectMapper() {
+        return newObjectMapper(new JsonFactory());
+    }
+
+    public static ObjectMapper newObjectMapper(JsonFactory factory) {
+        return new ObjectMapper(factory)
+                .registerModule(new JavaTimeModule())
+                .registerModule(new RawBsonJacksonModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public String contentType() {
+        return contentType;
+    }
+
+    @Override
+    public String fileExtension() {
+        return fileExtension;
+    }
+
+    @Override
+    public void encode(AuditEvent auditEvent, OutputStream out) throws IOException {
+        writer.writeValue(out, auditEvent);
+    }
+}
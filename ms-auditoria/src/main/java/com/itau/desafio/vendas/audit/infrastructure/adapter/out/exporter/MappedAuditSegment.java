@@ -0,0 +1,268 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongPredicate;
+
+/**
+ * Segmento do log de auditoria mapeado em memória, com índices esparsos para
+ * consultas por intervalo de tempo e por documento.
+ * <p>
+ * Os registros são agrupados em blocos de {@value #BLOCK_RECORDS} e cada bloco
+ * guarda o menor e o maior {@code eventTimestamp}. Como as raias do pipeline
+ * gravam em paralelo, os timestamps dentro de um segmento são apenas
+ * aproximadamente ordenados; o intervalo por bloco mantém a busca correta sem
+ * exigir ordenação. O índice por documento guarda o offset de cada registro
+ * de {@code <coleção>/<documentKey._id>}, com o identificador na forma
+ * canônica de {@link DocumentIds}.
+ * <p>
+ * Os payloads são devolvidos como fatias do buffer mapeado, sem cópia.
+ * Segmentos ainda em escrita podem ser estendidos com {@link #refresh()}.
+ */
+@Slf4j
+class MappedAuditSegment {
+
+    static final int BLOCK_RECORDS = 64;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private record Block(long minTimestamp, long maxTimestamp, int startOffset, int endOffset) {
+    }
+
+    private final Path path;
+    private final List<Block> blocks = new ArrayList<>();
+    private final Map<String, List<Integer>> offsetsByDocument = new HashMap<>();
+
+    private MappedByteBuffer buffer;
+    private int indexedUpTo;
+    private long minTimestamp = Long.MAX_VALUE;
+    private long maxTimestamp = Long.MIN_VALUE;
+
+    private long pendingMin = Long.MAX_VALUE;
+    private long pendingMax = Long.MIN_VALUE;
+    private int pendingStart;
+    private int pendingRecords;
+
+    MappedAuditSegment(Path path) throws IOException {
+        this.path = path;
+        refresh();
+    }
+
+    Path path() {
+        return path;
+    }
+
+    /**
+     * Remapeia o arquivo se ele cresceu e indexa os registros novos.
+     */
+    void refresh() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Segmento maior que 2 GiB não pode ser mapeado: " + path);
+            }
+            if (buffer != null && size == buffer.capacity()) {
+                return;
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        indexFrom(indexedUpTo);
+    }
+
+    private void indexFrom(int start) {
+        int position = start;
+        int size = buffer.capacity();
+        while (position + AuditSegmentFormat.HEADER_BYTES <= size) {
+            int length = buffer.getInt(position);
+            int checksum = buffer.getInt(position + Integer.BYTES);
+            long timestamp = buffer.getLong(position + 2 * Integer.BYTES);
+            int payloadStart = position + AuditSegmentFormat.HEADER_BYTES;
+            if (length <= 0 || (long) payloadStart + length > size) {
+                break;
+            }
+            ByteBuffer payload = buffer.slice(payloadStart, length);
+            if (AuditSegmentFormat.checksum(payload.duplicate()) != checksum) {
+                log.warn("Registro com CRC inválido no segmento {} (offset {}). Indexação interrompida.", path,
+                        position);
+                break;
+            }
+
+            String documentKey = documentKeyOf(payload);
+            if (documentKey != null) {
+                offsetsByDocument.computeIfAbsent(documentKey, key -> new ArrayList<>()).add(position);
+            }
+            if (pendingRecords == 0) {
+                pendingStart = position;
+            }
+            pendingMin = Math.min(pendingMin, timestamp);
+            pendingMax = Math.max(pendingMax, timestamp);
+            pendingRecords++;
+            position = payloadStart + length;
+            if (pendingRecords == BLOCK_RECORDS) {
+                closeBlock(position);
+            }
+        }
+        indexedUpTo = position;
+    }
+
+    private void closeBlock(int endOffset) {
+        blocks.add(new Block(pendingMin, pendingMax, pendingStart, endOffset));
+        minTimestamp = Math.min(minTimestamp, pendingMin);
+        maxTimestamp = Math.max(maxTimestamp, pendingMax);
+        pendingMin = Long.MAX_VALUE;
+        pendingMax = Long.MIN_VALUE;
+        pendingRecords = 0;
+    }
+
+    /**
+     * Payloads com {@code eventTimestamp} em {@code [from, to]}, na ordem do
+     * segmento.
+     */
+    void findByTimeRange(long from, long to, int limit, List<ByteBuffer> results) {
+        if (Math.min(minTimestamp, pendingMin) > to || Math.max(maxTimestamp, pendingMax) < from) {
+            return;
+        }
+        LongPredicate inRange = timestamp -> timestamp >= from && timestamp <= to;
+        for (Block block : blocks) {
+            if (results.size() >= limit) {
+                return;
+            }
+            if (block.minTimestamp() <= to && block.maxTimestamp() >= from) {
+                scan(block.startOffset(), block.endOffset(), inRange, limit, results);
+            }
+        }
+        if (pendingRecords > 0 && pendingMin <= to && pendingMax >= from) {
+            scan(pendingStart, indexedUpTo, inRange, limit, results);
+        }
+    }
+
+    /**
+     * Payloads do documento com {@code eventTimestamp} em {@code [from, to]},
+     * na ordem do segmento.
+     */
+    void findByDocument(String documentKey, long from, long to, int limit, List<ByteBuffer> results) {
+        List<Integer> offsets = offsetsByDocument.get(documentKey);
+        if (offsets == null) {
+            return;
+        }
+        for (int offset : offsets) {
+            if (results.size() >= limit) {
+                return;
+            }
+            long timestamp = buffer.getLong(offset + 2 * Integer.BYTES);
+            if (timestamp >= from && timestamp <= to) {
+                results.add(payloadAt(offset));
+            }
+        }
+    }
+
+    private void scan(int start, int end, LongPredicate inRange, int limit, List<ByteBuffer> results) {
+        int position = start;
+        while (position < end && results.size() < limit) {
+            int length = buffer.getInt(position);
+            long timestamp = buffer.getLong(position + 2 * Integer.BYTES);
+            if (inRange.test(timestamp)) {
+                results.add(payloadAt(position));
+            }
+            position += AuditSegmentFormat.HEADER_BYTES + length;
+        }
+    }
+
+    private ByteBuffer payloadAt(int offset) {
+        int length = buffer.getInt(offset);
+        return buffer.slice(offset + AuditSegmentFormat.HEADER_BYTES, length).asReadOnlyBuffer();
+    }
+
+    /**
+     * Extrai {@code <collectionName>/<documentKey._id>} percorrendo o JSON em
+     * streaming, sem materializar o evento.
+     */
+    private String documentKeyOf(ByteBuffer payload) {
+        byte[] bytes = new byte[payload.remaining()];
+        payload.duplicate().get(bytes);
+        try (JsonParser parser = JSON_FACTORY.createParser(bytes)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            String collection = null;
+            String documentId = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME && (collection == null || documentId == null)) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("collectionName".equals(field) && value == JsonToken.VALUE_STRING) {
+                    collection = parser.getText();
+                } else if ("documentKey".equals(field) && value == JsonToken.START_OBJECT) {
+                    documentId = idOf(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return collection != null && documentId != null ? documentKey(collection, documentId) : null;
+        } catch (IOException e) {
+            log.warn("Não foi possível extrair o documentKey de um registro do segmento {}.", path, e);
+            return null;
+        }
+    }
+
+    /**
+     * Lê o {@code _id} do {@code documentKey} na forma de
+     * {@link DocumentIds#canonical(Object)}. Além dos escalares, reconhece o
+     * binário serializado pelo Jackson ({@code type}/{@code data}) e os
+     * campos {@code $oid}/{@code $uuid} do Extended JSON.
+     */
+    private static String idOf(JsonParser parser) throws IOException {
+        String documentId = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("_id".equals(field) && value.isScalarValue()) {
+                documentId = DocumentIds.canonical(parser.getText());
+            } else if ("_id".equals(field) && value == JsonToken.START_OBJECT) {
+                documentId = structuredIdOf(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return documentId;
+    }
+
+    private static String structuredIdOf(JsonParser parser) throws IOException {
+        Integer subType = null;
+        byte[] data = null;
+        String text = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("type".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                subType = parser.getIntValue();
+            } else if ("data".equals(field) && value == JsonToken.VALUE_STRING) {
+                data = parser.getBinaryValue();
+            } else if (("$oid".equals(field) || "$uuid".equals(field)) && value == JsonToken.VALUE_STRING) {
+                text = DocumentIds.canonical(parser.getText());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (text != null) {
+            return text;
+        }
+        return subType != null && data != null ? DocumentIds.canonical(subType, data) : null;
+    }
+
+    static String documentKey(String collection, String documentId) {
+        return collection + "/" + DocumentIds.canonical(documentId);
+    }
+}
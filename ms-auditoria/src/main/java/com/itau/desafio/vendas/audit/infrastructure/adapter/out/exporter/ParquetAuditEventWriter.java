@@ -0,0 +1,335 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.parquet.conf.PlainParquetConfiguration;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.LocalOutputFile;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.MessageTypeParser;
+import org.bson.Document;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Agrupa eventos de auditoria em arquivos Parquet particionados por hora
+ * ({@code dt=yyyy-MM-dd/hour=HH}, derivado do {@code eventTimestamp}), no
+ * layout esperado pelo Athena para partition projection.
+ * <p>
+ * Os eventos ficam em memória já serializados, com o total limitado a
+ * {@code maxBufferedBytes}: ao ultrapassar o limite, todas as partições são
+ * gravadas. Com o {@link SpillJournal} configurado, o evento original também
+ * fica retido para o spill e entra na conta com o mesmo tamanho estimado da
+ * linha. Partições abertas há mais de {@code maxAge} são gravadas por
+ * {@link #flushExpired()}. Cada arquivo é escrito na área de staging local e
+ * entregue ao {@link ParquetFilePublisher}; se a escrita ou a publicação
+ * falhar, os eventos da partição são gravados no {@link SpillJournal}, quando
+ * configurado.
+ * <p>
+ * {@link #append(AuditEvent)} devolve o futuro da partição, concluído quando
+ * o arquivo é publicado ou os eventos vão para o spill, e concluído com erro
+ * quando os eventos se perdem.
+ */
+@Slf4j
+public class ParquetAuditEventWriter {
+
+    static final MessageType SCHEMA = MessageTypeParser.parseMessageType("""
+            message audit_event {
+              required binary operation_type (STRING);
+              required int64 event_timestamp (TIMESTAMP(MILLIS,true));
+              optional binary database_name (STRING);
+              optional binary collection_name (STRING);
+              optional binary changed_by (STRING);
+              optional binary document_id (STRING);
+              optional binary document_key (JSON);
+              optional binary document_before (JSON);
+              optional binary document_after (JSON);
+              optional binary document_delta (JSON);
+            }
+            """);
+
+    private static final DateTimeFormatter PARTITION_FORMAT = DateTimeFormatter.ofPattern("'dt='yyyy-MM-dd/'hour='HH");
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmssSSS");
+    private static final int ROW_OVERHEAD_BYTES = 64;
+
+    private final Path stagingDirectory;
+    private final ParquetFilePublisher publisher;
+    private final ObjectMapper objectMapper;
+    private final long maxBufferedBytes;
+    private final Duration maxAge;
+    private final CompressionCodecName compression;
+    private final SpillJournal spillJournal;
+    private final Clock clock;
+
+    private final String writerId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong fileSequence = new AtomicLong();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Partition> openPartitions = new HashMap<>();
+    private final AtomicLong bufferedBytes = new AtomicLong();
+
+    private final Timer flushLatency;
+    private final DistributionSummary fileSize;
+    private final DistributionSummary rowsPerFile;
+
+    public ParquetAuditEventWriter(Path stagingDirectory, ParquetFilePublisher publisher, ObjectMapper objectMapper,
+            long maxBufferedBytes, Duration maxAge, CompressionCodecName compression, SpillJournal spillJournal,
+            MeterRegistry meterRegistry) throws IOException {
+        this(stagingDirectory, publisher, objectMapper, maxBufferedBytes, maxAge, compression, spillJournal,
+                meterRegistry, Clock.systemUTC());
+    }
+
+    ParquetAuditEventWriter(Path stagingDirectory, ParquetFilePublisher publisher, ObjectMapper objectMapper,
+            long maxBufferedBytes, Duration maxAge, CompressionCodecName compression, SpillJournal spillJournal,
+            MeterRegistry meterRegistry, Clock clock) throws IOException {
+        this.stagingDirectory = Files.createDirectories(stagingDirectory);
+        this.publisher = publisher;
+        this.objectMapper = objectMapper;
+        this.maxBufferedBytes = maxBufferedBytes;
+        this.maxAge = maxAge;
+        this.compression = compression;
+        this.spillJournal = spillJournal;
+        this.clock = clock;
+
+        this.flushLatency = Timer.builder("audit.export.parquet.flush")
+                .description("Latência da escrita e publicação de um arquivo Parquet")
+                .register(meterRegistry);
+        this.fileSize = DistributionSummary.builder("audit.export.parquet.file.size")
+                .description("Tamanho dos arquivos Parquet publicados")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.rowsPerFile = DistributionSummary.builder("audit.export.parquet.rows")
+                .description("Quantidade de eventos por arquivo Parquet")
+                .register(meterRegistry);
+        Gauge.builder("audit.export.parquet.buffered.bytes", bufferedBytes, AtomicLong::get)
+                .description("Bytes de eventos aguardando escrita em Parquet")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Acrescenta o evento à partição da sua hora. Se o buffer ultrapassar o
+     * limite, todas as partições são gravadas na thread chamadora.
+     *
+     * @return Futuro concluído quando a partição do evento é publicada ou
+     *         gravada no spill.
+     */
+    public CompletableFuture<Void> append(AuditEvent auditEvent) throws IOException {
+        Row row = toRow(auditEvent);
+        String partitionPath = auditEvent.eventTimestamp().format(PARTITION_FORMAT);
+        long estimatedBytes = spillJournal != null ? 2 * row.estimatedBytes() : row.estimatedBytes();
+
+        Partition partition;
+        boolean overLimit;
+        lock.lock();
+        try {
+            partition = openPartitions.computeIfAbsent(partitionPath, key -> new Partition(key, clock.instant()));
+            partition.add(spillJournal != null ? auditEvent : null, row, estimatedBytes);
+            overLimit = bufferedBytes.addAndGet(estimatedBytes) >= maxBufferedBytes;
+        } finally {
+            lock.unlock();
+        }
+
+        if (overLimit) {
+            flushAll();
+        }
+        return partition.written;
+    }
+
+    /**
+     * Grava as partições abertas há mais tempo que {@code maxAge}.
+     */
+    public void flushExpired() {
+        Instant now = clock.instant();
+        for (Partition partition : drain(p -> !p.openedAt.plus(maxAge).isAfter(now))) {
+            write(partition);
+        }
+    }
+
+    /**
+     * Grava todas as partições abertas, independente de idade ou tamanho.
+     */
+    public void flushAll() {
+        for (Partition partition : drain(p -> true)) {
+            write(partition);
+        }
+    }
+
+    private List<Partition> drain(Predicate<Partition> condition) {
+        List<Partition> drained = new ArrayList<>();
+        lock.lock();
+        try {
+            openPartitions.values().removeIf(partition -> {
+                if (condition.test(partition)) {
+                    drained.add(partition);
+                    bufferedBytes.addAndGet(-partition.estimatedBytes);
+                    return true;
+                }
+                return false;
+            });
+        } finally {
+            lock.unlock();
+        }
+        return drained;
+    }
+
+    private void write(Partition partition) {
+        String key = generateKey(partition);
+        Path stagingFile = stagingDirectory.resolve(key.replace('/', '_'));
+        try {
+            flushLatency.recordCallable(() -> {
+                writeParquet(partition, stagingFile);
+                fileSize.record(Files.size(stagingFile));
+                publisher.publish(stagingFile, key);
+                return null;
+            });
+            rowsPerFile.record(partition.rows.size());
+            log.trace("Arquivo Parquet com {} eventos publicado: {}", partition.rows.size(), key);
+            partition.written.complete(null);
+        } catch (Exception e) {
+            if (spillJournal != null && spillJournal.appendUndelivered("arquivo Parquet " + key, partition.events, e)) {
+                partition.written.complete(null);
+            } else {
+                if (spillJournal == null) {
+                    log.error("Falha ao exportar arquivo Parquet de auditoria. Arquivo: {}. Eventos perdidos: {}",
+                            key, partition.rows.size(), e);
+                }
+                partition.written.completeExceptionally(e);
+            }
+        } finally {
+            try {
+                Files.deleteIfExists(stagingFile);
+            } catch (IOException e) {
+                log.warn("Não foi possível remover o arquivo de staging {}.", stagingFile, e);
+            }
+        }
+    }
+
+    private void writeParquet(Partition partition, Path file) throws IOException {
+        SimpleGroupFactory groups = new SimpleGroupFactory(SCHEMA);
+        try (ParquetWriter<Group> writer = ExampleParquetWriter.builder(new LocalOutputFile(file))
+                .withConf(new PlainParquetConfiguration())
+                .withType(SCHEMA)
+                .withCompressionCodec(compression)
+                .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
+                .build()) {
+            for (Row row : partition.rows) {
+                Group group = groups.newGroup()
+                        .append("operation_type", row.operationType())
+                        .append("event_timestamp", row.eventTimestampMillis());
+                appendIfPresent(group, "database_name", row.databaseName());
+                appendIfPresent(group, "collection_name", row.collectionName());
+                appendIfPresent(group, "changed_by", row.changedBy());
+                appendIfPresent(group, "document_id", row.documentId());
+                appendIfPresent(group, "document_key", row.documentKey());
+                appendIfPresent(group, "document_before", row.documentBefore());
+                appendIfPresent(group, "document_after", row.documentAfter());
+                appendIfPresent(group, "document_delta", row.documentDelta());
+                writer.write(group);
+            }
+        }
+    }
+
+    private static void appendIfPresent(Group group, String field, String value) {
+        if (value != null) {
+            group.append(field, value);
+        }
+    }
+
+    private Row toRow(AuditEvent auditEvent) throws IOException {
+        Document documentKey = auditEvent.documentKey();
+        Object documentId = documentKey != null ? documentKey.get("_id") : null;
+        return new Row(
+                auditEvent.operationType().name(),
+                auditEvent.eventTimestamp().toInstant(ZoneOffset.UTC).toEpochMilli(),
+                auditEvent.databaseName(),
+                auditEvent.collectionName(),
+                auditEvent.changedBy(),
+                DocumentIds.canonical(documentId),
+                toJson(documentKey),
+                toJson(auditEvent.documentBefore()),
+                toJson(auditEvent.documentAfter()),
+                auditEvent.documentDelta() != null ? objectMapper.writeValueAsString(auditEvent.documentDelta())
+                        : null);
+    }
+
+    private String toJson(Document document) throws IOException {
+        return document != null ? objectMapper.writeValueAsString(document) : null;
+    }
+
+    private String generateKey(Partition partition) {
+        String timestamp = partition.openedAt.atOffset(ZoneOffset.UTC).format(TIMESTAMP_FORMAT);
+        return String.format("%s/%s-%s-%06d.parquet",
+                partition.path, timestamp, writerId, fileSequence.incrementAndGet());
+    }
+
+    private record Row(
+            String operationType,
+            long eventTimestampMillis,
+            String databaseName,
+            String collectionName,
+            String changedBy,
+            String documentId,
+            String documentKey,
+            String documentBefore,
+            String documentAfter,
+            String documentDelta) {
+
+        private long estimatedBytes() {
+            return ROW_OVERHEAD_BYTES + length(operationType) + length(databaseName) + length(collectionName)
+                    + length(changedBy) + length(documentId) + length(documentKey) + length(documentBefore)
+                    + length(documentAfter) + length(documentDelta);
+        }
+
+        private static long length(String value) {
+            return value != null ? value.length() : 0;
+        }
+    }
+
+    private static final class Partition {
+        private final String path;
+        private final Instant openedAt;
+        private final List<Row> rows = new ArrayList<>();
+        private final List<AuditEvent> events = new ArrayList<>();
+        private final CompletableFuture<Void> written = new CompletableFuture<>();
+        private long estimatedBytes;
+
+        private Partition(String path, Instant openedAt) {
+            this.path = path;
+            this.openedAt = openedAt;
+        }
+
+        private void add(AuditEvent auditEvent, Row row, long rowBytes) {
+            rows.add(row);
+            if (auditEvent != null) {
+                events.add(auditEvent);
+            }
+            estimatedBytes += rowBytes;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Destino dos arquivos Parquet gerados pelo {@link ParquetAuditEventWriter}.
+ * O arquivo recebido é temporário e é removido após a publicação.
+ */
+@FunctionalInterface
+public interface ParquetFilePublisher {
+
+    /**
+     * @param file Arquivo Parquet completo, na área de staging local.
+     * @param key  Caminho relativo de destino, já particionado por hora.
+     */
+    void publish(Path file, String key) throws IOException;
+
+    /**
+     * Publica os arquivos em um diretório local, preservando o particionamento
+     * da chave.
+     */
+    static ParquetFilePublisher localDirectory(Path directory) {
+        return (file, key) -> {
+            Path target = directory.resolve(key);
+            Files.createDirectories(target.getParent());
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+        };
+    }
+}
@@ -0,0 +1,130 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.itau.desafio.vendas.audit.domain.model.RawBsonBackedDocument;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+
+import java.io.IOException;
+
+/**
+ * Módulo Jackson que serializa um {@link RawBsonBackedDocument} lendo os
+ * bytes BSON diretamente para o {@link JsonGenerator}, sem montar o mapa do
+ * documento.
+ * <p>
+ * O JSON produzido é o mesmo da serialização do {@link Document}
+ * decodificado: tipos escalares comuns são escritos diretamente e os demais
+ * (ObjectId, datas, Decimal128, binários...) são decodificados
+ * individualmente e entregues ao serializador padrão do Jackson.
+ * <p>
+ * {@link Decimal128} é escrito como número decimal, e não pelo texto do
+ * {@link Number}, para que os formatos binários (Smile, CBOR) mantenham o
+ * tipo numérico. {@link ObjectId} é escrito como o texto hexadecimal; a
+ * serialização padrão como bean ({@code timestamp}/{@code date}) descarta o
+ * contador e não permite recuperar o identificador.
+ */
+public class RawBsonJacksonModule extends SimpleModule {
+
+    public RawBsonJacksonModule() {
+        super("RawBsonJacksonModule");
+        addSerializer(RawBsonBackedDocument.class, new RawBsonDocumentSerializer());
+        addSerializer(Decimal128.class, new Decimal128Serializer());
+        addSerializer(ObjectId.class, new ObjectIdSerializer());
+    }
+
+    static final class ObjectIdSerializer extends StdSerializer<ObjectId> {
+
+        ObjectIdSerializer() {
+            super(ObjectId.class);
+        }
+
+        @Override
+        public void serialize(ObjectId value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeString(value.toHexString());
+        }
+    }
+
+    static final class Decimal128Serializer extends StdSerializer<Decimal128> {
+
+        Decimal128Serializer() {
+            super(Decimal128.class);
+        }
+
+        @Override
+        public void serialize(Decimal128 value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            if (value.isNaN() || value.isInfinite()) {
+                generator.writeNumber(value.toString());
+            } else {
+                generator.writeNumber(value.bigDecimalValue());
+            }
+        }
+    }
+
+    static final class RawBsonDocumentSerializer extends StdSerializer<RawBsonBackedDocument> {
+
+        RawBsonDocumentSerializer() {
+            super(RawBsonBackedDocument.class);
+        }
+
+        @Override
+        public void serialize(RawBsonBackedDocument document, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            RawBsonDocument raw = document.raw();
+            if (raw == null) {
+                provider.findPrimaryPropertySerializer(Document.class, null).serialize(document, generator, provider);
+                return;
+            }
+            try (BsonBinaryReader reader = new BsonBinaryReader(raw.getByteBuffer().asNIO())) {
+                writeDocument(reader, generator, provider);
+            }
+        }
+
+        private static void writeDocument(BsonReader reader, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            reader.readStartDocument();
+            generator.writeStartObject();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                generator.writeFieldName(reader.readName());
+                writeValue(reader, generator, provider);
+            }
+            reader.readEndDocument();
+            generator.writeEndObject();
+        }
+
+        private static void writeValue(BsonReader reader, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            switch (reader.getCurrentBsonType()) {
+                case DOCUMENT -> writeDocument(reader, generator, provider);
+                case ARRAY -> {
+                    reader.readStartArray();
+                    generator.writeStartArray();
+                    while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                        writeValue(reader, generator, provider);
+                    }
+                    reader.readEndArray();
+                    generator.writeEndArray();
+                }
+                case STRING -> generator.writeString(reader.readString());
+                case INT32 -> generator.writeNumber(reader.readInt32());
+                case INT64 -> generator.writeNumber(reader.readInt64());
+                case DOUBLE -> generator.writeNumber(reader.readDouble());
+                case BOOLEAN -> generator.writeBoolean(reader.readBoolean());
+                case NULL -> {
+                    reader.readNull();
+                    generator.writeNull();
+                }
+                default -> provider.defaultSerializeValue(RawBsonBackedDocument.readValue(reader), generator);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+import com.itau.desafio.vendas.audit.domain.exceptions.AuditExportException;
+import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
+import com.itau.desafio.vendas.audit.domain.port.out.AuditEventExporterPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante do exportador S3 sobre o {@link S3AsyncClient}: cada evento é
+ * enviado como um objeto JSON, no mesmo layout de chaves do
+ * {@link S3AuditEventExporterAdapter}, mas sem ocupar a thread da raia
+ * durante o upload.
+ * <p>
+ * {@link #exportDurably} devolve os futuros dos uploads, de modo que o evento
+ * só é confirmado ao pipeline quando o objeto está no S3 ou no journal de
+ * spill.
+ */
+@Component
+@Slf4j
+@Profile("!file")
+@ConditionalOnProperty(name = "audit.s3.async.enabled", havingValue = "true")
+public class S3AsyncAuditEventExporterAdapter implements AuditEventExporterPort {
+
+    private final AuditEventCodec codec;
+    private final AsyncS3Uploader uploader;
+
+    public S3AsyncAuditEventExporterAdapter(S3AsyncClient s3AsyncClient,
+            @Value("${audit.s3.bucket-name}") String bucketName,
+            @Value("${audit.s3.codec:json}") String codecName,
+            @Value("${audit.s3.async.max-in-flight:256}") int maxInFlight,
+            @Value("${audit.s3.async.max-attempts:5}") int maxAttempts,
+            @Value("${audit.s3.async.initial-backoff:200ms}") Duration initialBackoff,
+            @Value("${audit.s3.async.max-backoff:10s}") Duration maxBackoff,
+            @Value("${audit.s3.async.retry-queue-capacity:10000}") int retryQueueCapacity,
+            @Nullable SpillJournal spillJournal,
+            MeterRegistry meterRegistry) {
+        this.codec = AuditEventCodec.forName(codecName);
+        this.uploader = new AsyncS3Uploader(s3AsyncClient, bucketName, maxInFlight, maxAttempts, initialBackoff,
+                maxBackoff, retryQueueCapacity, spillJournal, meterRegistry);
+        log.info("Exportador de Auditoria S3 assíncrono configurado para o bucket '{}' (janela de {} uploads, codec: {})",
+                bucketName, maxInFlight, codec.name());
+    }
+
+    @Override
+    public void export(AuditEvent auditEvent) {
+        upload(auditEvent);
+    }
+
+    @Override
+    public CompletableFuture<Void> exportDurably(List<AuditEvent> auditEvents) {
+        List<CompletableFuture<Void>> uploads = new ArrayList<>(auditEvents.size());
+        for (AuditEvent auditEvent : auditEvents) {
+            uploads.add(upload(auditEvent));
+        }
+        return CompletableFuture.allOf(uploads.toArray(CompletableFuture[]::new));
+    }
+
+    private CompletableFuture<Void> upload(AuditEvent auditEvent) {
+        log.trace("Exportando evento de auditoria: {}", auditEvent);
+        String fileName = S3AuditEventExporterAdapter.generateFileName(auditEvent, codec.fileExtension());
+        EncodingBuffer buffer = EncodingBuffer.acquire();
+        try {
+            codec.encode(auditEvent, buffer);
+            return uploader.upload(fileName, buffer.toByteArray(), codec.contentType(), auditEvent);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuditExportException("Exportação interrompida antes do upload ao S3. Arquivo: " + fileName, e);
+        } catch (Exception e) {
+            throw new AuditExportException("Falha ao exportar evento de auditoria para o S3. Arquivo: " + fileName, e);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * Reenvia os uploads que esgotaram as tentativas, usando apenas as vagas
+     * livres da janela.
+     */
+    @Scheduled(fixedDelayString = "${audit.s3.async.retry-drain-interval:5s}")
+    public void drainRetryQueue() {
+        int resubmitted = uploader.drainRetryQueue();
+        if (resubmitted > 0) {
+            log.info("{} uploads reenviados da fila de reenvio ao S3.", resubmitted);
+        }
+    }
+
+    /**
+     * Aguarda os uploads em andamento e a última drenagem da fila de reenvio;
+     * o que restar vai para o journal de spill.
+     */
+    @PreDestroy
+    public void awaitPendingUploads() throws InterruptedException {
+        uploader.close();
+    }
+}
@@ -1,25 +1,38 @@
 package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.itau.desafio.vendas.audit.domain.exceptions.AuditExportException;
 import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
 import com.itau.desafio.vendas.audit.domain.port.out.AuditEventExporterPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Primary;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Profile;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Semaphore;
 
 @Component
 @Slf4j
-@Primary
+@Profile("!file")
+@ConditionalOnProperty(name = "audit.s3.async.enabled", havingValue = "false", matchIfMissing = true)
 public class S3AuditEventExporterAdapter implements AuditEventExporterPort {
 
     private final Semaphore s3ConcurrencyLimiter = new Semaphore(20);
@@ -27,50 +40,186 @@ public class S3AuditEventExporterAdapter implements AuditEventExporterPort {
     private final String bucketName;
     private final S3Client s3Client;
     private final ObjectMapper objectMapper;
+    private final AuditEventCodec codec;
+    private final S3NdjsonSegmentWriter segmentWriter;
+    private final ParquetAuditEventWriter parquetWriter;
 
-    public S3AuditEventExporterAdapter(S3Client s3Client, @Value("${audit.s3.bucket-name}") String bucketName) {
+    public S3AuditEventExporterAdapter(S3Client s3Client,
+            @Value("${audit.s3.bucket-name}") String bucketName,
+            @Value("${audit.s3.codec:json}") String codecName,
+            @Value("${audit.s3.batch.enabled:false}") boolean batchEnabled,
+            @Value("${audit.s3.batch.max-bytes:8388608}") long batchMaxBytes,
+            @Value("${audit.s3.batch.max-age:30s}") Duration batchMaxAge,
+            @Value("${audit.s3.parquet.enabled:false}") boolean parquetEnabled,
+            @Value("${audit.s3.parquet.prefix:parquet}") String parquetPrefix,
+            @Value("${audit.s3.parquet.max-buffered-bytes:67108864}") long parquetMaxBufferedBytes,
+            @Value("${audit.s3.parquet.max-age:5m}") Duration parquetMaxAge,
+            @Value("${audit.s3.parquet.compression:SNAPPY}") CompressionCodecName parquetCompression,
+            @Value("${audit.s3.parquet.staging-directory:${java.io.tmpdir}/audit-parquet}") String parquetStaging,
+            @Nullable SpillJournal spillJournal,
+            MeterRegistry meterRegistry) throws IOException {
         this.s3Client = s3Client;
         this.bucketName = bucketName;
-        this.objectMapper = new ObjectMapper()
-                .registerModule(new JavaTimeModule())
-                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        log.info("Exportador de Auditoria S3 configurado para o bucket '{}'", bucketName);
+        this.objectMapper = JacksonAuditEventCodec.newObjectMapper();
+        this.codec = AuditEventCodec.forName(codecName);
+        this.segmentWriter = batchEnabled
+                ? new S3NdjsonSegmentWriter(s3Client, bucketName, objectMapper, batchMaxBytes, batchMaxAge,
+                        spillJournal, meterRegistry)
+                : null;
+        this.parquetWriter = parquetEnabled
+                ? new ParquetAuditEventWriter(Paths.get(parquetStaging),
+                        (file, key) -> uploadParquet(file, parquetPrefix + "/" + key), objectMapper,
+                        parquetMaxBufferedBytes, parquetMaxAge, parquetCompression,
+                        spillJournal, meterRegistry)
+                : null;
+        log.info("Exportador de Auditoria S3 configurado para o bucket '{}' (modo em lote: {}, parquet: {}, codec: {})",
+                bucketName, batchEnabled, parquetEnabled, codec.name());
     }
 
     @Override
     public void export(AuditEvent auditEvent) {
         log.trace("Exportando evento de auditoria: {}", auditEvent);
-        String fileName = generateFileName(auditEvent);
+        if (parquetWriter != null) {
+            appendToParquet(auditEvent);
+            return;
+        }
+        if (segmentWriter != null) {
+            appendToSegment(auditEvent);
+            return;
+        }
+        String fileName = generateFileName(auditEvent, codec.fileExtension());
+        boolean acquired = false;
+        EncodingBuffer buffer = EncodingBuffer.acquire();
         try {
             s3ConcurrencyLimiter.acquire();
-            String jsonContent = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(auditEvent);
+            acquired = true;
+            codec.encode(auditEvent, buffer);
 
             PutObjectRequest putObjectRequest = PutObjectRequest.builder()
                     .bucket(bucketName)
                     .key(fileName)
-                    .contentType("application/json")
+                    .contentType(codec.contentType())
                     .build();
 
-            s3Client.putObject(putObjectRequest, RequestBody.fromString(jsonContent));
+            s3Client.putObject(putObjectRequest,
+                    RequestBody.fromContentProvider(buffer::newInputStream, buffer.size(), codec.contentType()));
 
             log.trace("Evento de auditoria exportado com sucesso para S3: s3://{}/{}", bucketName, fileName);
 
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuditExportException("Exportação interrompida antes do upload ao S3. Arquivo: " + fileName, e);
+        } catch (Exception e) {
+            throw new AuditExportException("Falha ao exportar evento de auditoria para o S3. Arquivo: " + fileName, e);
+        } finally {
+            buffer.release();
+            if (acquired) {
+                s3ConcurrencyLimiter.release();
+            }
+        }
+    }
+
+    /**
+     * No modo em lote, o lote inteiro é acrescentado aos segmentos com uma
+     * única aquisição do lock; nos demais modos, exporta evento a evento.
+     */
+    @Override
+    public void exportBatch(List<AuditEvent> auditEvents) {
+        if (parquetWriter == null && segmentWriter == null) {
+            AuditEventExporterPort.super.exportBatch(auditEvents);
+            return;
+        }
+        exportDurably(auditEvents);
+    }
+
+    /**
+     * Nos modos em lote e Parquet, o future só é concluído quando os
+     * segmentos ou arquivos que receberam os eventos forem enviados ao S3 (ou
+     * gravados no spill), por tamanho, idade ou no encerramento.
+     */
+    @Override
+    public CompletableFuture<Void> exportDurably(List<AuditEvent> auditEvents) {
+        if (parquetWriter != null) {
+            return appendToParquet(auditEvents);
+        }
+        if (segmentWriter == null) {
+            return AuditEventExporterPort.super.exportDurably(auditEvents);
+        }
+        try {
+            return segmentWriter.append(auditEvents);
+        } catch (Exception e) {
+            throw new AuditExportException("Falha ao acrescentar lote de eventos de auditoria ao segmento S3", e);
+        }
+    }
+
+    private void appendToSegment(AuditEvent auditEvent) {
+        try {
+            segmentWriter.append(auditEvent);
         } catch (Exception e) {
-            log.error("Falha ao exportar evento de auditoria para o S3. Arquivo: {}. Evento: {}", fileName, auditEvent,
-                    e);
-            // -> Entendo que aqui certamente precisaria, no mundo real, de tratamento para
-            // além deste ms.
+            throw new AuditExportException("Falha ao acrescentar evento de auditoria ao segmento S3", e);
+        }
+    }
+
+    private CompletableFuture<Void> appendToParquet(AuditEvent auditEvent) {
+        try {
+            return parquetWriter.append(auditEvent);
+        } catch (Exception e) {
+            throw new AuditExportException("Falha ao acrescentar evento de auditoria ao buffer Parquet", e);
+        }
+    }
+
+    private CompletableFuture<Void> appendToParquet(List<AuditEvent> auditEvents) {
+        Set<CompletableFuture<Void>> partitions = new HashSet<>();
+        for (AuditEvent auditEvent : auditEvents) {
+            partitions.add(appendToParquet(auditEvent));
+        }
+        return CompletableFuture.allOf(partitions.toArray(CompletableFuture[]::new));
+    }
+
+    private void uploadParquet(Path file, String key) {
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType("application/vnd.apache.parquet")
+                .build();
+        s3Client.putObject(putObjectRequest, RequestBody.fromFile(file));
+    }
+
+    /**
+     * Envia ao S3 os segmentos e arquivos Parquet que excederam a idade máxima
+     * configurada.
+     */
+    @Scheduled(fixedDelayString = "${audit.s3.batch.flush-check-interval:1s}")
+    public void flushExpiredSegments() {
+        if (segmentWriter != null) {
+            segmentWriter.flushExpired();
+        }
+        if (parquetWriter != null) {
+            parquetWriter.flushExpired();
+        }
+    }
+
+    @PreDestroy
+    public void flushPendingSegments() {
+        if (segmentWriter != null) {
+            log.info("Enviando segmentos de auditoria pendentes ao S3 antes do encerramento.");
+            segmentWriter.flushAll();
+        }
+        if (parquetWriter != null) {
+            log.info("Enviando arquivos Parquet de auditoria pendentes ao S3 antes do encerramento.");
+            parquetWriter.flushAll();
         }
     }
 
-    private String generateFileName(AuditEvent auditEvent) {
+    static String generateFileName(AuditEvent auditEvent, String extension) {
         String timestamp = auditEvent.eventTimestamp().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmssSSS"));
         String collection = auditEvent.collectionName();
         String operation = auditEvent.operationType().name();
-        String docId = auditEvent.documentKey().get("_id").toString().replaceAll("[^a-zA-Z0-9\\-]", "");
+        String docId = DocumentIds.canonical(auditEvent.documentKey().get("_id"))
+                .replaceAll("[^a-zA-Z0-9\\-]", "");
 
         String datePath = auditEvent.eventTimestamp().format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
 
-        return String.format("%s/%s-%s-%s-%s.json", datePath, timestamp, collection, operation, docId);
+        return String.format("%s/%s-%s-%s-%s.%s", datePath, timestamp, collection, operation, docId, extension);
     }
 }
\ No newline at end of file
@@ -0,0 +1,257 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Agrupa eventos de auditoria em segmentos NDJSON comprimidos com gzip e os
+ * envia ao S3 com um único PutObject por segmento.
+ * <p>
+ * Um segmento é mantido por partição de data ({@code yyyy/MM/dd}, derivada do
+ * {@code eventTimestamp}), preservando o layout de chaves do exportador
+ * evento-a-evento. O segmento é enviado quando atinge {@code maxBytes} de
+ * payload (não comprimido) ou quando fica aberto por mais de {@code maxAge}.
+ * <p>
+ * Como o envio acontece depois de {@code append()} retornar, cada segmento
+ * tem um future concluído após o PutObject; {@code append()} o retorna para
+ * que o chamador só confirme os eventos quando estiverem no S3. Um segmento
+ * cujo envio falha tem seus eventos gravados no {@link SpillJournal}, quando
+ * configurado, e o future só é concluído com erro se eles não puderem ser
+ * gravados.
+ */
+@Slf4j
+public class S3NdjsonSegmentWriter {
+
+    private static final DateTimeFormatter DATE_PATH_FORMAT = DateTimeFormatter.ofPattern("yyyy/MM/dd");
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmssSSS");
+    private static final byte NEWLINE = '\n';
+
+    private final S3Client s3Client;
+    private final String bucketName;
+    private final ObjectMapper objectMapper;
+    private final long maxBytes;
+    private final Duration maxAge;
+    private final SpillJournal spillJournal;
+    private final Clock clock;
+
+    private final String writerId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong segmentSequence = new AtomicLong();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Segment> openSegments = new HashMap<>();
+
+    private final Timer flushLatency;
+    private final DistributionSummary segmentSize;
+    private final DistributionSummary eventsPerSegment;
+
+    public S3NdjsonSegmentWriter(S3Client s3Client, String bucketName, ObjectMapper objectMapper,
+            long maxBytes, Duration maxAge, SpillJournal spillJournal, MeterRegistry meterRegistry) {
+        this(s3Client, bucketName, objectMapper, maxBytes, maxAge, spillJournal, meterRegistry, Clock.systemUTC());
+    }
+
+    S3NdjsonSegmentWriter(S3Client s3Client, String bucketName, ObjectMapper objectMapper,
+            long maxBytes, Duration maxAge, SpillJournal spillJournal, MeterRegistry meterRegistry, Clock clock) {
+        this.s3Client = s3Client;
+        this.bucketName = bucketName;
+        this.objectMapper = objectMapper;
+        this.maxBytes = maxBytes;
+        this.maxAge = maxAge;
+        this.spillJournal = spillJournal;
+        this.clock = clock;
+
+        this.flushLatency = Timer.builder("audit.export.s3.segment.flush")
+                .description("Latência do envio de um segmento NDJSON ao S3")
+                .register(meterRegistry);
+        this.segmentSize = DistributionSummary.builder("audit.export.s3.segment.size")
+                .description("Tamanho comprimido dos segmentos enviados ao S3")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.eventsPerSegment = DistributionSummary.builder("audit.export.s3.segment.events")
+                .description("Quantidade de eventos por segmento enviado ao S3")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Acrescenta o evento ao segmento da sua partição de data. Se o segmento
+     * atingir o limite de tamanho, ele é enviado ao S3 na thread chamadora.
+     *
+     * @return Concluído quando o segmento do evento for enviado ao S3 (ou
+     *         desviado ao journal de spill).
+     */
+    public CompletableFuture<Void> append(AuditEvent auditEvent) throws IOException {
+        return append(List.of(auditEvent));
+    }
+
+    /**
+     * Acrescenta os eventos aos segmentos das suas partições de data,
+     * serializando fora do lock e adquirindo-o uma única vez para o lote.
+     * Segmentos que atingirem o limite de tamanho são enviados ao S3 na thread
+     * chamadora, após liberar o lock.
+     *
+     * @return Concluído quando os segmentos de todos os eventos forem enviados
+     *         ao S3 (ou desviados ao journal de spill).
+     */
+    public CompletableFuture<Void> append(List<AuditEvent> auditEvents) throws IOException {
+        byte[][] lines = new byte[auditEvents.size()][];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = objectMapper.writeValueAsBytes(auditEvents.get(i));
+        }
+
+        List<Segment> full = new ArrayList<>();
+        Set<CompletableFuture<Void>> uploads = new HashSet<>();
+        lock.lock();
+        try {
+            for (int i = 0; i < lines.length; i++) {
+                AuditEvent auditEvent = auditEvents.get(i);
+                String datePath = auditEvent.eventTimestamp().format(DATE_PATH_FORMAT);
+                Segment segment = openSegments.computeIfAbsent(datePath,
+                        key -> new Segment(key, clock.instant()));
+                segment.write(auditEvent, lines[i]);
+                uploads.add(segment.uploaded);
+                if (segment.rawBytes >= maxBytes) {
+                    full.add(openSegments.remove(datePath));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        for (Segment segment : full) {
+            upload(segment);
+        }
+        return CompletableFuture.allOf(uploads.toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Envia os segmentos abertos há mais tempo que {@code maxAge}.
+     */
+    public void flushExpired() {
+        Instant now = clock.instant();
+        for (Segment segment : drain(s -> !s.openedAt.plus(maxAge).isAfter(now))) {
+            upload(segment);
+        }
+    }
+
+    /**
+     * Envia todos os segmentos abertos, independente de idade ou tamanho.
+     */
+    public void flushAll() {
+        for (Segment segment : drain(s -> true)) {
+            upload(segment);
+        }
+    }
+
+    private List<Segment> drain(Predicate<Segment> condition) {
+        List<Segment> drained = new ArrayList<>();
+        lock.lock();
+        try {
+            openSegments.values().removeIf(segment -> {
+                if (condition.test(segment)) {
+                    drained.add(segment);
+                    return true;
+                }
+                return false;
+            });
+        } finally {
+            lock.unlock();
+        }
+        return drained;
+    }
+
+    private void upload(Segment segment) {
+        String key = generateKey(segment);
+        try {
+            byte[] payload = segment.finish();
+            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .contentType("application/x-ndjson")
+                    .contentEncoding("gzip")
+                    .build();
+
+            flushLatency.record(() -> s3Client.putObject(putObjectRequest, RequestBody.fromBytes(payload)));
+            segmentSize.record(payload.length);
+            eventsPerSegment.record(segment.events.size());
+
+            log.trace("Segmento com {} eventos ({} bytes) exportado para S3: s3://{}/{}",
+                    segment.events.size(), payload.length, bucketName, key);
+            segment.uploaded.complete(null);
+        } catch (Exception e) {
+            if (spillJournal != null
+                    && spillJournal.appendUndelivered("segmento s3://" + bucketName + "/" + key, segment.events, e)) {
+                segment.uploaded.complete(null);
+            } else {
+                log.error("Falha ao exportar segmento de auditoria para o S3. Arquivo: {}. Eventos perdidos: {}",
+                        key, segment.events.size(), e);
+                segment.uploaded.completeExceptionally(e);
+            }
+        }
+    }
+
+    private String generateKey(Segment segment) {
+        String timestamp = segment.events.get(0).eventTimestamp().format(TIMESTAMP_FORMAT);
+        return String.format("%s/%s-%s-%06d.ndjson.gz",
+                segment.datePath, timestamp, writerId, segmentSequence.incrementAndGet());
+    }
+
+    private static final class Segment {
+        private final String datePath;
+        private final Instant openedAt;
+        private final List<AuditEvent> events = new ArrayList<>();
+        private final CompletableFuture<Void> uploaded = new CompletableFuture<>();
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private final GZIPOutputStream gzip;
+        private long rawBytes;
+
+        private Segment(String datePath, Instant openedAt) {
+            this.datePath = datePath;
+            this.openedAt = openedAt;
+            try {
+                this.gzip = new GZIPOutputStream(buffer);
+            } catch (IOException e) {
+                throw new IllegalStateException("Não foi possível inicializar o buffer gzip do segmento.", e);
+            }
+        }
+
+        private void write(AuditEvent auditEvent, byte[] line) throws IOException {
+            gzip.write(line);
+            gzip.write(NEWLINE);
+            rawBytes += line.length + 1L;
+            events.add(auditEvent);
+        }
+
+        /**
+         * Fecha o gzip, liberando o {@code Deflater} nativo, e retorna o
+         * payload comprimido.
+         */
+        private byte[] finish() throws IOException {
+            gzip.close();
+            return buffer.toByteArray();
+        }
+    }
+}
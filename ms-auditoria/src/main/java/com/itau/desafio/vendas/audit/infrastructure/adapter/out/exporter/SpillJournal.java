@@ -0,0 +1,350 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
+import com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter.AuditSegmentLogReader.SegmentRecord;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Journal local (write-ahead) dos eventos de auditoria que não puderam ser
+ * exportados, gravado no formato de segmentos do
+ * {@link AuditSegmentLogWriter} com fsync a cada evento.
+ * <p>
+ * Os registros são gravados em BSON ({@link BsonAuditEventCodec}), para que o
+ * evento reenviado mantenha os tipos originais ({@code ObjectId}, UUID
+ * binário, Decimal128) usados nas chaves do S3, nos codecs e na escolha da
+ * raia. Registros JSON de versões anteriores continuam legíveis pelo
+ * {@code objectMapper}.
+ * <p>
+ * {@link #replay} percorre o journal em ordem de gravação, a partir de um
+ * cursor persistido em {@value #CURSOR_FILE_NAME}; segmentos totalmente
+ * reenviados são apagados. Apenas segmentos fechados são lidos: quando só
+ * resta o segmento ativo, ele é fechado antes da leitura.
+ * <p>
+ * O espaço em disco é limitado a {@code maxBytes}: com o limite atingido,
+ * {@link #append} falha e o evento não é gravado.
+ */
+@Slf4j
+public class SpillJournal implements AutoCloseable {
+
+    static final String CURSOR_FILE_NAME = "replay.cursor";
+    static final String DEFAULT_NAME = "default";
+
+    private static final long NO_PENDING_EVENTS = -1;
+    private static final Duration SEGMENT_MAX_AGE = Duration.ofDays(1);
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+    private final long maxBytes;
+    private final Clock clock;
+    private final AuditSegmentLogWriter writer;
+    private final AuditSegmentLogReader reader;
+
+    private final ReentrantLock replayLock = new ReentrantLock();
+    private final AtomicLong diskBytes = new AtomicLong();
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicLong oldestPendingMillis = new AtomicLong(NO_PENDING_EVENTS);
+
+    private final Counter replayedCounter;
+    private final Counter rejectedCounter;
+    private final Counter discardedCounter;
+    private final Counter deferredCounter;
+
+    private long cursorSequence;
+    private long cursorOffset;
+    private boolean closed;
+
+    public SpillJournal(Path directory, ObjectMapper objectMapper, long maxBytes, long segmentMaxBytes,
+            MeterRegistry meterRegistry) throws IOException {
+        this(DEFAULT_NAME, directory, objectMapper, maxBytes, segmentMaxBytes, meterRegistry, Clock.systemUTC());
+    }
+
+    /**
+     * @param name Identifica o journal nas métricas de backlog (tag
+     *             {@code journal}), quando há mais de um.
+     */
+    public SpillJournal(String name, Path directory, ObjectMapper objectMapper, long maxBytes, long segmentMaxBytes,
+            MeterRegistry meterRegistry) throws IOException {
+        this(name, directory, objectMapper, maxBytes, segmentMaxBytes, meterRegistry, Clock.systemUTC());
+    }
+
+    SpillJournal(Path directory, ObjectMapper objectMapper, long maxBytes, long segmentMaxBytes,
+            MeterRegistry meterRegistry, Clock clock) throws IOException {
+        this(DEFAULT_NAME, directory, objectMapper, maxBytes, segmentMaxBytes, meterRegistry, clock);
+    }
+
+    SpillJournal(String name, Path directory, ObjectMapper objectMapper, long maxBytes, long segmentMaxBytes,
+            MeterRegistry meterRegistry, Clock clock) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.objectMapper = objectMapper;
+        this.maxBytes = maxBytes;
+        this.clock = clock;
+        this.reader = new AuditSegmentLogReader(directory);
+
+        loadCursor();
+        recoverBacklog();
+        this.writer = new AuditSegmentLogWriter(directory, new BsonAuditEventCodec(), segmentMaxBytes,
+                SEGMENT_MAX_AGE, FsyncPolicy.BATCH, meterRegistry, clock);
+
+        Gauge.builder("audit.spill.backlog.events", pendingEvents, AtomicLong::get)
+                .description("Eventos de auditoria no journal de spill aguardando reenvio")
+                .tag("journal", name)
+                .register(meterRegistry);
+        Gauge.builder("audit.spill.backlog.bytes", diskBytes, AtomicLong::get)
+                .description("Espaço em disco ocupado pelo journal de spill")
+                .baseUnit("bytes")
+                .tag("journal", name)
+                .register(meterRegistry);
+        Gauge.builder("audit.spill.backlog.age", this, journal -> journal.oldestPendingAge().toMillis() / 1000.0)
+                .description("Idade do evento mais antigo aguardando reenvio no journal de spill")
+                .baseUnit("seconds")
+                .tag("journal", name)
+                .register(meterRegistry);
+        this.replayedCounter = Counter.builder("audit.spill.replayed")
+                .description("Eventos reenviados a partir do journal de spill")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("audit.spill.rejected")
+                .description("Eventos não gravados por falta de espaço no journal de spill")
+                .register(meterRegistry);
+        this.discardedCounter = Counter.builder("audit.spill.discarded")
+                .description("Registros ilegíveis descartados durante o reenvio do journal de spill")
+                .register(meterRegistry);
+        this.deferredCounter = Counter.builder("audit.spill.appended")
+                .tag("reason", "deferred_export_failed")
+                .description("Eventos gravados no journal de spill")
+                .register(meterRegistry);
+
+        if (pendingEvents.get() > 0) {
+            log.warn("Journal de spill em {} possui {} eventos pendentes de reenvio ({} bytes).",
+                    directory.toAbsolutePath(), pendingEvents.get(), diskBytes.get());
+        }
+    }
+
+    /**
+     * Grava o evento no journal com fsync antes de retornar.
+     *
+     * @throws IOException se a gravação falhar ou o journal tiver atingido
+     *                     {@code maxBytes}.
+     */
+    public void append(AuditEvent auditEvent) throws IOException {
+        if (diskBytes.get() >= maxBytes) {
+            rejectedCounter.increment();
+            throw new IOException("Journal de spill cheio (" + diskBytes.get() + " de " + maxBytes + " bytes)");
+        }
+        diskBytes.addAndGet(writer.append(auditEvent));
+        if (pendingEvents.getAndIncrement() == 0) {
+            oldestPendingMillis.compareAndSet(NO_PENDING_EVENTS, timestampMillis(auditEvent));
+        }
+    }
+
+    /**
+     * Grava os eventos de uma exportação que falhou depois de {@code export()}
+     * já ter retornado (segmento ou arquivo Parquet no S3, upload assíncrono),
+     * quando o {@link SpillingAuditEventExporter} não enxerga mais a falha.
+     * Os eventos que não couberem no journal são registrados como perdidos.
+     *
+     * @return {@code true} se todos os eventos foram gravados.
+     */
+    public boolean appendUndelivered(String target, List<AuditEvent> auditEvents, Throwable cause) {
+        int appended = 0;
+        try {
+            for (AuditEvent auditEvent : auditEvents) {
+                append(auditEvent);
+                appended++;
+            }
+            log.warn("Falha ao exportar {}; {} eventos gravados no journal de spill.", target, appended, cause);
+            return true;
+        } catch (IOException e) {
+            e.addSuppressed(cause);
+            log.error("Falha ao exportar {} e ao gravar no journal de spill. Eventos perdidos: {}", target,
+                    auditEvents.size() - appended, e);
+            return false;
+        } finally {
+            deferredCounter.increment(appended);
+        }
+    }
+
+    /**
+     * Entrega ao {@code exporter} até {@code maxEvents} eventos pendentes, em
+     * ordem de gravação. Uma exceção do {@code exporter} interrompe o reenvio
+     * e é propagada; o evento que falhou permanece no journal.
+     *
+     * @return Quantidade de eventos reenviados.
+     */
+    public int replay(int maxEvents, Consumer<AuditEvent> exporter) throws IOException {
+        replayLock.lock();
+        try {
+            int replayed = 0;
+            while (replayed < maxEvents) {
+                Path segment = nextSegment();
+                if (segment == null) {
+                    break;
+                }
+                long offset = AuditSegmentFormat.sequenceOf(segment) == cursorSequence ? cursorOffset : 0;
+                List<SegmentRecord> records = new ArrayList<>();
+                reader.readSegment(segment, offset, maxEvents - replayed, records::add);
+                if (records.isEmpty()) {
+                    release(segment);
+                    continue;
+                }
+                for (SegmentRecord record : records) {
+                    AuditEvent auditEvent = decode(record);
+                    if (auditEvent != null) {
+                        exporter.accept(auditEvent);
+                        replayedCounter.increment();
+                    }
+                    advance(record);
+                    replayed++;
+                }
+            }
+            return replayed;
+        } finally {
+            try {
+                saveCursor();
+            } finally {
+                replayLock.unlock();
+            }
+        }
+    }
+
+    public long pendingEvents() {
+        return pendingEvents.get();
+    }
+
+    public long diskBytes() {
+        return diskBytes.get();
+    }
+
+    /**
+     * Idade do evento pendente mais antigo, aproximada pelo
+     * {@code eventTimestamp} do último evento reenviado.
+     */
+    public Duration oldestPendingAge() {
+        long oldest = oldestPendingMillis.get();
+        if (oldest == NO_PENDING_EVENTS) {
+            return Duration.ZERO;
+        }
+        return Duration.ofMillis(Math.max(0, clock.millis() - oldest));
+    }
+
+    /**
+     * Fecha o segmento ativo. Chamadas repetidas não têm efeito, já que o
+     * journal pode ser compartilhado entre exportadores.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            writer.close();
+        }
+    }
+
+    private Path nextSegment() throws IOException {
+        List<Path> segments = reader.segments();
+        Path active = writer.activeSegment();
+        for (Path segment : segments) {
+            if (AuditSegmentFormat.sequenceOf(segment) >= cursorSequence && !segment.equals(active)) {
+                return segment;
+            }
+        }
+        return writer.roll();
+    }
+
+    private void advance(SegmentRecord record) {
+        cursorSequence = AuditSegmentFormat.sequenceOf(record.segment());
+        cursorOffset = record.offset() + AuditSegmentFormat.HEADER_BYTES + record.payload().length;
+        if (pendingEvents.decrementAndGet() == 0) {
+            oldestPendingMillis.set(NO_PENDING_EVENTS);
+        } else {
+            oldestPendingMillis.set(record.eventTimestampMillis());
+        }
+    }
+
+    private void release(Path segment) throws IOException {
+        long size = Files.size(segment);
+        Files.delete(segment);
+        diskBytes.addAndGet(-size);
+        cursorSequence = AuditSegmentFormat.sequenceOf(segment) + 1;
+        cursorOffset = 0;
+        log.debug("Segmento do journal de spill totalmente reenviado e removido: {}", segment);
+    }
+
+    private AuditEvent decode(SegmentRecord record) {
+        try {
+            if (BsonAuditEventCodec.isBson(record.payload())) {
+                return BsonAuditEventCodec.decode(record.payload());
+            }
+            return objectMapper.readValue(record.payload(), AuditEvent.class);
+        } catch (IOException | RuntimeException e) {
+            discardedCounter.increment();
+            log.error("Registro ilegível descartado do journal de spill: {} (offset {}).",
+                    record.segment(), record.offset(), e);
+            return null;
+        }
+    }
+
+    private void loadCursor() throws IOException {
+        Path cursorFile = directory.resolve(CURSOR_FILE_NAME);
+        if (Files.notExists(cursorFile)) {
+            return;
+        }
+        String[] cursor = Files.readString(cursorFile, StandardCharsets.UTF_8).trim().split(" ");
+        cursorSequence = Long.parseLong(cursor[0]);
+        cursorOffset = Long.parseLong(cursor[1]);
+    }
+
+    private void saveCursor() throws IOException {
+        Path cursorFile = directory.resolve(CURSOR_FILE_NAME);
+        Path temporary = directory.resolve(CURSOR_FILE_NAME + ".tmp");
+        Files.writeString(temporary, cursorSequence + " " + cursorOffset + "\n", StandardCharsets.UTF_8);
+        Files.move(temporary, cursorFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Remove os segmentos já reenviados e contabiliza o que resta a partir do
+     * cursor. Sem segmentos restantes, o cursor volta ao início, já que o
+     * writer reinicia a numeração.
+     */
+    private void recoverBacklog() throws IOException {
+        boolean remaining = false;
+        for (Path segment : reader.segments()) {
+            long sequence = AuditSegmentFormat.sequenceOf(segment);
+            if (sequence < cursorSequence) {
+                Files.delete(segment);
+                continue;
+            }
+            remaining = true;
+            diskBytes.addAndGet(Files.size(segment));
+            long offset = sequence == cursorSequence ? cursorOffset : 0;
+            reader.readSegment(segment, offset, Integer.MAX_VALUE, record -> {
+                pendingEvents.incrementAndGet();
+                oldestPendingMillis.compareAndSet(NO_PENDING_EVENTS, record.eventTimestampMillis());
+            });
+        }
+        if (!remaining) {
+            cursorSequence = 0;
+            cursorOffset = 0;
+        }
+    }
+
+    private static long timestampMillis(AuditEvent auditEvent) {
+        return auditEvent.eventTimestamp().toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
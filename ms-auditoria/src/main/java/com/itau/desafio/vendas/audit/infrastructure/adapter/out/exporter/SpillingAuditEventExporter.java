@@ -0,0 +1,201 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+import com.itau.desafio.vendas.audit.domain.exceptions.AuditExportException;
+import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
+import com.itau.desafio.vendas.audit.domain.port.out.AuditEventExporterPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decorador do exportador de auditoria que grava no {@link SpillJournal} os
+ * eventos cuja exportação falhou, em vez de perdê-los.
+ * <p>
+ * Após {@code failureThreshold} falhas consecutivas o circuito abre por
+ * {@code openDuration}: nesse intervalo os eventos vão direto para o journal,
+ * sem chamar o destino. Fechado o circuito, {@link #replayPending()} reenvia o
+ * journal em segundo plano, limitado a {@code maxReplayPerSecond}. Eventos
+ * novos continuam sendo exportados diretamente durante o reenvio, portanto a
+ * ordem de chegada ao destino não é garantida entre eventos do journal e
+ * eventos novos.
+ * <p>
+ * O journal é compartilhado com os exportadores que falham depois de aceitar
+ * o evento (segmentos e uploads assíncronos no S3) e não é fechado por este
+ * decorador.
+ */
+@Slf4j
+public class SpillingAuditEventExporter implements AuditEventExporterPort {
+
+    private final AuditEventExporterPort delegate;
+    private final SpillJournal journal;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final int replayBatchSize;
+    private final Clock clock;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile Instant openUntil = Instant.MIN;
+
+    private final Counter exportFailedCounter;
+    private final Counter circuitOpenCounter;
+
+    public SpillingAuditEventExporter(AuditEventExporterPort delegate, SpillJournal journal, int failureThreshold,
+            Duration openDuration, int maxReplayPerSecond, Duration replayInterval, MeterRegistry meterRegistry) {
+        this(delegate, journal, failureThreshold, openDuration, maxReplayPerSecond, replayInterval, meterRegistry,
+                Clock.systemUTC());
+    }
+
+    SpillingAuditEventExporter(AuditEventExporterPort delegate, SpillJournal journal, int failureThreshold,
+            Duration openDuration, int maxReplayPerSecond, Duration replayInterval, MeterRegistry meterRegistry,
+            Clock clock) {
+        this.delegate = delegate;
+        this.journal = journal;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.replayBatchSize = (int) Math.max(1, maxReplayPerSecond * replayInterval.toMillis() / 1000);
+        this.clock = clock;
+
+        this.exportFailedCounter = Counter.builder("audit.spill.appended")
+                .description("Eventos gravados no journal de spill")
+                .tag("reason", "export_failed")
+                .register(meterRegistry);
+        this.circuitOpenCounter = Counter.builder("audit.spill.appended")
+                .description("Eventos gravados no journal de spill")
+                .tag("reason", "circuit_open")
+                .register(meterRegistry);
+        Gauge.builder("audit.spill.circuit.open", this, exporter -> exporter.isCircuitOpen() ? 1 : 0)
+                .description("Indica se o circuito do exportador de auditoria está aberto")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void export(AuditEvent auditEvent) {
+        if (isCircuitOpen()) {
+            spill(auditEvent, null);
+            circuitOpenCounter.increment();
+            return;
+        }
+        try {
+            delegate.export(auditEvent);
+            consecutiveFailures.set(0);
+        } catch (RuntimeException e) {
+            onFailure(e);
+            spill(auditEvent, e);
+            exportFailedCounter.increment();
+            log.warn("Falha ao exportar evento de auditoria; evento gravado no journal de spill. Evento: {}",
+                    auditEvent, e);
+        }
+    }
+
+    /**
+     * Exporta o lote no destino; se a exportação falhar, o lote inteiro vai
+     * para o journal. Eventos já exportados antes da falha podem, portanto,
+     * ser reenviados no replay (entrega ao menos uma vez).
+     */
+    @Override
+    public void exportBatch(List<AuditEvent> auditEvents) {
+        exportDurably(auditEvents);
+    }
+
+    /**
+     * Como {@link #exportBatch(List)}, estendendo o desvio ao journal às
+     * falhas que o destino só reporta depois de aceitar o lote (segmento ou
+     * upload que falhou). O future só é concluído com erro se o journal
+     * também falhar.
+     */
+    @Override
+    public CompletableFuture<Void> exportDurably(List<AuditEvent> auditEvents) {
+        if (isCircuitOpen()) {
+            auditEvents.forEach(auditEvent -> spill(auditEvent, null));
+            circuitOpenCounter.increment(auditEvents.size());
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> durable;
+        try {
+            durable = delegate.exportDurably(auditEvents);
+            consecutiveFailures.set(0);
+        } catch (RuntimeException e) {
+            spillFailedBatch(auditEvents, e);
+            return CompletableFuture.completedFuture(null);
+        }
+        return durable.handle((ignored, error) -> {
+            if (error != null) {
+                spillFailedBatch(auditEvents, error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            }
+            return null;
+        });
+    }
+
+    private void spillFailedBatch(List<AuditEvent> auditEvents, Throwable cause) {
+        RuntimeException failure = cause instanceof RuntimeException runtime
+                ? runtime
+                : new AuditExportException("Falha ao exportar lote de eventos de auditoria", cause);
+        onFailure(failure);
+        auditEvents.forEach(auditEvent -> spill(auditEvent, failure));
+        exportFailedCounter.increment(auditEvents.size());
+        log.warn("Falha ao exportar lote de {} eventos de auditoria; lote gravado no journal de spill.",
+                auditEvents.size(), failure);
+    }
+
+    /**
+     * Reenvia um lote do journal quando o circuito está fechado. Uma falha
+     * interrompe o lote e conta para a abertura do circuito.
+     */
+    @Scheduled(fixedDelayString = "${audit.spill.replay-interval:1s}")
+    public void replayPending() {
+        if (isCircuitOpen() || journal.pendingEvents() == 0) {
+            return;
+        }
+        try {
+            int replayed = journal.replay(replayBatchSize, delegate::export);
+            if (replayed > 0) {
+                consecutiveFailures.set(0);
+                log.info("{} eventos reenviados do journal de spill ({} pendentes).", replayed,
+                        journal.pendingEvents());
+            }
+        } catch (RuntimeException e) {
+            onFailure(e);
+            log.warn("Reenvio do journal de spill interrompido: destino ainda indisponível ({} pendentes).",
+                    journal.pendingEvents(), e);
+        } catch (IOException e) {
+            log.error("Falha ao ler o journal de spill.", e);
+        }
+    }
+
+    public boolean isCircuitOpen() {
+        return clock.instant().isBefore(openUntil);
+    }
+
+    private void spill(AuditEvent auditEvent, RuntimeException exportFailure) {
+        try {
+            journal.append(auditEvent);
+        } catch (IOException e) {
+            AuditExportException failure = new AuditExportException(
+                    "Falha ao gravar evento de auditoria no journal de spill", e);
+            if (exportFailure != null) {
+                failure.addSuppressed(exportFailure);
+            }
+            throw failure;
+        }
+    }
+
+    private void onFailure(RuntimeException e) {
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold && !isCircuitOpen()) {
+            openUntil = clock.instant().plus(openDuration);
+            log.warn("Circuito do exportador de auditoria aberto por {} após {} falhas consecutivas: {}",
+                    openDuration, consecutiveFailures.get(), e.getMessage());
+        }
+    }
+}
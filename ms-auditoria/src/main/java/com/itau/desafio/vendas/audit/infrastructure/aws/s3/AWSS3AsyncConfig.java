@@ -0,0 +1,32 @@
+package com.itau.desafio.vendas.audit.infrastructure.aws.s3;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+
+@Configuration
+@ConditionalOnProperty(name = "audit.s3.async.enabled", havingValue = "true")
+public class AWSS3AsyncConfig {
+
+    /**
+     * O pool de conexões acompanha a janela de uploads do exportador, para que
+     * a janela não fique limitada pelo padrão de 50 conexões do cliente Netty.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public S3AsyncClient s3AsyncClient(@Value("${audit.s3.region}") String region,
+            @Value("${audit.s3.async.max-in-flight:256}") int maxInFlight) {
+        return S3AsyncClient.builder()
+                .region(Region.of(region))
+                .credentialsProvider(DefaultCredentialsProvider.builder().build())
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder().maxConcurrency(maxInFlight))
+                .build();
+    }
+}
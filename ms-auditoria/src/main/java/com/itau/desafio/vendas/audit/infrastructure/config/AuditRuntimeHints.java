@@ -0,0 +1,38 @@
+package com.itau.desafio.vendas.audit.infrastructure.config;
+
+import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
+import com.itau.desafio.vendas.audit.domain.model.ChangeType;
+import com.itau.desafio.vendas.audit.domain.model.DocumentDelta;
+import com.itau.desafio.vendas.audit.domain.model.RawBsonBackedDocument;
+import org.bson.BsonTimestamp;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Hints para a imagem nativa (perfil Maven {@code native}).
+ * <p>
+ * O {@link AuditEvent} é serializado pelo Jackson nos exportadores e lido de
+ * volta pelo journal de spill, e os documentos carregam tipos BSON
+ * serializados como beans ({@link ObjectId}, {@link Binary}...). Driver do
+ * MongoDB e SDK da AWS trazem os próprios metadados (reachability metadata e
+ * {@code META-INF/native-image}); aqui entram apenas os recursos lidos pelo
+ * Spring Cloud na inicialização.
+ */
+public class AuditRuntimeHints implements RuntimeHintsRegistrar {
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        bindingRegistrar.registerReflectionHints(hints.reflection(),
+                AuditEvent.class, DocumentDelta.class, DocumentDelta.TruncatedArray.class, ChangeType.class,
+                Document.class, RawBsonBackedDocument.class,
+                ObjectId.class, Binary.class, Decimal128.class, BsonTimestamp.class);
+        hints.resources().registerPattern("bootstrap.yml");
+    }
+}
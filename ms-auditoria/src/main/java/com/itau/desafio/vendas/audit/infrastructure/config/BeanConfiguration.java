@@ -1,25 +1,155 @@
 package com.itau.desafio.vendas.audit.infrastructure.config;
 
+import com.itau.desafio.vendas.audit.application.monitoring.AuditLagMonitor;
 import com.itau.desafio.vendas.audit.application.port.in.ProcessAuditEventUseCase;
+import com.itau.desafio.vendas.audit.application.usecase.AuditBatchPolicy;
+import com.itau.desafio.vendas.audit.application.usecase.AuditPipelineSettings;
 import com.itau.desafio.vendas.audit.application.usecase.ProcessAuditEventUseCaseImpl;
 import com.itau.desafio.vendas.audit.domain.port.out.AuditEventExporterPort;
+import com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter.FanOutAuditEventExporter;
+import com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter.FileSystemAuditEventExporterAdapter;
+import com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter.JacksonAuditEventCodec;
+import com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter.SpillJournal;
+import com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter.SpillingAuditEventExporter;
 
 import io.micrometer.core.instrument.MeterRegistry;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.Executor;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
 import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.lang.Nullable;
 
 @Configuration
+@ImportRuntimeHints(AuditRuntimeHints.class)
 public class BeanConfiguration {
 
     @Bean
     public ProcessAuditEventUseCase processAuditEventUseCase(
             AuditEventExporterPort auditEventExporter,
-            MeterRegistry meterRegistry) {
-        return new ProcessAuditEventUseCaseImpl(auditEventExporter, meterRegistry);
+            MeterRegistry meterRegistry,
+            AuditLagMonitor auditLagMonitor,
+            @Qualifier("auditTaskExecutor") Executor auditTaskExecutor,
+            @Value("${audit.pipeline.capacity:10000}") int capacity,
+            @Value("${audit.pipeline.parallelism:16}") int parallelism,
+            @Value("${audit.pipeline.offer-timeout:0s}") Duration offerTimeout,
+            @Value("${audit.export.materialize-delta-after:false}") boolean materializeDeltaAfter,
+            @Value("${audit.pipeline.batch.enabled:false}") boolean batchEnabled,
+            @Value("${audit.pipeline.batch.min-size:1}") int batchMinSize,
+            @Value("${audit.pipeline.batch.max-size:500}") int batchMaxSize,
+            @Value("${audit.pipeline.batch.max-wait:20ms}") Duration batchMaxWait,
+            @Value("${audit.pipeline.batch.target-latency:200ms}") Duration batchTargetLatency) {
+        AuditBatchPolicy batchPolicy = new AuditBatchPolicy(batchEnabled, batchMinSize, batchMaxSize,
+                batchMaxWait, batchTargetLatency);
+        AuditPipelineSettings settings = new AuditPipelineSettings(capacity, parallelism, offerTimeout,
+                materializeDeltaAfter, batchPolicy);
+        return new ProcessAuditEventUseCaseImpl(auditEventExporter, meterRegistry, auditLagMonitor,
+                auditTaskExecutor, settings);
+    }
+
+    @Bean
+    public AuditLagMonitor auditLagMonitor(MeterRegistry meterRegistry) {
+        return new AuditLagMonitor(meterRegistry);
+    }
+
+    /**
+     * Journal de spill compartilhado pelo {@link SpillingAuditEventExporter} e
+     * pelos exportadores S3 que só descobrem a falha depois de aceitar o evento
+     * (segmentos, Parquet e uploads assíncronos).
+     */
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "audit.spill.enabled", havingValue = "true")
+    public SpillJournal spillJournal(
+            MeterRegistry meterRegistry,
+            @Value("${audit.spill.directory:./audit-spill}") String directory,
+            @Value("${audit.spill.max-bytes:1073741824}") long maxBytes,
+            @Value("${audit.spill.segment-max-bytes:16777216}") long segmentMaxBytes) throws IOException {
+        return new SpillJournal(Paths.get(directory), JacksonAuditEventCodec.newObjectMapper(),
+                maxBytes, segmentMaxBytes, meterRegistry);
+    }
+
+    /**
+     * Envolve o exportador configurado com o journal de spill, para que
+     * falhas de exportação não percam eventos.
+     */
+    @Bean
+    @Primary
+    @Profile("!fanout")
+    @ConditionalOnProperty(name = "audit.spill.enabled", havingValue = "true")
+    public SpillingAuditEventExporter spillingAuditEventExporter(
+            AuditEventExporterPort auditEventExporter,
+            SpillJournal spillJournal,
+            MeterRegistry meterRegistry,
+            @Value("${audit.spill.failure-threshold:5}") int failureThreshold,
+            @Value("${audit.spill.open-duration:30s}") Duration openDuration,
+            @Value("${audit.spill.replay-rate:200}") int replayRate,
+            @Value("${audit.spill.replay-interval:1s}") Duration replayInterval) {
+        return new SpillingAuditEventExporter(auditEventExporter, spillJournal, failureThreshold, openDuration,
+                replayRate, replayInterval, meterRegistry);
+    }
+
+    /**
+     * Journal de spill do destino sistema de arquivos no perfil
+     * {@code fanout}, separado do journal compartilhado para que o reenvio não
+     * duplique eventos nos demais destinos.
+     */
+    @Bean
+    @Profile("fanout")
+    @ConditionalOnProperty(name = "audit.spill.enabled", havingValue = "true")
+    public SpillJournal fileSystemSpillJournal(
+            MeterRegistry meterRegistry,
+            @Value("${audit.spill.directory:./audit-spill}") String directory,
+            @Value("${audit.spill.max-bytes:1073741824}") long maxBytes,
+            @Value("${audit.spill.segment-max-bytes:16777216}") long segmentMaxBytes) throws IOException {
+        return new SpillJournal("filesystem", Paths.get(directory, "filesystem"),
+                JacksonAuditEventCodec.newObjectMapper(), maxBytes, segmentMaxBytes, meterRegistry);
+    }
+
+    /**
+     * No perfil {@code fanout}, os exportadores ativos (S3 e sistema de
+     * arquivos) recebem cada evento em filas independentes. Com o spill
+     * habilitado, o destino sistema de arquivos usa o próprio journal e os
+     * destinos S3 usam o journal compartilhado, que já recebe as falhas
+     * tardias dos segmentos e uploads assíncronos.
+     */
+    @Bean
+    @Primary
+    @Profile("fanout")
+    public FanOutAuditEventExporter fanOutAuditEventExporter(
+            Map<String, AuditEventExporterPort> sinks,
+            @Nullable SpillJournal spillJournal,
+            @Nullable @Qualifier("fileSystemSpillJournal") SpillJournal fileSystemSpillJournal,
+            MeterRegistry meterRegistry,
+            @Value("${audit.fanout.capacity:10000}") int capacity,
+            @Value("${audit.fanout.workers:4}") int workers,
+            @Value("${audit.fanout.offer-timeout:0s}") Duration offerTimeout,
+            @Value("${audit.spill.replay-rate:200}") int replayRate,
+            @Value("${audit.spill.replay-interval:1s}") Duration replayInterval) {
+        Map<String, SpillJournal> spillJournals = new HashMap<>();
+        sinks.forEach((name, sink) -> {
+            SpillJournal journal = sink instanceof FileSystemAuditEventExporterAdapter
+                    ? fileSystemSpillJournal
+                    : spillJournal;
+            if (journal != null) {
+                spillJournals.put(name, journal);
+            }
+        });
+        int replayBatchSize = (int) Math.max(1, replayRate * replayInterval.toMillis() / 1000);
+        return new FanOutAuditEventExporter(sinks, capacity, workers, offerTimeout, spillJournals, replayBatchSize,
+                meterRegistry);
     }
 
     @Bean(name = "auditTaskExecutor")
@@ -29,4 +159,4 @@ public class BeanConfiguration {
         executor.setThreadNamePrefix("AuditEvent-vt-");
         return executor;
     }
-}
\ No newline at end of file
+}
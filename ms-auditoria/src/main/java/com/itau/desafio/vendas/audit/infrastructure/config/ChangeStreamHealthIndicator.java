@@ -1,23 +1,59 @@
 package com.itau.desafio.vendas.audit.infrastructure.config;
 
+import com.itau.desafio.vendas.audit.application.monitoring.AuditLagMonitor;
 import com.itau.desafio.vendas.audit.infrastructure.adapter.in.changestream.MongoChangeStreamListenerAdapter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
+/**
+ * Saúde do listener do Change Stream: além de verificar se o loop está em
+ * execução, reporta {@code DEGRADED} ou {@code DOWN} quando o atraso de ponta
+ * a ponta ({@link AuditLagMonitor#currentLag()}) ultrapassa os limites
+ * configurados.
+ */
 @Component
 public class ChangeStreamHealthIndicator implements HealthIndicator {
 
+    static final Status DEGRADED = new Status("DEGRADED", "Listener executando com atraso acima do limite.");
+
     private final MongoChangeStreamListenerAdapter listenerAdapter;
+    private final AuditLagMonitor lagMonitor;
+    private final Duration degradedLag;
+    private final Duration downLag;
 
-    public ChangeStreamHealthIndicator(MongoChangeStreamListenerAdapter listenerAdapter) {
+    public ChangeStreamHealthIndicator(MongoChangeStreamListenerAdapter listenerAdapter,
+            AuditLagMonitor lagMonitor,
+            @Value("${audit.health.lag.degraded-after:1m}") Duration degradedLag,
+            @Value("${audit.health.lag.down-after:5m}") Duration downLag) {
         this.listenerAdapter = listenerAdapter;
+        this.lagMonitor = lagMonitor;
+        this.degradedLag = degradedLag;
+        this.downLag = downLag;
     }
 
     @Override
     public Health health() {
         if (listenerAdapter.isRunning()) {
-            return Health.up().withDetail("status", "Listener está executando ativamente.").build();
+            Duration lag = lagMonitor.currentLag();
+            Health.Builder builder;
+            if (lag.compareTo(downLag) > 0) {
+                builder = Health.down().withDetail("status", "Listener executando, mas com atraso crítico.");
+            } else if (lag.compareTo(degradedLag) > 0) {
+                builder = Health.status(DEGRADED).withDetail("status", "Listener executando com atraso.");
+            } else {
+                builder = Health.up().withDetail("status", "Listener está executando ativamente.");
+            }
+            return builder
+                    .withDetail("lagSeconds", lag.toMillis() / 1000.0)
+                    .withDetail("pendingEvents", lagMonitor.pendingEvents())
+                    .withDetail("degradedAfter", degradedLag.toString())
+                    .withDetail("downAfter", downLag.toString())
+                    .build();
         } else {
             Exception lastError = listenerAdapter.getLastException();
             if (lastError != null) {
@@ -33,4 +69,4 @@ public class ChangeStreamHealthIndicator implements HealthIndicator {
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -1,41 +1,141 @@
 package com.itau.desafio.vendas.audit.infrastructure.config;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.HeadBucketRequest;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saúde do bucket S3 servida a partir de um snapshot em cache: o
+ * {@code headBucket} é feito em segundo plano, a cada
+ * {@code audit.s3.health.refresh-interval}, e {@link #health()} apenas lê o
+ * último resultado, sem chamadas de rede.
+ * <p>
+ * Falhas isoladas não derrubam o indicador: ele só fica {@code DOWN} após
+ * {@code audit.s3.health.failure-threshold} falhas consecutivas. Antes da
+ * primeira verificação o status é {@code UNKNOWN}.
+ * <p>
+ * As verificações rodam numa thread própria, para que um {@code headBucket}
+ * lento não atrase as demais tarefas {@code @Scheduled} nem seja atrasado por
+ * elas. Se o snapshot ficar mais velho que duas vezes o intervalo (thread de
+ * verificação parada ou travada), o status volta a {@code UNKNOWN}.
+ */
 @Component
 @Profile("s3")
+@Slf4j
 public class S3BucketHealthIndicator implements HealthIndicator {
 
     private final S3Client s3Client;
     private final String bucketName;
+    private final Duration timeout;
+    private final int failureThreshold;
+    private final Duration refreshInterval;
+    private final Clock clock;
+    private final ScheduledExecutorService refreshScheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("s3-health-refresh").daemon().factory());
+
+    private volatile Snapshot snapshot = Snapshot.INITIAL;
+
+    public S3BucketHealthIndicator(S3Client s3Client,
+            @Value("${audit.s3.bucket-name}") String bucketName,
+            @Value("${audit.s3.health.timeout:2s}") Duration timeout,
+            @Value("${audit.s3.health.failure-threshold:3}") int failureThreshold,
+            @Value("${audit.s3.health.refresh-interval:30s}") Duration refreshInterval) {
+        this(s3Client, bucketName, timeout, failureThreshold, refreshInterval, Clock.systemUTC());
+    }
 
-    public S3BucketHealthIndicator(S3Client s3Client, @Value("${audit.s3.bucket-name}") String bucketName) {
+    S3BucketHealthIndicator(S3Client s3Client, String bucketName, Duration timeout, int failureThreshold,
+            Duration refreshInterval, Clock clock) {
         this.s3Client = s3Client;
         this.bucketName = bucketName;
+        this.timeout = timeout;
+        this.failureThreshold = failureThreshold;
+        this.refreshInterval = refreshInterval;
+        this.clock = clock;
     }
 
-    @Override
-    public Health health() {
+    @PostConstruct
+    void startRefreshing() {
+        refreshScheduler.scheduleWithFixedDelay(this::refresh, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stopRefreshing() {
+        refreshScheduler.shutdownNow();
+    }
+
+    /**
+     * Atualiza o snapshot com uma nova verificação do bucket.
+     */
+    public void refresh() {
+        HeadBucketRequest headBucketRequest = HeadBucketRequest.builder()
+                .bucket(bucketName)
+                .overrideConfiguration(AwsRequestOverrideConfiguration.builder().apiCallTimeout(timeout).build())
+                .build();
+        Instant checkedAt = clock.instant();
+        long start = System.nanoTime();
+        Snapshot previous = snapshot;
         try {
-            HeadBucketRequest headBucketRequest = HeadBucketRequest.builder()
-                    .bucket(bucketName)
-                    .build();
             s3Client.headBucket(headBucketRequest);
-            return Health.up()
+            snapshot = new Snapshot(checkedAt, checkedAt, Duration.ofNanos(System.nanoTime() - start), 0, null);
+        } catch (Exception e) {
+            snapshot = new Snapshot(checkedAt, previous.lastSuccess(), Duration.ofNanos(System.nanoTime() - start),
+                    previous.consecutiveFailures() + 1, e);
+            log.warn("Falha ao verificar o bucket S3 '{}' ({} falhas consecutivas).", bucketName,
+                    snapshot.consecutiveFailures(), e);
+        }
+    }
+
+    @Override
+    public Health health() {
+        Snapshot current = snapshot;
+        if (current.lastCheck() == null) {
+            return Health.unknown()
                     .withDetail("bucketName", bucketName)
-                    .withDetail("message", "Acesso ao bucket S3 normal.")
+                    .withDetail("message", "Bucket S3 ainda não verificado.")
                     .build();
-        } catch (Exception e) {
-            return Health.down()
-                    .withException(e)
+        }
+        if (current.lastCheck().plus(refreshInterval.multipliedBy(2)).isBefore(clock.instant())) {
+            return Health.unknown()
                     .withDetail("bucketName", bucketName)
+                    .withDetail("message", "Verificação do bucket S3 desatualizada.")
+                    .withDetail("lastCheck", current.lastCheck().toString())
                     .build();
         }
+        Health.Builder builder;
+        if (current.consecutiveFailures() >= failureThreshold) {
+            builder = Health.down().withException(current.lastError());
+        } else if (current.consecutiveFailures() > 0) {
+            builder = Health.up().withDetail("message", "Falha recente ao acessar o bucket S3.");
+        } else {
+            builder = Health.up().withDetail("message", "Acesso ao bucket S3 normal.");
+        }
+        return builder
+                .withDetail("bucketName", bucketName)
+                .withDetail("lastCheck", current.lastCheck().toString())
+                .withDetail("lastSuccess", current.lastSuccess() == null ? "nunca" : current.lastSuccess().toString())
+                .withDetail("latencyMs", current.latency().toMillis())
+                .withDetail("consecutiveFailures", current.consecutiveFailures())
+                .build();
+    }
+
+    private record Snapshot(Instant lastCheck, Instant lastSuccess, Duration latency, int consecutiveFailures,
+            Exception lastError) {
+
+        static final Snapshot INITIAL = new Snapshot(null, null, Duration.ZERO, 0, null);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,120 @@
+package com.itau.desafio;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compara o tempo até o contexto iniciar e a memória residente (RSS) do
+ * executável nativo com o JAR na JVM, com os mesmos perfis e o mesmo MongoDB.
+ * <p>
+ * Executado pelo perfil Maven {@code native} após gerar o executável
+ * ({@code mvn -Pnative verify -Dbenchmark.mongo-uri=...}); é ignorado quando
+ * o executável, o JAR ou a URI do MongoDB não estão disponíveis. A leitura do
+ * RSS usa {@code /proc}, portanto apenas em Linux.
+ */
+class NativeStartupBenchmarkIT {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration SETTLE_TIME = Duration.ofSeconds(3);
+
+    @Test
+    @DisplayName("Benchmark: executável nativo deve iniciar mais rápido e com menos memória que a JVM")
+    void deveIniciarMaisRapido_eComMenosMemoria_quandoNativo() throws Exception {
+        Path executable = Path.of(System.getProperty("native.executable", "target/auditoria-service"));
+        Path jar = Path.of(System.getProperty("native.jvm-jar", ""));
+        String mongoUri = System.getProperty("benchmark.mongo-uri", "");
+        assumeTrue(Files.isExecutable(executable), "Executável nativo não encontrado: " + executable);
+        assumeTrue(Files.isRegularFile(jar), "JAR não encontrado: " + jar);
+        assumeTrue(!mongoUri.isBlank(), "Informe -Dbenchmark.mongo-uri");
+        assumeTrue(Files.isDirectory(Path.of("/proc/self")), "Leitura de RSS disponível apenas em Linux");
+
+        Result jvm = start(List.of(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-jar", jar.toString()), mongoUri);
+        Result nativeImage = start(List.of(executable.toString()), mongoUri);
+
+        System.out.printf("JVM:    início em %d ms, RSS %d MB%n", jvm.startup().toMillis(), jvm.rssKb() / 1024);
+        System.out.printf("Nativo: início em %d ms, RSS %d MB%n", nativeImage.startup().toMillis(),
+                nativeImage.rssKb() / 1024);
+
+        assertTrue(nativeImage.startup().compareTo(jvm.startup()) < 0);
+        assertTrue(nativeImage.rssKb() < jvm.rssKb());
+    }
+
+    /**
+     * Inicia a aplicação, mede o tempo até o log de contexto iniciado e lê o
+     * RSS após {@link #SETTLE_TIME}.
+     */
+    private static Result start(List<String> baseCommand, String mongoUri) throws Exception {
+        Path exportDirectory = Files.createTempDirectory("audit-native-benchmark");
+        List<String> command = new ArrayList<>(baseCommand);
+        command.add("--spring.profiles.active=" + System.getProperty("native.spring-profiles", "dev"));
+        command.add("--audit.export.directory=" + exportDirectory);
+        command.add("--server.port=0");
+
+        ProcessBuilder builder = new ProcessBuilder(command).redirectErrorStream(true);
+        builder.environment().put("MONGO_DB_URI", mongoUri);
+        builder.environment().put("SPRING_CLOUD_BOOTSTRAP_ENABLED", "false");
+
+        long start = System.nanoTime();
+        Process process = builder.start();
+        try {
+            CompletableFuture<Void> started = new CompletableFuture<>();
+            Thread.ofVirtual().start(() -> readOutput(process, started));
+            started.get(STARTUP_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            Duration startup = Duration.ofNanos(System.nanoTime() - start);
+            Thread.sleep(SETTLE_TIME);
+            return new Result(startup, rssKb(process.pid()));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * Lê a saída do processo até o fim, para não bloqueá-lo, sinalizando
+     * quando o contexto termina de iniciar.
+     */
+    private static void readOutput(Process process, CompletableFuture<Void> started) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.contains("Started VendasAuditApplication")) {
+                    started.complete(null);
+                }
+            }
+        } catch (IOException e) {
+            started.completeExceptionally(e);
+        }
+        started.completeExceptionally(new IllegalStateException("Aplicação encerrou antes de iniciar o contexto."));
+    }
+
+    private static long rssKb(long pid) throws IOException {
+        for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D", ""));
+            }
+        }
+        throw new IllegalStateException("VmRSS não encontrado para o processo " + pid);
+    }
+
+    private record Result(Duration startup, long rssKb) {
+    }
+}
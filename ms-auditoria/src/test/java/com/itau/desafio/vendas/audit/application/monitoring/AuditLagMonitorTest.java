@@ -0,0 +1,134 @@
+package com.itau.desafio.vendas.audit.application.monitoring;
+
+import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
+import com.itau.desafio.vendas.audit.domain.model.ChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditLagMonitorTest {
+
+    private static final Instant START = Instant.parse("2025-08-10T12:00:00Z");
+
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private AuditLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(START);
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new AuditLagMonitor(meterRegistry, clock);
+    }
+
+    @Test
+    @DisplayName("Deve registrar o atraso desde o commit em cada etapa do pipeline")
+    void deveRegistrarAtrasoDesdeCommit_emCadaEtapa() {
+        AuditEvent event = event(START);
+
+        clock.advance(Duration.ofMillis(200));
+        monitor.received(event);
+        clock.advance(Duration.ofMillis(300));
+        monitor.dequeued(event);
+        clock.advance(Duration.ofMillis(500));
+        monitor.exported(event);
+
+        assertEquals(200, lagTimerMax("receive"));
+        assertEquals(500, lagTimerMax("dequeue"));
+        assertEquals(1_000, lagTimerMax("export"));
+    }
+
+    @Test
+    @DisplayName("Deve crescer o atraso corrente enquanto houver eventos pendentes e zerar quando o pipeline estiver em dia")
+    void deveCrescerAtrasoCorrente_quandoHaPendentes_eZerarQuandoEmDia() {
+        AuditEvent first = event(START);
+        AuditEvent second = event(START.plusSeconds(10));
+
+        monitor.received(first);
+        clock.advance(Duration.ofSeconds(10));
+        monitor.received(second);
+        clock.advance(Duration.ofSeconds(50));
+
+        assertEquals(Duration.ofSeconds(60), monitor.currentLag());
+        assertEquals(60.0, meterRegistry.get("audit.lag.current").gauge().value());
+
+        monitor.exported(first);
+        assertEquals(Duration.ofSeconds(50), monitor.currentLag());
+
+        monitor.abandoned(second);
+        assertEquals(0, monitor.pendingEvents());
+        assertEquals(Duration.ZERO, monitor.currentLag());
+
+        clock.advance(Duration.ofMinutes(30));
+        assertEquals(Duration.ZERO, monitor.currentLag());
+    }
+
+    @Test
+    @DisplayName("Deve manter o atraso do evento pendente mais antigo quando uma raia trava e as demais concluem")
+    void deveManterAtrasoDoPendenteMaisAntigo_quandoRaiaTravada() {
+        AuditEvent stuck = event(START);
+        monitor.received(stuck);
+        for (int i = 1; i <= 5; i++) {
+            AuditEvent newer = event(START.plusSeconds(i * 10));
+            monitor.received(newer);
+            clock.advance(Duration.ofSeconds(10));
+            monitor.exported(newer);
+        }
+        clock.advance(Duration.ofSeconds(10));
+
+        assertEquals(1, monitor.pendingEvents());
+        assertEquals(Duration.ofSeconds(60), monitor.currentLag());
+
+        monitor.exported(stuck);
+        assertEquals(Duration.ZERO, monitor.currentLag());
+    }
+
+    private double lagTimerMax(String stage) {
+        return meterRegistry.get("audit.lag").tag("stage", stage).timer().max(TimeUnit.MILLISECONDS);
+    }
+
+    private static AuditEvent event(Instant commit) {
+        return new AuditEvent(ChangeType.UPDATED, LocalDateTime.ofInstant(commit, ZoneOffset.UTC), "vendas",
+                "customers", "tester", new Document("_id", "customer-1"), null, new Document("_id", "customer-1"));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.itau.desafio.vendas.audit.application.usecase;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveBatchSizeTest {
+
+    private static final long FAST = Duration.ofMillis(5).toNanos();
+    private static final long SLOW = Duration.ofMillis(500).toNanos();
+
+    @Test
+    @DisplayName("Deve crescer sob backlog até o máximo, encolher acima da latência alvo e voltar ao mínimo quando ociosa")
+    void deveAjustarLimite_conformeBacklogELatencia() {
+        AdaptiveBatchSize batchSize = new AdaptiveBatchSize(
+                new AuditBatchPolicy(true, 1, 100, Duration.ofMillis(10), Duration.ofMillis(200)));
+        assertEquals(1, batchSize.limit());
+        assertFalse(batchSize.shouldWait());
+
+        for (int i = 0; i < 10; i++) {
+            batchSize.onExported(FAST, true);
+        }
+        assertEquals(100, batchSize.limit());
+        assertTrue(batchSize.shouldWait());
+
+        batchSize.onExported(SLOW, true);
+        assertEquals(50, batchSize.limit());
+
+        for (int i = 0; i < 10; i++) {
+            batchSize.onExported(FAST, false);
+        }
+        assertEquals(1, batchSize.limit());
+        assertFalse(batchSize.shouldWait());
+    }
+}
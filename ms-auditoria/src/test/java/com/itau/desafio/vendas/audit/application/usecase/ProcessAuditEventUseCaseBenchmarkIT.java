@@ -0,0 +1,125 @@
+package com.itau.desafio.vendas.audit.application.usecase;
+
+import com.itau.desafio.vendas.audit.application.monitoring.AuditLagMonitor;
+import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
+import com.itau.desafio.vendas.audit.domain.model.ChangeType;
+import com.itau.desafio.vendas.audit.domain.port.out.AuditEventExporterPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Curva latência x vazão do pipeline com e sem micro-batching adaptativo,
+ * com um exportador de custo fixo por chamada. Executado com
+ * {@code mvn -Pbenchmark verify}.
+ */
+@Slf4j
+class ProcessAuditEventUseCaseBenchmarkIT {
+
+    private final ExecutorService workerExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        workerExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Benchmark: curva latência x vazão com e sem micro-batching adaptativo")
+    void deveAumentarVazaoSobCarga_semPiorarLatenciaOcioso_quandoMicroBatching() throws Exception {
+        AuditBatchPolicy adaptive = new AuditBatchPolicy(true, 1, 500, Duration.ofMillis(10), Duration.ofMillis(100));
+
+        LoadResult idleSingle = runLoad(AuditBatchPolicy.disabled(), 200, 3);
+        LoadResult idleBatched = runLoad(adaptive, 200, 3);
+        LoadResult burstSingle = runLoad(AuditBatchPolicy.disabled(), 2_000, 0);
+        LoadResult burstBatched = runLoad(adaptive, 2_000, 0);
+
+        log.info("Ocioso (1 evento/3 ms) -> por evento: {} | adaptativo: {}", idleSingle, idleBatched);
+        log.info("Rajada (2000 eventos)  -> por evento: {} | adaptativo: {}", burstSingle, burstBatched);
+
+        assertTrue(burstBatched.throughput() > burstSingle.throughput() * 5,
+                "Micro-batching não aumentou a vazão: " + burstBatched + " vs " + burstSingle);
+        assertTrue(idleBatched.p99Millis() < idleSingle.p99Millis() + 20,
+                "Micro-batching aumentou a latência ociosa: " + idleBatched + " vs " + idleSingle);
+    }
+
+    /**
+     * Envia {@code events} eventos com {@code intervalMillis} entre eles a um
+     * exportador com custo fixo de 1 ms por chamada, medindo a latência de
+     * cada evento até a exportação.
+     */
+    private LoadResult runLoad(AuditBatchPolicy policy, int events, long intervalMillis) throws Exception {
+        long[] enqueuedAt = new long[events];
+        long[] latencies = new long[events];
+        AuditEventExporterPort fixedCostExporter = new AuditEventExporterPort() {
+            @Override
+            public void export(AuditEvent auditEvent) {
+                exportBatch(List.of(auditEvent));
+            }
+
+            @Override
+            public void exportBatch(List<AuditEvent> auditEvents) {
+                sleep(1);
+                long now = System.nanoTime();
+                for (AuditEvent e : auditEvents) {
+                    int seq = e.documentAfter().getInteger("seq");
+                    latencies[seq] = now - enqueuedAt[seq];
+                }
+            }
+        };
+        ProcessAuditEventUseCaseImpl useCase = batchedUseCase(fixedCostExporter, new SimpleMeterRegistry(), 2,
+                policy);
+
+        long start = System.nanoTime();
+        for (int seq = 0; seq < events; seq++) {
+            enqueuedAt[seq] = System.nanoTime();
+            useCase.process(event("customers", "doc-" + (seq % 16), seq));
+            if (intervalMillis > 0) {
+                sleep(intervalMillis);
+            }
+        }
+        useCase.close();
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        Arrays.sort(latencies);
+        return new LoadResult(events / elapsedSeconds, latencies[events / 2] / 1_000_000.0,
+                latencies[(int) (events * 0.99)] / 1_000_000.0);
+    }
+
+    private ProcessAuditEventUseCaseImpl batchedUseCase(AuditEventExporterPort exporter,
+            SimpleMeterRegistry registry, int parallelism, AuditBatchPolicy policy) {
+        return new ProcessAuditEventUseCaseImpl(exporter, registry, new AuditLagMonitor(registry), workerExecutor,
+                new AuditPipelineSettings(10_000, parallelism, Duration.ZERO, false, policy));
+    }
+
+    private record LoadResult(double throughput, double p50Millis, double p99Millis) {
+        @Override
+        public String toString() {
+            return String.format("%.0f eventos/s, p50 %.1f ms, p99 %.1f ms", throughput, p50Millis, p99Millis);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static AuditEvent event(String collection, String id, int seq) {
+        return new AuditEvent(ChangeType.UPDATED, LocalDateTime.now(), "vendas", collection, "tester",
+                new Document("_id", id), null, new Document("_id", id).append("seq", seq));
+    }
+}
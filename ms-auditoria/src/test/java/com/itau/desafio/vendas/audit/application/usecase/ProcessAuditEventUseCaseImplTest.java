@@ -0,0 +1,355 @@
+package com.itau.desafio.vendas.audit.application.usecase;
+
+import com.itau.desafio.vendas.audit.application.monitoring.AuditLagMonitor;
+import com.itau.desafio.vendas.audit.application.port.in.ProcessAuditEventUseCase;
+import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
+import com.itau.desafio.vendas.audit.domain.model.ChangeType;
+import com.itau.desafio.vendas.audit.domain.port.out.AuditEventExporterPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProcessAuditEventUseCaseImplTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService workerExecutor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        workerExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        workerExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve bloquear o chamador quando a fila do pipeline está cheia")
+    void deveBloquearChamador_quandoFilaCheia() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AuditEventExporterPort blockedExporter = event -> await(release);
+        ProcessAuditEventUseCaseImpl useCase = new ProcessAuditEventUseCaseImpl(blockedExporter, meterRegistry,
+                new AuditLagMonitor(meterRegistry), workerExecutor, AuditPipelineSettings.of(2, 1, Duration.ZERO));
+
+        useCase.process(event("1"));
+        awaitQueueDepth(0);
+        useCase.process(event("2"));
+        useCase.process(event("3"));
+
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> blockedCall = caller.submit(() -> useCase.process(event("4")));
+            assertThrows(TimeoutException.class, () -> blockedCall.get(200, TimeUnit.MILLISECONDS));
+
+            release.countDown();
+            blockedCall.get(5, TimeUnit.SECONDS);
+        } finally {
+            caller.shutdownNow();
+        }
+        useCase.close();
+
+        assertEquals(4.0, meterRegistry.counter("audit.events.processed",
+                "processor", "changestream", "operation", "UPDATED").count());
+        assertEquals(0.0, meterRegistry.counter("audit.pipeline.rejected").count());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar o evento quando o timeout de espera por espaço na fila expira")
+    void deveRejeitarEvento_quandoTimeoutDeEsperaExpira() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<AuditEvent> exported = new CopyOnWriteArrayList<>();
+        AuditEventExporterPort blockedExporter = event -> {
+            await(release);
+            exported.add(event);
+        };
+        ProcessAuditEventUseCaseImpl useCase = new ProcessAuditEventUseCaseImpl(blockedExporter, meterRegistry,
+                new AuditLagMonitor(meterRegistry), workerExecutor,
+                AuditPipelineSettings.of(1, 1, Duration.ofMillis(50)));
+
+        useCase.process(event("1"));
+        awaitQueueDepth(0);
+        useCase.process(event("2"));
+        useCase.process(event("3"));
+
+        release.countDown();
+        useCase.close();
+
+        assertEquals(2, exported.size());
+        assertEquals(1.0, meterRegistry.counter("audit.pipeline.rejected").count());
+    }
+
+    @Test
+    @DisplayName("Deve notificar a conclusão apenas após a exportação e a falha quando o evento é rejeitado")
+    void deveNotificarConclusao_aposExportacaoOuRejeicao() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AuditEventExporterPort blockedExporter = event -> await(release);
+        ProcessAuditEventUseCaseImpl useCase = new ProcessAuditEventUseCaseImpl(blockedExporter, meterRegistry,
+                new AuditLagMonitor(meterRegistry), workerExecutor,
+                AuditPipelineSettings.of(1, 1, Duration.ofMillis(50)));
+        RecordingCompletion first = new RecordingCompletion();
+        RecordingCompletion queued = new RecordingCompletion();
+        RecordingCompletion rejected = new RecordingCompletion();
+
+        useCase.process(event("1"), first);
+        awaitQueueDepth(0);
+        useCase.process(event("2"), queued);
+        useCase.process(event("3"), rejected);
+
+        assertFalse(first.exported.await(50, TimeUnit.MILLISECONDS));
+        assertEquals(0, rejected.failed.getCount());
+        release.countDown();
+        useCase.close();
+
+        assertTrue(first.exported.await(1, TimeUnit.SECONDS));
+        assertTrue(queued.exported.await(1, TimeUnit.SECONDS));
+        assertEquals(1, rejected.exported.getCount());
+    }
+
+    @Test
+    @DisplayName("Deve exportar eventos do mesmo documento na ordem de chegada com atualizações intercaladas")
+    void deveManterOrdemPorDocumento_quandoAtualizacoesIntercaladas() throws Exception {
+        int keys = 8;
+        int eventsPerKey = 5_000;
+        Map<String, List<Integer>> exportedByKey = new ConcurrentHashMap<>();
+        AuditEventExporterPort recordingExporter = event -> exportedByKey
+                .computeIfAbsent(event.documentKey().getString("_id"), k -> new CopyOnWriteArrayList<>())
+                .add(event.documentAfter().getInteger("seq"));
+        ProcessAuditEventUseCaseImpl useCase = new ProcessAuditEventUseCaseImpl(recordingExporter, meterRegistry,
+                new AuditLagMonitor(meterRegistry), workerExecutor, AuditPipelineSettings.of(1_024, 4, Duration.ZERO));
+
+        for (int seq = 0; seq < eventsPerKey; seq++) {
+            for (int key = 0; key < keys; key++) {
+                useCase.process(event("doc-" + key, seq));
+            }
+        }
+        useCase.close();
+
+        assertEquals(keys, exportedByKey.size());
+        for (List<Integer> sequence : exportedByKey.values()) {
+            assertEquals(eventsPerKey, sequence.size());
+            for (int i = 0; i < eventsPerKey; i++) {
+                assertEquals(i, sequence.get(i));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve exportar documentos diferentes em paralelo nas raias")
+    void deveExportarDocumentosDiferentesEmParalelo() throws Exception {
+        int parallelism = 8;
+        int events = 256;
+        CountDownLatch allLanesBusy = new CountDownLatch(parallelism);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        AuditEventExporterPort blockingExporter = event -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            allLanesBusy.countDown();
+            awaitQuietly(allLanesBusy);
+            inFlight.decrementAndGet();
+        };
+        ProcessAuditEventUseCaseImpl useCase = new ProcessAuditEventUseCaseImpl(blockingExporter, meterRegistry,
+                new AuditLagMonitor(meterRegistry), workerExecutor,
+                AuditPipelineSettings.of(1_024, parallelism, Duration.ZERO));
+
+        for (int i = 0; i < events; i++) {
+            useCase.process(event("doc-" + i, 0));
+        }
+        useCase.close();
+
+        assertEquals(0, allLanesBusy.getCount(), "As raias não exportaram simultaneamente");
+        assertEquals(parallelism, maxInFlight.get());
+        assertEquals(events, meterRegistry.counter("audit.events.processed",
+                "processor", "changestream", "operation", "UPDATED").count());
+    }
+
+    @Test
+    @DisplayName("Deve entregar lotes agrupados por coleção mantendo a ordem por documento")
+    void deveEntregarLotesAgrupadosPorColecao_mantendoOrdemPorDocumento() throws Exception {
+        int eventsPerKey = 2_000;
+        List<List<AuditEvent>> batches = new CopyOnWriteArrayList<>();
+        Map<String, List<Integer>> exportedByKey = new ConcurrentHashMap<>();
+        AuditEventExporterPort batchExporter = new AuditEventExporterPort() {
+            @Override
+            public void export(AuditEvent auditEvent) {
+                fail("Lotes devem ser entregues por exportBatch");
+            }
+
+            @Override
+            public void exportBatch(List<AuditEvent> auditEvents) {
+                batches.add(auditEvents);
+                for (AuditEvent e : auditEvents) {
+                    exportedByKey.computeIfAbsent(e.collectionName() + "/" + e.documentKey().getString("_id"),
+                            k -> new CopyOnWriteArrayList<>()).add(e.documentAfter().getInteger("seq"));
+                }
+                sleep(1);
+            }
+        };
+        ProcessAuditEventUseCaseImpl useCase = batchedUseCase(batchExporter, meterRegistry, 2,
+                new AuditBatchPolicy(true, 1, 256, Duration.ofMillis(5), Duration.ofMillis(200)));
+
+        for (int seq = 0; seq < eventsPerKey; seq++) {
+            for (String collection : List.of("customers", "solicitacoes")) {
+                for (int key = 0; key < 4; key++) {
+                    useCase.process(event(collection, "doc-" + key, seq));
+                }
+            }
+        }
+        useCase.close();
+
+        assertEquals(8, exportedByKey.size());
+        for (List<Integer> sequence : exportedByKey.values()) {
+            assertEquals(eventsPerKey, sequence.size());
+            for (int i = 0; i < eventsPerKey; i++) {
+                assertEquals(i, sequence.get(i));
+            }
+        }
+        for (List<AuditEvent> batch : batches) {
+            assertEquals(1, batch.stream().map(AuditEvent::collectionName).distinct().count());
+        }
+        assertTrue(batches.stream().anyMatch(batch -> batch.size() > 1), "Nenhum lote agrupou eventos");
+        assertEquals(8.0 * eventsPerKey, meterRegistry.get("audit.pipeline.batch.size").summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("Deve confirmar o evento apenas quando o destino torna a exportação durável")
+    void deveConfirmarEvento_somenteQuandoExportacaoDuravel() throws Exception {
+        CompletableFuture<Void> durable = new CompletableFuture<>();
+        AuditEventExporterPort bufferingExporter = new AuditEventExporterPort() {
+            @Override
+            public void export(AuditEvent auditEvent) {
+                fail("Eventos devem ser entregues por exportDurably");
+            }
+
+            @Override
+            public CompletableFuture<Void> exportDurably(List<AuditEvent> auditEvents) {
+                return durable;
+            }
+        };
+        ProcessAuditEventUseCaseImpl useCase = new ProcessAuditEventUseCaseImpl(bufferingExporter, meterRegistry,
+                new AuditLagMonitor(meterRegistry), workerExecutor, AuditPipelineSettings.of(16, 1, Duration.ZERO));
+        RecordingCompletion completion = new RecordingCompletion();
+
+        useCase.process(event("1"), completion);
+        assertFalse(completion.exported.await(200, TimeUnit.MILLISECONDS));
+
+        durable.complete(null);
+        assertTrue(completion.exported.await(1, TimeUnit.SECONDS));
+        useCase.close();
+    }
+
+    @Test
+    @DisplayName("Deve sinalizar falha quando a exportação durável conclui com erro")
+    void deveSinalizarFalha_quandoExportacaoDuravelFalha() throws Exception {
+        AuditEventExporterPort failingExporter = new AuditEventExporterPort() {
+            @Override
+            public void export(AuditEvent auditEvent) {
+                fail("Eventos devem ser entregues por exportDurably");
+            }
+
+            @Override
+            public CompletableFuture<Void> exportDurably(List<AuditEvent> auditEvents) {
+                return CompletableFuture.failedFuture(new IllegalStateException("S3 indisponível"));
+            }
+        };
+        ProcessAuditEventUseCaseImpl useCase = new ProcessAuditEventUseCaseImpl(failingExporter, meterRegistry,
+                new AuditLagMonitor(meterRegistry), workerExecutor, AuditPipelineSettings.of(16, 1, Duration.ZERO));
+        RecordingCompletion completion = new RecordingCompletion();
+
+        useCase.process(event("1"), completion);
+
+        assertTrue(completion.failed.await(1, TimeUnit.SECONDS));
+        assertEquals(1, completion.exported.getCount());
+        useCase.close();
+    }
+
+    private ProcessAuditEventUseCaseImpl batchedUseCase(AuditEventExporterPort exporter,
+            SimpleMeterRegistry registry, int parallelism, AuditBatchPolicy policy) {
+        return new ProcessAuditEventUseCaseImpl(exporter, registry, new AuditLagMonitor(registry), workerExecutor,
+                new AuditPipelineSettings(10_000, parallelism, Duration.ZERO, false, policy));
+    }
+
+    private static final class RecordingCompletion implements ProcessAuditEventUseCase.Completion {
+
+        private final CountDownLatch exported = new CountDownLatch(1);
+        private final CountDownLatch failed = new CountDownLatch(1);
+
+        @Override
+        public void exported() {
+            exported.countDown();
+        }
+
+        @Override
+        public void failed(Exception cause) {
+            failed.countDown();
+        }
+    }
+
+    private void awaitQueueDepth(double expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("audit.pipeline.queue.depth").gauge().value() != expected
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static AuditEvent event(String id, int seq) {
+        return new AuditEvent(ChangeType.UPDATED, LocalDateTime.now(), "vendas", "customers", "tester",
+                new Document("_id", id), null, new Document("_id", id).append("seq", seq));
+    }
+
+    private static AuditEvent event(String collection, String id, int seq) {
+        return new AuditEvent(ChangeType.UPDATED, LocalDateTime.now(), "vendas", collection, "tester",
+                new Document("_id", id), null, new Document("_id", id).append("seq", seq));
+    }
+
+    private static AuditEvent event(String id) {
+        return new AuditEvent(ChangeType.UPDATED, LocalDateTime.now(), "vendas", "customers", "tester",
+                new Document("_id", id), null, new Document("_id", id));
+    }
+}
@@ -0,0 +1,78 @@
+package com.itau.desafio.vendas.audit.domain.model;
+
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DocumentDeltaTest {
+
+    @Test
+    @DisplayName("Deve reconstruir o estado posterior aplicando campos alterados, aninhados e removidos")
+    void deveReconstruirDocumentAfter_quandoDeltaAplicadoAoBefore() {
+        Document before = new Document("_id", "customer-1")
+                .append("status", "PENDENTE")
+                .append("address", new Document("city", "São Paulo").append("zip", "01000-000"))
+                .append("phones", new ArrayList<>(List.of("1111", "2222")))
+                .append("notes", "temporário");
+        DocumentDelta delta = new DocumentDelta(
+                new Document("status", "APROVADO")
+                        .append("address.city", "Campinas")
+                        .append("phones.1", "3333")
+                        .append("lastModifiedBy", "user-42"),
+                List.of("notes", "address.zip"));
+
+        Document after = delta.applyTo(before);
+
+        assertEquals("APROVADO", after.getString("status"));
+        assertEquals(new Document("city", "Campinas"), after.get("address", Document.class));
+        assertEquals(List.of("1111", "3333"), after.getList("phones", String.class));
+        assertEquals("user-42", after.getString("lastModifiedBy"));
+        assertFalse(after.containsKey("notes"));
+
+        assertEquals("PENDENTE", before.getString("status"));
+        assertEquals("01000-000", before.get("address", Document.class).getString("zip"));
+        assertEquals("2222", before.getList("phones", String.class).get(1));
+    }
+
+    @Test
+    @DisplayName("Deve truncar arrays antes de aplicar os campos alterados")
+    void deveTruncarArrays_antesDeAplicarCamposAlterados() {
+        Document before = new Document("_id", "customer-1")
+                .append("phones", new ArrayList<>(List.of("1111", "2222", "3333", "4444")))
+                .append("address", new Document("history", new ArrayList<>(List.of("a", "b", "c"))));
+        DocumentDelta delta = new DocumentDelta(
+                new Document("phones.1", "5555"),
+                List.of(),
+                List.of(new DocumentDelta.TruncatedArray("phones", 2),
+                        new DocumentDelta.TruncatedArray("address.history", 1)));
+
+        Document after = delta.applyTo(before);
+
+        assertEquals(List.of("1111", "5555"), after.getList("phones", String.class));
+        assertEquals(List.of("a"), after.get("address", Document.class).getList("history", String.class));
+        assertEquals(4, before.getList("phones", String.class).size());
+    }
+
+    @Test
+    @DisplayName("Deve materializar o documentAfter apenas para eventos delta com pré-imagem")
+    void deveMaterializarDocumentAfter_somenteQuandoEventoDeltaPossuiBefore() {
+        Document before = new Document("_id", "customer-1").append("status", "PENDENTE");
+        DocumentDelta delta = new DocumentDelta(new Document("status", "APROVADO"), List.of());
+        AuditEvent deltaEvent = new AuditEvent(ChangeType.UPDATED, LocalDateTime.now(), "db", "customers", "system",
+                new Document("_id", "customer-1"), before, null, delta);
+        AuditEvent withoutBefore = new AuditEvent(ChangeType.UPDATED, LocalDateTime.now(), "db", "customers",
+                "system", new Document("_id", "customer-1"), null, null, delta);
+
+        AuditEvent materialized = deltaEvent.withMaterializedDocumentAfter();
+
+        assertEquals("APROVADO", materialized.documentAfter().getString("status"));
+        assertSame(delta, materialized.documentDelta());
+        assertSame(withoutBefore, withoutBefore.withMaterializedDocumentAfter());
+    }
+}
@@ -0,0 +1,383 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.in.changestream;
+
+import com.itau.desafio.vendas.audit.application.monitoring.AuditLagMonitor;
+import com.itau.desafio.vendas.audit.application.usecase.AuditPipelineSettings;
+import com.itau.desafio.vendas.audit.application.usecase.ProcessAuditEventUseCaseImpl;
+import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
+import com.itau.desafio.vendas.audit.domain.model.ChangeType;
+import com.itau.desafio.vendas.audit.domain.port.out.AuditEventExporterPort;
+import com.mongodb.client.model.ChangeStreamPreAndPostImagesOptions;
+import com.mongodb.client.model.CreateCollectionOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Gerador de carga do pipeline de auditoria: escritores concorrentes aplicam
+ * uma mistura configurável de inserts, updates e deletes em
+ * {@code customers} e {@code solicitacoes} enquanto o
+ * {@link MongoChangeStreamListenerAdapter} entrega os eventos, pelas raias do
+ * {@link ProcessAuditEventUseCaseImpl}, a um exportador substituto.
+ * <p>
+ * Reporta vazão sustentada, percentis do atraso entre a escrita e a
+ * exportação, pico de heap e de threads. O cluster time do evento tem
+ * resolução de segundos, então o atraso é medido a partir do instante da
+ * escrita, identificada pelo campo {@code version} da imagem do documento.
+ * <p>
+ * Parâmetros (propriedades de sistema): {@code benchmark.duration-seconds},
+ * {@code benchmark.writers}, {@code benchmark.rate} (operações/s no total,
+ * 0 = sem limite), {@code benchmark.mix} (ex.: {@code insert=30,update=60,delete=10}),
+ * {@code benchmark.mode} ({@code full} ou {@code delta}),
+ * {@code benchmark.parallelism} e {@code benchmark.exporter-latency-ms}.
+ * Executado com {@code mvn -Pbenchmark verify}.
+ */
+@DataMongoTest
+class AuditPipelineLoadBenchmarkIT {
+
+    private static final List<String> COLLECTIONS = List.of("customers", "solicitacoes");
+
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("benchmark.duration-seconds", 15));
+    private static final int WRITERS = Integer.getInteger("benchmark.writers", 4);
+    private static final int TARGET_RATE = Integer.getInteger("benchmark.rate", 0);
+    private static final Map<String, Integer> MIX = parseMix(
+            System.getProperty("benchmark.mix", "insert=30,update=60,delete=10"));
+    private static final String MODE = System.getProperty("benchmark.mode", "full");
+    private static final int PARALLELISM = Integer.getInteger("benchmark.parallelism", 16);
+    private static final long EXPORTER_LATENCY_MS = Long.getLong("benchmark.exporter-latency-ms", 0);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<String, Long> writtenAtNanos = new ConcurrentHashMap<>();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong exported = new AtomicLong();
+    private final AtomicLong unattributed = new AtomicLong();
+    private final AtomicLong lastExportNanos = new AtomicLong();
+
+    private ExecutorService laneExecutor;
+    private ProcessAuditEventUseCaseImpl useCase;
+    private MongoChangeStreamListenerAdapter listener;
+    private Timer lagTimer;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.getDb().drop();
+        for (String collection : COLLECTIONS) {
+            mongoTemplate.getDb().createCollection(collection, new CreateCollectionOptions()
+                    .changeStreamPreAndPostImagesOptions(new ChangeStreamPreAndPostImagesOptions(true)));
+        }
+        lagTimer = Timer.builder("benchmark.export.lag")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        laneExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        useCase = new ProcessAuditEventUseCaseImpl(standInExporter(), meterRegistry,
+                new AuditLagMonitor(meterRegistry), laneExecutor,
+                AuditPipelineSettings.of(10_000, PARALLELISM, Duration.ZERO));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (listener != null) {
+            listener.stopListening();
+        }
+        useCase.close();
+        laneExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Benchmark: deve exportar todas as alterações geradas e reportar vazão, atraso e recursos")
+    void deveExportarTodasAlteracoes_eReportarVazaoEAtraso() throws Exception {
+        listener = new MongoChangeStreamListenerAdapter(
+                mongoTemplate,
+                useCase,
+                new ChangeStreamCheckpointStore(mongoTemplate, "audit_checkpoints"),
+                new ChangeStreamLeaseManager(mongoTemplate, "audit_leases", Duration.ofSeconds(10)),
+                new ChangeStreamPipelineFactory(COLLECTIONS, List.of(), List.of("insert", "update", "delete"),
+                        List.of()),
+                meterRegistry,
+                "ms-audit-benchmark",
+                "benchmark",
+                1_000,
+                Duration.ofSeconds(1),
+                Duration.ofMillis(100),
+                Duration.ofSeconds(1),
+                MODE,
+                true,
+                false,
+                1,
+                Duration.ofSeconds(5));
+        listener.startListening();
+        awaitCondition(listener::isRunning, Duration.ofSeconds(30));
+
+        ResourceSampler sampler = new ResourceSampler();
+        long start = System.nanoTime();
+        ExecutorService writers = Executors.newFixedThreadPool(WRITERS);
+        try {
+            long deadline = start + DURATION.toNanos();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                futures.add(writers.submit(new Writer(deadline)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            writers.shutdownNow();
+        }
+        double writeSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        awaitCondition(() -> exported.get() >= written.get(), Duration.ofMinutes(2));
+        double exportSeconds = (lastExportNanos.get() - start) / 1_000_000_000.0;
+        sampler.stop();
+
+        System.out.printf("modo=%s escritores=%d mistura=%s paralelismo=%d latência do exportador=%d ms%n",
+                MODE, WRITERS, MIX, PARALLELISM, EXPORTER_LATENCY_MS);
+        System.out.printf("escritas=%d (%.0f/s) exportados=%d (%.0f eventos/s sustentados)%n",
+                written.get(), written.get() / writeSeconds, exported.get(), exported.get() / exportSeconds);
+        System.out.printf("atraso escrita→exportação: %s máx=%.1f ms (sem atribuição: %d)%n",
+                percentiles(lagTimer), lagTimer.max(TimeUnit.MILLISECONDS), unattributed.get());
+        System.out.printf("heap máx=%d MB threads máx=%d (pico da JVM=%d)%n",
+                sampler.maxHeapBytes / (1024 * 1024), sampler.maxThreads, sampler.threads.getPeakThreadCount());
+
+        assertEquals(written.get(), exported.get());
+        assertEquals(0, unattributed.get());
+    }
+
+    private AuditEventExporterPort standInExporter() {
+        return event -> {
+            if (EXPORTER_LATENCY_MS > 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(EXPORTER_LATENCY_MS));
+            }
+            Long writtenAt = writtenAtNanos.remove(attributionKey(event));
+            long now = System.nanoTime();
+            if (writtenAt == null) {
+                unattributed.incrementAndGet();
+            } else {
+                lagTimer.record(now - writtenAt, TimeUnit.NANOSECONDS);
+            }
+            lastExportNanos.accumulateAndGet(now, Math::max);
+            exported.incrementAndGet();
+        };
+    }
+
+    /**
+     * Inserts carregam a versão gravada; updates e deletes são identificados
+     * pela pré-imagem, que tem a versão anterior à alteração.
+     */
+    private static String attributionKey(AuditEvent event) {
+        long version = event.operationType() == ChangeType.CREATED
+                ? version(event.documentAfter())
+                : version(event.documentBefore()) + 1;
+        return key(event.collectionName(), event.documentKey().get("_id"), version);
+    }
+
+    private static long version(Document document) {
+        return document == null ? -1 : ((Number) document.get("version")).longValue();
+    }
+
+    private static String key(String collection, Object id, long version) {
+        return collection + "/" + id + "/" + version;
+    }
+
+    /**
+     * Escritor com os próprios documentos, para que updates e deletes não
+     * disputem documentos entre threads.
+     */
+    private final class Writer implements Runnable {
+
+        private final long deadline;
+        private final long intervalNanos;
+        private final List<OwnedDocument> owned = new ArrayList<>();
+
+        Writer(long deadline) {
+            this.deadline = deadline;
+            this.intervalNanos = TARGET_RATE > 0 ? TimeUnit.SECONDS.toNanos(1) * WRITERS / TARGET_RATE : 0;
+        }
+
+        @Override
+        public void run() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long next = System.nanoTime();
+            while (System.nanoTime() < deadline) {
+                String operation = owned.isEmpty() ? "insert" : pickOperation(random);
+                switch (operation) {
+                    case "update" -> update(random.nextInt(owned.size()));
+                    case "delete" -> delete(random.nextInt(owned.size()));
+                    default -> insert(COLLECTIONS.get(random.nextInt(COLLECTIONS.size())));
+                }
+                written.incrementAndGet();
+                if (intervalNanos > 0) {
+                    next += intervalNanos;
+                    LockSupport.parkNanos(next - System.nanoTime());
+                }
+            }
+        }
+
+        private void insert(String collection) {
+            String id = UUID.randomUUID().toString();
+            Document document = "customers".equals(collection) ? customer(id) : proposalRequest(id);
+            writtenAtNanos.put(key(collection, id, 0), System.nanoTime());
+            mongoTemplate.getCollection(collection).insertOne(document);
+            owned.add(new OwnedDocument(collection, id, 0));
+        }
+
+        private void update(int index) {
+            OwnedDocument document = owned.get(index);
+            long version = document.version() + 1;
+            String operator = "operador-" + ThreadLocalRandom.current().nextInt(50);
+            writtenAtNanos.put(key(document.collection(), document.id(), version), System.nanoTime());
+            mongoTemplate.getCollection(document.collection()).updateOne(Filters.eq("_id", document.id()),
+                    Updates.combine(
+                            Updates.set("customers".equals(document.collection()) ? "cpfStatus" : "status",
+                                    "STATUS-" + version),
+                            Updates.set("lastModifiedAt", new Date()),
+                            Updates.set("lastModifiedBy", operator),
+                            Updates.set("version", version)));
+            owned.set(index, new OwnedDocument(document.collection(), document.id(), version));
+        }
+
+        private void delete(int index) {
+            OwnedDocument document = owned.get(index);
+            writtenAtNanos.put(key(document.collection(), document.id(), document.version() + 1), System.nanoTime());
+            mongoTemplate.getCollection(document.collection()).deleteOne(Filters.eq("_id", document.id()));
+            owned.set(index, owned.get(owned.size() - 1));
+            owned.remove(owned.size() - 1);
+        }
+    }
+
+    private record OwnedDocument(String collection, String id, long version) {
+    }
+
+    /**
+     * Amostra periodicamente o heap usado e as threads vivas.
+     */
+    private static final class ResourceSampler {
+
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        private volatile long maxHeapBytes;
+        private volatile int maxThreads;
+
+        ResourceSampler() {
+            threads.resetPeakThreadCount();
+            scheduler.scheduleAtFixedRate(this::sample, 0, 250, TimeUnit.MILLISECONDS);
+        }
+
+        private void sample() {
+            maxHeapBytes = Math.max(maxHeapBytes, memory.getHeapMemoryUsage().getUsed());
+            maxThreads = Math.max(maxThreads, threads.getThreadCount());
+        }
+
+        void stop() {
+            scheduler.shutdownNow();
+            sample();
+        }
+    }
+
+    private static String pickOperation(ThreadLocalRandom random) {
+        int total = MIX.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = random.nextInt(total);
+        for (Map.Entry<String, Integer> entry : MIX.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        return "insert";
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            weights.put(parts[0].trim().toLowerCase(), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private static String percentiles(Timer timer) {
+        StringBuilder builder = new StringBuilder();
+        for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+            builder.append(String.format("p%.0f=%.1f ms ", value.percentile() * 100,
+                    value.value(TimeUnit.MILLISECONDS)));
+        }
+        return builder.toString().trim();
+    }
+
+    private static Document customer(String id) {
+        return new Document("_id", id)
+                .append("cpf", String.format("%011d", ThreadLocalRandom.current().nextLong(100_000_000_000L)))
+                .append("cpfStatus", "PENDENTE")
+                .append("fullName", "Cliente Benchmark " + id.substring(0, 8))
+                .append("phoneNumber", "+5511999990000")
+                .append("monthlyIncome", new Decimal128(new BigDecimal("15432.75")))
+                .append("createdAt", new Date())
+                .append("createdBy", "operador-0")
+                .append("lastModifiedAt", new Date())
+                .append("lastModifiedBy", "operador-0")
+                .append("version", 0L);
+    }
+
+    private static Document proposalRequest(String id) {
+        return new Document("_id", id)
+                .append("customerId", UUID.randomUUID().toString())
+                .append("vehicle", new Document("model", "Onix LTZ 1.0 Turbo")
+                        .append("cost", new Decimal128(new BigDecimal("98990.00")))
+                        .append("manufactureYear", 2024))
+                .append("downPayment", new Decimal128(new BigDecimal("15000.00")))
+                .append("status", "EM_PROCESSAMENTO")
+                .append("createdAt", new Date())
+                .append("createdBy", "operador-0")
+                .append("lastModifiedAt", new Date())
+                .append("lastModifiedBy", "operador-0")
+                .append("version", 0L);
+    }
+
+    private static void awaitCondition(BooleanSupplier condition, Duration timeout)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condição não atingida dentro do tempo limite.");
+            }
+            Thread.sleep(50);
+        }
+    }
+}
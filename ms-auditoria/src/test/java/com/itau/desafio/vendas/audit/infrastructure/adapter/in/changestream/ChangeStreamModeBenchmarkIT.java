@@ -0,0 +1,122 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.in.changestream;
+
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.ChangeStreamPreAndPostImagesOptions;
+import com.mongodb.client.model.CreateCollectionOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.FullDocumentBeforeChange;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara bytes recebidos e vazão do Change Stream entre o modo completo
+ * ({@code UPDATE_LOOKUP}) e o modo delta, com um padrão de escrita típico de
+ * {@code customers}: documento grande e atualizações de poucos campos.
+ */
+@DataMongoTest
+class ChangeStreamModeBenchmarkIT {
+
+    private static final int DOCUMENTS = 200;
+    private static final int UPDATES_PER_DOCUMENT = 10;
+    private static final int TOTAL_UPDATES = DOCUMENTS * UPDATES_PER_DOCUMENT;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.getDb().drop();
+        mongoTemplate.getDb().createCollection("customers", new CreateCollectionOptions()
+                .changeStreamPreAndPostImagesOptions(new ChangeStreamPreAndPostImagesOptions(true)));
+        List<Document> customers = new ArrayList<>();
+        for (int i = 0; i < DOCUMENTS; i++) {
+            customers.add(new Document("_id", "customer-" + i)
+                    .append("fullName", "Cliente " + i)
+                    .append("status", "PENDENTE")
+                    .append("address", new Document("street", "Rua " + "x".repeat(200)).append("city", "São Paulo"))
+                    .append("history", "h".repeat(2_000)));
+        }
+        mongoTemplate.getCollection("customers").insertMany(customers);
+    }
+
+    @Test
+    @DisplayName("Deve trafegar menos bytes por atualização no modo delta do que no modo UPDATE_LOOKUP")
+    void deveReduzirBytesPorEvento_quandoModoDelta() {
+        Result full = run(FullDocument.UPDATE_LOOKUP);
+        Result delta = run(FullDocument.DEFAULT);
+
+        System.out.printf("modo=full  eventos=%d bytes/evento=%d eventos/s=%.0f%n",
+                full.events(), full.bytes() / full.events(), full.eventsPerSecond());
+        System.out.printf("modo=delta eventos=%d bytes/evento=%d eventos/s=%.0f%n",
+                delta.events(), delta.bytes() / delta.events(), delta.eventsPerSecond());
+
+        assertEquals(TOTAL_UPDATES, full.events());
+        assertEquals(TOTAL_UPDATES, delta.events());
+        assertTrue(delta.bytes() < full.bytes() * 0.75,
+                "modo delta deveria trafegar ao menos 25% menos bytes que o modo completo");
+    }
+
+    private Result run(FullDocument fullDocument) {
+        MongoCollection<Document> customers = mongoTemplate.getCollection("customers");
+        try (MongoChangeStreamCursor<ChangeStreamDocument<RawBsonDocument>> cursor = customers
+                .withDocumentClass(RawBsonDocument.class)
+                .watch(List.of(new Document("$match", new Document("operationType", "update"))), RawBsonDocument.class)
+                .fullDocument(fullDocument)
+                .fullDocumentBeforeChange(FullDocumentBeforeChange.WHEN_AVAILABLE)
+                .cursor()) {
+            for (int round = 0; round < UPDATES_PER_DOCUMENT; round++) {
+                for (int i = 0; i < DOCUMENTS; i++) {
+                    customers.updateOne(Filters.eq("_id", "customer-" + i),
+                            Updates.combine(Updates.set("status", "STATUS-" + round),
+                                    Updates.set("lastModifiedBy", "user-" + round)));
+                }
+            }
+
+            long bytes = 0;
+            int events = 0;
+            long start = System.nanoTime();
+            while (events < TOTAL_UPDATES) {
+                ChangeStreamDocument<RawBsonDocument> event = cursor.tryNext();
+                if (event == null) {
+                    continue;
+                }
+                events++;
+                bytes += size(event.getFullDocument()) + size(event.getFullDocumentBeforeChange())
+                        + (event.getUpdateDescription() == null ? 0
+                                : size(event.getUpdateDescription().getUpdatedFields()));
+            }
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            return new Result(events, bytes, events / seconds);
+        }
+    }
+
+    private static long size(BsonDocument document) {
+        if (document == null) {
+            return 0;
+        }
+        if (document instanceof RawBsonDocument raw) {
+            return raw.getByteBuffer().remaining();
+        }
+        return new RawBsonDocument(document, new BsonDocumentCodec()).getByteBuffer().remaining();
+    }
+
+    private record Result(int events, long bytes, double eventsPerSecond) {
+    }
+}
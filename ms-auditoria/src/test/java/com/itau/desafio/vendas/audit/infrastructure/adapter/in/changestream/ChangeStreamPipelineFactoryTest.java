@@ -0,0 +1,48 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.in.changestream;
+
+import org.bson.BsonDocument;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeStreamPipelineFactoryTest {
+
+    @Test
+    @DisplayName("Deve filtrar tipos de operação e excluir coleções internas e configuradas no $match")
+    void deveMontarMatch_comOperacoesEColecoesExcluidas() {
+        ChangeStreamPipelineFactory factory = new ChangeStreamPipelineFactory(
+                List.of(), List.of("users"), List.of("insert", "update"), List.of());
+
+        List<Bson> pipeline = factory.build(Set.of("audit_checkpoints"));
+
+        assertEquals(1, pipeline.size());
+        BsonDocument match = pipeline.get(0).toBsonDocument().getDocument("$match");
+        String json = match.toJson();
+        assertTrue(json.contains("\"operationType\": {\"$in\": [\"insert\", \"update\"]}"));
+        assertTrue(json.contains("\"ns.coll\": {\"$nin\": [\"audit_checkpoints\", \"users\"]}"));
+        assertFalse(json.contains("\"$in\": [\"customers\""));
+    }
+
+    @Test
+    @DisplayName("Deve restringir às coleções permitidas e remover campos grandes das imagens antes e depois")
+    void deveMontarProjecao_quandoCamposExcluidosConfigurados() {
+        ChangeStreamPipelineFactory factory = new ChangeStreamPipelineFactory(
+                List.of("customers", "solicitacoes"), List.of(), List.of(), List.of("attachments"));
+
+        List<Bson> pipeline = factory.build(Set.of());
+
+        assertEquals(2, pipeline.size());
+        String match = pipeline.get(0).toBsonDocument().toJson();
+        assertTrue(match.contains("\"ns.coll\": {\"$in\": [\"customers\", \"solicitacoes\"]}"));
+        assertFalse(match.contains("operationType"));
+
+        BsonDocument project = pipeline.get(1).toBsonDocument().getDocument("$project");
+        assertEquals(0, project.getInt32("fullDocument.attachments").getValue());
+        assertEquals(0, project.getInt32("fullDocumentBeforeChange.attachments").getValue());
+    }
+}
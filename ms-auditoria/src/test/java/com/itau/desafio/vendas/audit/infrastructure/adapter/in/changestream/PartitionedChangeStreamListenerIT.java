@@ -0,0 +1,133 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.in.changestream;
+
+import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataMongoTest
+class PartitionedChangeStreamListenerIT {
+
+    private static final int PARTITIONS = 4;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final Map<String, List<AuditEvent>> receivedByInstance = new ConcurrentHashMap<>();
+    private final List<MongoChangeStreamListenerAdapter> listeners = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.getDb().drop();
+        mongoTemplate.createCollection("customers");
+    }
+
+    @AfterEach
+    void tearDown() {
+        listeners.forEach(MongoChangeStreamListenerAdapter::stopListening);
+    }
+
+    @Test
+    @DisplayName("Deve dividir as partições entre duas instâncias sem duplicar eventos e assumir as partições da instância encerrada")
+    void deveDividirParticoesEntreInstancias_eAssumirParticoesDaInstanciaEncerrada() throws Exception {
+        MongoChangeStreamListenerAdapter instanceA = startListener("instance-a");
+        MongoChangeStreamListenerAdapter instanceB = startListener("instance-b");
+
+        awaitCondition(() -> instanceA.getOwnedPartitions().size() == PARTITIONS / 2
+                && instanceB.getOwnedPartitions().size() == PARTITIONS / 2
+                && instanceA.isRunning() && instanceB.isRunning());
+        Set<Integer> allPartitions = new HashSet<>(instanceA.getOwnedPartitions());
+        allPartitions.addAll(instanceB.getOwnedPartitions());
+        assertEquals(PARTITIONS, allPartitions.size());
+
+        insertCustomers(0, 200);
+        awaitCondition(() -> totalReceived() == 200);
+
+        assertFalse(receivedByInstance.get("instance-a").isEmpty());
+        assertFalse(receivedByInstance.get("instance-b").isEmpty());
+        assertEquals(200, distinctDocumentKeys().size());
+
+        instanceA.stopListening();
+        listeners.remove(instanceA);
+        awaitCondition(() -> instanceB.getOwnedPartitions().size() == PARTITIONS && instanceB.isRunning());
+
+        insertCustomers(200, 100);
+        awaitCondition(() -> totalReceived() == 300);
+        assertEquals(300, distinctDocumentKeys().size());
+    }
+
+    private MongoChangeStreamListenerAdapter startListener(String instanceId) {
+        List<AuditEvent> received = new CopyOnWriteArrayList<>();
+        receivedByInstance.put(instanceId, received);
+        MongoChangeStreamListenerAdapter listener = new MongoChangeStreamListenerAdapter(
+                mongoTemplate,
+                (auditEvent, completion) -> {
+                    received.add(auditEvent);
+                    completion.exported();
+                },
+                new ChangeStreamCheckpointStore(mongoTemplate, "audit_checkpoints"),
+                new ChangeStreamLeaseManager(mongoTemplate, "audit_leases", Duration.ofSeconds(2)),
+                new ChangeStreamPipelineFactory(List.of("customers"), List.of(), List.of("insert"), List.of()),
+                new SimpleMeterRegistry(),
+                "ms-audit-it",
+                instanceId,
+                10,
+                Duration.ofMillis(200),
+                Duration.ofMillis(100),
+                Duration.ofSeconds(1),
+                "full",
+                true,
+                true,
+                PARTITIONS,
+                Duration.ofMillis(200));
+        listener.startListening();
+        listeners.add(listener);
+        return listener;
+    }
+
+    private void insertCustomers(int from, int count) {
+        List<Document> customers = new ArrayList<>();
+        for (int i = from; i < from + count; i++) {
+            customers.add(new Document("_id", "customer-" + i).append("fullName", "Cliente " + i));
+        }
+        mongoTemplate.getCollection("customers").insertMany(customers);
+    }
+
+    private int totalReceived() {
+        return receivedByInstance.values().stream().mapToInt(List::size).sum();
+    }
+
+    private Set<Object> distinctDocumentKeys() {
+        Set<Object> keys = new HashSet<>();
+        receivedByInstance.values().forEach(events -> events.forEach(e -> keys.add(e.documentKey().get("_id"))));
+        return keys;
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condição não atingida dentro do tempo limite.");
+            }
+            Thread.sleep(50);
+        }
+    }
+}
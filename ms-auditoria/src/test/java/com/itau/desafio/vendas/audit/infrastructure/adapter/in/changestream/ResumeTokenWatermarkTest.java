@@ -0,0 +1,58 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.in.changestream;
+
+import com.itau.desafio.vendas.audit.application.port.in.ProcessAuditEventUseCase.Completion;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResumeTokenWatermarkTest {
+
+    @Test
+    @DisplayName("Deve avançar apenas até o último token cujos eventos anteriores já foram exportados")
+    void deveAvancarAteOPrimeiroPendente_quandoConclusoesForaDeOrdem() {
+        ResumeTokenWatermark watermark = new ResumeTokenWatermark();
+        Completion first = watermark.track(token(1));
+        Completion second = watermark.track(token(2));
+        Completion third = watermark.track(token(3));
+
+        third.exported();
+        assertNull(watermark.advance().resumeToken());
+        assertEquals(3, watermark.pendingEvents());
+
+        first.exported();
+        ResumeTokenWatermark.Advance advance = watermark.advance();
+        assertEquals(token(1), advance.resumeToken());
+        assertEquals(1, advance.completedEvents());
+
+        second.exported();
+        advance = watermark.advance();
+        assertEquals(token(3), advance.resumeToken());
+        assertEquals(2, advance.completedEvents());
+        assertEquals(0, watermark.pendingEvents());
+    }
+
+    @Test
+    @DisplayName("Deve reter a marca d'água no evento perdido e expor a falha")
+    void deveReterMarcaDagua_quandoEventoFalha() {
+        ResumeTokenWatermark watermark = new ResumeTokenWatermark();
+        Completion first = watermark.track(token(1));
+        Completion lost = watermark.track(token(2));
+        Completion third = watermark.track(token(3));
+
+        first.exported();
+        IllegalStateException cause = new IllegalStateException("fila cheia");
+        lost.failed(cause);
+        third.exported();
+
+        assertEquals(token(1), watermark.advance().resumeToken());
+        assertNull(watermark.advance().resumeToken());
+        assertSame(cause, watermark.failure());
+    }
+
+    private static BsonDocument token(int value) {
+        return new BsonDocument("_data", new BsonInt32(value));
+    }
+}
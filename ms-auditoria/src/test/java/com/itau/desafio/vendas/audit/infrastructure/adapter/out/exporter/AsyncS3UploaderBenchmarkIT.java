@@ -0,0 +1,148 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
+import com.itau.desafio.vendas.audit.domain.model.ChangeType;
+import com.itau.desafio.vendas.audit.domain.port.out.AuditEventExporterPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara a vazão do {@link S3AsyncAuditEventExporterAdapter} com a do
+ * exportador síncrono limitado por semáforo, com latência fixa simulada no
+ * S3. Executado com {@code mvn -Pbenchmark verify}.
+ */
+@Slf4j
+class AsyncS3UploaderBenchmarkIT {
+
+    private static final Duration S3_LATENCY = Duration.ofMillis(20);
+    private static final int EVENTS = 2_000;
+    private static final int LANES = 16;
+
+    private final ScheduledExecutorService latencyScheduler = Executors.newScheduledThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        latencyScheduler.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Benchmark: exportador assíncrono deve superar o desenho com semáforo sob latência do S3")
+    void deveSuperarExportadorComSemaforo_quandoS3ComLatencia() throws Exception {
+        SleepingS3Client blockingS3 = new SleepingS3Client();
+        S3AuditEventExporterAdapter syncExporter = new S3AuditEventExporterAdapter(blockingS3, "bucket-teste", "json",
+                false, 0, Duration.ZERO, false, "parquet", 0, Duration.ZERO, CompressionCodecName.SNAPPY,
+                System.getProperty("java.io.tmpdir"), null, new SimpleMeterRegistry());
+        double syncPerSecond = run(syncExporter, () -> blockingS3.count.get() == EVENTS);
+
+        DelayedS3AsyncClient asyncS3 = new DelayedS3AsyncClient();
+        S3AsyncAuditEventExporterAdapter asyncExporter = new S3AsyncAuditEventExporterAdapter(asyncS3,
+                "bucket-teste", "json", 256, 3, Duration.ofMillis(10), Duration.ofMillis(100), 100, null,
+                new SimpleMeterRegistry());
+        double asyncPerSecond = run(asyncExporter, () -> asyncS3.stored.size() == EVENTS);
+        asyncExporter.awaitPendingUploads();
+
+        log.info("S3 síncrono (semáforo): {} eventos/s | S3 assíncrono: {} eventos/s",
+                Math.round(syncPerSecond), Math.round(asyncPerSecond));
+        assertTrue(asyncPerSecond > syncPerSecond * 2);
+    }
+
+    private static double run(AuditEventExporterPort exporter, BooleanSupplier completed)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(LANES);
+        AtomicInteger next = new AtomicInteger();
+        long start = System.nanoTime();
+        for (int lane = 0; lane < LANES; lane++) {
+            executor.execute(() -> {
+                int id;
+                while ((id = next.getAndIncrement()) < EVENTS) {
+                    exporter.export(event("doc-" + id));
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!completed.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(completed.getAsBoolean());
+        return EVENTS / ((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    private static AuditEvent event(String id) {
+        return new AuditEvent(ChangeType.UPDATED, LocalDateTime.of(2025, 8, 10, 12, 0, 0), "vendas", "customers",
+                "tester", new Document("_id", id), null, new Document("_id", id).append("fullName", "Depois"));
+    }
+
+    private final class DelayedS3AsyncClient implements S3AsyncClient {
+        private final Set<String> stored = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public CompletableFuture<PutObjectResponse> putObject(PutObjectRequest request, AsyncRequestBody body) {
+            CompletableFuture<PutObjectResponse> future = new CompletableFuture<>();
+            latencyScheduler.schedule(() -> {
+                stored.add(request.key());
+                future.complete(PutObjectResponse.builder().build());
+            }, S3_LATENCY.toMillis(), TimeUnit.MILLISECONDS);
+            return future;
+        }
+
+        @Override
+        public String serviceName() {
+            return "s3";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class SleepingS3Client implements S3Client {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public PutObjectResponse putObject(PutObjectRequest request, RequestBody body) {
+            try {
+                Thread.sleep(S3_LATENCY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            count.incrementAndGet();
+            return PutObjectResponse.builder().build();
+        }
+
+        @Override
+        public String serviceName() {
+            return "s3";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
+import com.itau.desafio.vendas.audit.domain.model.ChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncS3UploaderTest {
+
+    @TempDir
+    Path spillDirectory;
+
+    private final ScheduledExecutorService latencyScheduler = Executors.newScheduledThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        latencyScheduler.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve repetir falhas transitórias com backoff até o upload concluir")
+    void deveRepetirFalhasTransitorias_ateConcluir() throws Exception {
+        FakeS3AsyncClient s3 = new FakeS3AsyncClient(Duration.ZERO, 2);
+        AsyncS3Uploader uploader = newUploader(s3, 4, 5);
+
+        CompletableFuture<Void> delivered = uploader.upload("a.json", "{}".getBytes(), "application/json",
+                event("a"));
+
+        delivered.get(5, TimeUnit.SECONDS);
+        assertEquals(Set.of("a.json"), s3.stored);
+        assertEquals(3, s3.attempts.get());
+        assertEquals(0, uploader.retryQueueSize());
+        uploader.close();
+    }
+
+    @Test
+    @DisplayName("Deve enviar à fila de reenvio ao esgotar as tentativas e reenviar ao drenar a fila")
+    void deveEnviarParaFilaDeReenvio_quandoTentativasEsgotadas() throws Exception {
+        FakeS3AsyncClient s3 = new FakeS3AsyncClient(Duration.ZERO, 3);
+        AsyncS3Uploader uploader = newUploader(s3, 4, 2);
+
+        CompletableFuture<Void> delivered = uploader.upload("a.json", "{}".getBytes(), "application/json",
+                event("a"));
+        assertTrue(uploader.awaitInFlight(Duration.ofSeconds(5)));
+        assertEquals(1, uploader.retryQueueSize());
+        assertTrue(s3.stored.isEmpty());
+        assertFalse(delivered.isDone());
+
+        assertEquals(1, uploader.drainRetryQueue());
+        delivered.get(5, TimeUnit.SECONDS);
+        assertEquals(Set.of("a.json"), s3.stored);
+        assertEquals(0, uploader.retryQueueSize());
+        uploader.close();
+    }
+
+    @Test
+    @DisplayName("Deve gravar o evento no journal de spill quando a fila de reenvio está cheia")
+    void deveGravarNoJournal_quandoFilaDeReenvioCheia() throws Exception {
+        SpillJournal journal = new SpillJournal(spillDirectory, JacksonAuditEventCodec.newObjectMapper(),
+                Long.MAX_VALUE, 2048, new SimpleMeterRegistry());
+        FakeS3AsyncClient s3 = new FakeS3AsyncClient(Duration.ZERO, 2);
+        AsyncS3Uploader uploader = new AsyncS3Uploader(s3, "bucket-teste", 4, 1, Duration.ofMillis(5),
+                Duration.ofMillis(20), 1, journal, new SimpleMeterRegistry());
+
+        uploader.upload("a.json", "{}".getBytes(), "application/json", event("a"));
+        assertTrue(uploader.awaitInFlight(Duration.ofSeconds(5)));
+        CompletableFuture<Void> spilledUpload = uploader.upload("b.json", "{}".getBytes(), "application/json",
+                event("b"));
+        spilledUpload.get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, uploader.retryQueueSize());
+        assertEquals(1, journal.pendingEvents());
+        List<AuditEvent> spilled = new ArrayList<>();
+        journal.replay(10, spilled::add);
+        assertEquals("b", spilled.get(0).documentKey().get("_id"));
+        uploader.close();
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("Deve reenviar a fila ao encerrar e gravar no journal de spill o que continuar falhando")
+    void deveGravarFilaDeReenvioNoJournal_quandoEncerrado() throws Exception {
+        SpillJournal journal = new SpillJournal(spillDirectory, JacksonAuditEventCodec.newObjectMapper(),
+                Long.MAX_VALUE, 2048, new SimpleMeterRegistry());
+        FakeS3AsyncClient s3 = new FakeS3AsyncClient(Duration.ZERO, 10);
+        AsyncS3Uploader uploader = new AsyncS3Uploader(s3, "bucket-teste", 4, 1, Duration.ofMillis(5),
+                Duration.ofMillis(20), 100, journal, new SimpleMeterRegistry());
+
+        uploader.upload("a.json", "{}".getBytes(), "application/json", event("a"));
+        assertTrue(uploader.awaitInFlight(Duration.ofSeconds(5)));
+        assertEquals(1, uploader.retryQueueSize());
+
+        uploader.close();
+
+        assertEquals(2, s3.attempts.get());
+        assertEquals(0, uploader.retryQueueSize());
+        assertEquals(1, journal.pendingEvents());
+        assertThrows(IllegalStateException.class,
+                () -> uploader.upload("b.json", "{}".getBytes(), "application/json", event("b")));
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("Deve recusar novos uploads quando a fila de reenvio está cheia e não há journal de spill")
+    void deveRecusarUpload_quandoFilaDeReenvioCheiaSemJournal() throws Exception {
+        FakeS3AsyncClient s3 = new FakeS3AsyncClient(Duration.ZERO, 10);
+        AsyncS3Uploader uploader = new AsyncS3Uploader(s3, "bucket-teste", 4, 1, Duration.ofMillis(5),
+                Duration.ofMillis(20), 1, null, new SimpleMeterRegistry());
+
+        CompletableFuture<Void> queued = uploader.upload("a.json", "{}".getBytes(), "application/json",
+                event("a"));
+        assertTrue(uploader.awaitInFlight(Duration.ofSeconds(5)));
+
+        assertThrows(IllegalStateException.class,
+                () -> uploader.upload("b.json", "{}".getBytes(), "application/json", event("b")));
+        assertEquals(1, s3.attempts.get());
+        uploader.close();
+        assertTrue(queued.isCompletedExceptionally());
+    }
+
+    private static AsyncS3Uploader newUploader(S3AsyncClient s3, int maxInFlight, int maxAttempts) {
+        return new AsyncS3Uploader(s3, "bucket-teste", maxInFlight, maxAttempts, Duration.ofMillis(5),
+                Duration.ofMillis(20), 100, null, new SimpleMeterRegistry());
+    }
+
+    private static AuditEvent event(String id) {
+        return new AuditEvent(ChangeType.UPDATED, LocalDateTime.of(2025, 8, 10, 12, 0, 0), "vendas", "customers",
+                "tester", new Document("_id", id), null, new Document("_id", id).append("fullName", "Depois"));
+    }
+
+    private final class FakeS3AsyncClient implements S3AsyncClient {
+        private final Duration latency;
+        private final AtomicInteger remainingFailures;
+        private final AtomicInteger attempts = new AtomicInteger();
+        private final Set<String> stored = ConcurrentHashMap.newKeySet();
+
+        private FakeS3AsyncClient(Duration latency, int failures) {
+            this.latency = latency;
+            this.remainingFailures = new AtomicInteger(failures);
+        }
+
+        @Override
+        public CompletableFuture<PutObjectResponse> putObject(PutObjectRequest request, AsyncRequestBody body) {
+            attempts.incrementAndGet();
+            CompletableFuture<PutObjectResponse> future = new CompletableFuture<>();
+            latencyScheduler.schedule(() -> {
+                if (remainingFailures.getAndDecrement() > 0) {
+                    AwsServiceException error = S3Exception.builder().statusCode(503).message("SlowDown").build();
+                    future.completeExceptionally(error);
+                } else {
+                    stored.add(request.key());
+                    future.complete(PutObjectResponse.builder().build());
+                }
+            }, latency.toMillis(), TimeUnit.MILLISECONDS);
+            return future;
+        }
+
+        @Override
+        public String serviceName() {
+            return "s3";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara CPU, tamanho e alocação por evento dos {@link AuditEventCodec} com
+ * o JSON formatado em String usado antes pelos exportadores. Executado com
+ * {@code mvn -Pbenchmark verify}.
+ */
+@Slf4j
+class AuditEventCodecBenchmarkIT {
+
+    private static final List<String> CODECS = List.of("json", "smile", "cbor", "bson");
+
+    private final ObjectMapper jsonMapper = JacksonAuditEventCodec.newObjectMapper();
+
+    @Test
+    @DisplayName("Benchmark: codecs devem alocar menos por evento que o JSON formatado em String")
+    void deveAlocarMenos_quandoCodificaDiretoNoBuffer() throws Exception {
+        int warmup = 20_000;
+        int events = 50_000;
+
+        for (AuditEvent event : List.of(AuditEventCodecTest.customerEvent(),
+                AuditEventCodecTest.proposalRequestEvent())) {
+            measurePrettyString(event, warmup);
+            long[] baseline = measurePrettyString(event, events);
+            log.info("{} -> json formatado (String): {} ns, {} bytes, {} bytes alocados por evento",
+                    event.collectionName(), baseline[0] / events, baseline[2], baseline[1] / events);
+
+            for (String name : CODECS) {
+                AuditEventCodec codec = AuditEventCodec.forName(name);
+                measure(codec, event, warmup);
+                long[] result = measure(codec, event, events);
+                log.info("{} -> {}: {} ns, {} bytes, {} bytes alocados por evento",
+                        event.collectionName(), name, result[0] / events, result[2], result[1] / events);
+
+                assertTrue(result[1] < baseline[1], name);
+                assertTrue(result[2] < baseline[2], name);
+            }
+        }
+    }
+
+    /**
+     * @return CPU (ns) e bytes alocados pela thread corrente para codificar
+     *         {@code events} eventos, e o tamanho de um evento codificado.
+     */
+    private static long[] measure(AuditEventCodec codec, AuditEvent event, int events) throws Exception {
+        com.sun.management.ThreadMXBean threads = threads();
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        long allocatedStart = threads.getCurrentThreadAllocatedBytes();
+        int size = 0;
+        for (int i = 0; i < events; i++) {
+            EncodingBuffer buffer = EncodingBuffer.acquire();
+            codec.encode(event, buffer);
+            size = buffer.size();
+            buffer.release();
+        }
+        return new long[] { threads.getCurrentThreadCpuTime() - cpuStart,
+                threads.getCurrentThreadAllocatedBytes() - allocatedStart, size };
+    }
+
+    /**
+     * Caminho anterior dos exportadores: JSON formatado montado numa String.
+     */
+    private long[] measurePrettyString(AuditEvent event, int events) throws Exception {
+        com.sun.management.ThreadMXBean threads = threads();
+        OutputStream sink = OutputStream.nullOutputStream();
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        long allocatedStart = threads.getCurrentThreadAllocatedBytes();
+        int size = 0;
+        for (int i = 0; i < events; i++) {
+            byte[] bytes = jsonMapper.writerWithDefaultPrettyPrinter().writeValueAsString(event).getBytes();
+            sink.write(bytes);
+            size = bytes.length;
+        }
+        return new long[] { threads.getCurrentThreadCpuTime() - cpuStart,
+                threads.getCurrentThreadAllocatedBytes() - allocatedStart, size };
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        return (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    }
+}
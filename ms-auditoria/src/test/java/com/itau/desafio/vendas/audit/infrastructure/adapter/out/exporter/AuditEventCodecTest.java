@@ -0,0 +1,154 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
+import com.itau.desafio.vendas.audit.domain.model.ChangeType;
+import com.itau.desafio.vendas.audit.domain.model.RawBsonBackedDocument;
+import org.bson.BsonBinarySubType;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.Binary;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditEventCodecTest {
+
+    private static final LocalDateTime EVENT_TIME = LocalDateTime.of(2025, 8, 10, 12, 0, 0);
+
+    private final ObjectMapper jsonMapper = JacksonAuditEventCodec.newObjectMapper();
+
+    @Test
+    @DisplayName("Deve produzir o mesmo conteúdo do JSON ao codificar em Smile e CBOR")
+    void deveProduzirMesmoConteudo_quandoCodificaEmSmileECbor() throws Exception {
+        AuditEvent event = customerEvent();
+        JsonNode expected = jsonMapper.readTree(encode("json", event));
+
+        assertEquals(expected, normalize(new ObjectMapper(new SmileFactory()).readTree(encode("smile", event))));
+        assertEquals(expected, normalize(new ObjectMapper(new CBORFactory()).readTree(encode("cbor", event))));
+    }
+
+    @Test
+    @DisplayName("Deve gravar o evento em BSON preservando os tipos do documento")
+    void deveGravarEventoEmBson_preservandoTipos() throws Exception {
+        AuditEvent event = proposalRequestEvent();
+
+        Document decoded = new RawBsonDocument(encode("bson", event)).decode(new DocumentCodec());
+
+        assertEquals("UPDATED", decoded.getString("operationType"));
+        assertEquals(Date.from(EVENT_TIME.toInstant(ZoneOffset.UTC)), decoded.getDate("eventTimestamp"));
+        assertEquals("solicitacoes", decoded.getString("collectionName"));
+        assertEquals(event.documentAfter(), decoded.get("documentAfter", Document.class));
+        assertEquals(new Decimal128(new BigDecimal("15000.00")),
+                decoded.get("documentAfter", Document.class).get("downPayment"));
+        assertFalse(decoded.containsKey("documentDelta"));
+    }
+
+    @Test
+    @DisplayName("Deve copiar os bytes BSON das imagens ainda não decodificadas")
+    void deveCopiarBytesBson_quandoImagemNaoDecodificada() throws Exception {
+        Document customer = customer(1);
+        RawBsonDocument raw = RawBsonDocument.parse(customer.toJson());
+        AuditEvent event = new AuditEvent(ChangeType.CREATED, EVENT_TIME, "vendas", "customers", "operador-1",
+                new Document("_id", customer.get("_id")), null, new RawBsonBackedDocument(raw));
+
+        Document decoded = new RawBsonDocument(encode("bson", event)).decode(new DocumentCodec());
+
+        assertEquals(raw.decode(new DocumentCodec()), decoded.get("documentAfter", Document.class));
+        assertNull(decoded.get("documentBefore"));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar codec desconhecido")
+    void deveRejeitarCodec_quandoNomeDesconhecido() {
+        assertThrows(IllegalArgumentException.class, () -> AuditEventCodec.forName("xml"));
+        assertEquals("smile", AuditEventCodec.forName("SMILE").name());
+    }
+
+    private static byte[] encode(String codecName, AuditEvent event) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AuditEventCodec.forName(codecName).encode(event, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Conteúdo binário vira Base64 no JSON; relê a árvore como JSON para
+     * comparar os formatos.
+     */
+    private JsonNode normalize(JsonNode tree) throws Exception {
+        return jsonMapper.readTree(jsonMapper.writeValueAsString(tree));
+    }
+
+    static AuditEvent customerEvent() {
+        Document before = customer(1);
+        return new AuditEvent(ChangeType.UPDATED, EVENT_TIME, "vendas", "customers", "operador-2",
+                new Document("_id", before.get("_id")), before, customer(2));
+    }
+
+    static AuditEvent proposalRequestEvent() {
+        Document before = proposalRequest(1);
+        return new AuditEvent(ChangeType.UPDATED, EVENT_TIME, "vendas", "solicitacoes", "operador-2",
+                new Document("_id", before.get("_id")), before, proposalRequest(2));
+    }
+
+    private static Document customer(long version) {
+        return new Document("_id", uuid("0b8f7a52-3c1e-4f7a-9d2b-6f1e2a3b4c5d"))
+                .append("cpf", "12345678909")
+                .append("cpfStatus", version == 1 ? "PENDENTE" : "VALIDO")
+                .append("fullName", "Cliente Exemplo da Silva")
+                .append("phoneNumber", "+5511999990000")
+                .append("monthlyIncome", new Decimal128(new BigDecimal("15432.75")))
+                .append("createdAt", new Date(1_723_291_200_000L))
+                .append("createdBy", "operador-1")
+                .append("lastModifiedAt", new Date(1_723_291_200_000L + version * 60_000))
+                .append("lastModifiedBy", "operador-" + version)
+                .append("version", version)
+                .append("_class", "com.itau.desafio.vendas.infrastructure.adapters.out.persistence.mongodb"
+                        + ".documents.CustomerDocument");
+    }
+
+    private static Document proposalRequest(long version) {
+        return new Document("_id", uuid("5d4c3b2a-1e2f-4a6b-8c7d-9e0f1a2b3c4d"))
+                .append("customerId", uuid("0b8f7a52-3c1e-4f7a-9d2b-6f1e2a3b4c5d"))
+                .append("vehicle", new Document("model", "Onix LTZ 1.0 Turbo")
+                        .append("cost", new Decimal128(new BigDecimal("98990.00")))
+                        .append("manufactureYear", 2024)
+                        .append("createdAt", new Date(1_723_291_200_000L))
+                        .append("createdBy", "operador-1")
+                        .append("lastModifiedAt", new Date(1_723_291_200_000L))
+                        .append("lastModifiedBy", "operador-1")
+                        .append("version", 0L))
+                .append("downPayment", new Decimal128(new BigDecimal("15000.00")))
+                .append("status", version == 1 ? "EM_PROCESSAMENTO" : "PENDING_ANALYSIS")
+                .append("createdAt", new Date(1_723_291_200_000L))
+                .append("createdBy", "operador-1")
+                .append("lastModifiedAt", new Date(1_723_291_200_000L + version * 60_000))
+                .append("lastModifiedBy", "operador-" + version)
+                .append("version", version)
+                .append("_class", "com.itau.desafio.vendas.infrastructure.adapters.out.persistence.mongodb"
+                        + ".documents.ProposalRequestDocument");
+    }
+
+    private static Binary uuid(String value) {
+        UUID uuid = UUID.fromString(value);
+        return new Binary(BsonBinarySubType.UUID_STANDARD, ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array());
+    }
+}
@@ -0,0 +1,79 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
+import com.itau.desafio.vendas.audit.domain.model.ChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara a vazão do {@link AuditSegmentLogWriter} com a do exportador
+ * original de um arquivo JSON por evento. Executado com
+ * {@code mvn -Pbenchmark verify}.
+ */
+@Slf4j
+class AuditSegmentLogWriterBenchmarkIT {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 8, 10, 12, 0, 0);
+    private static final int EVENTS = 20_000;
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    @DisplayName("Benchmark: log segmentado deve superar o exportador de um arquivo por evento")
+    void deveSuperarUmArquivoPorEvento_emThroughput() throws IOException {
+        List<AuditEvent> auditEvents = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            auditEvents.add(event("doc-" + i, BASE_TIME.plusNanos(i * 1_000_000L)));
+        }
+
+        Path perEventDirectory = Files.createDirectory(directory.resolve("per-event"));
+        long start = System.nanoTime();
+        for (AuditEvent auditEvent : auditEvents) {
+            Files.writeString(perEventDirectory.resolve(auditEvent.documentKey().getString("_id") + ".json"),
+                    objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(auditEvent));
+        }
+        double perEventPerSecond = EVENTS / ((System.nanoTime() - start) / 1_000_000_000.0);
+
+        start = System.nanoTime();
+        try (AuditSegmentLogWriter writer = new AuditSegmentLogWriter(directory, objectMapper,
+                64L * 1024 * 1024, Duration.ofHours(1), FsyncPolicy.INTERVAL, new SimpleMeterRegistry())) {
+            for (AuditEvent auditEvent : auditEvents) {
+                writer.append(auditEvent);
+            }
+            writer.sync();
+        }
+        double segmentedPerSecond = EVENTS / ((System.nanoTime() - start) / 1_000_000_000.0);
+
+        log.info("log segmentado: {} eventos/s | um arquivo por evento: {} eventos/s",
+                Math.round(segmentedPerSecond), Math.round(perEventPerSecond));
+        assertTrue(segmentedPerSecond > perEventPerSecond);
+    }
+
+    private static AuditEvent event(String id, LocalDateTime timestamp) {
+        Document after = new Document("_id", id).append("fullName", "Cliente " + id).append("status", "APROVADO");
+        return new AuditEvent(ChangeType.UPDATED, timestamp, "vendas", "customers", "tester",
+                new Document("_id", id), null, after);
+    }
+}
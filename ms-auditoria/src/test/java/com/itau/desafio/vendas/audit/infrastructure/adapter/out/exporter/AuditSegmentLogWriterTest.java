@@ -0,0 +1,117 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
+import com.itau.desafio.vendas.audit.domain.model.ChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditSegmentLogWriterTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 8, 10, 12, 0, 0);
+
+    @TempDir
+    Path directory;
+
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Test
+    @DisplayName("Deve rotacionar segmentos por tamanho, indexar o timestamp inicial e reler os eventos em ordem")
+    void deveRotacionarSegmentosEIndexar_quandoTamanhoMaximoAtingido() throws IOException {
+        try (AuditSegmentLogWriter writer = newWriter(4_096, FsyncPolicy.NONE)) {
+            for (int i = 0; i < 100; i++) {
+                writer.append(event("doc-" + i, BASE_TIME.plusSeconds(i)));
+            }
+        }
+
+        AuditSegmentLogReader reader = new AuditSegmentLogReader(directory);
+        List<Path> segments = reader.segments();
+        assertTrue(segments.size() > 1);
+
+        List<String> index = Files.readAllLines(directory.resolve(AuditSegmentFormat.INDEX_FILE_NAME));
+        assertEquals(segments.size(), index.size());
+        assertEquals(segments.get(0).getFileName() + "\t" + millis(BASE_TIME), index.get(0));
+
+        List<String> documentIds = new ArrayList<>();
+        reader.forEach(record -> documentIds.add(documentId(record)));
+        assertEquals(100, documentIds.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals("doc-" + i, documentIds.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve ignorar a cauda incompleta do segmento e continuar em um novo segmento após restart")
+    void deveIgnorarCaudaIncompleta_eAbrirNovoSegmentoAposRestart() throws IOException {
+        try (AuditSegmentLogWriter writer = newWriter(Long.MAX_VALUE, FsyncPolicy.BATCH)) {
+            writer.append(List.of(event("doc-1", BASE_TIME), event("doc-2", BASE_TIME)));
+        }
+        Path firstSegment = new AuditSegmentLogReader(directory).segments().get(0);
+        try (FileChannel channel = FileChannel.open(firstSegment, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 0, 0, 1, 0, 7, 7 }));
+        }
+
+        try (AuditSegmentLogWriter writer = newWriter(Long.MAX_VALUE, FsyncPolicy.BATCH)) {
+            writer.append(event("doc-3", BASE_TIME.plusMinutes(1)));
+        }
+
+        AuditSegmentLogReader reader = new AuditSegmentLogReader(directory);
+        assertEquals(2, reader.segments().size());
+        List<String> documentIds = new ArrayList<>();
+        reader.forEach(record -> documentIds.add(documentId(record)));
+        assertEquals(List.of("doc-1", "doc-2", "doc-3"), documentIds);
+    }
+
+    private AuditSegmentLogWriter newWriter(long maxBytes, FsyncPolicy fsyncPolicy) throws IOException {
+        return new AuditSegmentLogWriter(directory, objectMapper, maxBytes, Duration.ofHours(1), fsyncPolicy,
+                new SimpleMeterRegistry());
+    }
+
+    private String documentId(AuditSegmentLogReader.SegmentRecord record) {
+        try {
+            JsonNode node = objectMapper.readTree(record.payload());
+            return node.path("documentKey").path("_id").asText();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long millis(LocalDateTime timestamp) {
+        return timestamp.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static AuditEvent event(String id, LocalDateTime timestamp) {
+        Document after = new Document("_id", id).append("fullName", "Cliente " + id).append("status", "APROVADO");
+        return new AuditEvent(ChangeType.UPDATED, timestamp, "vendas", "customers", "tester",
+                new Document("_id", id), null, after);
+    }
+}
@@ -0,0 +1,140 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
+import com.itau.desafio.vendas.audit.domain.model.ChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonBinarySubType;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditSegmentQueryServiceTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 8, 5, 0, 0, 0);
+
+    @TempDir
+    Path directory;
+
+    private ObjectMapper objectMapper;
+    private AuditSegmentLogWriter writer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        writer = new AuditSegmentLogWriter(directory, objectMapper, 256 * 1024, Duration.ofHours(1),
+                FsyncPolicy.NONE, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Deve responder consultas por intervalo de tempo e por documento a partir dos segmentos mapeados")
+    void deveConsultarPorIntervaloEPorDocumento_quandoSegmentosGravados() throws IOException {
+        for (int i = 0; i < 10_000; i++) {
+            writer.append(event("customer-" + (i % 100), BASE_TIME.plusMinutes(i)));
+        }
+        writer.close();
+        AuditSegmentQueryService queryService = new AuditSegmentQueryService(directory);
+
+        long from = millis(BASE_TIME.plusMinutes(500));
+        long to = millis(BASE_TIME.plusMinutes(549));
+        List<ByteBuffer> range = queryService.findByTimeRange(from, to, 1000);
+        assertEquals(50, range.size());
+        assertEquals("customer-0", json(range.get(0)).path("documentKey").path("_id").asText());
+
+        long start = System.nanoTime();
+        List<ByteBuffer> history = queryService.findByDocument("customers", "customer-7", Long.MIN_VALUE,
+                Long.MAX_VALUE, 1000);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        assertEquals(100, history.size());
+        history.forEach(payload -> assertEquals("customer-7",
+                json(payload).path("documentKey").path("_id").asText()));
+        assertTrue(elapsedMs < 100, "consulta por documento levou " + elapsedMs + " ms");
+
+        List<ByteBuffer> limited = queryService.findByDocument("customers", "customer-7", from, Long.MAX_VALUE, 3);
+        assertEquals(3, limited.size());
+    }
+
+    @Test
+    @DisplayName("Deve enxergar eventos acrescentados ao segmento ativo após a primeira consulta")
+    void deveIndexarIncrementalmente_quandoSegmentoAtivoCresce() throws IOException {
+        writer.append(event("customer-1", BASE_TIME));
+        AuditSegmentQueryService queryService = new AuditSegmentQueryService(directory);
+        assertEquals(1, queryService.findByDocument("customers", "customer-1", Long.MIN_VALUE, Long.MAX_VALUE,
+                10).size());
+
+        writer.append(event("customer-1", BASE_TIME.plusMinutes(1)));
+        writer.append(event("customer-2", BASE_TIME.plusMinutes(2)));
+
+        assertEquals(2, queryService.findByDocument("customers", "customer-1", Long.MIN_VALUE, Long.MAX_VALUE,
+                10).size());
+        assertEquals(3, queryService.findByTimeRange(millis(BASE_TIME), millis(BASE_TIME.plusMinutes(2)), 10)
+                .size());
+        writer.close();
+    }
+
+    @Test
+    @DisplayName("Deve indexar e consultar documentos com _id ObjectId e UUID binário pela forma canônica")
+    void deveConsultarPorDocumento_quandoIdObjectIdOuUuid() throws IOException {
+        AuditSegmentLogWriter bsonAwareWriter = new AuditSegmentLogWriter(directory.resolve("bson"),
+                JacksonAuditEventCodec.newObjectMapper(), 256 * 1024, Duration.ofHours(1), FsyncPolicy.NONE,
+                new SimpleMeterRegistry());
+        ObjectId objectId = new ObjectId("64d4f0c2a1b2c3d4e5f60718");
+        UUID uuid = UUID.fromString("5d4c3b2a-1e2f-4a6b-8c7d-9e0f1a2b3c4d");
+        Binary uuidBinary = new Binary(BsonBinarySubType.UUID_STANDARD, ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array());
+        bsonAwareWriter.append(event(objectId, BASE_TIME));
+        bsonAwareWriter.append(event(uuidBinary, BASE_TIME.plusMinutes(1)));
+        bsonAwareWriter.append(event(objectId, BASE_TIME.plusMinutes(2)));
+        bsonAwareWriter.close();
+        AuditSegmentQueryService queryService = new AuditSegmentQueryService(directory.resolve("bson"));
+
+        assertEquals(2, queryService.findByDocument("customers", objectId.toHexString(), Long.MIN_VALUE,
+                Long.MAX_VALUE, 10).size());
+        assertEquals(2, queryService.findByDocument("customers", objectId.toHexString().toUpperCase(),
+                Long.MIN_VALUE, Long.MAX_VALUE, 10).size());
+        assertEquals(1, queryService.findByDocument("customers", uuid.toString(), Long.MIN_VALUE,
+                Long.MAX_VALUE, 10).size());
+    }
+
+    private JsonNode json(ByteBuffer payload) {
+        byte[] bytes = new byte[payload.remaining()];
+        payload.duplicate().get(bytes);
+        try {
+            return objectMapper.readTree(bytes);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long millis(LocalDateTime timestamp) {
+        return timestamp.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static AuditEvent event(Object id, LocalDateTime timestamp) {
+        Document after = new Document("_id", id).append("fullName", "Cliente " + id);
+        return new AuditEvent(ChangeType.UPDATED, timestamp, "vendas", "customers", "tester",
+                new Document("_id", id), null, after);
+    }
+}
@@ -0,0 +1,234 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+import com.itau.desafio.vendas.audit.domain.exceptions.AuditExportException;
+import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
+import com.itau.desafio.vendas.audit.domain.model.ChangeType;
+import com.itau.desafio.vendas.audit.domain.port.out.AuditEventExporterPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FanOutAuditEventExporterTest {
+
+    @TempDir
+    Path spillDirectory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch releaseSlowSink = new CountDownLatch(1);
+    private FanOutAuditEventExporter fanOut;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        releaseSlowSink.countDown();
+        if (fanOut != null) {
+            fanOut.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve exportar no destino rápido enquanto o destino lento está bloqueado e recusar só no destino cheio")
+    void deveExportarNoDestinoRapido_quandoDestinoLentoBloqueado() throws Exception {
+        List<AuditEvent> fast = new CopyOnWriteArrayList<>();
+        List<AuditEvent> slow = new CopyOnWriteArrayList<>();
+        Map<String, AuditEventExporterPort> sinks = new LinkedHashMap<>();
+        sinks.put("slow", event -> {
+            await(releaseSlowSink);
+            slow.add(event);
+        });
+        sinks.put("fast", fast::add);
+        fanOut = new FanOutAuditEventExporter(sinks, 10, 1, Duration.ofMillis(1), Map.of(), 1, meterRegistry);
+
+        for (int i = 0; i < 50; i++) {
+            fanOut.export(event("customer-" + i, i));
+            Thread.sleep(2);
+        }
+
+        awaitCondition(() -> fast.size() == 50);
+        assertTrue(slow.isEmpty());
+        assertTrue(counter("audit.fanout.dropped", "slow") > 0);
+        assertEquals(0, counter("audit.fanout.dropped", "fast"));
+
+        releaseSlowSink.countDown();
+        awaitCondition(() -> slow.size() == 50 - (int) counter("audit.fanout.dropped", "slow"));
+        assertEquals(50, counter("audit.fanout.exported", "fast"));
+    }
+
+    @Test
+    @DisplayName("Deve isolar falhas de um destino e manter a ordem por documento nos demais")
+    void deveIsolarFalhas_eManterOrdemPorDocumento() throws Exception {
+        List<AuditEvent> healthy = new CopyOnWriteArrayList<>();
+        Map<String, AuditEventExporterPort> sinks = new LinkedHashMap<>();
+        sinks.put("failing", event -> {
+            throw new AuditExportException("destino indisponível", null);
+        });
+        sinks.put("healthy", healthy::add);
+        fanOut = new FanOutAuditEventExporter(sinks, 1_000, 4, Duration.ZERO, Map.of(), 1, meterRegistry);
+
+        for (int seq = 0; seq < 20; seq++) {
+            for (int doc = 0; doc < 5; doc++) {
+                fanOut.export(event("customer-" + doc, seq));
+            }
+        }
+
+        awaitCondition(() -> healthy.size() == 100 && counter("audit.fanout.failed", "failing") == 100);
+        for (int doc = 0; doc < 5; doc++) {
+            String id = "customer-" + doc;
+            List<Integer> sequence = healthy.stream()
+                    .filter(e -> id.equals(e.documentKey().get("_id")))
+                    .map(e -> e.documentAfter().getInteger("seq"))
+                    .toList();
+            assertEquals(IntStream.range(0, 20).boxed().toList(), sequence);
+        }
+        assertEquals(100, meterRegistry.get("audit.fanout.lag").tag("sink", "healthy").timer().count());
+    }
+
+    @Test
+    @DisplayName("Deve bloquear o chamador até haver espaço na raia quando o timeout é zero")
+    void deveBloquearAteHaverEspaco_quandoTimeoutZero() throws Exception {
+        List<AuditEvent> slow = new CopyOnWriteArrayList<>();
+        Map<String, AuditEventExporterPort> sinks = Map.of("slow", event -> {
+            await(releaseSlowSink);
+            slow.add(event);
+        });
+        fanOut = new FanOutAuditEventExporter(sinks, 2, 1, Duration.ZERO, Map.of(), 1, meterRegistry);
+
+        CountDownLatch exported = new CountDownLatch(1);
+        Thread producer = Thread.ofVirtual().start(() -> {
+            for (int i = 0; i < 10; i++) {
+                fanOut.export(event("customer-0", i));
+            }
+            exported.countDown();
+        });
+
+        awaitCondition(() -> producer.getState() == Thread.State.WAITING);
+        assertEquals(1, exported.getCount());
+        releaseSlowSink.countDown();
+        awaitCondition(() -> slow.size() == 10);
+        assertEquals(0, counter("audit.fanout.dropped", "slow"));
+    }
+
+    @Test
+    @DisplayName("Deve gravar no journal do destino os eventos com falha e reenviá-los quando o destino volta")
+    void deveGravarFalhasNoJournal_eReenviarAoDestino() throws Exception {
+        SpillJournal journal = new SpillJournal("flaky", spillDirectory, JacksonAuditEventCodec.newObjectMapper(),
+                Long.MAX_VALUE, 2048, meterRegistry);
+        AtomicBoolean available = new AtomicBoolean(false);
+        List<AuditEvent> delivered = new CopyOnWriteArrayList<>();
+        Map<String, AuditEventExporterPort> sinks = Map.of("flaky", event -> {
+            if (!available.get()) {
+                throw new AuditExportException("destino indisponível", null);
+            }
+            delivered.add(event);
+        });
+        fanOut = new FanOutAuditEventExporter(sinks, 100, 1, Duration.ZERO, Map.of("flaky", journal), 100,
+                meterRegistry);
+
+        for (int seq = 0; seq < 5; seq++) {
+            fanOut.export(event("customer-0", seq));
+        }
+        awaitCondition(() -> journal.pendingEvents() == 5);
+
+        fanOut.replayPending();
+        assertTrue(delivered.isEmpty());
+        assertEquals(5, journal.pendingEvents());
+
+        available.set(true);
+        fanOut.replayPending();
+        assertEquals(List.of(0, 1, 2, 3, 4), delivered.stream().map(e -> e.documentAfter().getInteger("seq")).toList());
+        assertEquals(0, journal.pendingEvents());
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("Deve concluir o exportDurably só depois que todos os destinos entregarem ou gravarem no journal")
+    void deveConcluirExportDurably_quandoTodosOsDestinosEntregaremOuGravaremNoJournal() throws Exception {
+        SpillJournal journal = new SpillJournal("failing", spillDirectory, JacksonAuditEventCodec.newObjectMapper(),
+                Long.MAX_VALUE, 2048, meterRegistry);
+        List<AuditEvent> slow = new CopyOnWriteArrayList<>();
+        Map<String, AuditEventExporterPort> sinks = new LinkedHashMap<>();
+        sinks.put("slow", event -> {
+            await(releaseSlowSink);
+            slow.add(event);
+        });
+        sinks.put("failing", event -> {
+            throw new AuditExportException("destino indisponível", null);
+        });
+        fanOut = new FanOutAuditEventExporter(sinks, 100, 1, Duration.ZERO, Map.of("failing", journal), 100,
+                meterRegistry);
+
+        CompletableFuture<Void> durable = fanOut.exportDurably(List.of(event("customer-0", 0), event("customer-0", 1)));
+
+        awaitCondition(() -> journal.pendingEvents() == 2);
+        Thread.sleep(50);
+        assertFalse(durable.isDone());
+
+        releaseSlowSink.countDown();
+        awaitCondition(durable::isDone);
+        assertFalse(durable.isCompletedExceptionally());
+        assertEquals(2, slow.size());
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("Deve concluir o exportDurably com erro quando o destino falha e não há journal de spill")
+    void deveConcluirExportDurablyComErro_quandoDestinoFalhaSemJournal() throws Exception {
+        List<AuditEvent> healthy = new CopyOnWriteArrayList<>();
+        Map<String, AuditEventExporterPort> sinks = new LinkedHashMap<>();
+        sinks.put("failing", event -> {
+            throw new AuditExportException("destino indisponível", null);
+        });
+        sinks.put("healthy", healthy::add);
+        fanOut = new FanOutAuditEventExporter(sinks, 100, 1, Duration.ZERO, Map.of(), 100, meterRegistry);
+
+        CompletableFuture<Void> durable = fanOut.exportDurably(List.of(event("customer-0", 0)));
+
+        awaitCondition(durable::isDone);
+        assertTrue(durable.isCompletedExceptionally());
+        assertEquals(1, healthy.size());
+    }
+
+    private double counter(String name, String sink) {
+        return meterRegistry.get(name).tag("sink", sink).counter().count();
+    }
+
+    private static AuditEvent event(String id, int seq) {
+        return new AuditEvent(ChangeType.UPDATED, LocalDateTime.now(), "vendas", "customers", "tester",
+                new Document("_id", id), null, new Document("_id", id).append("seq", seq));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condição não atingida dentro do tempo limite.");
+            }
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
+import com.itau.desafio.vendas.audit.domain.model.ChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.convert.GroupRecordConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.LocalInputFile;
+import org.apache.parquet.io.RecordReader;
+import org.apache.parquet.schema.MessageType;
+import org.bson.BsonBinarySubType;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParquetAuditEventWriterTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 8, 10, 12, 30, 0);
+
+    @TempDir
+    Path tempDirectory;
+
+    private Path targetDirectory;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        targetDirectory = tempDirectory.resolve("target");
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Test
+    @DisplayName("Deve gravar um arquivo Parquet por hora e reler as colunas achatadas do AuditEvent")
+    void deveParticionarPorHora_eRelerColunas_quandoFlushExecutado() throws IOException {
+        ParquetAuditEventWriter writer = newWriter(Long.MAX_VALUE);
+        for (int i = 0; i < 100; i++) {
+            writer.append(event("customer-" + i, BASE_TIME.plusMinutes(i)));
+        }
+        writer.flushAll();
+
+        List<Path> files = parquetFiles();
+        assertEquals(List.of("dt=2025-08-10/hour=12", "dt=2025-08-10/hour=13", "dt=2025-08-10/hour=14"),
+                files.stream().map(file -> targetDirectory.relativize(file.getParent()).toString()).toList());
+
+        List<Group> rows = new ArrayList<>();
+        for (Path file : files) {
+            rows.addAll(read(file));
+        }
+        assertEquals(100, rows.size());
+
+        Group first = rows.get(0);
+        assertEquals("UPDATED", first.getString("operation_type", 0));
+        assertEquals(BASE_TIME.toInstant(ZoneOffset.UTC).toEpochMilli(), first.getLong("event_timestamp", 0));
+        assertEquals("customers", first.getString("collection_name", 0));
+        assertEquals("customer-0", first.getString("document_id", 0));
+        assertEquals("PENDENTE", objectMapper.readTree(first.getString("document_before", 0)).path("status").asText());
+        assertEquals("APROVADO", objectMapper.readTree(first.getString("document_after", 0)).path("status").asText());
+        assertEquals(0, first.getFieldRepetitionCount("document_delta"));
+    }
+
+    @Test
+    @DisplayName("Deve gravar as partições ao ultrapassar o limite de memória do buffer")
+    void deveGravarParticoes_quandoLimiteDeMemoriaAtingido() throws IOException {
+        ParquetAuditEventWriter writer = newWriter(16 * 1024);
+        for (int i = 0; i < 200; i++) {
+            writer.append(event("customer-" + i, BASE_TIME));
+        }
+
+        List<Path> files = parquetFiles();
+        assertFalse(files.isEmpty());
+        long written = 0;
+        for (Path file : files) {
+            written += read(file).size();
+        }
+        assertTrue(written > 0 && written < 200);
+
+        writer.flushAll();
+        long total = 0;
+        for (Path file : parquetFiles()) {
+            total += read(file).size();
+        }
+        assertEquals(200, total);
+    }
+
+    @Test
+    @DisplayName("Deve gravar document_id na forma canônica para _id ObjectId e UUID binário")
+    void deveGravarDocumentIdCanonico_quandoIdObjectIdOuUuid() throws IOException {
+        ObjectId objectId = new ObjectId("64d4f0c2a1b2c3d4e5f60718");
+        UUID uuid = UUID.fromString("5d4c3b2a-1e2f-4a6b-8c7d-9e0f1a2b3c4d");
+        Binary uuidBinary = new Binary(BsonBinarySubType.UUID_STANDARD, ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array());
+        ParquetAuditEventWriter writer = newWriter(Long.MAX_VALUE);
+        writer.append(event(objectId, BASE_TIME));
+        writer.append(event(uuidBinary, BASE_TIME.plusSeconds(1)));
+        writer.flushAll();
+
+        List<Group> rows = read(parquetFiles().get(0));
+        assertEquals(objectId.toHexString(), rows.get(0).getString("document_id", 0));
+        assertEquals(uuid.toString(), rows.get(1).getString("document_id", 0));
+    }
+
+    @Test
+    @DisplayName("Deve concluir o futuro da partição apenas após publicar o arquivo")
+    void deveConcluirFuturo_somenteAposPublicarArquivo() throws IOException {
+        ParquetAuditEventWriter writer = newWriter(Long.MAX_VALUE);
+
+        CompletableFuture<Void> written = writer.append(event("customer-1", BASE_TIME));
+        assertFalse(written.isDone());
+
+        writer.flushAll();
+        assertTrue(written.isDone());
+        assertFalse(written.isCompletedExceptionally());
+    }
+
+    @Test
+    @DisplayName("Deve concluir o futuro com erro quando a publicação falha sem journal de spill")
+    void deveConcluirFuturoComErro_quandoPublicacaoFalhaSemJournal() throws IOException {
+        ParquetAuditEventWriter writer = new ParquetAuditEventWriter(tempDirectory.resolve("staging"),
+                (file, key) -> {
+                    throw new IOException("S3 indisponível");
+                }, objectMapper, Long.MAX_VALUE, Duration.ofMinutes(5), CompressionCodecName.SNAPPY, null,
+                new SimpleMeterRegistry());
+
+        CompletableFuture<Void> written = writer.append(event("customer-1", BASE_TIME));
+        writer.flushAll();
+
+        assertTrue(written.isCompletedExceptionally());
+    }
+
+    private ParquetAuditEventWriter newWriter(long maxBufferedBytes) throws IOException {
+        return new ParquetAuditEventWriter(tempDirectory.resolve("staging"),
+                ParquetFilePublisher.localDirectory(targetDirectory), JacksonAuditEventCodec.newObjectMapper(),
+                maxBufferedBytes, Duration.ofMinutes(5), CompressionCodecName.SNAPPY, null,
+                new SimpleMeterRegistry());
+    }
+
+    private List<Path> parquetFiles() throws IOException {
+        if (Files.notExists(targetDirectory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.walk(targetDirectory)) {
+            return files.filter(file -> file.toString().endsWith(".parquet")).sorted().toList();
+        }
+    }
+
+    private static List<Group> read(Path file) throws IOException {
+        List<Group> rows = new ArrayList<>();
+        try (ParquetFileReader reader = ParquetFileReader.open(new LocalInputFile(file))) {
+            MessageType schema = reader.getFooter().getFileMetaData().getSchema();
+            PageReadStore pages;
+            while ((pages = reader.readNextRowGroup()) != null) {
+                RecordReader<Group> records = new ColumnIOFactory().getColumnIO(schema)
+                        .getRecordReader(pages, new GroupRecordConverter(schema));
+                for (long i = 0; i < pages.getRowCount(); i++) {
+                    rows.add(records.read());
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static AuditEvent event(Object id, LocalDateTime timestamp) {
+        Document before = new Document("_id", id).append("fullName", "Cliente " + id).append("status", "PENDENTE");
+        Document after = new Document("_id", id).append("fullName", "Cliente " + id).append("status", "APROVADO");
+        return new AuditEvent(ChangeType.UPDATED, timestamp, "vendas", "customers", "tester",
+                new Document("_id", id), before, after);
+    }
+}
@@ -0,0 +1,138 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
+import com.itau.desafio.vendas.audit.domain.model.ChangeType;
+import com.itau.desafio.vendas.audit.domain.model.RawBsonBackedDocument;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.Binary;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara CPU e alocação por evento do caminho com BSON bruto
+ * ({@link RawBsonJacksonModule}) com a decodificação para Document.
+ * Executado com {@code mvn -Pbenchmark verify}.
+ */
+@Slf4j
+class RawBsonJacksonModuleBenchmarkIT {
+
+    private static final DocumentCodec DOCUMENT_CODEC = new DocumentCodec();
+    private static final LocalDateTime EVENT_TIME = LocalDateTime.of(2025, 8, 10, 12, 0, 0);
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .registerModule(new RawBsonJacksonModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    @DisplayName("Benchmark: caminho com BSON bruto deve alocar menos por evento que a decodificação para Document")
+    void deveAlocarMenos_quandoUsaBsonBruto() throws Exception {
+        RawBsonDocument changeEvent = changeEvent(customer(1), customer(2));
+        int warmup = 20_000;
+        int events = 50_000;
+
+        measure(changeEvent, warmup, false);
+        measure(changeEvent, warmup, true);
+        long[] decoded = measure(changeEvent, events, false);
+        long[] raw = measure(changeEvent, events, true);
+
+        log.info("Por evento -> Document: {} ns CPU, {} bytes alocados | BSON bruto: {} ns CPU, {} bytes alocados",
+                decoded[0] / events, decoded[1] / events, raw[0] / events, raw[1] / events);
+        assertTrue(raw[1] < decoded[1]);
+    }
+
+    /**
+     * @return CPU (ns) e bytes alocados pela thread corrente para converter e
+     *         serializar {@code events} eventos.
+     */
+    private long[] measure(RawBsonDocument changeEvent, int events, boolean rawPath) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        OutputStream sink = new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        };
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        long allocatedStart = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < events; i++) {
+            objectMapper.writeValue(sink, rawPath ? convertRaw(changeEvent) : convertDecoded(changeEvent));
+        }
+        return new long[] { threads.getCurrentThreadCpuTime() - cpuStart,
+                threads.getCurrentThreadAllocatedBytes() - allocatedStart };
+    }
+
+    /**
+     * Caminho anterior: o evento inteiro é decodificado para Document e o
+     * documentKey passa por JSON.
+     */
+    private static AuditEvent convertDecoded(RawBsonDocument changeEvent) {
+        Document decoded = changeEvent.decode(DOCUMENT_CODEC);
+        Document documentKey = Document.parse(((Document) decoded.get("documentKey")).toJson());
+        return new AuditEvent(ChangeType.UPDATED, EVENT_TIME, "vendas", "customers", "tester", documentKey,
+                (Document) decoded.get("fullDocumentBeforeChange"), (Document) decoded.get("fullDocument"));
+    }
+
+    private static AuditEvent convertRaw(RawBsonDocument changeEvent) {
+        BsonDocument documentKey = changeEvent.getDocument("documentKey");
+        return new AuditEvent(ChangeType.UPDATED, EVENT_TIME, "vendas", "customers", "tester",
+                new Document("_id", documentKey.getString("_id").getValue()),
+                new RawBsonBackedDocument((RawBsonDocument) changeEvent.getDocument("fullDocumentBeforeChange")),
+                new RawBsonBackedDocument((RawBsonDocument) changeEvent.getDocument("fullDocument")));
+    }
+
+    private static RawBsonDocument changeEvent(Document before, Document after) {
+        BsonDocument event = new BsonDocument("operationType", new BsonString("update"))
+                .append("documentKey", new BsonDocument("_id", new BsonString("customer-1")))
+                .append("fullDocument", RawBsonDocument.parse(after.toJson()))
+                .append("fullDocumentBeforeChange", RawBsonDocument.parse(before.toJson()));
+        return new RawBsonDocument(event, new BsonDocumentCodec());
+    }
+
+    private static Document customer(int version) {
+        return new Document("_id", "customer-1")
+                .append("internalId", new ObjectId("64d4f0c2a1b2c3d4e5f60718"))
+                .append("fullName", "Cliente Exemplo da Silva")
+                .append("cpf", "12345678909")
+                .append("status", version == 1 ? "PENDENTE" : "APROVADO")
+                .append("score", 712)
+                .append("income", 15_432.75)
+                .append("limit", new Decimal128(new BigDecimal("25000.00")))
+                .append("accountNumber", 9_876_543_210L)
+                .append("active", true)
+                .append("nickname", null)
+                .append("createdAt", new Date(1_723_291_200_000L))
+                .append("signature", new Binary(new byte[] { 1, 2, 3, 4 }))
+                .append("address", new Document("street", "Av. Paulista").append("number", 1000)
+                        .append("city", "São Paulo").append("state", "SP").append("zip", "01310-100"))
+                .append("phones", List.of(new Document("type", "mobile").append("number", "+5511999990000"),
+                        new Document("type", "home").append("number", "+551133330000")))
+                .append("tags", List.of("varejo", "pf", "prime"))
+                .append("version", version)
+                .append("lastModifiedBy", "operador-" + version);
+    }
+}
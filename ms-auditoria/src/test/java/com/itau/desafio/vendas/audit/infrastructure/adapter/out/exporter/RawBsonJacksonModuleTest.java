@@ -0,0 +1,98 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
+import com.itau.desafio.vendas.audit.domain.model.ChangeType;
+import com.itau.desafio.vendas.audit.domain.model.RawBsonBackedDocument;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.Binary;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RawBsonJacksonModuleTest {
+
+    private static final DocumentCodec DOCUMENT_CODEC = new DocumentCodec();
+    private static final LocalDateTime EVENT_TIME = LocalDateTime.of(2025, 8, 10, 12, 0, 0);
+
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new RawBsonJacksonModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Test
+    @DisplayName("Deve produzir o mesmo JSON do Document decodificado ao serializar os bytes BSON")
+    void deveProduzirMesmoJson_quandoSerializaBytesBson() throws Exception {
+        Document customer = customer(1);
+        RawBsonDocument raw = RawBsonDocument.parse(customer.toJson());
+        Document decoded = raw.decode(DOCUMENT_CODEC);
+        RawBsonBackedDocument rawBacked = new RawBsonBackedDocument(raw);
+
+        assertEquals(objectMapper.writeValueAsString(event(decoded, decoded)),
+                objectMapper.writeValueAsString(event(rawBacked, rawBacked)));
+    }
+
+    @Test
+    @DisplayName("Deve ler campos sem decodificar e descartar os bytes ao modificar o documento")
+    void deveLerCamposSemDecodificar_eDescartarBytes_quandoModificado() throws Exception {
+        RawBsonBackedDocument document = new RawBsonBackedDocument(
+                RawBsonDocument.parse(customer(1).toJson()));
+
+        assertTrue(document.containsKey("lastModifiedBy"));
+        assertEquals("operador-1", document.getString("lastModifiedBy"));
+        assertEquals("São Paulo", document.get("address", Document.class).getString("city"));
+        assertNotNull(document.raw());
+
+        document.put("status", "REPROVADO");
+        assertNull(document.raw());
+        assertEquals("REPROVADO", objectMapper.readTree(objectMapper.writeValueAsString(document))
+                .path("status").asText());
+        assertEquals("operador-1", document.getString("lastModifiedBy"));
+    }
+
+    private static AuditEvent event(Document before, Document after) {
+        return new AuditEvent(ChangeType.UPDATED, EVENT_TIME, "vendas", "customers", "operador-1",
+                new Document("_id", "customer-1"), before, after);
+    }
+
+    private static Document customer(int version) {
+        return new Document("_id", "customer-1")
+                .append("internalId", new ObjectId("64d4f0c2a1b2c3d4e5f60718"))
+                .append("fullName", "Cliente Exemplo da Silva")
+                .append("cpf", "12345678909")
+                .append("status", version == 1 ? "PENDENTE" : "APROVADO")
+                .append("score", 712)
+                .append("income", 15_432.75)
+                .append("limit", new Decimal128(new BigDecimal("25000.00")))
+                .append("accountNumber", 9_876_543_210L)
+                .append("active", true)
+                .append("nickname", null)
+                .append("createdAt", new Date(1_723_291_200_000L))
+                .append("signature", new Binary(new byte[] { 1, 2, 3, 4 }))
+                .append("address", new Document("street", "Av. Paulista").append("number", 1000)
+                        .append("city", "São Paulo").append("state", "SP").append("zip", "01310-100"))
+                .append("phones", List.of(new Document("type", "mobile").append("number", "+5511999990000"),
+                        new Document("type", "home").append("number", "+551133330000")))
+                .append("tags", List.of("varejo", "pf", "prime"))
+                .append("version", version)
+                .append("lastModifiedBy", "operador-" + version);
+    }
+}
@@ -0,0 +1,250 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
+import com.itau.desafio.vendas.audit.domain.model.ChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S3NdjsonSegmentWriterTest {
+
+    @TempDir
+    Path spillDirectory;
+
+    private FakeS3Client s3Client;
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        s3Client = new FakeS3Client();
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(Instant.parse("2025-08-10T12:00:00Z"));
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Test
+    @DisplayName("Deve agrupar vários eventos em um único segmento gzip NDJSON ao atingir a idade máxima")
+    void deveAgruparEventosEmUmSegmento_quandoIdadeMaximaAtingida() throws IOException {
+        S3NdjsonSegmentWriter writer = newWriter(Long.MAX_VALUE, Duration.ofSeconds(30));
+
+        for (int i = 0; i < 100; i++) {
+            writer.append(event("doc-" + i, LocalDateTime.of(2025, 8, 10, 12, 0, 0)));
+        }
+        writer.flushExpired();
+        assertTrue(s3Client.uploads.isEmpty());
+
+        clock.advance(Duration.ofSeconds(30));
+        writer.flushExpired();
+
+        assertEquals(1, s3Client.uploads.size());
+        Upload upload = s3Client.uploads.get(0);
+        assertTrue(upload.key().startsWith("2025/08/10/20250810-120000000-"));
+        assertTrue(upload.key().endsWith(".ndjson.gz"));
+        assertEquals("gzip", upload.request().contentEncoding());
+
+        List<String> lines = gunzipLines(upload.payload());
+        assertEquals(100, lines.size());
+        assertEquals("doc-0", objectMapper.readTree(lines.get(0)).path("documentKey").path("_id").asText());
+        assertEquals(100.0, meterRegistry.summary("audit.export.s3.segment.events").totalAmount());
+        assertEquals(1, meterRegistry.timer("audit.export.s3.segment.flush").count());
+    }
+
+    @Test
+    @DisplayName("Deve enviar o segmento imediatamente quando o tamanho máximo é atingido")
+    void deveEnviarSegmento_quandoTamanhoMaximoAtingido() throws IOException {
+        S3NdjsonSegmentWriter writer = newWriter(1024, Duration.ofHours(1));
+
+        for (int i = 0; i < 50; i++) {
+            writer.append(event("doc-" + i, LocalDateTime.of(2025, 8, 10, 12, 0, 0)));
+        }
+        writer.flushAll();
+
+        assertTrue(s3Client.uploads.size() > 1);
+        int totalLines = 0;
+        for (Upload upload : s3Client.uploads) {
+            totalLines += gunzipLines(upload.payload()).size();
+        }
+        assertEquals(50, totalLines);
+    }
+
+    @Test
+    @DisplayName("Deve manter o layout yyyy/MM/dd separando segmentos por dia do evento")
+    void deveSepararSegmentos_porDiaDoEvento() throws IOException {
+        S3NdjsonSegmentWriter writer = newWriter(Long.MAX_VALUE, Duration.ofSeconds(30));
+
+        writer.append(event("a", LocalDateTime.of(2025, 8, 9, 23, 59, 59)));
+        writer.append(event("b", LocalDateTime.of(2025, 8, 10, 0, 0, 1)));
+        writer.flushAll();
+
+        List<String> keys = s3Client.uploads.stream().map(Upload::key).sorted().toList();
+        assertEquals(2, keys.size());
+        assertTrue(keys.get(0).startsWith("2025/08/09/"));
+        assertTrue(keys.get(1).startsWith("2025/08/10/"));
+    }
+
+    @Test
+    @DisplayName("Deve gravar os eventos do segmento no journal de spill quando o envio ao S3 falha")
+    void deveGravarEventosNoJournal_quandoEnvioDoSegmentoFalha() throws IOException {
+        SpillJournal journal = new SpillJournal(spillDirectory, objectMapper, Long.MAX_VALUE, 2048, meterRegistry,
+                clock);
+        S3NdjsonSegmentWriter writer = new S3NdjsonSegmentWriter(s3Client, "bucket-teste", objectMapper,
+                Long.MAX_VALUE, Duration.ofSeconds(30), journal, meterRegistry, clock);
+        s3Client.available = false;
+
+        List<AuditEvent> auditEvents = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            auditEvents.add(event("doc-" + i, LocalDateTime.of(2025, 8, 10, 12, 0, 0)));
+        }
+        CompletableFuture<Void> durable = writer.append(auditEvents);
+        writer.flushAll();
+
+        assertTrue(s3Client.uploads.isEmpty());
+        assertEquals(10, journal.pendingEvents());
+        assertTrue(durable.isDone());
+        assertFalse(durable.isCompletedExceptionally());
+        List<AuditEvent> replayed = new ArrayList<>();
+        journal.replay(100, replayed::add);
+        assertEquals("doc-0", replayed.get(0).documentKey().get("_id"));
+        assertEquals("doc-9", replayed.get(9).documentKey().get("_id"));
+        assertEquals(10.0, meterRegistry.counter("audit.spill.appended", "reason", "deferred_export_failed").count());
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("Deve concluir o lote apenas depois que o segmento for enviado ao S3")
+    void deveConcluirLote_somenteAposEnvioDoSegmento() throws IOException {
+        S3NdjsonSegmentWriter writer = newWriter(Long.MAX_VALUE, Duration.ofSeconds(30));
+
+        CompletableFuture<Void> durable = writer.append(List.of(
+                event("a", LocalDateTime.of(2025, 8, 10, 12, 0, 0)),
+                event("b", LocalDateTime.of(2025, 8, 10, 12, 0, 1))));
+        assertFalse(durable.isDone());
+
+        clock.advance(Duration.ofSeconds(30));
+        writer.flushExpired();
+
+        assertEquals(1, s3Client.uploads.size());
+        assertTrue(durable.isDone());
+        assertFalse(durable.isCompletedExceptionally());
+    }
+
+    @Test
+    @DisplayName("Deve concluir o lote com erro quando o envio falha sem journal de spill")
+    void deveConcluirLoteComErro_quandoEnvioFalhaSemJournal() throws IOException {
+        S3NdjsonSegmentWriter writer = newWriter(Long.MAX_VALUE, Duration.ofSeconds(30));
+        s3Client.available = false;
+
+        CompletableFuture<Void> durable = writer.append(event("a", LocalDateTime.of(2025, 8, 10, 12, 0, 0)));
+        writer.flushAll();
+
+        assertTrue(durable.isCompletedExceptionally());
+    }
+
+    private S3NdjsonSegmentWriter newWriter(long maxBytes, Duration maxAge) {
+        return new S3NdjsonSegmentWriter(s3Client, "bucket-teste", objectMapper, maxBytes, maxAge, null,
+                meterRegistry, clock);
+    }
+
+    private static AuditEvent event(String id, LocalDateTime timestamp) {
+        return new AuditEvent(ChangeType.UPDATED, timestamp, "vendas", "customers", "tester",
+                new Document("_id", id), new Document("_id", id).append("fullName", "Antes"),
+                new Document("_id", id).append("fullName", "Depois"));
+    }
+
+    private static List<String> gunzipLines(byte[] payload) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            String content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            return content.lines().toList();
+        }
+    }
+
+    private record Upload(PutObjectRequest request, String key, byte[] payload) {
+    }
+
+    private static final class FakeS3Client implements S3Client {
+        private final List<Upload> uploads = new ArrayList<>();
+        private volatile boolean available = true;
+
+        @Override
+        public synchronized PutObjectResponse putObject(PutObjectRequest request, RequestBody body) {
+            if (!available) {
+                throw S3Exception.builder().statusCode(503).message("Service Unavailable").build();
+            }
+            try (InputStream in = body.contentStreamProvider().newStream()) {
+                uploads.add(new Upload(request, request.key(), in.readAllBytes()));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return PutObjectResponse.builder().build();
+        }
+
+        @Override
+        public String serviceName() {
+            return "s3";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.itau.desafio.vendas.audit.infrastructure.adapter.out.exporter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.itau.desafio.vendas.audit.domain.exceptions.AuditExportException;
+import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
+import com.itau.desafio.vendas.audit.domain.model.ChangeType;
+import com.itau.desafio.vendas.audit.domain.port.out.AuditEventExporterPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonBinarySubType;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpillingAuditEventExporterTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 8, 10, 12, 0, 0);
+
+    @TempDir
+    Path spillDirectory;
+
+    private ObjectMapper objectMapper;
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        clock = new MutableClock(BASE_TIME.toInstant(ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("Deve gravar no journal os eventos com falha ou com circuito aberto e reenviá-los após a recuperação")
+    void deveReenviarEventosDoJournal_quandoDestinoSeRecupera() throws IOException {
+        FlakyExporter target = new FlakyExporter();
+        SpillJournal journal = newJournal(Long.MAX_VALUE);
+        SpillingAuditEventExporter exporter = new SpillingAuditEventExporter(target, journal, 3,
+                Duration.ofSeconds(30), 10, Duration.ofSeconds(1), new SimpleMeterRegistry(), clock);
+
+        target.available = false;
+        for (int i = 0; i < 25; i++) {
+            exporter.export(event("doc-" + i));
+        }
+        assertTrue(exporter.isCircuitOpen());
+        assertEquals(3, target.attempts);
+        assertEquals(25, journal.pendingEvents());
+
+        target.available = true;
+        exporter.replayPending();
+        assertTrue(target.exported.isEmpty());
+
+        clock.advance(Duration.ofSeconds(31));
+        exporter.replayPending();
+        assertEquals(10, target.exported.size());
+        assertEquals(Duration.ofSeconds(31), journal.oldestPendingAge());
+
+        exporter.replayPending();
+        exporter.replayPending();
+        assertEquals(25, target.exported.size());
+        assertEquals("doc-0", target.exported.get(0).documentKey().get("_id"));
+        assertEquals("doc-24", target.exported.get(24).documentKey().get("_id"));
+        assertEquals("Depois", target.exported.get(24).documentAfter().get("fullName"));
+        assertEquals(0, journal.pendingEvents());
+        assertEquals(0, journal.diskBytes());
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("Deve retomar o reenvio a partir do cursor persistido após um restart")
+    void deveRetomarDoCursor_quandoJournalReaberto() throws IOException {
+        SpillJournal journal = newJournal(Long.MAX_VALUE);
+        for (int i = 0; i < 10; i++) {
+            journal.append(event("doc-" + i));
+        }
+        List<AuditEvent> replayed = new ArrayList<>();
+        assertEquals(4, journal.replay(4, replayed::add));
+        journal.close();
+
+        SpillJournal reopened = newJournal(Long.MAX_VALUE);
+        assertEquals(6, reopened.pendingEvents());
+        reopened.append(event("doc-10"));
+        assertEquals(7, reopened.replay(100, replayed::add));
+
+        assertEquals(11, replayed.size());
+        for (int i = 0; i < replayed.size(); i++) {
+            assertEquals("doc-" + i, replayed.get(i).documentKey().get("_id"));
+        }
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Deve reenviar do journal eventos com _id ObjectId e UUID binário sem perder o tipo")
+    void deveReenviarSemPerderTipo_quandoIdObjectIdOuUuid() throws IOException {
+        ObjectId objectId = new ObjectId("64d4f0c2a1b2c3d4e5f60718");
+        Binary uuid = new Binary(BsonBinarySubType.UUID_STANDARD, ByteBuffer.allocate(16)
+                .putLong(0x5d4c3b2a1e2f4a6bL)
+                .putLong(0x8c7d9e0f1a2b3c4dL)
+                .array());
+        SpillJournal journal = newJournal(Long.MAX_VALUE);
+        journal.append(event(objectId));
+        journal.append(event(uuid));
+
+        List<AuditEvent> replayed = new ArrayList<>();
+        assertEquals(2, journal.replay(10, replayed::add));
+
+        assertEquals(objectId, replayed.get(0).documentKey().get("_id"));
+        assertEquals(objectId, replayed.get(0).documentAfter().get("_id"));
+        assertEquals(uuid, replayed.get(1).documentKey().get("_id"));
+        assertEquals(BASE_TIME, replayed.get(1).eventTimestamp());
+        assertEquals("Depois", replayed.get(1).documentAfter().getString("fullName"));
+        assertEquals("5d4c3b2a-1e2f-4a6b-8c7d-9e0f1a2b3c4d",
+                DocumentIds.canonical(replayed.get(1).documentKey().get("_id")));
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("Deve recusar novos eventos quando o journal atinge o limite de disco")
+    void deveRecusarEventos_quandoLimiteDeDiscoAtingido() throws IOException {
+        SpillJournal journal = newJournal(1024);
+        FlakyExporter target = new FlakyExporter();
+        target.available = false;
+        SpillingAuditEventExporter exporter = new SpillingAuditEventExporter(target, journal, 100,
+                Duration.ofSeconds(30), 10, Duration.ofSeconds(1), new SimpleMeterRegistry(), clock);
+
+        int spilled = 0;
+        AuditExportException rejection = null;
+        while (rejection == null) {
+            try {
+                exporter.export(event("doc-" + spilled));
+                spilled++;
+            } catch (AuditExportException e) {
+                rejection = e;
+            }
+        }
+
+        assertTrue(spilled > 0);
+        assertEquals(spilled, journal.pendingEvents());
+        assertTrue(journal.diskBytes() >= 1024);
+        assertEquals(1, rejection.getSuppressed().length);
+        journal.close();
+    }
+
+    private SpillJournal newJournal(long maxBytes) throws IOException {
+        return new SpillJournal(spillDirectory, objectMapper, maxBytes, 2048, new SimpleMeterRegistry(), clock);
+    }
+
+    private static AuditEvent event(Object id) {
+        return new AuditEvent(ChangeType.UPDATED, BASE_TIME, "vendas", "customers", "tester",
+                new Document("_id", id), new Document("_id", id).append("fullName", "Antes"),
+                new Document("_id", id).append("fullName", "Depois"));
+    }
+
+    private static final class FlakyExporter implements AuditEventExporterPort {
+        private final List<AuditEvent> exported = new ArrayList<>();
+        private boolean available = true;
+        private int attempts;
+
+        @Override
+        public void export(AuditEvent auditEvent) {
+            attempts++;
+            if (!available) {
+                throw new AuditExportException("S3 indisponível", new IOException("503 Service Unavailable"));
+            }
+            exported.add(auditEvent);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
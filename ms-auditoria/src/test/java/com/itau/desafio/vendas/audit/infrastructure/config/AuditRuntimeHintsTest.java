@@ -0,0 +1,26 @@
+package com.itau.desafio.vendas.audit.infrastructure.config;
+
+import com.itau.desafio.vendas.audit.domain.model.AuditEvent;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditRuntimeHintsTest {
+
+    @Test
+    @DisplayName("Deve registrar reflexão para o AuditEvent e tipos BSON e o bootstrap.yml como recurso")
+    void deveRegistrarHints_paraSerializacaoERecursos() throws Exception {
+        RuntimeHints hints = new RuntimeHints();
+        new AuditRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertTrue(RuntimeHintsPredicates.reflection().onType(AuditEvent.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(AuditEvent.class.getMethod("documentAfter")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ObjectId.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("bootstrap.yml").test(hints));
+    }
+}
@@ -0,0 +1,135 @@
+package com.itau.desafio.vendas.audit.infrastructure.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.HeadBucketRequest;
+import software.amazon.awssdk.services.s3.model.HeadBucketResponse;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S3BucketHealthIndicatorTest {
+
+    private static final Instant NOW = Instant.parse("2025-08-10T12:00:00Z");
+
+    private final FakeS3Client s3Client = new FakeS3Client();
+    private final MutableClock clock = new MutableClock(NOW);
+    private final S3BucketHealthIndicator indicator = new S3BucketHealthIndicator(s3Client, "bucket-teste",
+            Duration.ofSeconds(2), 3, Duration.ofSeconds(30), clock);
+
+    @Test
+    @DisplayName("Deve responder a partir do snapshot sem chamar o S3 a cada verificação")
+    void deveResponderDoSnapshot_semChamarS3() {
+        assertEquals(Status.UNKNOWN, indicator.health().getStatus());
+
+        indicator.refresh();
+        for (int i = 0; i < 100; i++) {
+            indicator.health();
+        }
+
+        Health health = indicator.health();
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(NOW.toString(), health.getDetails().get("lastSuccess"));
+        assertEquals(0, health.getDetails().get("consecutiveFailures"));
+        assertEquals(1, s3Client.calls.get());
+    }
+
+    @Test
+    @DisplayName("Deve tolerar falhas isoladas e ficar DOWN ao atingir o limite de falhas consecutivas")
+    void deveFicarDown_quandoAtingeLimiteDeFalhasConsecutivas() {
+        indicator.refresh();
+        s3Client.failing = true;
+
+        indicator.refresh();
+        indicator.refresh();
+        Health flaky = indicator.health();
+        assertEquals(Status.UP, flaky.getStatus());
+        assertEquals(2, flaky.getDetails().get("consecutiveFailures"));
+
+        indicator.refresh();
+        Health down = indicator.health();
+        assertEquals(Status.DOWN, down.getStatus());
+        assertEquals(NOW.toString(), down.getDetails().get("lastSuccess"));
+
+        s3Client.failing = false;
+        indicator.refresh();
+        assertEquals(Status.UP, indicator.health().getStatus());
+    }
+
+    @Test
+    @DisplayName("Deve reportar UNKNOWN quando o snapshot fica mais velho que duas vezes o intervalo")
+    void deveReportarUnknown_quandoSnapshotDesatualizado() {
+        indicator.refresh();
+        clock.advance(Duration.ofSeconds(60));
+        assertEquals(Status.UP, indicator.health().getStatus());
+
+        clock.advance(Duration.ofSeconds(1));
+        Health stale = indicator.health();
+        assertEquals(Status.UNKNOWN, stale.getStatus());
+        assertEquals(NOW.toString(), stale.getDetails().get("lastCheck"));
+
+        indicator.refresh();
+        assertEquals(Status.UP, indicator.health().getStatus());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private static final class FakeS3Client implements S3Client {
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile boolean failing;
+
+        @Override
+        public HeadBucketResponse headBucket(HeadBucketRequest request) {
+            calls.incrementAndGet();
+            if (failing) {
+                throw SdkClientException.create("S3 indisponível");
+            }
+            return HeadBucketResponse.builder().build();
+        }
+
+        @Override
+        public String serviceName() {
+            return "s3";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cloud.client.discovery.composite.CompositeDiscoveryClientAutoConfiguration;
 import org.springframework.cloud.client.discovery.simple.SimpleDiscoveryClientAutoConfiguration;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Info;
@@ -16,6 +17,7 @@ import io.swagger.v3.oas.annotations.info.Info;
 })
 @EnableCaching
 @EnableMongoAuditing
+@EnableScheduling
 @OpenAPIDefinition(info = @Info(title = "API de Vendas", version = "v1", description = "API para o Desafio Técnico Itaú Unibanco"))
 public class VendasApplication {
 
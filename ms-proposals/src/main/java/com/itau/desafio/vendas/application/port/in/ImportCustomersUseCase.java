@@ -0,0 +1,83 @@
+package com.itau.desafio.vendas.application.port.in;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.validator.constraints.br.CPF;
+
+import com.amazonaws.xray.spring.aop.XRayEnabled;
+import com.itau.desafio.vendas.domain.model.CpfStatus;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+@XRayEnabled
+public interface ImportCustomersUseCase {
+
+    /**
+     * Cadastra um lote de clientes (ex.: arquivo de um parceiro). Cada item é
+     * tratado de forma independente: itens inválidos ou duplicados são
+     * rejeitados sem impedir o cadastro dos demais.
+     *
+     * @param customers Dados dos clientes, na ordem do arquivo.
+     * @return O resultado de cada item e o tempo total da importação.
+     */
+    Report importCustomers(List<Item> customers);
+
+    /**
+     * Dados de um cliente do lote, com as mesmas restrições de
+     * {@code POST /customers}; a importação as verifica item a item.
+     */
+    record Item(
+            @NotBlank(message = "O nome não pode estar em branco")
+            @Size(min = 2, max = 100, message = "O nome deve ter entre 2 e 100 caracteres")
+            String fullName,
+
+            @CPF(message = "O CPF fornecido é inválido")
+            String cpf,
+
+            @NotBlank(message = "O telefone não pode estar em branco")
+            String phoneNumber,
+
+            @NotNull(message = "A renda mensal é obrigatória")
+            @Positive(message = "A renda mensal deve ser um valor positivo.")
+            BigDecimal monthlyIncome) {
+    }
+
+    enum ItemStatus {
+        CREATED, DUPLICATE, INVALID, FAILED
+    }
+
+    /**
+     * @param index      Posição do item no lote.
+     * @param customerId ID do cliente criado ({@code null} se rejeitado).
+     * @param cpfStatus  Status do CPF do cliente criado.
+     * @param message    Motivo da rejeição ({@code null} se criado).
+     */
+    record ItemResult(int index, String cpf, ItemStatus status, UUID customerId, CpfStatus cpfStatus,
+            String message) {
+
+        public static ItemResult rejected(int index, String cpf, ItemStatus status, String message) {
+            return new ItemResult(index, cpf, status, null, null, message);
+        }
+    }
+
+    record Report(List<ItemResult> items, int created, Duration elapsed) {
+
+        public int rejected() {
+            return items.size() - created;
+        }
+
+        /**
+         * Itens processados por segundo, do início ao fim da importação.
+         */
+        public double throughputPerSecond() {
+            long nanos = Math.max(1, elapsed.toNanos());
+            return items.size() * 1_000_000_000d / nanos;
+        }
+    }
+}
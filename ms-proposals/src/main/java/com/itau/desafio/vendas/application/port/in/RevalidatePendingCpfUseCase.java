@@ -0,0 +1,31 @@
+package com.itau.desafio.vendas.application.port.in;
+
+import com.amazonaws.xray.spring.aop.XRayEnabled;
+
+@XRayEnabled
+public interface RevalidatePendingCpfUseCase {
+
+    /**
+     * Revalida na Receita Federal os clientes com CPF pendente de validação,
+     * atualizando o status dos que obtiverem uma resposta definitiva.
+     *
+     * @return Resumo da execução.
+     */
+    Summary revalidatePending();
+
+    /**
+     * @param processed   Clientes consultados na execução.
+     * @param updated     Clientes cujo status de CPF foi atualizado.
+     * @param interrupted {@code true} se a execução parou porque o serviço de
+     *                    validação voltou a responder com fallback.
+     */
+    record Summary(int processed, int updated, boolean interrupted) {
+    }
+
+    /**
+     * Resultado da revalidação de um cliente.
+     */
+    enum Outcome {
+        UPDATED, UNCHANGED, FALLBACK, ERROR
+    }
+}
@@ -0,0 +1,207 @@
+package com.itau.desafio.vendas.application.usecases;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import br.com.caelum.stella.validation.CPFValidator;
+import br.com.caelum.stella.validation.InvalidStateException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+import com.itau.desafio.vendas.application.port.in.ImportCustomersUseCase;
+import com.itau.desafio.vendas.application.port.in.ImportCustomersUseCase.ItemStatus;
+import com.itau.desafio.vendas.domain.exceptions.BusinessRuleException;
+import com.itau.desafio.vendas.domain.exceptions.DomainValidationException;
+import com.itau.desafio.vendas.domain.model.CpfStatus;
+import com.itau.desafio.vendas.domain.model.CpfValidationResult;
+import com.itau.desafio.vendas.domain.model.Customer;
+import com.itau.desafio.vendas.domain.port.out.CpfValidationStrategy;
+import com.itau.desafio.vendas.domain.port.out.CustomerRepositoryPort;
+
+/**
+ * Importação de clientes em lote. Em vez de repetir o fluxo de
+ * {@link CreateCustomerUseCaseImpl} por cliente, o lote inteiro usa uma
+ * consulta de CPFs já cadastrados, uma validação em lote na
+ * {@link CpfValidationStrategy} e uma inserção em lote.
+ */
+@Slf4j
+public class ImportCustomersUseCaseImpl implements ImportCustomersUseCase {
+
+    private static final CpfValidationResult UNAVAILABLE =
+            CpfValidationResult.fallback(CpfStatus.PENDENTE_VALIDACAO_RECEITA);
+
+    private final CustomerRepositoryPort customerRepositoryPort;
+    private final CpfValidationStrategy cpfValidationStrategy;
+    private final Validator validator;
+    private final int maxItems;
+    private final CPFValidator localCpfValidator = new CPFValidator();
+
+    private final Counter createdCustomersCounter;
+    private final Map<ItemStatus, Counter> itemCounters = new LinkedHashMap<>();
+    private final Timer importTimer;
+
+    public ImportCustomersUseCaseImpl(CustomerRepositoryPort customerRepositoryPort,
+            CpfValidationStrategy cpfValidationStrategy,
+            Validator validator,
+            MeterRegistry meterRegistry,
+            int maxItems) {
+        this.customerRepositoryPort = customerRepositoryPort;
+        this.cpfValidationStrategy = cpfValidationStrategy;
+        this.validator = validator;
+        this.maxItems = maxItems;
+        this.createdCustomersCounter = Counter.builder("customers.created")
+                .description("Número de novos clientes")
+                .register(meterRegistry);
+        for (ItemStatus status : ItemStatus.values()) {
+            itemCounters.put(status, Counter.builder("customers.import.items")
+                    .description("Itens de importação de clientes por resultado")
+                    .tag("result", status.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.importTimer = Timer.builder("customers.import")
+                .description("Duração de uma importação de clientes em lote")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Report importCustomers(List<Item> customers) {
+        if (customers.size() > maxItems) {
+            throw new BusinessRuleException(
+                    "A importação aceita no máximo " + maxItems + " clientes por requisição.");
+        }
+        long start = System.nanoTime();
+        ItemResult[] results = new ItemResult[customers.size()];
+
+        Map<Integer, Customer> candidates = buildCandidates(customers, results);
+        rejectExisting(candidates, results);
+        applyCpfStatus(candidates.values());
+        Set<UUID> inserted = customerRepositoryPort.insertAll(new ArrayList<>(candidates.values()));
+
+        int created = 0;
+        for (Map.Entry<Integer, Customer> candidate : candidates.entrySet()) {
+            Customer customer = candidate.getValue();
+            int index = candidate.getKey();
+            if (inserted.contains(customer.getId())) {
+                results[index] = new ItemResult(index, customer.getCpf(), ItemStatus.CREATED, customer.getId(),
+                        customer.getCpfStatus(), null);
+                created++;
+            } else {
+                results[index] = ItemResult.rejected(index, customer.getCpf(), ItemStatus.FAILED,
+                        "Falha ao gravar o cliente.");
+            }
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        importTimer.record(elapsed.toNanos(), TimeUnit.NANOSECONDS);
+        createdCustomersCounter.increment(created);
+        Arrays.stream(results).forEach(result -> itemCounters.get(result.status()).increment());
+
+        Report report = new Report(List.of(results), created, elapsed);
+        log.info("Importação de clientes concluída. Itens: {}, criados: {}, rejeitados: {}, {} itens/s",
+                customers.size(), created, report.rejected(), Math.round(report.throughputPerSecond()));
+        return report;
+    }
+
+    /**
+     * Valida os dados de cada item com as restrições de {@link Item} (as mesmas
+     * de {@code POST /customers}) e descarta CPFs repetidos no próprio lote.
+     * Os clientes são criados como pendentes; o status definitivo é aplicado
+     * após a validação em lote.
+     */
+    private Map<Integer, Customer> buildCandidates(List<Item> customers, ItemResult[] results) {
+        Map<Integer, Customer> candidates = new LinkedHashMap<>();
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < customers.size(); i++) {
+            Item item = customers.get(i);
+            String cpf = item.cpf() == null ? null : item.cpf().replaceAll("[^0-9]", "");
+            String violations = violationsOf(item);
+            if (violations != null) {
+                results[i] = ItemResult.rejected(i, cpf, ItemStatus.INVALID, violations);
+                continue;
+            }
+            if (!isCpfFormatValid(cpf)) {
+                results[i] = ItemResult.rejected(i, cpf, ItemStatus.INVALID, "O CPF fornecido é inválido");
+                continue;
+            }
+            if (!seen.add(cpf)) {
+                results[i] = ItemResult.rejected(i, cpf, ItemStatus.DUPLICATE, "CPF repetido no lote.");
+                continue;
+            }
+            try {
+                candidates.put(i, Customer.create(item.fullName(), cpf, item.phoneNumber(), item.monthlyIncome(),
+                        CpfStatus.PENDENTE_VALIDACAO_RECEITA));
+            } catch (DomainValidationException e) {
+                results[i] = ItemResult.rejected(i, cpf, ItemStatus.INVALID, e.getMessage());
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * @return As mensagens das restrições violadas pelo item, em ordem
+     *         alfabética e separadas por "; ", ou {@code null} se for válido.
+     */
+    private String violationsOf(Item item) {
+        Set<ConstraintViolation<Item>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void rejectExisting(Map<Integer, Customer> candidates, ItemResult[] results) {
+        if (candidates.isEmpty()) {
+            return;
+        }
+        Set<String> existing = customerRepositoryPort.findExistingCpfs(
+                candidates.values().stream().map(Customer::getCpf).toList());
+        candidates.entrySet().removeIf(candidate -> {
+            String cpf = candidate.getValue().getCpf();
+            if (!existing.contains(cpf)) {
+                return false;
+            }
+            results[candidate.getKey()] = ItemResult.rejected(candidate.getKey(), cpf, ItemStatus.DUPLICATE,
+                    "Já existe um cliente cadastrado com o CPF fornecido.");
+            return true;
+        });
+    }
+
+    private void applyCpfStatus(Iterable<Customer> candidates) {
+        List<String> cpfs = new ArrayList<>();
+        candidates.forEach(customer -> cpfs.add(customer.getCpf()));
+        if (cpfs.isEmpty()) {
+            return;
+        }
+        Map<String, CpfValidationResult> validations = cpfValidationStrategy.validateCpfs(cpfs);
+        candidates.forEach(customer -> customer.updateCpfStatus(
+                validations.getOrDefault(customer.getCpf(), UNAVAILABLE).status()));
+    }
+
+    private boolean isCpfFormatValid(String cpf) {
+        if (cpf == null || cpf.isBlank()) {
+            return false;
+        }
+        try {
+            localCpfValidator.assertValid(cpf);
+            return true;
+        } catch (InvalidStateException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.itau.desafio.vendas.application.usecases;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import com.itau.desafio.vendas.application.port.in.RevalidatePendingCpfUseCase;
+import com.itau.desafio.vendas.application.port.in.RevalidatePendingCpfUseCase.Outcome;
+import com.itau.desafio.vendas.domain.model.CpfStatus;
+import com.itau.desafio.vendas.domain.model.CpfValidationResult;
+import com.itau.desafio.vendas.domain.model.Customer;
+import com.itau.desafio.vendas.domain.port.out.CpfValidationStrategy;
+import com.itau.desafio.vendas.domain.port.out.CustomerRepositoryPort;
+
+/**
+ * Reconcilia clientes cadastrados com {@link CpfStatus#PENDENTE_VALIDACAO_RECEITA}
+ * enquanto a Receita Federal estava indisponível.
+ * <p>
+ * Percorre os pendentes por ID (paginação por chave, apoiada no índice
+ * {@code cpfStatus + _id}) em lotes de {@code batchSize}, consultando no máximo
+ * {@code maxConcurrency} CPFs ao mesmo tempo e respeitando {@code maxPerSecond}
+ * entre os lotes. A execução para ao atingir {@code maxPerRun} clientes ou
+ * assim que uma consulta cair no fallback, para não insistir em um serviço que
+ * voltou a falhar.
+ */
+@Slf4j
+public class RevalidatePendingCpfUseCaseImpl implements RevalidatePendingCpfUseCase {
+
+    private static final CpfStatus PENDING = CpfStatus.PENDENTE_VALIDACAO_RECEITA;
+
+    private final CustomerRepositoryPort customerRepositoryPort;
+    private final CpfValidationStrategy cpfValidationStrategy;
+    private final int batchSize;
+    private final int maxConcurrency;
+    private final int maxPerSecond;
+    private final int maxPerRun;
+
+    private final Counter updatedCounter;
+    private final Counter unchangedCounter;
+    private final Counter fallbackCounter;
+    private final Counter errorCounter;
+    private final Timer runTimer;
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong backlogAgeSeconds = new AtomicLong();
+
+    public RevalidatePendingCpfUseCaseImpl(CustomerRepositoryPort customerRepositoryPort,
+            CpfValidationStrategy cpfValidationStrategy,
+            MeterRegistry meterRegistry,
+            int batchSize,
+            int maxConcurrency,
+            int maxPerSecond,
+            int maxPerRun) {
+        this.customerRepositoryPort = customerRepositoryPort;
+        this.cpfValidationStrategy = cpfValidationStrategy;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.maxPerSecond = maxPerSecond;
+        this.maxPerRun = maxPerRun;
+
+        this.updatedCounter = processedCounter(meterRegistry, Outcome.UPDATED);
+        this.unchangedCounter = processedCounter(meterRegistry, Outcome.UNCHANGED);
+        this.fallbackCounter = processedCounter(meterRegistry, Outcome.FALLBACK);
+        this.errorCounter = processedCounter(meterRegistry, Outcome.ERROR);
+        this.runTimer = Timer.builder("customers.cpf.revalidation.run")
+                .description("Duração de uma execução da revalidação de CPFs pendentes")
+                .register(meterRegistry);
+        Gauge.builder("customers.cpf.revalidation.backlog", backlog, AtomicLong::get)
+                .description("Clientes com CPF pendente de validação na Receita Federal")
+                .register(meterRegistry);
+        Gauge.builder("customers.cpf.revalidation.backlog.age", backlogAgeSeconds, AtomicLong::get)
+                .description("Idade, em segundos, do cliente pendente mais antigo")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    private static Counter processedCounter(MeterRegistry meterRegistry, Outcome outcome) {
+        return Counter.builder("customers.cpf.revalidation.processed")
+                .description("Clientes pendentes revalidados, por resultado")
+                .tag("outcome", outcome.name().toLowerCase())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Summary revalidatePending() {
+        refreshBacklog();
+        long start = System.nanoTime();
+        int processed = 0;
+        int updated = 0;
+        boolean interrupted = false;
+        UUID afterId = null;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Semaphore permits = new Semaphore(maxConcurrency);
+            while (!interrupted && (maxPerRun <= 0 || processed < maxPerRun)) {
+                int limit = maxPerRun <= 0 ? batchSize : Math.min(batchSize, maxPerRun - processed);
+                List<Customer> batch = customerRepositoryPort.findByCpfStatus(PENDING, afterId, limit);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                long batchStart = System.nanoTime();
+
+                List<Future<Outcome>> outcomes = new ArrayList<>(batch.size());
+                for (Customer customer : batch) {
+                    outcomes.add(executor.submit(() -> {
+                        permits.acquire();
+                        try {
+                            return revalidate(customer);
+                        } finally {
+                            permits.release();
+                        }
+                    }));
+                }
+                for (Future<Outcome> future : outcomes) {
+                    Outcome outcome = await(future);
+                    if (outcome == Outcome.UPDATED) {
+                        updated++;
+                    } else if (outcome == Outcome.FALLBACK) {
+                        interrupted = true;
+                    }
+                }
+
+                processed += batch.size();
+                afterId = batch.get(batch.size() - 1).getId();
+                if (batch.size() < limit) {
+                    break;
+                }
+                pace(batch.size(), batchStart);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            interrupted = true;
+        } finally {
+            runTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            refreshBacklog();
+        }
+
+        if (interrupted) {
+            log.warn("Revalidação de CPFs pendentes interrompida: serviço de validação indisponível. "
+                    + "Processados: {}, atualizados: {}", processed, updated);
+        } else if (processed > 0) {
+            log.info("Revalidação de CPFs pendentes concluída. Processados: {}, atualizados: {}", processed, updated);
+        }
+        return new Summary(processed, updated, interrupted);
+    }
+
+    /**
+     * Consulta o CPF lido no lote e aplica o novo status com uma atualização
+     * condicional: se o cliente foi alterado ou removido desde a leitura, ele
+     * não está mais pendente e a atualização é descartada.
+     */
+    private Outcome revalidate(Customer customer) {
+        UUID customerId = customer.getId();
+        try {
+            CpfValidationResult result = cpfValidationStrategy.revalidate(customer.getCpf());
+            if (result.fallback()) {
+                fallbackCounter.increment();
+                return Outcome.FALLBACK;
+            }
+            if (result.status() == PENDING
+                    || !customerRepositoryPort.updateCpfStatusIfCurrent(customerId, PENDING, result.status())) {
+                unchangedCounter.increment();
+                return Outcome.UNCHANGED;
+            }
+
+            updatedCounter.increment();
+            log.info("Status do CPF do cliente {} atualizado para {}", customerId, result.status());
+            return Outcome.UPDATED;
+        } catch (RuntimeException e) {
+            errorCounter.increment();
+            log.error("Falha ao revalidar o CPF do cliente {}", customerId, e);
+            return Outcome.ERROR;
+        }
+    }
+
+    private static Outcome await(Future<Outcome> outcome) throws InterruptedException {
+        try {
+            return outcome.get();
+        } catch (ExecutionException e) {
+            return Outcome.ERROR;
+        }
+    }
+
+    /**
+     * Aguarda o suficiente para que o lote não ultrapasse {@code maxPerSecond}.
+     */
+    private void pace(int batchSize, long batchStartNanos) throws InterruptedException {
+        if (maxPerSecond <= 0) {
+            return;
+        }
+        long minimumNanos = TimeUnit.SECONDS.toNanos(batchSize) / maxPerSecond;
+        long remaining = minimumNanos - (System.nanoTime() - batchStartNanos);
+        if (remaining > 0) {
+            Thread.sleep(Duration.ofNanos(remaining));
+        }
+    }
+
+    private void refreshBacklog() {
+        try {
+            backlog.set(customerRepositoryPort.countByCpfStatus(PENDING));
+            backlogAgeSeconds.set(customerRepositoryPort.findOldestCreatedAtByCpfStatus(PENDING)
+                    .map(createdAt -> Math.max(0, Duration.between(createdAt, LocalDateTime.now()).toSeconds()))
+                    .orElse(0L));
+        } catch (RuntimeException e) {
+            log.warn("Falha ao calcular o backlog de CPFs pendentes: {}", e.getMessage());
+        }
+    }
+}
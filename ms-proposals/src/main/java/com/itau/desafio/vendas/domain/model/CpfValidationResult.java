@@ -0,0 +1,16 @@
+package com.itau.desafio.vendas.domain.model;
+
+/**
+ * Resultado de uma validação de CPF. {@code fallback} indica que o status não
+ * veio do provedor, e sim do fallback acionado por indisponibilidade dele.
+ */
+public record CpfValidationResult(CpfStatus status, boolean fallback) {
+
+    public static CpfValidationResult of(CpfStatus status) {
+        return new CpfValidationResult(status, false);
+    }
+
+    public static CpfValidationResult fallback(CpfStatus status) {
+        return new CpfValidationResult(status, true);
+    }
+}
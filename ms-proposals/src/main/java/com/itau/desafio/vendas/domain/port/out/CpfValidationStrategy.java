@@ -1,6 +1,12 @@
 package com.itau.desafio.vendas.domain.port.out;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
 import com.itau.desafio.vendas.domain.model.CpfStatus;
+import com.itau.desafio.vendas.domain.model.CpfValidationResult;
 
 /**
  * Define o contrato para diferentes estratégias de validação de CPF.
@@ -9,5 +15,42 @@ import com.itau.desafio.vendas.domain.model.CpfStatus;
  */
 @FunctionalInterface
 public interface CpfValidationStrategy {
+
     CpfStatus validateCpf(String cpf);
-}
\ No newline at end of file
+
+    /**
+     * Valida o CPF informando também se o status veio de um fallback.
+     * Estratégias sem fallback podem manter a implementação padrão.
+     */
+    default CpfValidationResult validate(String cpf) {
+        return CpfValidationResult.of(validateCpf(cpf));
+    }
+
+    /**
+     * Valida o CPF ignorando resultados guardados em cache, para reconciliar
+     * status que podem ter mudado (ex.: clientes pendentes).
+     */
+    default CpfValidationResult revalidate(String cpf) {
+        return validate(cpf);
+    }
+
+    /**
+     * Valida vários CPFs (apenas dígitos) de uma vez. A implementação padrão
+     * valida um CPF por vez; provedores com consulta em lote, ou capazes de
+     * paralelizar as chamadas, devem sobrescrevê-la. Uma falha individual
+     * resulta em fallback com {@link CpfStatus#PENDENTE_VALIDACAO_RECEITA}.
+     *
+     * @return O resultado de cada CPF distinto, na ordem de entrada.
+     */
+    default Map<String, CpfValidationResult> validateCpfs(Collection<String> cpfs) {
+        Map<String, CpfValidationResult> results = new LinkedHashMap<>();
+        for (String cpf : new LinkedHashSet<>(cpfs)) {
+            try {
+                results.put(cpf, validate(cpf));
+            } catch (RuntimeException e) {
+                results.put(cpf, CpfValidationResult.fallback(CpfStatus.PENDENTE_VALIDACAO_RECEITA));
+            }
+        }
+        return results;
+    }
+}
@@ -1,8 +1,13 @@
 package com.itau.desafio.vendas.domain.port.out;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
+import com.itau.desafio.vendas.domain.model.CpfStatus;
 import com.itau.desafio.vendas.domain.model.Customer;
 import com.itau.desafio.vendas.domain.model.PageQuery;
 import com.itau.desafio.vendas.domain.model.PaginatedResult;
@@ -19,4 +24,38 @@ public interface CustomerRepositoryPort {
     Customer save(Customer customer);
 
     void deleteById(UUID id);
+
+    /**
+     * Retorna, com uma única consulta, quais dos CPFs informados já pertencem
+     * a clientes cadastrados.
+     */
+    Set<String> findExistingCpfs(Collection<String> cpfs);
+
+    /**
+     * Insere os novos clientes em lote. Uma falha em um cliente não impede a
+     * inserção dos demais.
+     *
+     * @return Os IDs dos clientes efetivamente inseridos.
+     */
+    Set<UUID> insertAll(List<Customer> customers);
+
+    /**
+     * Busca até {@code limit} clientes com o status de CPF informado, em ordem
+     * de ID, a partir do ID seguinte a {@code afterId} (paginação por chave;
+     * {@code null} para a primeira página).
+     */
+    List<Customer> findByCpfStatus(CpfStatus cpfStatus, UUID afterId, int limit);
+
+    long countByCpfStatus(CpfStatus cpfStatus);
+
+    /**
+     * Atualiza o status do CPF somente se o cliente ainda estiver com
+     * {@code expectedStatus} (operação condicional e atômica no banco).
+     *
+     * @return {@code true} se o cliente foi atualizado; {@code false} se ele
+     *         foi removido ou teve o status alterado por outro fluxo.
+     */
+    boolean updateCpfStatusIfCurrent(UUID id, CpfStatus expectedStatus, CpfStatus newStatus);
+
+    Optional<LocalDateTime> findOldestCreatedAtByCpfStatus(CpfStatus cpfStatus);
 }
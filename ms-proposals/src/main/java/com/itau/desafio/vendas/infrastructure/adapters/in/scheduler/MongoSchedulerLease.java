@@ -0,0 +1,89 @@
+package com.itau.desafio.vendas.infrastructure.adapters.in.scheduler;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.itau.desafio.vendas.infrastructure.adapters.out.persistence.mongodb.documents.SchedulerLockDocument;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lease de execução compartilhado entre as instâncias, na coleção
+ * {@code scheduler_locks}. Cada tarefa agendada tem um documento identificado
+ * pelo nome; uma instância só executa a tarefa se conseguir marcar o
+ * documento como seu até {@code lockedUntil}.
+ * <p>
+ * A aquisição é um único {@code findAndModify} com upsert, filtrado por lease
+ * vencido: se outra instância detém o lease, o filtro não casa e o upsert
+ * colide com o {@code _id} existente. O lease expira sozinho, de modo que uma
+ * instância que caia no meio da execução não bloqueia as demais além de
+ * {@code leaseDuration}.
+ */
+@Slf4j
+@Component
+public class MongoSchedulerLease {
+
+    private final MongoTemplate mongoTemplate;
+    private final Clock clock;
+    private final String owner;
+
+    public MongoSchedulerLease(MongoTemplate mongoTemplate) {
+        this(mongoTemplate, Clock.systemUTC());
+    }
+
+    MongoSchedulerLease(MongoTemplate mongoTemplate, Clock clock) {
+        this.mongoTemplate = mongoTemplate;
+        this.clock = clock;
+        this.owner = hostName() + "-" + UUID.randomUUID();
+    }
+
+    /**
+     * Tenta obter o lease da tarefa {@code name} por {@code leaseDuration}.
+     *
+     * @return {@code true} se esta instância passou a deter o lease.
+     */
+    public boolean tryAcquire(String name, Duration leaseDuration) {
+        Instant now = clock.instant();
+        Query available = Query.query(Criteria.where("_id").is(name).and("lockedUntil").lte(now));
+        Update lease = new Update()
+                .set("lockedBy", owner)
+                .set("lockedAt", now)
+                .set("lockedUntil", now.plus(leaseDuration));
+        try {
+            return mongoTemplate.findAndModify(available, lease,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), SchedulerLockDocument.class) != null;
+        } catch (DuplicateKeyException e) {
+            log.debug("Lease de '{}' detido por outra instância", name);
+            return false;
+        }
+    }
+
+    /**
+     * Libera o lease da tarefa {@code name}, se ainda pertencer a esta
+     * instância.
+     */
+    public void release(String name) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(name).and("lockedBy").is(owner)),
+                Update.update("lockedUntil", clock.instant()), SchedulerLockDocument.class);
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.itau.desafio.vendas.infrastructure.adapters.in.scheduler;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.itau.desafio.vendas.application.port.in.RevalidatePendingCpfUseCase;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Dispara periodicamente a revalidação de CPFs pendentes, apenas quando o
+ * circuit breaker da Receita Federal está fechado. Com o circuito aberto ou
+ * meio-aberto a execução é adiada, deixando as chamadas de teste do breaker
+ * para o fluxo de cadastro.
+ * <p>
+ * Com várias réplicas, só a instância que obtém o lease
+ * {@value #LEASE_NAME} em {@link MongoSchedulerLease} executa a rodada; as
+ * demais a pulam. O lease deve ser maior que a duração de uma rodada
+ * ({@code cpf.revalidation.max-per-run} / {@code max-per-second}).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cpf.revalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class PendingCpfRevalidationScheduler {
+
+    private static final String RECEITA_FEDERAL_CIRCUIT_BREAKER = "receitaFederalService";
+    static final String LEASE_NAME = "pendingCpfRevalidation";
+
+    private final RevalidatePendingCpfUseCase revalidatePendingCpfUseCase;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final MongoSchedulerLease schedulerLease;
+    private final Duration leaseDuration;
+
+    public PendingCpfRevalidationScheduler(RevalidatePendingCpfUseCase revalidatePendingCpfUseCase,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            MongoSchedulerLease schedulerLease,
+            @Value("${cpf.revalidation.lease:5m}") Duration leaseDuration) {
+        this.revalidatePendingCpfUseCase = revalidatePendingCpfUseCase;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.schedulerLease = schedulerLease;
+        this.leaseDuration = leaseDuration;
+    }
+
+    @Scheduled(fixedDelayString = "${cpf.revalidation.interval:1m}",
+            initialDelayString = "${cpf.revalidation.initial-delay:30s}")
+    public void revalidatePending() {
+        CircuitBreaker.State state = circuitBreakerRegistry.circuitBreaker(RECEITA_FEDERAL_CIRCUIT_BREAKER).getState();
+        if (state != CircuitBreaker.State.CLOSED) {
+            log.debug("Revalidação de CPFs pendentes adiada: circuit breaker em {}", state);
+            return;
+        }
+        if (!schedulerLease.tryAcquire(LEASE_NAME, leaseDuration)) {
+            log.debug("Revalidação de CPFs pendentes em execução em outra instância");
+            return;
+        }
+        try {
+            revalidatePendingCpfUseCase.revalidatePending();
+        } finally {
+            schedulerLease.release(LEASE_NAME);
+        }
+    }
+}
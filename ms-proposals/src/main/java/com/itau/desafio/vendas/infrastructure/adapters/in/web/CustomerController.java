@@ -22,6 +22,7 @@ import com.amazonaws.xray.spring.aop.XRayEnabled;
 import com.itau.desafio.vendas.application.port.in.CreateCustomerUseCase;
 import com.itau.desafio.vendas.application.port.in.DeleteCustomerUseCase;
 import com.itau.desafio.vendas.application.port.in.FindCustomerByIdUseCase;
+import com.itau.desafio.vendas.application.port.in.ImportCustomersUseCase;
 import com.itau.desafio.vendas.application.port.in.ListCustomersUseCase;
 import com.itau.desafio.vendas.application.port.in.UpdateCustomerUseCase;
 import com.itau.desafio.vendas.domain.model.Customer;
@@ -29,6 +30,8 @@ import com.itau.desafio.vendas.domain.model.PageQuery;
 import com.itau.desafio.vendas.domain.model.PaginatedResult;
 import com.itau.desafio.vendas.infrastructure.adapters.in.web.dto.CreateCustomerRequest;
 import com.itau.desafio.vendas.infrastructure.adapters.in.web.dto.CustomerResponse;
+import com.itau.desafio.vendas.infrastructure.adapters.in.web.dto.ImportCustomersRequest;
+import com.itau.desafio.vendas.infrastructure.adapters.in.web.dto.ImportCustomersResponse;
 import com.itau.desafio.vendas.infrastructure.adapters.in.web.dto.PageResponse;
 import com.itau.desafio.vendas.infrastructure.adapters.in.web.dto.UpdateCustomerRequest;
 import com.itau.desafio.vendas.infrastructure.config.security.annotations.IsAdminOrBusinessAgent;
@@ -47,18 +50,21 @@ public class CustomerController {
     private final CreateCustomerUseCase createCustomerUseCase;
     private final UpdateCustomerUseCase updateCustomerUseCase;
     private final DeleteCustomerUseCase deleteCustomerUseCase;
+    private final ImportCustomersUseCase importCustomersUseCase;
 
     public CustomerController(
             ListCustomersUseCase listCustomersUseCase,
             FindCustomerByIdUseCase findCustomerByIdUseCase,
             CreateCustomerUseCase createCustomerUseCase,
             UpdateCustomerUseCase updateCustomerUseCase,
-            DeleteCustomerUseCase deleteCustomerUseCase) {
+            DeleteCustomerUseCase deleteCustomerUseCase,
+            ImportCustomersUseCase importCustomersUseCase) {
         this.listCustomersUseCase = listCustomersUseCase;
         this.findCustomerByIdUseCase = findCustomerByIdUseCase;
         this.createCustomerUseCase = createCustomerUseCase;
         this.updateCustomerUseCase = updateCustomerUseCase;
         this.deleteCustomerUseCase = deleteCustomerUseCase;
+        this.importCustomersUseCase = importCustomersUseCase;
     }
 
     @GetMapping
@@ -107,6 +113,22 @@ public class CustomerController {
                 .body(customerModel);
     }
 
+    @PostMapping("/import")
+    @Operation(summary = "Cadastra clientes em lote")
+    @IsAdminOrBusinessAgent
+    public ResponseEntity<ImportCustomersResponse> importCustomers(
+            @RequestBody @Valid ImportCustomersRequest request) {
+        ImportCustomersUseCase.Report report = importCustomersUseCase.importCustomers(request.customers().stream()
+                .map(customer -> new ImportCustomersUseCase.Item(
+                        customer.fullName(),
+                        customer.cpf(),
+                        customer.phoneNumber(),
+                        customer.monthlyIncome()))
+                .toList());
+
+        return ResponseEntity.ok(ImportCustomersResponse.fromDomain(report));
+    }
+
     @PatchMapping("/{id}")
     @Operation(summary = "Atualiza as informações de um cliente")
     @IsAdminOrBusinessAnalyst
@@ -0,0 +1,16 @@
+package com.itau.desafio.vendas.infrastructure.adapters.in.web.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+
+/**
+ * Lote de clientes a importar. Os itens não são validados aqui: a importação
+ * aplica a cada item as mesmas restrições de {@link CreateCustomerRequest} e
+ * rejeita individualmente os inválidos no resultado.
+ */
+public record ImportCustomersRequest(
+        @NotEmpty(message = "A lista de clientes não pode estar vazia")
+        List<CreateCustomerRequest> customers
+) {
+}
@@ -0,0 +1,44 @@
+package com.itau.desafio.vendas.infrastructure.adapters.in.web.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.itau.desafio.vendas.application.port.in.ImportCustomersUseCase.ItemStatus;
+import com.itau.desafio.vendas.application.port.in.ImportCustomersUseCase.Report;
+import com.itau.desafio.vendas.domain.model.CpfStatus;
+
+public record ImportCustomersResponse(
+        int total,
+        int created,
+        int rejected,
+        long elapsedMillis,
+        double throughputPerSecond,
+        List<Item> items) {
+
+    public record Item(
+            int index,
+            String cpf,
+            ItemStatus status,
+            UUID customerId,
+            CpfStatus cpfStatus,
+            String message) {
+    }
+
+    public static ImportCustomersResponse fromDomain(Report report) {
+        return new ImportCustomersResponse(
+                report.items().size(),
+                report.created(),
+                report.rejected(),
+                report.elapsed().toMillis(),
+                report.throughputPerSecond(),
+                report.items().stream()
+                        .map(item -> new Item(
+                                item.index(),
+                                item.cpf(),
+                                item.status(),
+                                item.customerId(),
+                                item.cpfStatus(),
+                                item.message()))
+                        .toList());
+    }
+}
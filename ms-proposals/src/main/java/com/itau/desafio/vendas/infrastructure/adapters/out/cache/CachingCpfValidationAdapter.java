@@ -0,0 +1,103 @@
+package com.itau.desafio.vendas.infrastructure.adapters.out.cache;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.itau.desafio.vendas.domain.model.CpfStatus;
+import com.itau.desafio.vendas.domain.model.CpfValidationResult;
+import com.itau.desafio.vendas.domain.port.out.CpfValidationStrategy;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decorador da estratégia de validação de CPF que consulta o
+ * {@link CpfStatusCache} antes do provedor. Resultados de fallback (provedor
+ * indisponível) não são armazenados, para que a próxima tentativa consulte o
+ * provedor novamente.
+ */
+@Slf4j
+public class CachingCpfValidationAdapter implements CpfValidationStrategy, AutoCloseable {
+
+    private final CpfValidationStrategy delegate;
+    private final CpfStatusCache cache;
+
+    public CachingCpfValidationAdapter(CpfValidationStrategy delegate, CpfStatusCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public CpfStatus validateCpf(String cpf) {
+        return validate(cpf).status();
+    }
+
+    @Override
+    public CpfValidationResult validate(String cpf) {
+        Optional<CpfStatus> cached = cache.get(cpf);
+        if (cached.isPresent()) {
+            log.debug("Status do CPF {} obtido do cache: {}", cpf, cached.get());
+            return CpfValidationResult.of(cached.get());
+        }
+        return validateAndCache(cpf);
+    }
+
+    /**
+     * Consulta o cache para todo o lote e repassa ao provedor, em um único
+     * lote, apenas os CPFs ausentes.
+     */
+    @Override
+    public Map<String, CpfValidationResult> validateCpfs(Collection<String> cpfs) {
+        Collection<String> distinct = new LinkedHashSet<>(cpfs);
+        Map<String, CpfStatus> cached = cache.getAll(distinct);
+        List<String> missing = distinct.stream()
+                .filter(cpf -> !cached.containsKey(cpf))
+                .toList();
+        Map<String, CpfValidationResult> fetched = missing.isEmpty() ? Map.of() : delegate.validateCpfs(missing);
+
+        Map<String, CpfStatus> toCache = new LinkedHashMap<>();
+        fetched.forEach((cpf, result) -> {
+            if (!result.fallback()) {
+                toCache.put(cpf, result.status());
+            }
+        });
+        cache.putAll(toCache);
+
+        Map<String, CpfValidationResult> results = new LinkedHashMap<>();
+        for (String cpf : distinct) {
+            CpfStatus status = cached.get(cpf);
+            results.put(cpf, status != null ? CpfValidationResult.of(status) : fetched.get(cpf));
+        }
+        log.debug("Lote de {} CPFs: {} respondidos pelo cache", distinct.size(), cached.size());
+        return results;
+    }
+
+    @Override
+    public CpfValidationResult revalidate(String cpf) {
+        cache.evict(cpf);
+        return validateAndCache(cpf);
+    }
+
+    private CpfValidationResult validateAndCache(String cpf) {
+        CpfValidationResult result = delegate.validate(cpf);
+        if (!result.fallback()) {
+            cache.put(cpf, result.status());
+        }
+        return result;
+    }
+
+    /**
+     * Repassa o encerramento ao provedor decorado, quando ele tem recursos
+     * próprios (ex.: o executor do hedging). O {@link CpfStatusCache} não é
+     * encerrado: ele sobrevive à troca de provedor.
+     */
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.itau.desafio.vendas.infrastructure.adapters.out.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.itau.desafio.vendas.domain.model.CpfStatus;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache de dois níveis do status de CPF: Caffeine em memória (L1) e,
+ * opcionalmente, uma coleção MongoDB compartilhada entre as instâncias (L2).
+ * <p>
+ * O TTL depende do status: {@code definitiveTtl} para {@code CPF_ATIVO} e
+ * {@code CPF_INEXISTENTE}, {@code pendingTtl} para
+ * {@code PENDENTE_VALIDACAO_RECEITA} e {@code defaultTtl} para os demais. Um
+ * acerto no L2 é promovido ao L1 com o tempo de vida restante. Falhas no L2
+ * são registradas e tratadas como ausência no cache.
+ */
+@Slf4j
+public class CpfStatusCache {
+
+    private final Cache<String, Entry> localCache;
+    private final MongoCpfStatusStore sharedStore;
+    private final Duration definitiveTtl;
+    private final Duration pendingTtl;
+    private final Duration defaultTtl;
+    private final Clock clock;
+
+    private final Counter localHits;
+    private final Counter sharedHits;
+    private final Counter misses;
+    private final Counter upstreamAvoided;
+
+    public CpfStatusCache(long maximumSize, Duration definitiveTtl, Duration pendingTtl, Duration defaultTtl,
+            MongoCpfStatusStore sharedStore, MeterRegistry meterRegistry) {
+        this(maximumSize, definitiveTtl, pendingTtl, defaultTtl, sharedStore, meterRegistry, Clock.systemUTC());
+    }
+
+    CpfStatusCache(long maximumSize, Duration definitiveTtl, Duration pendingTtl, Duration defaultTtl,
+            MongoCpfStatusStore sharedStore, MeterRegistry meterRegistry, Clock clock) {
+        this.definitiveTtl = definitiveTtl;
+        this.pendingTtl = pendingTtl;
+        this.defaultTtl = defaultTtl;
+        this.sharedStore = sharedStore;
+        this.clock = clock;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new EntryExpiry())
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "cpfStatus");
+        this.localHits = lookupCounter(meterRegistry, "l1_hit");
+        this.sharedHits = lookupCounter(meterRegistry, "l2_hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        this.upstreamAvoided = Counter.builder("cpf.validation.upstream.avoided")
+                .description("Consultas ao provedor de CPF evitadas pelo cache")
+                .register(meterRegistry);
+        Gauge.builder("cpf.validation.cache.hit.ratio", this, CpfStatusCache::hitRatio)
+                .description("Proporção de validações de CPF respondidas pelo cache (L1 + L2)")
+                .register(meterRegistry);
+    }
+
+    public Optional<CpfStatus> get(String cpf) {
+        Entry local = localCache.getIfPresent(cpf);
+        if (local != null) {
+            localHits.increment();
+            upstreamAvoided.increment();
+            return Optional.of(local.status());
+        }
+        Optional<Entry> shared = findShared(cpf);
+        if (shared.isPresent()) {
+            localCache.put(cpf, shared.get());
+            sharedHits.increment();
+            upstreamAvoided.increment();
+            return Optional.of(shared.get().status());
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Versão em lote de {@link #get(String)}: os CPFs ausentes no L1 são
+     * buscados no L2 com uma única consulta.
+     *
+     * @return Apenas os CPFs encontrados no cache.
+     */
+    public Map<String, CpfStatus> getAll(Collection<String> cpfs) {
+        Map<String, CpfStatus> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String cpf : cpfs) {
+            Entry local = localCache.getIfPresent(cpf);
+            if (local != null) {
+                localHits.increment();
+                found.put(cpf, local.status());
+            } else {
+                missing.add(cpf);
+            }
+        }
+        Map<String, Entry> shared = findAllShared(missing);
+        shared.forEach((cpf, entry) -> {
+            localCache.put(cpf, entry);
+            found.put(cpf, entry.status());
+        });
+        sharedHits.increment(shared.size());
+        misses.increment(missing.size() - shared.size());
+        upstreamAvoided.increment(found.size());
+        return found;
+    }
+
+    public void put(String cpf, CpfStatus status) {
+        Instant now = clock.instant();
+        Entry entry = new Entry(status, now.plus(ttlFor(status)));
+        localCache.put(cpf, entry);
+        if (sharedStore != null) {
+            try {
+                sharedStore.save(cpf, status, now, entry.expiresAt());
+            } catch (RuntimeException e) {
+                log.warn("Falha ao gravar o status do CPF no cache compartilhado: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Versão em lote de {@link #put(String, CpfStatus)}, com uma única escrita
+     * no L2.
+     */
+    public void putAll(Map<String, CpfStatus> statuses) {
+        if (statuses.isEmpty()) {
+            return;
+        }
+        Instant now = clock.instant();
+        Map<String, Entry> entries = new HashMap<>();
+        statuses.forEach((cpf, status) -> entries.put(cpf, new Entry(status, now.plus(ttlFor(status)))));
+        localCache.putAll(entries);
+        if (sharedStore != null) {
+            try {
+                sharedStore.saveAll(entries.entrySet().stream()
+                        .map(e -> MongoCpfStatusStore.document(e.getKey(), e.getValue().status(), now,
+                                e.getValue().expiresAt()))
+                        .toList());
+            } catch (RuntimeException e) {
+                log.warn("Falha ao gravar o lote de status de CPF no cache compartilhado: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Remove o CPF dos dois níveis do cache.
+     */
+    public void evict(String cpf) {
+        localCache.invalidate(cpf);
+        if (sharedStore != null) {
+            try {
+                sharedStore.delete(cpf);
+            } catch (RuntimeException e) {
+                log.warn("Falha ao remover o status do CPF do cache compartilhado: {}", e.getMessage());
+            }
+        }
+    }
+
+    Duration ttlFor(CpfStatus status) {
+        return switch (status) {
+            case CPF_ATIVO, CPF_INEXISTENTE -> definitiveTtl;
+            case PENDENTE_VALIDACAO_RECEITA -> pendingTtl;
+            default -> defaultTtl;
+        };
+    }
+
+    private Optional<Entry> findShared(String cpf) {
+        if (sharedStore == null) {
+            return Optional.empty();
+        }
+        try {
+            return sharedStore.find(cpf, clock.instant())
+                    .map(document -> new Entry(document.getCpfStatus(), document.getExpiresAt()));
+        } catch (RuntimeException e) {
+            log.warn("Falha ao consultar o cache compartilhado de status de CPF: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private Map<String, Entry> findAllShared(Collection<String> cpfs) {
+        if (sharedStore == null || cpfs.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            Map<String, Entry> entries = new HashMap<>();
+            sharedStore.findAll(cpfs, clock.instant()).forEach(document -> entries.put(document.getCpf(),
+                    new Entry(document.getCpfStatus(), document.getExpiresAt())));
+            return entries;
+        } catch (RuntimeException e) {
+            log.warn("Falha ao consultar o cache compartilhado de status de CPF: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private double hitRatio() {
+        double hits = localHits.count() + sharedHits.count();
+        double total = hits + misses.count();
+        return total == 0 ? 0 : hits / total;
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cpf.validation.cache.lookups")
+                .description("Consultas ao cache de status de CPF por resultado")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Entry(CpfStatus status, Instant expiresAt) {
+    }
+
+    /**
+     * Expira cada entrada em {@code expiresAt}, que já reflete o TTL do status
+     * (ou o tempo restante, quando promovida do L2).
+     */
+    private final class EntryExpiry implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String cpf, Entry entry, long currentTime) {
+            return Math.max(0, Duration.between(clock.instant(), entry.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String cpf, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(cpf, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String cpf, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
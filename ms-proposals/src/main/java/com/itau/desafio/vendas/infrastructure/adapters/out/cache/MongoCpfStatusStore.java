@@ -0,0 +1,75 @@
+package com.itau.desafio.vendas.infrastructure.adapters.out.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.itau.desafio.vendas.domain.model.CpfStatus;
+import com.itau.desafio.vendas.infrastructure.adapters.out.persistence.mongodb.documents.CpfStatusCacheDocument;
+
+/**
+ * Nível compartilhado (L2) do cache de status de CPF, na coleção
+ * {@code cpf_status_cache}. Um índice TTL em {@code expiresAt} remove as
+ * entradas vencidas; como a remoção do MongoDB é periódica, a expiração
+ * também é verificada na leitura.
+ */
+public class MongoCpfStatusStore {
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoCpfStatusStore(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+        mongoTemplate.indexOps(CpfStatusCacheDocument.class)
+                .createIndex(new Index().on("expiresAt", Sort.Direction.ASC).expire(Duration.ZERO));
+    }
+
+    public Optional<CpfStatusCacheDocument> find(String cpf, Instant now) {
+        return Optional.ofNullable(mongoTemplate.findById(cpf, CpfStatusCacheDocument.class))
+                .filter(document -> document.getExpiresAt().isAfter(now));
+    }
+
+    public List<CpfStatusCacheDocument> findAll(Collection<String> cpfs, Instant now) {
+        return mongoTemplate.find(Query.query(Criteria.where("_id").in(cpfs).and("expiresAt").gt(now)),
+                CpfStatusCacheDocument.class);
+    }
+
+    public void delete(String cpf) {
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(cpf)), CpfStatusCacheDocument.class);
+    }
+
+    public void save(String cpf, CpfStatus cpfStatus, Instant now, Instant expiresAt) {
+        mongoTemplate.save(document(cpf, cpfStatus, now, expiresAt));
+    }
+
+    /**
+     * Grava (ou substitui) as entradas com uma única operação em lote.
+     */
+    public void saveAll(List<CpfStatusCacheDocument> documents) {
+        if (documents.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CpfStatusCacheDocument.class);
+        documents.forEach(document -> bulk.replaceOne(Query.query(Criteria.where("_id").is(document.getCpf())),
+                document, FindAndReplaceOptions.options().upsert()));
+        bulk.execute();
+    }
+
+    static CpfStatusCacheDocument document(String cpf, CpfStatus cpfStatus, Instant now, Instant expiresAt) {
+        return CpfStatusCacheDocument.builder()
+                .cpf(cpf)
+                .cpfStatus(cpfStatus)
+                .cachedAt(now)
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
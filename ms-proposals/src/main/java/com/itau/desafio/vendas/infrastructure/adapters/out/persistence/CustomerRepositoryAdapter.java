@@ -1,16 +1,33 @@
 package com.itau.desafio.vendas.infrastructure.adapters.out.persistence;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Component;
 
+import com.itau.desafio.vendas.domain.model.CpfStatus;
+
 import com.itau.desafio.vendas.domain.model.Customer;
 import com.itau.desafio.vendas.domain.model.PageQuery;
 import com.itau.desafio.vendas.domain.model.PaginatedResult;
@@ -24,11 +41,27 @@ public class CustomerRepositoryAdapter implements CustomerRepositoryPort {
 
     private final MongoCustomerRepository mongoCustomerRepository;
     private final CustomerPersistenceMapper customerMapper;
+    private final MongoTemplate mongoTemplate;
 
     public CustomerRepositoryAdapter(MongoCustomerRepository mongoCustomerRepository,
-            CustomerPersistenceMapper customerMapper) {
+            CustomerPersistenceMapper customerMapper,
+            MongoTemplate mongoTemplate) {
         this.mongoCustomerRepository = mongoCustomerRepository;
         this.customerMapper = customerMapper;
+        this.mongoTemplate = mongoTemplate;
+        ensureIndexes(mongoTemplate);
+    }
+
+    /**
+     * Cria os índices declarados em {@link CustomerDocument} (CPF e os usados
+     * pela revalidação de CPFs pendentes), já que a criação automática de
+     * índices do Spring Data não está habilitada.
+     */
+    private static void ensureIndexes(MongoTemplate mongoTemplate) {
+        IndexOperations indexOperations = mongoTemplate.indexOps(CustomerDocument.class);
+        new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext())
+                .resolveIndexFor(CustomerDocument.class)
+                .forEach(indexOperations::createIndex);
     }
 
     @Override
@@ -77,4 +110,83 @@ public class CustomerRepositoryAdapter implements CustomerRepositoryPort {
     public void deleteById(UUID id) {
         mongoCustomerRepository.deleteById(id);
     }
+
+    @Override
+    public Set<String> findExistingCpfs(Collection<String> cpfs) {
+        if (cpfs.isEmpty()) {
+            return Set.of();
+        }
+        return mongoCustomerRepository.findCpfsByCpfIn(cpfs).stream()
+                .map(CustomerDocument::getCpf)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Inserção em lote não ordenada ({@code insertMany} com
+     * {@code ordered=false}): o MongoDB segue inserindo após um erro e informa
+     * o índice de cada documento rejeitado.
+     */
+    @Override
+    public Set<UUID> insertAll(List<Customer> customers) {
+        if (customers.isEmpty()) {
+            return Set.of();
+        }
+        List<CustomerDocument> documents = customers.stream()
+                .map(customerMapper::fromDomainModel)
+                .toList();
+        Set<Integer> failedIndexes = new HashSet<>();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CustomerDocument.class)
+                    .insert(documents)
+                    .execute();
+        } catch (BulkOperationException e) {
+            e.getErrors().forEach(error -> failedIndexes.add(error.getIndex()));
+        }
+
+        Set<UUID> inserted = new HashSet<>();
+        for (int i = 0; i < documents.size(); i++) {
+            if (!failedIndexes.contains(i)) {
+                inserted.add(documents.get(i).getId());
+            }
+        }
+        return inserted;
+    }
+
+    @Override
+    public List<Customer> findByCpfStatus(CpfStatus cpfStatus, UUID afterId, int limit) {
+        List<CustomerDocument> documents = afterId == null
+                ? mongoCustomerRepository.findByCpfStatusOrderByIdAsc(cpfStatus, Limit.of(limit))
+                : mongoCustomerRepository.findByCpfStatusAndIdGreaterThanOrderByIdAsc(cpfStatus, afterId,
+                        Limit.of(limit));
+        return documents.stream()
+                .map(customerMapper::toDomainModel)
+                .toList();
+    }
+
+    @Override
+    public long countByCpfStatus(CpfStatus cpfStatus) {
+        return mongoCustomerRepository.countByCpfStatus(cpfStatus);
+    }
+
+    /**
+     * {@code updateFirst} filtrando por {@code _id} e pelo status esperado: não
+     * lê o documento antes, e uma alteração concorrente (ou a remoção do
+     * cliente) simplesmente não casa com o filtro. Remove o cliente do cache,
+     * já que a atualização não passa pelo {@link #save(Customer)}.
+     */
+    @Override
+    @CacheEvict(value = "customers", key = "#id")
+    public boolean updateCpfStatusIfCurrent(UUID id, CpfStatus expectedStatus, CpfStatus newStatus) {
+        Query query = Query.query(Criteria.where("_id").is(id).and("cpfStatus").is(expectedStatus));
+        Update update = new Update()
+                .set("cpfStatus", newStatus)
+                .set("lastModifiedAt", LocalDateTime.now());
+        return mongoTemplate.updateFirst(query, update, CustomerDocument.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public Optional<LocalDateTime> findOldestCreatedAtByCpfStatus(CpfStatus cpfStatus) {
+        return mongoCustomerRepository.findFirstByCpfStatusOrderByCreatedAtAsc(cpfStatus)
+                .map(CustomerDocument::getCreatedAt);
+    }
 }
@@ -1,12 +1,29 @@
 package com.itau.desafio.vendas.infrastructure.adapters.out.persistence.mongodb;
 
+import com.itau.desafio.vendas.domain.model.CpfStatus;
 import com.itau.desafio.vendas.infrastructure.adapters.out.persistence.mongodb.documents.CustomerDocument;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface MongoCustomerRepository extends MongoRepository<CustomerDocument, UUID> {
 
     boolean existsByCpf(String cpf);
 
+    @Query(value = "{ 'cpf': { $in: ?0 } }", fields = "{ 'cpf': 1 }")
+    List<CustomerDocument> findCpfsByCpfIn(Collection<String> cpfs);
+
+    List<CustomerDocument> findByCpfStatusOrderByIdAsc(CpfStatus cpfStatus, Limit limit);
+
+    List<CustomerDocument> findByCpfStatusAndIdGreaterThanOrderByIdAsc(CpfStatus cpfStatus, UUID id, Limit limit);
+
+    long countByCpfStatus(CpfStatus cpfStatus);
+
+    Optional<CustomerDocument> findFirstByCpfStatusOrderByCreatedAtAsc(CpfStatus cpfStatus);
+
 }
@@ -0,0 +1,25 @@
+package com.itau.desafio.vendas.infrastructure.adapters.out.persistence.mongodb.documents;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import com.itau.desafio.vendas.domain.model.CpfStatus;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Document(collection = "cpf_status_cache")
+@Builder
+public class CpfStatusCacheDocument {
+    @Id
+    private String cpf;
+
+    private CpfStatus cpfStatus;
+
+    private Instant cachedAt;
+
+    private Instant expiresAt;
+}
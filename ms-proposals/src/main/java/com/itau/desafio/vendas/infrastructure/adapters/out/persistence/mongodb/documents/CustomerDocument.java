@@ -10,6 +10,8 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedBy;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.domain.Persistable;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -20,12 +22,15 @@ import lombok.Data;
 
 @Data
 @Document(collection = "customers")
+@CompoundIndex(name = "cpfStatus_id", def = "{'cpfStatus': 1, '_id': 1}")
+@CompoundIndex(name = "cpfStatus_createdAt", def = "{'cpfStatus': 1, 'createdAt': 1}")
 @Builder
 public class CustomerDocument implements Persistable<UUID> {
     @Id
     private UUID id;
 
-    private String cpf;    
+    @Indexed(unique = true)
+    private String cpf;
 
     private CpfStatus cpfStatus;
 
@@ -0,0 +1,23 @@
+package com.itau.desafio.vendas.infrastructure.adapters.out.persistence.mongodb.documents;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Document(collection = "scheduler_locks")
+@Builder
+public class SchedulerLockDocument {
+    @Id
+    private String name;
+
+    private String lockedBy;
+
+    private Instant lockedAt;
+
+    private Instant lockedUntil;
+}
@@ -0,0 +1,82 @@
+package com.itau.desafio.vendas.infrastructure.adapters.out.rest;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import com.amazonaws.xray.AWSXRay;
+import com.amazonaws.xray.entities.Entity;
+import com.itau.desafio.vendas.domain.model.CpfStatus;
+import com.itau.desafio.vendas.domain.model.CpfValidationResult;
+import com.itau.desafio.vendas.domain.port.out.CpfValidationStrategy;
+
+/**
+ * Validação em lote para provedores sem consulta em lote: distribui as
+ * chamadas a {@link CpfValidationStrategy#validate(String)} em virtual
+ * threads, com no máximo {@link #BATCH_CONCURRENCY} chamadas simultâneas.
+ * Cada chamada roda no segmento X-Ray de quem pediu o lote, para que os
+ * subsegmentos das consultas fiquem no trace da requisição.
+ */
+public final class CpfValidationFanOut {
+
+    /**
+     * Máximo de validações simultâneas de um mesmo lote.
+     */
+    public static final int BATCH_CONCURRENCY = 16;
+
+    private CpfValidationFanOut() {
+    }
+
+    /**
+     * Valida cada CPF distinto chamando {@code strategy.validate}. Uma falha
+     * individual resulta em fallback com
+     * {@link CpfStatus#PENDENTE_VALIDACAO_RECEITA}, sem afetar os demais CPFs.
+     *
+     * @return O resultado de cada CPF distinto, na ordem de entrada.
+     */
+    public static Map<String, CpfValidationResult> validateAll(CpfValidationStrategy strategy,
+            Collection<String> cpfs) {
+        Map<String, Future<CpfValidationResult>> calls = new LinkedHashMap<>();
+        Semaphore permits = new Semaphore(BATCH_CONCURRENCY);
+        Entity traceEntity = AWSXRay.getTraceEntity();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String cpf : new LinkedHashSet<>(cpfs)) {
+                calls.put(cpf, executor.submit(() -> {
+                    if (traceEntity != null) {
+                        AWSXRay.setTraceEntity(traceEntity);
+                    }
+                    permits.acquire();
+                    try {
+                        return strategy.validate(cpf);
+                    } finally {
+                        permits.release();
+                        if (traceEntity != null) {
+                            AWSXRay.clearTraceEntity();
+                        }
+                    }
+                }));
+            }
+
+            Map<String, CpfValidationResult> results = new LinkedHashMap<>();
+            calls.forEach((cpf, call) -> results.put(cpf, resultOf(call)));
+            return results;
+        }
+    }
+
+    private static CpfValidationResult resultOf(Future<CpfValidationResult> call) {
+        try {
+            return call.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CpfValidationResult.fallback(CpfStatus.PENDENTE_VALIDACAO_RECEITA);
+        } catch (ExecutionException e) {
+            return CpfValidationResult.fallback(CpfStatus.PENDENTE_VALIDACAO_RECEITA);
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package com.itau.desafio.vendas.infrastructure.adapters.out.rest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.amazonaws.xray.AWSXRay;
+import com.amazonaws.xray.entities.Entity;
+import com.itau.desafio.vendas.domain.model.CpfStatus;
+import com.itau.desafio.vendas.domain.model.CpfValidationResult;
+import com.itau.desafio.vendas.domain.port.out.CpfValidationStrategy;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decorador que envia requisições "hedged" ao provedor secundário de CPF.
+ * <p>
+ * A validação vai primeiro ao provedor principal. Se ele não responder dentro
+ * do seu p95 recente (limitado a {@code [minDelay, maxDelay]}), ou responder
+ * com fallback/erro antes disso, a mesma consulta é enviada ao secundário e
+ * vale a primeira resposta válida (sem fallback). A chamada perdedora não é
+ * interrompida, para que sua latência continue alimentando o histograma.
+ * <p>
+ * O {@link RateLimiter} limita as chamadas extras por segundo, protegendo a
+ * cota do secundário; sem permissão, aguarda-se apenas o principal. Até o
+ * principal acumular {@value #MIN_SAMPLES} respostas válidas, ou quando não há
+ * respostas recentes, a espera é {@code maxDelay}.
+ * <p>
+ * Em {@link #validateCpfs(Collection)}, o lote vai inteiro ao principal e só
+ * os CPFs que voltaram com fallback (ou o lote todo, se a chamada falhar) são
+ * reenviados, também em lote, ao secundário. Cada CPF consome uma permissão do
+ * {@link RateLimiter}: vão ao secundário os CPFs que obtiverem permissão, e os
+ * demais ficam com a resposta do principal.
+ * <p>
+ * O adaptador mantém um executor próprio para as chamadas; {@link #close()}
+ * o encerra quando o bean é descartado (ex.: no refresh da configuração).
+ */
+@Slf4j
+public class HedgingCpfValidationAdapter implements CpfValidationStrategy, AutoCloseable {
+
+    static final int MIN_SAMPLES = 20;
+
+    private final Provider primary;
+    private final Provider secondary;
+    private final RateLimiter hedgeRateLimiter;
+    private final Duration minDelay;
+    private final Duration maxDelay;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("cpf-hedge-", 0).factory());
+
+    private final Counter hedgesFired;
+    private final Counter hedgesWon;
+    private final Counter hedgesDenied;
+
+    public HedgingCpfValidationAdapter(String primaryName, CpfValidationStrategy primary,
+            String secondaryName, CpfValidationStrategy secondary,
+            RateLimiter hedgeRateLimiter, Duration minDelay, Duration maxDelay,
+            MeterRegistry meterRegistry) {
+        this.primary = new Provider(primaryName, primary, meterRegistry);
+        this.secondary = new Provider(secondaryName, secondary, meterRegistry);
+        this.hedgeRateLimiter = hedgeRateLimiter;
+        this.minDelay = minDelay;
+        this.maxDelay = maxDelay;
+        this.hedgesFired = hedgeCounter(meterRegistry, "fired");
+        this.hedgesWon = hedgeCounter(meterRegistry, "won");
+        this.hedgesDenied = hedgeCounter(meterRegistry, "denied");
+        log.info("Hedging de validação de CPF habilitado: principal '{}', secundário '{}'.", primaryName,
+                secondaryName);
+    }
+
+    private static Counter hedgeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("cpf.validation.hedge")
+                .description("Requisições hedged ao provedor secundário de CPF por resultado")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CpfStatus validateCpf(String cpf) {
+        return validate(cpf).status();
+    }
+
+    @Override
+    public CpfValidationResult validate(String cpf) {
+        Entity traceEntity = AWSXRay.getTraceEntity();
+        Duration delay = hedgeDelay();
+        CompletableFuture<Attempt> primaryCall = primary.call(cpf, traceEntity);
+
+        Attempt early = awaitWithin(primaryCall, delay);
+        if (early != null && early.valid()) {
+            return early.result();
+        }
+        if (!hedgeRateLimiter.acquirePermission()) {
+            hedgesDenied.increment();
+            log.debug("Limite de requisições hedged atingido; aguardando o provedor '{}'.", primary.name);
+            return (early != null ? early : primaryCall.join()).resultOrThrow();
+        }
+
+        hedgesFired.increment();
+        log.debug("Provedor '{}' sem resposta válida em {} ms; consultando '{}'.", primary.name, delay.toMillis(),
+                secondary.name);
+        CompletableFuture<Attempt> secondaryCall = secondary.call(cpf, traceEntity);
+
+        Attempt winner = firstValid(primaryCall, secondaryCall).join();
+        if (winner == null) {
+            return primaryCall.join().resultOrThrow();
+        }
+        if (winner.provider() == secondary) {
+            hedgesWon.increment();
+        }
+        return winner.result();
+    }
+
+    @Override
+    public Map<String, CpfValidationResult> validateCpfs(Collection<String> cpfs) {
+        Collection<String> distinct = new LinkedHashSet<>(cpfs);
+        Map<String, CpfValidationResult> primaryResults;
+        RuntimeException primaryError = null;
+        try {
+            primaryResults = primary.strategy.validateCpfs(distinct);
+        } catch (RuntimeException e) {
+            primaryError = e;
+            primaryResults = Map.of();
+        }
+
+        Map<String, CpfValidationResult> answered = primaryResults;
+        List<String> retry = distinct.stream()
+                .filter(cpf -> !isValid(answered.get(cpf)))
+                .toList();
+        if (retry.isEmpty()) {
+            return primaryResults;
+        }
+        List<String> hedged = permitted(retry);
+        int denied = retry.size() - hedged.size();
+        if (denied > 0) {
+            hedgesDenied.increment(denied);
+            log.debug("Limite de requisições hedged atingido; {} CPFs do lote ficam com a resposta do provedor '{}'.",
+                    denied, primary.name);
+        }
+        if (hedged.isEmpty()) {
+            if (primaryError != null) {
+                throw primaryError;
+            }
+            return merge(distinct, primaryResults, Map.of());
+        }
+
+        hedgesFired.increment(hedged.size());
+        log.debug("Provedor '{}' sem resposta válida para {} CPFs do lote; consultando '{}'.", primary.name,
+                hedged.size(), secondary.name);
+        Map<String, CpfValidationResult> secondaryResults;
+        try {
+            secondaryResults = secondary.strategy.validateCpfs(hedged);
+        } catch (RuntimeException e) {
+            if (primaryError != null) {
+                throw primaryError;
+            }
+            log.warn("Lote hedged ao provedor '{}' falhou: {}", secondary.name, e.getMessage());
+            secondaryResults = Map.of();
+        }
+        return merge(distinct, primaryResults, secondaryResults);
+    }
+
+    /**
+     * Obtém uma permissão do {@link RateLimiter} por CPF, na ordem do lote,
+     * parando na primeira recusada.
+     *
+     * @return Os CPFs que podem ser enviados ao secundário.
+     */
+    private List<String> permitted(List<String> cpfs) {
+        List<String> permitted = new ArrayList<>(cpfs.size());
+        for (String cpf : cpfs) {
+            if (!hedgeRateLimiter.acquirePermission()) {
+                break;
+            }
+            permitted.add(cpf);
+        }
+        return permitted;
+    }
+
+    /**
+     * Encerra o executor das chamadas. Chamadas ainda em andamento terminam
+     * normalmente; novas chamadas a {@link #validate(String)} são recusadas.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * Fica com a resposta do principal, a menos que apenas o secundário tenha
+     * respondido sem fallback; CPFs sem resposta de nenhum dos dois ficam
+     * pendentes.
+     */
+    private Map<String, CpfValidationResult> merge(Collection<String> cpfs,
+            Map<String, CpfValidationResult> primaryResults, Map<String, CpfValidationResult> secondaryResults) {
+        Map<String, CpfValidationResult> results = new LinkedHashMap<>();
+        for (String cpf : cpfs) {
+            CpfValidationResult fromPrimary = primaryResults.get(cpf);
+            CpfValidationResult fromSecondary = secondaryResults.get(cpf);
+            if (!isValid(fromPrimary) && isValid(fromSecondary)) {
+                hedgesWon.increment();
+                results.put(cpf, fromSecondary);
+            } else if (fromPrimary != null) {
+                results.put(cpf, fromPrimary);
+            } else {
+                results.put(cpf, fromSecondary != null
+                        ? fromSecondary
+                        : CpfValidationResult.fallback(CpfStatus.PENDENTE_VALIDACAO_RECEITA));
+            }
+        }
+        return results;
+    }
+
+    private static boolean isValid(CpfValidationResult result) {
+        return result != null && !result.fallback();
+    }
+
+    /**
+     * p95 recente do provedor principal, limitado a {@code [minDelay, maxDelay]}.
+     */
+    Duration hedgeDelay() {
+        long p95 = primary.p95Nanos();
+        if (p95 <= 0) {
+            return maxDelay;
+        }
+        Duration delay = Duration.ofNanos(p95);
+        if (delay.compareTo(minDelay) < 0) {
+            return minDelay;
+        }
+        return delay.compareTo(maxDelay) > 0 ? maxDelay : delay;
+    }
+
+    /**
+     * Completa com a primeira tentativa válida, ou com {@code null} se nenhuma
+     * das duas for válida.
+     */
+    private static CompletableFuture<Attempt> firstValid(CompletableFuture<Attempt> first,
+            CompletableFuture<Attempt> second) {
+        CompletableFuture<Attempt> winner = new CompletableFuture<>();
+        first.thenAccept(attempt -> completeIfValid(winner, attempt));
+        second.thenAccept(attempt -> completeIfValid(winner, attempt));
+        // Os dependentes podem rodar antes dos thenAccept acima; por isso a
+        // conclusão de ambas também procura uma tentativa válida.
+        CompletableFuture.allOf(first, second).thenRun(() -> {
+            completeIfValid(winner, first.join());
+            completeIfValid(winner, second.join());
+            winner.complete(null);
+        });
+        return winner;
+    }
+
+    private static void completeIfValid(CompletableFuture<Attempt> winner, Attempt attempt) {
+        if (attempt.valid()) {
+            winner.complete(attempt);
+        }
+    }
+
+    private static Attempt awaitWithin(CompletableFuture<Attempt> call, Duration timeout) {
+        try {
+            return call.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Resultado de uma chamada a um provedor; {@code error} é preenchido
+     * quando a chamada lançou exceção.
+     */
+    private record Attempt(Provider provider, CpfValidationResult result, RuntimeException error) {
+
+        boolean valid() {
+            return error == null && !result.fallback();
+        }
+
+        CpfValidationResult resultOrThrow() {
+            if (error != null) {
+                throw error;
+            }
+            return result;
+        }
+    }
+
+    private final class Provider {
+
+        private final String name;
+        private final CpfValidationStrategy strategy;
+        private final Timer latency;
+
+        Provider(String name, CpfValidationStrategy strategy, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.strategy = strategy;
+            this.latency = Timer.builder("cpf.validation.provider.latency")
+                    .description("Latência das respostas válidas do provedor de CPF")
+                    .tag("provider", name)
+                    .publishPercentiles(0.95)
+                    .distributionStatisticExpiry(Duration.ofMinutes(1))
+                    .distributionStatisticBufferLength(3)
+                    .register(meterRegistry);
+        }
+
+        /**
+         * Chama o provedor em uma virtual thread, propagando o contexto do
+         * X-Ray da requisição original.
+         */
+        CompletableFuture<Attempt> call(String cpf, Entity traceEntity) {
+            return CompletableFuture.supplyAsync(() -> {
+                if (traceEntity != null) {
+                    AWSXRay.setTraceEntity(traceEntity);
+                }
+                long start = System.nanoTime();
+                try {
+                    Attempt attempt = new Attempt(this, strategy.validate(cpf), null);
+                    if (attempt.valid()) {
+                        latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    }
+                    return attempt;
+                } catch (RuntimeException e) {
+                    return new Attempt(this, null, e);
+                } finally {
+                    if (traceEntity != null) {
+                        AWSXRay.clearTraceEntity();
+                    }
+                }
+            }, executor);
+        }
+
+        long p95Nanos() {
+            HistogramSnapshot snapshot = latency.takeSnapshot();
+            ValueAtPercentile[] percentiles = snapshot.percentileValues();
+            if (snapshot.count() < MIN_SAMPLES || percentiles.length == 0) {
+                return 0;
+            }
+            return (long) percentiles[0].value(TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package com.itau.desafio.vendas.infrastructure.adapters.out.rest;
 
 import com.itau.desafio.vendas.domain.model.CpfStatus;
+import com.itau.desafio.vendas.domain.model.CpfValidationResult;
 import com.itau.desafio.vendas.domain.port.out.CpfValidationStrategy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Implementação da estratégia de validação de CPF que representa o provedor
  * "Jato".
@@ -21,4 +26,16 @@ public class JatoCpfServicesAdapter implements CpfValidationStrategy {
         log.debug("Estratégia 'JatoCpfServicesAdapter' em uso. Retornando CPF_ATIVO para o CPF: {}", cpf);
         return CpfStatus.CPF_ATIVO;
     }
+
+    /**
+     * Consulta em lote: responde todos os CPFs em uma única passagem, sem
+     * distribuir chamadas individuais.
+     */
+    @Override
+    public Map<String, CpfValidationResult> validateCpfs(Collection<String> cpfs) {
+        log.debug("Estratégia 'JatoCpfServicesAdapter' em uso. Retornando CPF_ATIVO para {} CPFs", cpfs.size());
+        Map<String, CpfValidationResult> results = new LinkedHashMap<>();
+        cpfs.forEach(cpf -> results.put(cpf, CpfValidationResult.of(CpfStatus.CPF_ATIVO)));
+        return results;
+    }
 }
\ No newline at end of file
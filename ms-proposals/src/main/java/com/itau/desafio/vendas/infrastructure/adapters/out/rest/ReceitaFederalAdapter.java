@@ -1,7 +1,11 @@
 package com.itau.desafio.vendas.infrastructure.adapters.out.rest;
 
+import java.util.Collection;
+import java.util.Map;
+
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
@@ -12,6 +16,7 @@ import com.amazonaws.xray.entities.Subsegment;
 import com.itau.desafio.vendas.domain.exceptions.ExternalServiceContractException;
 import com.itau.desafio.vendas.domain.exceptions.ExternalServiceUnavailableException;
 import com.itau.desafio.vendas.domain.model.CpfStatus;
+import com.itau.desafio.vendas.domain.model.CpfValidationResult;
 import com.itau.desafio.vendas.domain.port.out.CpfValidationStrategy;
 import com.itau.desafio.vendas.infrastructure.adapters.out.rest.dto.ReceitaFederalResponse;
 
@@ -25,11 +30,18 @@ public class ReceitaFederalAdapter implements CpfValidationStrategy {
 
     private final RestTemplate restTemplate;
     private final String serviceUrl;
+    private final CpfValidationStrategy self;
 
+    /**
+     * @param self Referência ao próprio bean (proxy), para que cada validação
+     *             do lote passe pelo circuit breaker.
+     */
     public ReceitaFederalAdapter(RestTemplate restTemplate,
-            @Value("${services.receita-federal.url}") String serviceUrl) {
+            @Value("${services.receita-federal.url}") String serviceUrl,
+            @Lazy @Qualifier("receitaFederal") CpfValidationStrategy self) {
         this.restTemplate = restTemplate;
         this.serviceUrl = serviceUrl;
+        this.self = self;
     }
 
     @Override
@@ -38,6 +50,30 @@ public class ReceitaFederalAdapter implements CpfValidationStrategy {
         return this.checkCpfWithReceitaFederalApi(cpf);
     }
 
+    /**
+     * Mesmo fluxo de {@link #validateCpf(String)}, sinalizando quando o
+     * status veio do fallback. Anotado à parte porque a chamada interna a
+     * {@code validateCpf} não passaria pelo proxy do circuit breaker.
+     */
+    @Override
+    @CircuitBreaker(name = "receitaFederalService", fallbackMethod = "cpfValidationResultFallback")
+    public CpfValidationResult validate(String cpf) {
+        return CpfValidationResult.of(this.checkCpfWithReceitaFederalApi(cpf));
+    }
+
+    /**
+     * A Receita Federal não oferece consulta em lote: as validações são
+     * distribuídas pelo proxy do bean, uma chamada por CPF.
+     */
+    @Override
+    public Map<String, CpfValidationResult> validateCpfs(Collection<String> cpfs) {
+        return CpfValidationFanOut.validateAll(self, cpfs);
+    }
+
+    public CpfValidationResult cpfValidationResultFallback(String cpf, Throwable t) {
+        return CpfValidationResult.fallback(cpfValidationFallback(cpf, t));
+    }
+
     public CpfStatus cpfValidationFallback(String cpf, Throwable t) {
         try (Subsegment fallbackSubsegment = AWSXRay.beginSubsegment("Fallback:cpfValidation")) {
             log.warn(
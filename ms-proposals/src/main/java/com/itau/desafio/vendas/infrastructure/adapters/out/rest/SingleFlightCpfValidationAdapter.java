@@ -0,0 +1,168 @@
+package com.itau.desafio.vendas.infrastructure.adapters.out.rest;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.itau.desafio.vendas.domain.model.CpfStatus;
+import com.itau.desafio.vendas.domain.model.CpfValidationResult;
+import com.itau.desafio.vendas.domain.port.out.CpfValidationStrategy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decorador que agrupa validações concorrentes do mesmo CPF (single-flight).
+ * <p>
+ * A primeira chamada para um CPF (já limpo, apenas dígitos) consulta o
+ * provedor na própria thread; as que chegam enquanto ela está em andamento
+ * aguardam e recebem o mesmo resultado ou a mesma exceção. Assim, um envio
+ * duplicado ocupa uma única chamada externa e uma única posição na janela do
+ * circuit breaker. Concluída a chamada, o CPF sai do mapa: nada é guardado
+ * além do tempo da chamada.
+ * <p>
+ * Em {@link #validateCpfs(Collection)}, os CPFs já em andamento são aguardados
+ * e os demais seguem ao provedor em um único lote.
+ */
+@Slf4j
+public class SingleFlightCpfValidationAdapter implements CpfValidationStrategy, AutoCloseable {
+
+    private final CpfValidationStrategy delegate;
+    private final ConcurrentHashMap<String, CompletableFuture<CpfValidationResult>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter leaderCalls;
+    private final Counter coalescedCalls;
+
+    public SingleFlightCpfValidationAdapter(CpfValidationStrategy delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.leaderCalls = Counter.builder("cpf.validation.singleflight")
+                .description("Validações de CPF por papel no agrupamento de chamadas concorrentes")
+                .tag("role", "leader")
+                .register(meterRegistry);
+        this.coalescedCalls = Counter.builder("cpf.validation.singleflight")
+                .description("Validações de CPF por papel no agrupamento de chamadas concorrentes")
+                .tag("role", "follower")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CpfStatus validateCpf(String cpf) {
+        return validate(cpf).status();
+    }
+
+    @Override
+    public CpfValidationResult validate(String cpf) {
+        String key = cpf.replaceAll("[^0-9]", "");
+        CompletableFuture<CpfValidationResult> call = new CompletableFuture<>();
+        CompletableFuture<CpfValidationResult> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalescedCalls.increment();
+            log.debug("Validação do CPF {} já em andamento; aguardando o resultado compartilhado.", key);
+            return await(existing);
+        }
+
+        leaderCalls.increment();
+        try {
+            CpfValidationResult result = delegate.validate(key);
+            call.complete(result);
+            return result;
+        } catch (Throwable e) {
+            // Qualquer falha, inclusive Error, precisa liberar os seguidores.
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Registra como em andamento os CPFs do lote que ainda não estão, envia
+     * esses CPFs ao provedor em uma única chamada e só então aguarda os que
+     * outras chamadas já estavam consultando. Como o lote próprio é concluído
+     * antes de qualquer espera, dois lotes sobrepostos não se bloqueiam.
+     * Uma falha em um CPF aguardado resulta em fallback apenas para ele.
+     */
+    @Override
+    public Map<String, CpfValidationResult> validateCpfs(Collection<String> cpfs) {
+        Map<String, String> keys = new LinkedHashMap<>();
+        for (String cpf : cpfs) {
+            keys.putIfAbsent(cpf, cpf.replaceAll("[^0-9]", ""));
+        }
+
+        Map<String, CompletableFuture<CpfValidationResult>> owned = new LinkedHashMap<>();
+        Map<String, CompletableFuture<CpfValidationResult>> joined = new LinkedHashMap<>();
+        for (String key : keys.values()) {
+            if (owned.containsKey(key) || joined.containsKey(key)) {
+                continue;
+            }
+            CompletableFuture<CpfValidationResult> call = new CompletableFuture<>();
+            CompletableFuture<CpfValidationResult> existing = inFlight.putIfAbsent(key, call);
+            if (existing == null) {
+                owned.put(key, call);
+            } else {
+                joined.put(key, existing);
+            }
+        }
+
+        leaderCalls.increment(owned.size());
+        coalescedCalls.increment(joined.size());
+        if (!owned.isEmpty()) {
+            try {
+                Map<String, CpfValidationResult> fetched = delegate.validateCpfs(owned.keySet());
+                owned.forEach((key, call) -> call.complete(fetched.getOrDefault(key,
+                        CpfValidationResult.fallback(CpfStatus.PENDENTE_VALIDACAO_RECEITA))));
+            } catch (Throwable e) {
+                owned.values().forEach(call -> call.completeExceptionally(e));
+                throw e;
+            } finally {
+                owned.forEach(inFlight::remove);
+            }
+        }
+
+        Map<String, CpfValidationResult> results = new LinkedHashMap<>();
+        keys.forEach((cpf, key) -> {
+            CompletableFuture<CpfValidationResult> call = owned.containsKey(key) ? owned.get(key) : joined.get(key);
+            results.put(cpf, awaitOrFallback(key, call));
+        });
+        return results;
+    }
+
+    private static CpfValidationResult awaitOrFallback(String key, CompletableFuture<CpfValidationResult> call) {
+        try {
+            return await(call);
+        } catch (RuntimeException e) {
+            log.warn("Validação compartilhada do CPF {} falhou: {}. Retornando PENDENTE_VALIDACAO_RECEITA.", key,
+                    e.getMessage());
+            return CpfValidationResult.fallback(CpfStatus.PENDENTE_VALIDACAO_RECEITA);
+        }
+    }
+
+    private static CpfValidationResult await(CompletableFuture<CpfValidationResult> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Repassa o encerramento ao provedor decorado, quando ele tem recursos
+     * próprios (ex.: {@link HedgingCpfValidationAdapter}).
+     */
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.itau.desafio.vendas.infrastructure.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.itau.desafio.vendas.infrastructure.adapters.out.cache.CpfStatusCache;
+import com.itau.desafio.vendas.infrastructure.adapters.out.cache.MongoCpfStatusStore;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Configura o cache de status de CPF usado pela
+ * {@link CpfValidationStrategyFactory}. O cache fica fora do
+ * {@code @RefreshScope} da fábrica, portanto sobrevive à troca de provedor.
+ */
+@Configuration
+@Slf4j
+@ConditionalOnProperty(name = "cpf.validator.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CpfStatusCacheConfig {
+
+    @Bean
+    public CpfStatusCache cpfStatusCache(
+            MongoTemplate mongoTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${cpf.validator.cache.max-size:100000}") long maximumSize,
+            @Value("${cpf.validator.cache.ttl.definitive:24h}") Duration definitiveTtl,
+            @Value("${cpf.validator.cache.ttl.pending:5m}") Duration pendingTtl,
+            @Value("${cpf.validator.cache.ttl.default:1h}") Duration defaultTtl,
+            @Value("${cpf.validator.cache.l2.enabled:false}") boolean sharedEnabled) {
+        log.info("Cache de status de CPF habilitado (L2 compartilhado: {}, TTLs: definitivo {}, pendente {}, demais {})",
+                sharedEnabled, definitiveTtl, pendingTtl, defaultTtl);
+        MongoCpfStatusStore sharedStore = sharedEnabled ? new MongoCpfStatusStore(mongoTemplate) : null;
+        return new CpfStatusCache(maximumSize, definitiveTtl, pendingTtl, defaultTtl, sharedStore, meterRegistry);
+    }
+}
@@ -1,13 +1,24 @@
 package com.itau.desafio.vendas.infrastructure.config;
 
 import com.itau.desafio.vendas.domain.port.out.CpfValidationStrategy;
+import com.itau.desafio.vendas.infrastructure.adapters.out.cache.CachingCpfValidationAdapter;
+import com.itau.desafio.vendas.infrastructure.adapters.out.cache.CpfStatusCache;
+import com.itau.desafio.vendas.infrastructure.adapters.out.rest.HedgingCpfValidationAdapter;
+import com.itau.desafio.vendas.infrastructure.adapters.out.rest.SingleFlightCpfValidationAdapter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 
+import java.time.Duration;
+
 /**
  * Classe de configuração de fábrica responsável por criar e configurar os beans
  * de estratégia de validação de CPF.
@@ -32,25 +43,65 @@ import org.springframework.context.annotation.Primary;
  * Esta configuração utiliza {@code @RefreshScope} para permitir a
  * reconfiguração em tempo de execução
  * da estratégia de validação sem reiniciar a aplicação.
+ *
+ * <p>
+ * Com o {@link CpfStatusCache} habilitado ({@code cpf.validator.cache.enabled}),
+ * a estratégia selecionada é envolvida por um
+ * {@link CachingCpfValidationAdapter}. Entre o cache e o provedor, o
+ * {@link SingleFlightCpfValidationAdapter} agrupa validações concorrentes do
+ * mesmo CPF ({@code cpf.validator.single-flight.enabled}).
+ *
+ * <p>
+ * Com {@code cpf.validator.hedging.enabled}, o provedor selecionado passa a ser
+ * o principal de um {@link HedgingCpfValidationAdapter}, e o outro provedor
+ * recebe as requisições hedged, limitadas pelo rate limiter
+ * {@code cpfValidationHedge}.
  */
 @Configuration
 @Slf4j
 public class CpfValidationStrategyFactory {
 
-    @Bean
+    /**
+     * O {@code destroyMethod} inferido chama {@code close()} quando a estratégia
+     * montada é {@link AutoCloseable}, encerrando o executor do
+     * {@link HedgingCpfValidationAdapter} a cada refresh; um nome explícito
+     * falharia quando a estratégia é o provedor sem decoradores.
+     */
+    @Bean(destroyMethod = AbstractBeanDefinition.INFER_METHOD)
     @Primary
     @RefreshScope
     public CpfValidationStrategy cpfValidationStrategy(
             FeatureToggleService featureToggleService, // 1. Injete o serviço de toggle
             @Qualifier("receitaFederal") CpfValidationStrategy receitaFederalStrategy,
-            @Qualifier("jatoCpf") CpfValidationStrategy jatoCpfStrategy) {
+            @Qualifier("jatoCpf") CpfValidationStrategy jatoCpfStrategy,
+            ObjectProvider<CpfStatusCache> cpfStatusCache,
+            MeterRegistry meterRegistry,
+            @Value("${cpf.validator.single-flight.enabled:true}") boolean singleFlightEnabled,
+            RateLimiterRegistry rateLimiterRegistry,
+            @Value("${cpf.validator.hedging.enabled:false}") boolean hedgingEnabled,
+            @Value("${cpf.validator.hedging.min-delay:50ms}") Duration hedgingMinDelay,
+            @Value("${cpf.validator.hedging.max-delay:2s}") Duration hedgingMaxDelay) {
 
         String provider = featureToggleService.getCpfValidatorProvider();
         log.info("Configurando provedor de validação de CPF. Provedor selecionado: '{}'", provider);
 
-        if ("jatoCpf".equalsIgnoreCase(provider)) {
-            return jatoCpfStrategy;
+        boolean jatoCpfSelected = "jatoCpf".equalsIgnoreCase(provider);
+        CpfValidationStrategy selected = jatoCpfSelected
+                ? jatoCpfStrategy
+                : receitaFederalStrategy;
+        if (hedgingEnabled) {
+            CpfValidationStrategy secondary = jatoCpfSelected ? receitaFederalStrategy : jatoCpfStrategy;
+            selected = new HedgingCpfValidationAdapter(
+                    jatoCpfSelected ? "jatoCpf" : "receitaFederal", selected,
+                    jatoCpfSelected ? "receitaFederal" : "jatoCpf", secondary,
+                    rateLimiterRegistry.rateLimiter("cpfValidationHedge"),
+                    hedgingMinDelay, hedgingMaxDelay, meterRegistry);
         }
-        return receitaFederalStrategy;
+        if (singleFlightEnabled) {
+            selected = new SingleFlightCpfValidationAdapter(selected, meterRegistry);
+        }
+
+        CpfStatusCache cache = cpfStatusCache.getIfAvailable();
+        return cache != null ? new CachingCpfValidationAdapter(selected, cache) : selected;
     }
 }
\ No newline at end of file
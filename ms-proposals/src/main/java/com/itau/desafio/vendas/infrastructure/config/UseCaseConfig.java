@@ -1,5 +1,6 @@
 package com.itau.desafio.vendas.infrastructure.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -7,7 +8,9 @@ import com.itau.desafio.vendas.application.port.in.CreateCustomerUseCase;
 import com.itau.desafio.vendas.application.port.in.CreateProposalRequestUseCase;
 import com.itau.desafio.vendas.application.port.in.DeleteCustomerUseCase;
 import com.itau.desafio.vendas.application.port.in.FindCustomerByIdUseCase;
+import com.itau.desafio.vendas.application.port.in.ImportCustomersUseCase;
 import com.itau.desafio.vendas.application.port.in.ListCustomersUseCase;
+import com.itau.desafio.vendas.application.port.in.RevalidatePendingCpfUseCase;
 import com.itau.desafio.vendas.application.port.in.UpdateCustomerUseCase;
 import com.itau.desafio.vendas.application.usecases.*;
 import com.itau.desafio.vendas.domain.port.out.CustomerRepositoryPort;
@@ -15,6 +18,7 @@ import com.itau.desafio.vendas.domain.port.out.ProposalRequestRepositoryPort;
 import com.itau.desafio.vendas.domain.port.out.CpfValidationStrategy;
 
 import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 
 @Configuration
@@ -40,6 +44,16 @@ public class UseCaseConfig {
         return new CreateCustomerUseCaseImpl(c, r, m);
     }
 
+    @Bean
+    public ImportCustomersUseCase importCustomersUseCase(
+            CustomerRepositoryPort c,
+            CpfValidationStrategy r,
+            Validator v,
+            MeterRegistry m,
+            @Value("${customers.import.max-items:5000}") int maxItems) {
+        return new ImportCustomersUseCaseImpl(c, r, v, m, maxItems);
+    }
+
     @Bean
     public ListCustomersUseCase listCustomersUseCase(
             CustomerRepositoryPort c) {
@@ -64,4 +78,16 @@ public class UseCaseConfig {
         return new DeleteCustomerUseCaseImpl(c);
     }
 
+    @Bean
+    public RevalidatePendingCpfUseCase revalidatePendingCpfUseCase(
+            CustomerRepositoryPort c,
+            CpfValidationStrategy r,
+            MeterRegistry m,
+            @Value("${cpf.revalidation.batch-size:100}") int batchSize,
+            @Value("${cpf.revalidation.max-concurrency:8}") int maxConcurrency,
+            @Value("${cpf.revalidation.max-per-second:20}") int maxPerSecond,
+            @Value("${cpf.revalidation.max-per-run:1000}") int maxPerRun) {
+        return new RevalidatePendingCpfUseCaseImpl(c, r, m, batchSize, maxConcurrency, maxPerSecond, maxPerRun);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,148 @@
+package com.itau.desafio.vendas.application.usecases;
+
+import com.itau.desafio.vendas.application.port.in.ImportCustomersUseCase.Item;
+import com.itau.desafio.vendas.application.port.in.ImportCustomersUseCase.ItemResult;
+import com.itau.desafio.vendas.application.port.in.ImportCustomersUseCase.ItemStatus;
+import com.itau.desafio.vendas.application.port.in.ImportCustomersUseCase.Report;
+import com.itau.desafio.vendas.domain.exceptions.BusinessRuleException;
+import com.itau.desafio.vendas.domain.model.CpfStatus;
+import com.itau.desafio.vendas.domain.model.Customer;
+import com.itau.desafio.vendas.domain.port.out.CpfValidationStrategy;
+import com.itau.desafio.vendas.domain.port.out.CustomerRepositoryPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportCustomersUseCaseImplTest {
+
+    private static final String NEW_CPF = "43991016877";
+    private static final String EXISTING_CPF = "11144477735";
+    private static final String PENDING_CPF = "52998224725";
+    private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private CustomerRepositoryPort customerRepositoryPort;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Deve informar o resultado de cada item com uma consulta de duplicados e uma inserção em lote")
+    void deveInformarResultadoPorItem_comConsultaEInsercaoEmLote() {
+        Set<String> validated = ConcurrentHashMap.newKeySet();
+        CpfValidationStrategy strategy = cpf -> {
+            validated.add(cpf);
+            return PENDING_CPF.equals(cpf) ? CpfStatus.PENDENTE_VALIDACAO_RECEITA : CpfStatus.CPF_ATIVO;
+        };
+        ImportCustomersUseCaseImpl useCase = new ImportCustomersUseCaseImpl(customerRepositoryPort, strategy,
+                VALIDATOR, meterRegistry, 100);
+        when(customerRepositoryPort.findExistingCpfs(anyCollection())).thenReturn(Set.of(EXISTING_CPF));
+        when(customerRepositoryPort.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Customer> customers = invocation.getArgument(0);
+            return customers.stream().map(Customer::getId).collect(Collectors.toSet());
+        });
+
+        Report report = useCase.importCustomers(List.of(
+                item("439.910.168-77"),
+                item(EXISTING_CPF),
+                item("12345678900"),
+                item(NEW_CPF),
+                item(PENDING_CPF),
+                new Item(null, "15350946056", "11999999999", new BigDecimal("5000"))));
+
+        assertEquals(List.of(ItemStatus.CREATED, ItemStatus.DUPLICATE, ItemStatus.INVALID, ItemStatus.DUPLICATE,
+                ItemStatus.CREATED, ItemStatus.INVALID),
+                report.items().stream().map(ItemResult::status).toList());
+        assertEquals(2, report.created());
+        assertEquals(4, report.rejected());
+        assertEquals(CpfStatus.CPF_ATIVO, report.items().get(0).cpfStatus());
+        assertEquals(CpfStatus.PENDENTE_VALIDACAO_RECEITA, report.items().get(4).cpfStatus());
+        assertEquals("O nome não pode estar em branco", report.items().get(5).message());
+        assertEquals(Set.of(NEW_CPF, PENDING_CPF), validated);
+        assertTrue(report.throughputPerSecond() > 0);
+
+        verify(customerRepositoryPort, times(1)).findExistingCpfs(anyCollection());
+        verify(customerRepositoryPort, times(1)).insertAll(anyList());
+        verify(customerRepositoryPort, never()).existsByCpf(anyString());
+        verify(customerRepositoryPort, never()).save(any());
+        assertEquals(2, meterRegistry.get("customers.created").counter().count());
+        assertEquals(2, meterRegistry.get("customers.import.items").tag("result", "duplicate").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve marcar como falha os itens rejeitados pela inserção em lote")
+    void deveMarcarFalha_quandoInsercaoRejeitaItem() {
+        ImportCustomersUseCaseImpl useCase = new ImportCustomersUseCaseImpl(customerRepositoryPort,
+                cpf -> CpfStatus.CPF_ATIVO, VALIDATOR, meterRegistry, 100);
+        when(customerRepositoryPort.findExistingCpfs(anyCollection())).thenReturn(Set.of());
+        when(customerRepositoryPort.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Customer> customers = invocation.getArgument(0);
+            return Set.of(customers.get(0).getId());
+        });
+
+        Report report = useCase.importCustomers(List.of(item(NEW_CPF), item(PENDING_CPF)));
+
+        assertEquals(ItemStatus.CREATED, report.items().get(0).status());
+        assertEquals(ItemStatus.FAILED, report.items().get(1).status());
+        assertNull(report.items().get(1).customerId());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar lote acima do limite configurado")
+    void deveLancarExcecao_quandoLoteAcimaDoLimite() {
+        ImportCustomersUseCaseImpl useCase = new ImportCustomersUseCaseImpl(customerRepositoryPort,
+                cpf -> CpfStatus.CPF_ATIVO, VALIDATOR, meterRegistry, 1);
+
+        assertThrows(BusinessRuleException.class,
+                () -> useCase.importCustomers(List.of(item(NEW_CPF), item(PENDING_CPF))));
+        verifyNoInteractions(customerRepositoryPort);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar como inválidos os itens que violam as restrições do cadastro individual")
+    void deveRejeitarComoInvalido_quandoItemViolaRestricoesDoCadastro() {
+        ImportCustomersUseCaseImpl useCase = new ImportCustomersUseCaseImpl(customerRepositoryPort,
+                cpf -> CpfStatus.CPF_ATIVO, VALIDATOR, meterRegistry, 100);
+        when(customerRepositoryPort.findExistingCpfs(anyCollection())).thenReturn(Set.of());
+        when(customerRepositoryPort.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Customer> customers = invocation.getArgument(0);
+            return customers.stream().map(Customer::getId).collect(Collectors.toSet());
+        });
+
+        Report report = useCase.importCustomers(List.of(
+                new Item("A", NEW_CPF, "11999999999", new BigDecimal("5000")),
+                new Item("Cliente Sem Telefone", PENDING_CPF, " ", new BigDecimal("-1")),
+                item(EXISTING_CPF)));
+
+        assertEquals(List.of(ItemStatus.INVALID, ItemStatus.INVALID, ItemStatus.CREATED),
+                report.items().stream().map(ItemResult::status).toList());
+        assertEquals("O nome deve ter entre 2 e 100 caracteres", report.items().get(0).message());
+        assertEquals("A renda mensal deve ser um valor positivo.; O telefone não pode estar em branco",
+                report.items().get(1).message());
+        assertEquals(1, report.created());
+    }
+
+    private static Item item(String cpf) {
+        return new Item("Cliente " + UUID.randomUUID(), cpf, "11999999999", new BigDecimal("5000"));
+    }
+}
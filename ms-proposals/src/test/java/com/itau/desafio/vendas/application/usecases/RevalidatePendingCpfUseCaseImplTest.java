@@ -0,0 +1,122 @@
+package com.itau.desafio.vendas.application.usecases;
+
+import com.itau.desafio.vendas.application.port.in.RevalidatePendingCpfUseCase.Summary;
+import com.itau.desafio.vendas.domain.model.CpfStatus;
+import com.itau.desafio.vendas.domain.model.CpfValidationResult;
+import com.itau.desafio.vendas.domain.model.Customer;
+import com.itau.desafio.vendas.domain.port.out.CpfValidationStrategy;
+import com.itau.desafio.vendas.domain.port.out.CustomerRepositoryPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RevalidatePendingCpfUseCaseImplTest {
+
+    private static final CpfStatus PENDING = CpfStatus.PENDENTE_VALIDACAO_RECEITA;
+
+    @Mock
+    private CustomerRepositoryPort customerRepositoryPort;
+
+    @Mock
+    private CpfValidationStrategy cpfValidationStrategy;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RevalidatePendingCpfUseCaseImpl useCase;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        useCase = new RevalidatePendingCpfUseCaseImpl(customerRepositoryPort, cpfValidationStrategy, meterRegistry,
+                2, 2, 0, 0);
+        lenient().when(customerRepositoryPort.findOldestCreatedAtByCpfStatus(PENDING)).thenReturn(Optional.empty());
+    }
+
+    @Test
+    @DisplayName("Deve atualizar os clientes com resposta definitiva e seguir a paginação por chave")
+    void deveAtualizarClientes_ePaginarPorChave_quandoServicoResponde() {
+        Customer first = pending("11111111111");
+        Customer second = pending("22222222222");
+        Customer third = pending("33333333333");
+        when(customerRepositoryPort.findByCpfStatus(eq(PENDING), isNull(), eq(2))).thenReturn(List.of(first, second));
+        when(customerRepositoryPort.findByCpfStatus(PENDING, second.getId(), 2)).thenReturn(List.of(third));
+        when(cpfValidationStrategy.revalidate("11111111111")).thenReturn(CpfValidationResult.of(CpfStatus.CPF_ATIVO));
+        when(cpfValidationStrategy.revalidate("22222222222")).thenReturn(CpfValidationResult.of(PENDING));
+        when(cpfValidationStrategy.revalidate("33333333333"))
+                .thenReturn(CpfValidationResult.of(CpfStatus.CPF_CANCELADO));
+        when(customerRepositoryPort.updateCpfStatusIfCurrent(any(UUID.class), eq(PENDING), any(CpfStatus.class)))
+                .thenReturn(true);
+        when(customerRepositoryPort.countByCpfStatus(PENDING)).thenReturn(3L, 1L);
+
+        Summary summary = useCase.revalidatePending();
+
+        assertEquals(new Summary(3, 2, false), summary);
+        verify(customerRepositoryPort).updateCpfStatusIfCurrent(first.getId(), PENDING, CpfStatus.CPF_ATIVO);
+        verify(customerRepositoryPort).updateCpfStatusIfCurrent(third.getId(), PENDING, CpfStatus.CPF_CANCELADO);
+        verify(customerRepositoryPort, never()).updateCpfStatusIfCurrent(eq(second.getId()), any(), any());
+        verify(customerRepositoryPort, never()).findById(any());
+        verify(customerRepositoryPort, never()).save(any(Customer.class));
+        assertEquals(2, processed("updated"));
+        assertEquals(1, processed("unchanged"));
+        assertEquals(1.0, meterRegistry.get("customers.cpf.revalidation.backlog").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Deve interromper a execução sem salvar quando a validação cair no fallback")
+    void deveInterromperSemSalvar_quandoValidacaoCaiNoFallback() {
+        Customer first = pending("11111111111");
+        Customer second = pending("22222222222");
+        when(customerRepositoryPort.findByCpfStatus(eq(PENDING), isNull(), anyInt())).thenReturn(List.of(first, second));
+        when(cpfValidationStrategy.revalidate(anyString())).thenReturn(CpfValidationResult.fallback(PENDING));
+
+        Summary summary = useCase.revalidatePending();
+
+        assertTrue(summary.interrupted());
+        assertEquals(0, summary.updated());
+        verify(customerRepositoryPort, never()).updateCpfStatusIfCurrent(any(), any(), any());
+        verify(customerRepositoryPort, times(1)).findByCpfStatus(any(), any(), anyInt());
+        assertEquals(2, processed("fallback"));
+    }
+
+    @Test
+    @DisplayName("Deve descartar a atualização quando o cliente deixou de estar pendente durante a consulta")
+    void deveDescartarAtualizacao_quandoClienteAlteradoDuranteConsulta() {
+        Customer customer = pending("11111111111");
+        when(customerRepositoryPort.findByCpfStatus(eq(PENDING), isNull(), anyInt())).thenReturn(List.of(customer));
+        when(cpfValidationStrategy.revalidate("11111111111")).thenReturn(CpfValidationResult.of(CpfStatus.CPF_ATIVO));
+        when(customerRepositoryPort.updateCpfStatusIfCurrent(customer.getId(), PENDING, CpfStatus.CPF_ATIVO))
+                .thenReturn(false);
+
+        Summary summary = useCase.revalidatePending();
+
+        assertEquals(new Summary(1, 0, false), summary);
+        assertEquals(1, processed("unchanged"));
+        assertEquals(0, processed("updated"));
+    }
+
+    private double processed(String outcome) {
+        return meterRegistry.get("customers.cpf.revalidation.processed").tag("outcome", outcome).counter().count();
+    }
+
+    private static Customer pending(String cpf) {
+        return Customer.reconstitute(UUID.randomUUID(), "Cliente " + cpf, cpf, "11999999999",
+                new BigDecimal("5000"), PENDING, LocalDateTime.now(), "sys", LocalDateTime.now(), "sys");
+    }
+}
@@ -0,0 +1,70 @@
+package com.itau.desafio.vendas.infrastructure.adapters.in.scheduler;
+
+import com.itau.desafio.vendas.application.port.in.RevalidatePendingCpfUseCase;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PendingCpfRevalidationSchedulerTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    @Mock
+    private RevalidatePendingCpfUseCase revalidatePendingCpfUseCase;
+
+    @Mock
+    private MongoSchedulerLease schedulerLease;
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+
+    private PendingCpfRevalidationScheduler scheduler() {
+        return new PendingCpfRevalidationScheduler(revalidatePendingCpfUseCase, circuitBreakerRegistry,
+                schedulerLease, LEASE);
+    }
+
+    @Test
+    @DisplayName("Deve pular a rodada quando outra instância detém o lease")
+    void devePularRodada_quandoOutraInstanciaDetemOLease() {
+        when(schedulerLease.tryAcquire(PendingCpfRevalidationScheduler.LEASE_NAME, LEASE)).thenReturn(false);
+
+        scheduler().revalidatePending();
+
+        verifyNoInteractions(revalidatePendingCpfUseCase);
+        verify(schedulerLease, never()).release(any());
+    }
+
+    @Test
+    @DisplayName("Deve executar a rodada e liberar o lease mesmo quando a revalidação falha")
+    void deveLiberarOLease_quandoRevalidacaoFalha() {
+        when(schedulerLease.tryAcquire(PendingCpfRevalidationScheduler.LEASE_NAME, LEASE)).thenReturn(true);
+        when(revalidatePendingCpfUseCase.revalidatePending()).thenThrow(new IllegalStateException("falha"));
+
+        assertThrows(IllegalStateException.class, () -> scheduler().revalidatePending());
+
+        InOrder inOrder = inOrder(schedulerLease, revalidatePendingCpfUseCase);
+        inOrder.verify(schedulerLease).tryAcquire(PendingCpfRevalidationScheduler.LEASE_NAME, LEASE);
+        inOrder.verify(revalidatePendingCpfUseCase).revalidatePending();
+        inOrder.verify(schedulerLease).release(PendingCpfRevalidationScheduler.LEASE_NAME);
+    }
+
+    @Test
+    @DisplayName("Não deve disputar o lease quando o circuit breaker não está fechado")
+    void naoDeveDisputarOLease_quandoCircuitBreakerAberto() {
+        circuitBreakerRegistry.circuitBreaker("receitaFederalService").transitionToOpenState();
+
+        scheduler().revalidatePending();
+
+        verifyNoInteractions(schedulerLease, revalidatePendingCpfUseCase);
+    }
+}
@@ -0,0 +1,171 @@
+package com.itau.desafio.vendas.infrastructure.adapters.out.cache;
+
+import com.itau.desafio.vendas.domain.model.CpfStatus;
+import com.itau.desafio.vendas.domain.model.CpfValidationResult;
+import com.itau.desafio.vendas.domain.port.out.CpfValidationStrategy;
+import com.itau.desafio.vendas.infrastructure.adapters.out.persistence.mongodb.documents.CpfStatusCacheDocument;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingCpfValidationAdapterTest {
+
+    private static final String CPF = "43991016877";
+
+    @Mock
+    private CpfValidationStrategy provider;
+
+    @Mock
+    private MongoCpfStatusStore sharedStore;
+
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-08-10T12:00:00Z"));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Deve responder do cache em nova validação e não armazenar resultados de fallback")
+    void deveResponderDoCache_eNaoArmazenarFallback() {
+        CachingCpfValidationAdapter adapter = new CachingCpfValidationAdapter(provider, cache(null));
+        when(provider.validate(CPF)).thenReturn(CpfValidationResult.of(CpfStatus.CPF_ATIVO));
+        when(provider.validate("11144477735"))
+                .thenReturn(CpfValidationResult.fallback(CpfStatus.PENDENTE_VALIDACAO_RECEITA));
+
+        assertEquals(CpfStatus.CPF_ATIVO, adapter.validateCpf(CPF));
+        assertEquals(CpfStatus.CPF_ATIVO, adapter.validateCpf(CPF));
+        assertEquals(CpfStatus.PENDENTE_VALIDACAO_RECEITA, adapter.validateCpf("11144477735"));
+        assertEquals(CpfStatus.PENDENTE_VALIDACAO_RECEITA, adapter.validateCpf("11144477735"));
+
+        verify(provider, times(1)).validate(CPF);
+        verify(provider, times(2)).validate("11144477735");
+        assertEquals(1.0, meterRegistry.get("cpf.validation.upstream.avoided").counter().count());
+        assertEquals(0.25, meterRegistry.get("cpf.validation.cache.hit.ratio").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Deve expirar o status pendente antes dos status definitivos")
+    void deveExpirarPendenteAntesDosDefinitivos() {
+        CachingCpfValidationAdapter adapter = new CachingCpfValidationAdapter(provider, cache(null));
+        when(provider.validate(CPF)).thenReturn(CpfValidationResult.of(CpfStatus.CPF_ATIVO));
+        when(provider.validate("11144477735"))
+                .thenReturn(CpfValidationResult.of(CpfStatus.PENDENTE_VALIDACAO_RECEITA));
+
+        adapter.validateCpf(CPF);
+        adapter.validateCpf("11144477735");
+        clock.advance(Duration.ofMinutes(10));
+        adapter.validateCpf(CPF);
+        adapter.validateCpf("11144477735");
+
+        verify(provider, times(1)).validate(CPF);
+        verify(provider, times(2)).validate("11144477735");
+    }
+
+    @Test
+    @DisplayName("Deve promover o acerto do L2 ao L1 e tratar falha do L2 como ausência no cache")
+    void devePromoverAcertoDoL2_eIgnorarFalhaDoL2() {
+        CachingCpfValidationAdapter adapter = new CachingCpfValidationAdapter(provider, cache(sharedStore));
+        when(sharedStore.find(eq(CPF), any())).thenReturn(Optional.of(CpfStatusCacheDocument.builder()
+                .cpf(CPF)
+                .cpfStatus(CpfStatus.CPF_INEXISTENTE)
+                .expiresAt(clock.instant().plus(Duration.ofHours(1)))
+                .build()));
+        when(sharedStore.find(eq("11144477735"), any())).thenThrow(new IllegalStateException("MongoDB indisponível"));
+        when(provider.validate("11144477735")).thenReturn(CpfValidationResult.of(CpfStatus.CPF_ATIVO));
+
+        assertEquals(CpfStatus.CPF_INEXISTENTE, adapter.validateCpf(CPF));
+        assertEquals(CpfStatus.CPF_INEXISTENTE, adapter.validateCpf(CPF));
+        assertEquals(CpfStatus.CPF_ATIVO, adapter.validateCpf("11144477735"));
+
+        verify(sharedStore, times(1)).find(eq(CPF), any());
+        verify(provider, never()).validate(CPF);
+        verify(sharedStore).save(eq("11144477735"), eq(CpfStatus.CPF_ATIVO), any(),
+                eq(clock.instant().plus(Duration.ofHours(24))));
+        assertEquals(1.0, meterRegistry.get("cpf.validation.cache.lookups").tag("result", "l2_hit").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve consultar o L2 uma vez por lote e repassar ao provedor só os CPFs ausentes no cache")
+    void deveRepassarAoProvedorSoOsAusentes_quandoValidaEmLote() {
+        CachingCpfValidationAdapter adapter = new CachingCpfValidationAdapter(provider, cache(sharedStore));
+        when(provider.validate(CPF)).thenReturn(CpfValidationResult.of(CpfStatus.CPF_ATIVO));
+        adapter.validateCpf(CPF);
+        when(sharedStore.findAll(any(), any())).thenReturn(List.of(CpfStatusCacheDocument.builder()
+                .cpf("11144477735")
+                .cpfStatus(CpfStatus.CPF_CANCELADO)
+                .expiresAt(clock.instant().plus(Duration.ofHours(1)))
+                .build()));
+        when(provider.validateCpfs(List.of("52998224725", "15350946056"))).thenReturn(Map.of(
+                "52998224725", CpfValidationResult.of(CpfStatus.CPF_BLOQUEADO),
+                "15350946056", CpfValidationResult.fallback(CpfStatus.PENDENTE_VALIDACAO_RECEITA)));
+
+        Map<String, CpfValidationResult> results = adapter.validateCpfs(
+                List.of(CPF, "11144477735", "52998224725", "15350946056", CPF));
+
+        assertEquals(List.of(CPF, "11144477735", "52998224725", "15350946056"), List.copyOf(results.keySet()));
+        assertEquals(CpfStatus.CPF_ATIVO, results.get(CPF).status());
+        assertEquals(CpfStatus.CPF_CANCELADO, results.get("11144477735").status());
+        assertEquals(CpfStatus.CPF_BLOQUEADO, results.get("52998224725").status());
+        assertTrue(results.get("15350946056").fallback());
+        verify(sharedStore, times(1)).findAll(eq(List.of("11144477735", "52998224725", "15350946056")), any());
+        verify(sharedStore).saveAll(argThat(documents -> documents.size() == 1
+                && documents.get(0).getCpf().equals("52998224725")));
+        assertEquals(3.0, meterRegistry.get("cpf.validation.cache.lookups").tag("result", "miss").counter().count());
+    }
+
+    private CpfStatusCache cache(MongoCpfStatusStore store) {
+        return new CpfStatusCache(1_000, Duration.ofHours(24), Duration.ofMinutes(5), Duration.ofHours(1), store,
+                meterRegistry, clock);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.itau.desafio.vendas.infrastructure.adapters.out.rest;
+
+import com.itau.desafio.vendas.domain.model.CpfStatus;
+import com.itau.desafio.vendas.domain.model.CpfValidationResult;
+import com.itau.desafio.vendas.domain.port.out.CpfValidationStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CpfValidationFanOutTest {
+
+    @Test
+    @DisplayName("Deve validar os CPFs do lote em paralelo, com concorrência limitada")
+    void deveValidarCpfsEmParalelo_comConcorrenciaLimitada() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        CpfValidationStrategy slowProvider = cpf -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            return CpfStatus.CPF_ATIVO;
+        };
+        Collection<String> cpfs = IntStream.range(0, 64)
+                .mapToObj(i -> String.format("%011d", i))
+                .toList();
+
+        Map<String, CpfValidationResult> results = CpfValidationFanOut.validateAll(slowProvider, cpfs);
+
+        assertEquals(64, results.size());
+        assertTrue(results.values().stream().noneMatch(CpfValidationResult::fallback));
+        assertTrue(maxInFlight.get() > 1);
+        assertTrue(maxInFlight.get() <= CpfValidationFanOut.BATCH_CONCURRENCY);
+    }
+
+    @Test
+    @DisplayName("Deve retornar fallback apenas para o CPF cuja validação falhou")
+    void deveRetornarFallback_quandoUmaValidacaoFalha() {
+        CpfValidationStrategy provider = cpf -> {
+            if (cpf.equals("22222222222")) {
+                throw new IllegalStateException("indisponível");
+            }
+            return CpfStatus.CPF_ATIVO;
+        };
+
+        Map<String, CpfValidationResult> results = CpfValidationFanOut.validateAll(provider,
+                List.of("11111111111", "22222222222", "11111111111"));
+
+        assertEquals(List.of("11111111111", "22222222222"), List.copyOf(results.keySet()));
+        assertEquals(CpfValidationResult.of(CpfStatus.CPF_ATIVO), results.get("11111111111"));
+        assertEquals(CpfValidationResult.fallback(CpfStatus.PENDENTE_VALIDACAO_RECEITA), results.get("22222222222"));
+    }
+}
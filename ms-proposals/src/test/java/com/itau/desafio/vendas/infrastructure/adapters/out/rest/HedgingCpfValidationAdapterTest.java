@@ -0,0 +1,262 @@
+package com.itau.desafio.vendas.infrastructure.adapters.out.rest;
+
+import com.itau.desafio.vendas.domain.model.CpfStatus;
+import com.itau.desafio.vendas.domain.model.CpfValidationResult;
+import com.itau.desafio.vendas.domain.port.out.CpfValidationStrategy;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgingCpfValidationAdapterTest {
+
+    private static final String CPF = "43991016877";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private StubProvider primary;
+    private StubProvider secondary;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        primary = new StubProvider("CPF_ATIVO");
+        secondary = new StubProvider("CPF_BLOQUEADO");
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.stop();
+        secondary.stop();
+    }
+
+    @Test
+    @DisplayName("Deve consultar o secundário após o p95 do principal e usar a primeira resposta válida")
+    void deveUsarSecundario_quandoPrincipalPassaDoP95() {
+        HedgingCpfValidationAdapter adapter = adapter(100);
+        primary.latencyMillis = 5;
+        for (int i = 0; i < HedgingCpfValidationAdapter.MIN_SAMPLES; i++) {
+            assertEquals(CpfStatus.CPF_ATIVO, adapter.validateCpf(CPF));
+        }
+        assertEquals(0, secondary.calls.get());
+        assertTrue(adapter.hedgeDelay().compareTo(Duration.ofMillis(200)) < 0);
+
+        primary.latencyMillis = 1_500;
+        long start = System.nanoTime();
+        CpfStatus status = adapter.validateCpf(CPF);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(CpfStatus.CPF_BLOQUEADO, status);
+        assertTrue(elapsedMillis < 1_000, "Validação hedged levou " + elapsedMillis + " ms");
+        assertEquals(1, secondary.calls.get());
+        assertEquals(1.0, meterRegistry.get("cpf.validation.hedge").tag("outcome", "won").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve consultar o secundário imediatamente quando o principal falha")
+    void deveUsarSecundario_quandoPrincipalFalha() {
+        HedgingCpfValidationAdapter adapter = adapter(100);
+        primary.failing = true;
+
+        assertEquals(CpfStatus.CPF_BLOQUEADO, adapter.validateCpf(CPF));
+        assertEquals(1, primary.calls.get());
+        assertEquals(1, secondary.calls.get());
+    }
+
+    @Test
+    @DisplayName("Deve limitar as chamadas hedged por segundo e aguardar o principal quando sem permissão")
+    void deveLimitarChamadasHedged_eAguardarPrincipal() throws Exception {
+        HedgingCpfValidationAdapter adapter = adapter(2);
+        primary.latencyMillis = 300;
+
+        List<Future<CpfStatus>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 10; i++) {
+                results.add(executor.submit(() -> adapter.validateCpf(CPF)));
+            }
+        }
+
+        long hedged = 0;
+        for (Future<CpfStatus> result : results) {
+            if (result.get() == CpfStatus.CPF_BLOQUEADO) {
+                hedged++;
+            }
+        }
+        assertEquals(2, hedged);
+        assertEquals(2, secondary.calls.get());
+        assertEquals(10, primary.calls.get());
+        assertEquals(8.0, meterRegistry.get("cpf.validation.hedge").tag("outcome", "denied").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve reenviar ao secundário, em um único lote, apenas os CPFs que o principal respondeu com fallback")
+    void deveReenviarAoSecundarioEmLote_apenasCpfsComFallback() {
+        List<Collection<String>> primaryBatches = new ArrayList<>();
+        List<Collection<String>> secondaryBatches = new ArrayList<>();
+        CpfValidationStrategy batchPrimary = batchProvider(primaryBatches, cpf -> cpf.equals("52998224725")
+                ? CpfValidationResult.fallback(CpfStatus.PENDENTE_VALIDACAO_RECEITA)
+                : CpfValidationResult.of(CpfStatus.CPF_ATIVO));
+        CpfValidationStrategy batchSecondary = batchProvider(secondaryBatches,
+                cpf -> CpfValidationResult.of(CpfStatus.CPF_BLOQUEADO));
+        HedgingCpfValidationAdapter adapter = new HedgingCpfValidationAdapter("primary", batchPrimary,
+                "secondary", batchSecondary, rateLimiter(100), Duration.ofMillis(10), Duration.ofMillis(100),
+                meterRegistry);
+
+        Map<String, CpfValidationResult> results = adapter.validateCpfs(List.of(CPF, "52998224725"));
+
+        assertEquals(List.of(List.of(CPF, "52998224725")), primaryBatches);
+        assertEquals(List.of(List.of("52998224725")), secondaryBatches);
+        assertEquals(CpfValidationResult.of(CpfStatus.CPF_ATIVO), results.get(CPF));
+        assertEquals(CpfValidationResult.of(CpfStatus.CPF_BLOQUEADO), results.get("52998224725"));
+        assertEquals(1.0, meterRegistry.get("cpf.validation.hedge").tag("outcome", "won").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve reenviar ao secundário só os CPFs com permissão quando o lote hedged excede o limite")
+    void deveReenviarApenasCpfsComPermissao_quandoLoteHedgedExcedeOLimite() {
+        List<Collection<String>> secondaryBatches = new ArrayList<>();
+        CpfValidationStrategy batchPrimary = batchProvider(new ArrayList<>(),
+                cpf -> CpfValidationResult.fallback(CpfStatus.PENDENTE_VALIDACAO_RECEITA));
+        HedgingCpfValidationAdapter adapter = new HedgingCpfValidationAdapter("primary", batchPrimary,
+                "secondary", batchProvider(secondaryBatches, cpf -> CpfValidationResult.of(CpfStatus.CPF_ATIVO)),
+                rateLimiter(1), Duration.ofMillis(10), Duration.ofMillis(100), meterRegistry);
+
+        Map<String, CpfValidationResult> results = adapter.validateCpfs(List.of(CPF, "52998224725"));
+
+        assertEquals(List.of(List.of(CPF)), secondaryBatches);
+        assertEquals(CpfValidationResult.of(CpfStatus.CPF_ATIVO), results.get(CPF));
+        assertTrue(results.get("52998224725").fallback());
+        assertEquals(1.0, meterRegistry.get("cpf.validation.hedge").tag("outcome", "fired").counter().count());
+        assertEquals(1.0, meterRegistry.get("cpf.validation.hedge").tag("outcome", "denied").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve manter o fallback do principal quando nenhum CPF do lote obtém permissão")
+    void deveManterFallbackDoPrincipal_quandoLoteHedgedSemPermissao() {
+        List<Collection<String>> secondaryBatches = new ArrayList<>();
+        CpfValidationStrategy batchPrimary = batchProvider(new ArrayList<>(),
+                cpf -> CpfValidationResult.fallback(CpfStatus.PENDENTE_VALIDACAO_RECEITA));
+        RateLimiter exhausted = rateLimiter(1);
+        exhausted.acquirePermission();
+        HedgingCpfValidationAdapter adapter = new HedgingCpfValidationAdapter("primary", batchPrimary,
+                "secondary", batchProvider(secondaryBatches, cpf -> CpfValidationResult.of(CpfStatus.CPF_ATIVO)),
+                exhausted, Duration.ofMillis(10), Duration.ofMillis(100), meterRegistry);
+
+        Map<String, CpfValidationResult> results = adapter.validateCpfs(List.of(CPF, "52998224725"));
+
+        assertTrue(secondaryBatches.isEmpty());
+        assertTrue(results.values().stream().allMatch(CpfValidationResult::fallback));
+        assertEquals(2.0, meterRegistry.get("cpf.validation.hedge").tag("outcome", "denied").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve encerrar o executor das chamadas quando o adaptador é fechado")
+    void deveEncerrarExecutor_quandoAdaptadorFechado() {
+        HedgingCpfValidationAdapter adapter = adapter(100);
+
+        adapter.close();
+
+        assertThrows(RejectedExecutionException.class, () -> adapter.validate(CPF));
+        assertEquals(0, primary.calls.get());
+    }
+
+    private static CpfValidationStrategy batchProvider(List<Collection<String>> batches,
+            Function<String, CpfValidationResult> answer) {
+        return new CpfValidationStrategy() {
+            @Override
+            public CpfStatus validateCpf(String cpf) {
+                return answer.apply(cpf).status();
+            }
+
+            @Override
+            public Map<String, CpfValidationResult> validateCpfs(Collection<String> cpfs) {
+                batches.add(List.copyOf(cpfs));
+                Map<String, CpfValidationResult> results = new LinkedHashMap<>();
+                cpfs.forEach(cpf -> results.put(cpf, answer.apply(cpf)));
+                return results;
+            }
+        };
+    }
+
+    private HedgingCpfValidationAdapter adapter(int hedgesPerSecond) {
+        return new HedgingCpfValidationAdapter("primary", new ReceitaFederalAdapter(new RestTemplate(), primary.url(),
+                null), "secondary", new ReceitaFederalAdapter(new RestTemplate(), secondary.url(), null),
+                rateLimiter(hedgesPerSecond), Duration.ofMillis(10), Duration.ofMillis(100), meterRegistry);
+    }
+
+    private static RateLimiter rateLimiter(int hedgesPerSecond) {
+        return RateLimiter.of("cpfValidationHedge", RateLimiterConfig.custom()
+                .limitForPeriod(hedgesPerSecond)
+                .limitRefreshPeriod(Duration.ofSeconds(10))
+                .timeoutDuration(Duration.ZERO)
+                .build());
+    }
+
+    /**
+     * Provedor HTTP local que responde sempre o mesmo status, com latência e
+     * falha ajustáveis durante o teste.
+     */
+    private static final class StubProvider {
+
+        private final HttpServer server;
+        private final String status;
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile long latencyMillis;
+        private volatile boolean failing;
+
+        StubProvider(String status) throws IOException {
+            this.status = status;
+            this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.createContext("/cpf", this::handle);
+            server.start();
+        }
+
+        String url() {
+            return "http://localhost:" + server.getAddress().getPort() + "/cpf";
+        }
+
+        void stop() {
+            server.stop(0);
+        }
+
+        private void handle(HttpExchange exchange) throws IOException {
+            calls.incrementAndGet();
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = (failing ? "{}" : "{\"status\":\"" + status + "\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(failing ? 500 : 200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.itau.desafio.vendas.infrastructure.adapters.out.rest;
+
+import com.itau.desafio.vendas.domain.exceptions.ExternalServiceUnavailableException;
+import com.itau.desafio.vendas.domain.model.CpfStatus;
+import com.itau.desafio.vendas.domain.model.CpfValidationResult;
+import com.itau.desafio.vendas.domain.port.out.CpfValidationStrategy;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightCpfValidationAdapterTest {
+
+    private static final String FAILING_CPF = "11144477735";
+
+    private final Map<String, AtomicInteger> upstreamCalls = new ConcurrentHashMap<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HttpServer stubServer;
+    private SingleFlightCpfValidationAdapter adapter;
+    private volatile int expectedFollowers;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stubServer.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        stubServer.createContext("/cpf", this::handle);
+        stubServer.start();
+
+        String url = "http://localhost:" + stubServer.getAddress().getPort() + "/cpf";
+        adapter = new SingleFlightCpfValidationAdapter(new ReceitaFederalAdapter(new RestTemplate(), url, null),
+                meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stubServer.stop(0);
+    }
+
+    @Test
+    @DisplayName("Deve fazer uma única chamada externa por CPF quando muitas threads validam ao mesmo tempo")
+    void deveFazerUmaChamadaPorCpf_quandoValidacoesConcorrentes() throws Exception {
+        List<String> cpfs = List.of("43991016877", "52998224725", "16899535009", "71428793860", "87748248800");
+        int threadsPerCpf = 40;
+        expectedFollowers = cpfs.size() * (threadsPerCpf - 1);
+
+        List<Future<CpfStatus>> results = runConcurrently(cpfs, threadsPerCpf);
+
+        for (Future<CpfStatus> result : results) {
+            assertEquals(CpfStatus.CPF_ATIVO, result.get(10, TimeUnit.SECONDS));
+        }
+        for (String cpf : cpfs) {
+            assertEquals(1, upstreamCalls.get(cpf).get(), "Chamadas externas para o CPF " + cpf);
+        }
+        assertEquals(5.0, meterRegistry.get("cpf.validation.singleflight").tag("role", "leader").counter().count());
+
+        expectedFollowers = 0;
+        assertEquals(CpfStatus.CPF_ATIVO, adapter.validateCpf("439.910.168-77"));
+        assertEquals(2, upstreamCalls.get("43991016877").get());
+    }
+
+    @Test
+    @DisplayName("Deve propagar a mesma exceção a todas as threads que aguardavam a chamada com falha")
+    void devePropagarExcecao_aTodasAsThreadsAgrupadas() throws Exception {
+        int threads = 50;
+        expectedFollowers = threads - 1;
+
+        List<Future<CpfStatus>> results = runConcurrently(List.of(FAILING_CPF), threads);
+
+        for (Future<CpfStatus> result : results) {
+            Exception failure = assertThrows(Exception.class, () -> result.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(ExternalServiceUnavailableException.class, failure.getCause());
+        }
+        assertEquals(1, upstreamCalls.get(FAILING_CPF).get());
+    }
+
+    @Test
+    @DisplayName("Deve liberar as threads agrupadas com o mesmo erro quando o provedor lança um Error")
+    void deveLiberarThreadsAgrupadas_quandoProvedorLancaError() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        NoClassDefFoundError error = new NoClassDefFoundError("cliente do provedor");
+        expectedFollowers = 1;
+        adapter = new SingleFlightCpfValidationAdapter(cpf -> {
+            calls.incrementAndGet();
+            awaitFollowers();
+            throw error;
+        }, meterRegistry);
+
+        List<Future<CpfStatus>> results = runConcurrently(List.of(FAILING_CPF), 2);
+
+        for (Future<CpfStatus> result : results) {
+            ExecutionException failure = assertThrows(ExecutionException.class,
+                    () -> result.get(10, TimeUnit.SECONDS));
+            assertSame(error, failure.getCause());
+        }
+        assertEquals(1, calls.get());
+
+        expectedFollowers = 0;
+        assertThrows(NoClassDefFoundError.class, () -> adapter.validateCpf(FAILING_CPF));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    @DisplayName("Deve aguardar os CPFs do lote já em andamento e enviar os demais ao provedor em um único lote")
+    void deveEnviarApenasCpfsNovosEmUmLote_quandoParteDoLoteJaEstaEmAndamento() throws Exception {
+        List<Collection<String>> batches = new CopyOnWriteArrayList<>();
+        AtomicInteger singleCalls = new AtomicInteger();
+        expectedFollowers = 1;
+        adapter = new SingleFlightCpfValidationAdapter(new CpfValidationStrategy() {
+            @Override
+            public CpfStatus validateCpf(String cpf) {
+                singleCalls.incrementAndGet();
+                awaitFollowers();
+                return CpfStatus.CPF_CANCELADO;
+            }
+
+            @Override
+            public Map<String, CpfValidationResult> validateCpfs(Collection<String> cpfs) {
+                batches.add(List.copyOf(cpfs));
+                Map<String, CpfValidationResult> results = new LinkedHashMap<>();
+                cpfs.forEach(cpf -> results.put(cpf, CpfValidationResult.of(CpfStatus.CPF_ATIVO)));
+                return results;
+            }
+        }, meterRegistry);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<CpfStatus> single = executor.submit(() -> adapter.validateCpf("43991016877"));
+            while (singleCalls.get() == 0) {
+                Thread.sleep(5);
+            }
+
+            Map<String, CpfValidationResult> results = adapter.validateCpfs(
+                    List.of("43991016877", "52998224725", "16899535009"));
+
+            assertEquals(CpfStatus.CPF_CANCELADO, single.get(10, TimeUnit.SECONDS));
+            assertEquals(CpfValidationResult.of(CpfStatus.CPF_CANCELADO), results.get("43991016877"));
+            assertEquals(CpfValidationResult.of(CpfStatus.CPF_ATIVO), results.get("52998224725"));
+            assertEquals(CpfValidationResult.of(CpfStatus.CPF_ATIVO), results.get("16899535009"));
+        }
+        assertEquals(List.of(List.of("52998224725", "16899535009")), batches);
+        assertEquals(1, singleCalls.get());
+        assertEquals(3.0, meterRegistry.get("cpf.validation.singleflight").tag("role", "leader").counter().count());
+    }
+
+    private List<Future<CpfStatus>> runConcurrently(List<String> cpfs, int threadsPerCpf) throws Exception {
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<CpfStatus>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < threadsPerCpf; i++) {
+                for (String cpf : cpfs) {
+                    results.add(executor.submit(() -> {
+                        startGate.await();
+                        return adapter.validateCpf(cpf);
+                    }));
+                }
+            }
+            startGate.countDown();
+        }
+        return results;
+    }
+
+    /**
+     * Segura a resposta até todas as threads esperadas estarem aguardando a
+     * chamada em andamento, para que o teste não dependa de tempo.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        String cpf = exchange.getRequestURI().getPath().substring("/cpf/".length());
+        upstreamCalls.computeIfAbsent(cpf, k -> new AtomicInteger()).incrementAndGet();
+        awaitFollowers();
+
+        boolean failing = FAILING_CPF.equals(cpf);
+        byte[] body = (failing ? "{}" : "{\"status\":\"CPF_ATIVO\"}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(failing ? 500 : 200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private void awaitFollowers() {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (followers() < expectedFollowers && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    private double followers() {
+        return meterRegistry.get("cpf.validation.singleflight").tag("role", "follower").counter().count();
+    }
+}
@@ -0,0 +1,81 @@
+package com.itau.desafio.vendas.infrastructure.config;
+
+import com.itau.desafio.vendas.domain.model.CpfStatus;
+import com.itau.desafio.vendas.domain.model.CpfValidationResult;
+import com.itau.desafio.vendas.domain.port.out.CpfValidationStrategy;
+import com.itau.desafio.vendas.infrastructure.adapters.out.cache.CpfStatusCache;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CpfValidationStrategyFactoryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Deve repassar o lote inteiro ao provedor através de cache, single-flight e hedging")
+    void deveRepassarLoteInteiroAoProvedor_quandoCadeiaCompletaHabilitada() {
+        BatchProvider receitaFederal = new BatchProvider(CpfStatus.CPF_ATIVO);
+        BatchProvider jatoCpf = new BatchProvider(CpfStatus.CPF_BLOQUEADO);
+        CpfStatusCache cache = new CpfStatusCache(1_000, Duration.ofHours(24), Duration.ofMinutes(5),
+                Duration.ofHours(1), null, meterRegistry);
+        ObjectProvider<CpfStatusCache> cacheProvider = new StaticListableBeanFactory(Map.of("cpfStatusCache", cache))
+                .getBeanProvider(CpfStatusCache.class);
+
+        CpfValidationStrategy strategy = new CpfValidationStrategyFactory().cpfValidationStrategy(
+                new FeatureToggleService("receitaFederal"), receitaFederal, jatoCpf, cacheProvider, meterRegistry,
+                true, RateLimiterRegistry.ofDefaults(), true, Duration.ofMillis(10), Duration.ofMillis(100));
+        List<String> cpfs = List.of("43991016877", "52998224725", "16899535009");
+
+        Map<String, CpfValidationResult> results = strategy.validateCpfs(cpfs);
+
+        assertEquals(List.of(cpfs), receitaFederal.batches);
+        assertEquals(0, receitaFederal.singleCalls);
+        assertTrue(jatoCpf.batches.isEmpty());
+        assertEquals(cpfs, List.copyOf(results.keySet()));
+        assertTrue(results.values().stream().allMatch(CpfValidationResult.of(CpfStatus.CPF_ATIVO)::equals));
+
+        strategy.validateCpfs(cpfs);
+        assertEquals(1, receitaFederal.batches.size());
+    }
+
+    /**
+     * Provedor com consulta em lote que registra cada lote recebido.
+     */
+    private static final class BatchProvider implements CpfValidationStrategy {
+
+        private final CpfStatus status;
+        private final List<Collection<String>> batches = new ArrayList<>();
+        private int singleCalls;
+
+        BatchProvider(CpfStatus status) {
+            this.status = status;
+        }
+
+        @Override
+        public CpfStatus validateCpf(String cpf) {
+            singleCalls++;
+            return status;
+        }
+
+        @Override
+        public Map<String, CpfValidationResult> validateCpfs(Collection<String> cpfs) {
+            batches.add(List.copyOf(cpfs));
+            Map<String, CpfValidationResult> results = new LinkedHashMap<>();
+            cpfs.forEach(cpf -> results.put(cpf, CpfValidationResult.of(status)));
+            return results;
+        }
+    }
+}